@@ -0,0 +1,139 @@
+/* Copyright (C) 2026 James R. Pfeifer. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * General Public License for more details (a copy is included in the
+ * LICENSE file that accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this work.  If not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ * 
+ * Linking this library statically or dynamically with other modules is
+ * making a combined work based on this library.  Thus, the terms and
+ * conditions of the GNU General Public License cover the whole
+ * combination.
+ *
+ * As a special exception, the copyright holders of this library give you
+ * permission to link this library with independent modules to produce an
+ * executable, regardless of the license terms of these independent
+ * modules, and to copy and distribute the resulting executable under
+ * terms of your choice, provided that you also meet, for each linked
+ * independent module, the terms and conditions of the license of that
+ * module.  An independent module is a module which is not derived from
+ * or based on this library.  If you modify this library, you may extend
+ * this exception to your version of the library, but you are not
+ * obligated to do so.  If you do not wish to do so, delete this
+ * exception statement from your version.
+ *
+ * Please contact James Pfeifer at james@pfeifdom.net if you need additional
+ * information or have any questions.
+ */
+
+package net.pfeifdom.java.util;
+
+import java.util.Random;
+
+/**
+ * A benchmark of the bitwise operations on the different kinds of operands:
+ * word aligned and unaligned substrings of a {@code LongBitString}, which is
+ * backed by an array of longs, and of a {@code ByteBitString}, which is not.
+ * <p>
+ * This class is not part of the library. It lives in its own source folder,
+ * which is not on the build path, and has no dependencies outside of the
+ * library, so it can be run with
+ * 
+ * <pre>
+ * javac -d bin src/net/pfeifdom/java/util/*.java src/net/pfeifdom/java/util/function/*.java
+ * javac -cp bin -d bin src-bench/net/pfeifdom/java/util/BitwiseOpBenchmark.java
+ * java -cp bin net.pfeifdom.java.util.BitwiseOpBenchmark
+ * </pre>
+ * 
+ * Each operation is timed over a number of repetitions after a warm up, and
+ * the best time is reported, in microseconds per operation on 2<sup>24</sup>
+ * bits.
+ */
+public final class BitwiseOpBenchmark {
+    
+    private static final int LENGTH = 1 << 24;
+    private static final int WARMUP = 20;
+    private static final int REPETITIONS = 40;
+    
+    private BitwiseOpBenchmark() {}
+    
+    public static void main(String[] args) {
+        final Random random = new Random(1);
+        final long[] longs = new long[LENGTH / Long.SIZE + 1];
+        final byte[] bytes = new byte[LENGTH / Byte.SIZE + Long.BYTES];
+        
+        for (int i = 0; i < longs.length; i++) longs[i] = random.nextLong();
+        final BitString longArg = LongBitString.valueOf(longs.clone());
+        final BitString longThis = LongBitString.valueOf(longs.clone());
+        random.nextBytes(bytes);
+        final BitString byteArg = ByteBitString.valueOf(bytes.clone());
+        final BitString byteThis = ByteBitString.valueOf(bytes.clone());
+        
+        // Run every kind of operation on every kind of operand first, so that the
+        // timings are not flattered by a profile that has seen a single operation.
+        pollute(longThis, longArg);
+        pollute(byteThis, byteArg);
+        pollute(longThis, byteArg);
+        pollute(byteThis, longArg);
+        
+        run("xor, LongBitString, aligned",   longThis, 0, longArg, 0);
+        run("xor, LongBitString, unaligned", longThis, 0, longArg, 3);
+        run("xor, LongBitString, Range",     longThis.range(5), 0, longArg.range(11), 0);
+        run("xor, ByteBitString, aligned",   byteThis, 0, byteArg, 0);
+        run("xor, ByteBitString, unaligned", byteThis, 0, byteArg, 3);
+        run("xor, ByteBitString, Range",     byteThis.range(5), 0, byteArg.range(11), 0);
+        run("xor, LongBitString, ByteBitString", longThis, 0, byteArg, 3);
+        run("xor, ByteBitString, LongBitString", byteThis, 0, longArg, 3);
+        
+        long best = Long.MAX_VALUE;
+        int ones = 0;
+        for (int i = 0; i < WARMUP + REPETITIONS; i++) {
+            final long start = System.nanoTime();
+            ones += longThis.numberOfOnes();
+            if (i >= WARMUP) best = Math.min(best, System.nanoTime() - start);
+        }
+        report("numberOfOnes, LongBitString", best, ones);
+    }
+    
+    private static void pollute(BitString thisBits, BitString arg) {
+        for (int offset = 0; offset < 2; offset++) {
+            for (int i = 0; i < 50; i++) {
+                final int length = 1 << 16;
+                thisBits.and(offset, length, arg, 0, length);
+                thisBits.andNot(offset, length, arg, 0, length);
+                thisBits.nand(offset, length, arg, 0, length);
+                thisBits.nor(offset, length, arg, 0, length);
+                thisBits.or(offset, length, arg, 0, length);
+                thisBits.orNot(offset, length, arg, 0, length);
+                thisBits.xnor(offset, length, arg, 0, length);
+                thisBits.copyFrom(offset, length, arg, 0, length);
+                thisBits.copyNotFrom(offset, length, arg, 0, length);
+                thisBits.copyFromBackOf(offset, length, arg, 0, length);
+            }
+        }
+    }
+    
+    private static void run(String name, BitString thisBits, int thisOffset, BitString arg, int argOffset) {
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < WARMUP + REPETITIONS; i++) {
+            final long start = System.nanoTime();
+            thisBits.xor(thisOffset, LENGTH, arg, argOffset, LENGTH);
+            if (i >= WARMUP) best = Math.min(best, System.nanoTime() - start);
+        }
+        report(name, best, thisBits.getBit(thisOffset) ? 1 : 0);
+    }
+    
+    private static void report(String name, long nanos, int check) {
+        System.out.printf("%-36s %10.1f us  (%d)%n", name, nanos / 1e3, check);
+    }
+}
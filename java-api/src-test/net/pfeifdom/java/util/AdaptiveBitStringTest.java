@@ -0,0 +1,96 @@
+/* Copyright (C) 2026 James R. Pfeifer. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * General Public License for more details (a copy is included in the
+ * LICENSE file that accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this work.  If not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ * 
+ * Linking this library statically or dynamically with other modules is
+ * making a combined work based on this library.  Thus, the terms and
+ * conditions of the GNU General Public License cover the whole
+ * combination.
+ *
+ * As a special exception, the copyright holders of this library give you
+ * permission to link this library with independent modules to produce an
+ * executable, regardless of the license terms of these independent
+ * modules, and to copy and distribute the resulting executable under
+ * terms of your choice, provided that you also meet, for each linked
+ * independent module, the terms and conditions of the license of that
+ * module.  An independent module is a module which is not derived from
+ * or based on this library.  If you modify this library, you may extend
+ * this exception to your version of the library, but you are not
+ * obligated to do so.  If you do not wish to do so, delete this
+ * exception statement from your version.
+ *
+ * Please contact James Pfeifer at james@pfeifdom.net if you need additional
+ * information or have any questions.
+ */
+
+package net.pfeifdom.java.util;
+
+import java.util.Random;
+
+/**
+ * Checks {@code AdaptiveBitString} against a {@code LongBitString} model, in
+ * both its sparse and its dense form, and across the changes between them.
+ */
+public final class AdaptiveBitStringTest {
+    
+    private AdaptiveBitStringTest() {}
+    
+    public static void main(String[] args) {
+        for (long seed = 0; seed < 200; seed++) {
+            BitStringModelCheck.run(AdaptiveBitString::new, 5000, 300, seed);
+        }
+        
+        final Random random = new Random(1);
+        for (int i = 0; i < 200; i++) {
+            final int length = random.nextInt(20000) + 2000;
+            final AdaptiveBitString bits = new AdaptiveBitString(length);
+            final LongBitString model = new LongBitString(length);
+            
+            // a few ONES keep it sparse
+            for (int j = 0; j < 10; j++) {
+                final int offset = random.nextInt(length);
+                bits.setBit(offset);
+                model.setBit(offset);
+            }
+            BitStringModelCheck.check(bits.isSparse(), "a bit string with few ONES is not sparse");
+            BitStringModelCheck.compare(bits, model, i, "sparse setBit");
+            
+            // a bulk write of many ONES makes it dense
+            final BitString arg = BitStringModelCheck.randomBits(random, length);
+            bits.or(arg);
+            model.or(arg);
+            BitStringModelCheck.compare(bits, model, i, "or");
+            
+            // trimming a dense bit string with few ONES makes it sparse again
+            bits.clear(0, length - Math.min(length, 50));
+            model.clear(0, length - Math.min(length, 50));
+            bits.trimToLength();
+            BitStringModelCheck.check(bits.isSparse(), "a trimmed bit string with few ONES is not sparse");
+            BitStringModelCheck.compare(bits, model, i, "trimToLength");
+            
+            // bulk operations over a sparse bit string
+            final int offset = random.nextInt(length);
+            final int n = random.nextInt(length - offset + 1);
+            bits.flip(offset, n);
+            model.flip(offset, n);
+            BitStringModelCheck.compare(bits, model, i, "flip");
+            bits.xor(arg);
+            model.xor(arg);
+            BitStringModelCheck.compare(bits, model, i, "xor");
+        }
+        System.out.println("AdaptiveBitStringTest passed");
+    }
+}
@@ -0,0 +1,198 @@
+/* Copyright (C) 2026 James R. Pfeifer. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * General Public License for more details (a copy is included in the
+ * LICENSE file that accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this work.  If not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ * 
+ * Linking this library statically or dynamically with other modules is
+ * making a combined work based on this library.  Thus, the terms and
+ * conditions of the GNU General Public License cover the whole
+ * combination.
+ *
+ * As a special exception, the copyright holders of this library give you
+ * permission to link this library with independent modules to produce an
+ * executable, regardless of the license terms of these independent
+ * modules, and to copy and distribute the resulting executable under
+ * terms of your choice, provided that you also meet, for each linked
+ * independent module, the terms and conditions of the license of that
+ * module.  An independent module is a module which is not derived from
+ * or based on this library.  If you modify this library, you may extend
+ * this exception to your version of the library, but you are not
+ * obligated to do so.  If you do not wish to do so, delete this
+ * exception statement from your version.
+ *
+ * Please contact James Pfeifer at james@pfeifdom.net if you need additional
+ * information or have any questions.
+ */
+
+
+package net.pfeifdom.java.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Checks {@code AtomicLongBitString} against a {@code LongBitString} model,
+ * and checks that threads updating the same words at once lose neither bits
+ * nor counts of writes.
+ */
+public final class AtomicLongBitStringTest {
+    
+    private static final int THREADS = 4;
+    
+    private AtomicLongBitStringTest() {}
+    
+    public static void main(String[] args) throws Exception {
+        // the capacity is fixed, so that the length never needs to grow past it
+        for (long seed = 0; seed < 200; seed++) {
+            BitStringModelCheck.run(length -> new AtomicLongBitString(length, 5000), 5000, 300, seed);
+        }
+        
+        final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            final Random random = new Random(1);
+            for (int i = 0; i < 20; i++) {
+                final int length = random.nextInt(20000) + 1;
+                checkTestAndSet(executor, length, random.nextLong());
+                checkFlipBit(executor, length, random.nextLong());
+                checkAtomicOps(executor, length, random);
+            }
+        } finally {
+            executor.shutdown();
+        }
+        System.out.println("AtomicLongBitStringTest passed");
+    }
+    
+    /**
+     * Each thread sets, then clears, every bit in its own order; each bit is
+     * changed by exactly one of them, and counted once.
+     */
+    private static void checkTestAndSet(ExecutorService executor, int length, long seed) throws Exception {
+        final AtomicLongBitString bits = new AtomicLongBitString(length);
+        final AtomicInteger changed = new AtomicInteger();
+        long modCount = bits.bitsModCount();
+        runThreads(executor, length, seed, offset -> {
+            if (!bits.testAndSet(offset)) changed.incrementAndGet();
+        });
+        BitStringModelCheck.check(changed.get() == length, "testAndSet changed " + changed + " of " + length + " bits");
+        BitStringModelCheck.check(bits.numberOfOnes() == length, "testAndSet lost a bit");
+        BitStringModelCheck.check(bits.rank1(length) == length, "rank1 differs after testAndSet");
+        BitStringModelCheck.check(bits.bitsModCount() - modCount == length, "testAndSet lost a count of writes");
+        
+        changed.set(0);
+        modCount = bits.bitsModCount();
+        runThreads(executor, length, seed + 1, offset -> {
+            if (bits.testAndClear(offset)) changed.incrementAndGet();
+        });
+        BitStringModelCheck.check(changed.get() == length, "testAndClear changed " + changed + " of " + length + " bits");
+        BitStringModelCheck.check(bits.numberOfOnes() == 0, "testAndClear lost a bit");
+        BitStringModelCheck.check(bits.rank1(length) == 0, "rank1 differs after testAndClear");
+        BitStringModelCheck.check(bits.bitsModCount() - modCount == length, "testAndClear lost a count of writes");
+    }
+    
+    /**
+     * Each thread flips every bit once; with an odd number of threads every bit
+     * ends up {@code ONE}.
+     */
+    private static void checkFlipBit(ExecutorService executor, int length, long seed) throws Exception {
+        final AtomicLongBitString bits = new AtomicLongBitString(length);
+        final long modCount = bits.bitsModCount();
+        runThreads(executor, THREADS - 1, length, seed, offset -> bits.flipBit(offset));
+        BitStringModelCheck.check(bits.numberOfOnes() == length, "flipBit lost a flip");
+        BitStringModelCheck.check(bits.bitsModCount() - modCount == (long) (THREADS - 1) * length,
+                "flipBit lost a count of writes");
+        
+        final AtomicLongBitString copy = BitStringModelCheck.roundTrip(bits);
+        final LongBitString model = new LongBitString(length);
+        model.set(0, length);
+        BitStringModelCheck.compare(copy, model, 0, "serialization after flipBit");
+        copy.flipBit(0);
+        model.flipBit(0);
+        BitStringModelCheck.compare(copy, model, 0, "flipBit after serialization");
+    }
+    
+    /**
+     * Each thread combines its own argument with the whole bit string, then each
+     * combines a random range; the result does not depend on their order.
+     */
+    private static void checkAtomicOps(ExecutorService executor, int length, Random random) throws Exception {
+        final List<LongBitString> args = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) args.add(BitStringModelCheck.randomBits(random, length));
+        
+        final AtomicLongBitString bits = new AtomicLongBitString(length);
+        final LongBitString model = new LongBitString(length);
+        for (LongBitString arg : args) model.or(arg);
+        runEach(executor, args, arg -> bits.atomicOr(arg));
+        BitStringModelCheck.compare(bits, model, 0, "atomicOr");
+        
+        for (LongBitString arg : args) model.xor(arg);
+        runEach(executor, args, arg -> bits.atomicXor(arg));
+        BitStringModelCheck.compare(bits, model, 0, "atomicXor");
+        
+        final int offset = random.nextInt(length);
+        final int n = random.nextInt(length - offset + 1);
+        final int argOffset = random.nextInt(length - n + 1);
+        for (LongBitString arg : args) model.and(offset, n, arg, argOffset, n);
+        runEach(executor, args, arg -> bits.atomicAnd(offset, n, arg, argOffset, n));
+        BitStringModelCheck.compare(bits, model, 0, "atomicAnd");
+        
+        final long modCount = bits.bitsModCount();
+        bits.atomicOr(offset, n, model, offset, n);
+        BitStringModelCheck.check(bits.bitsModCount() == modCount, "atomicOr without a change counted a write");
+        BitStringModelCheck.compare(bits, model, 0, "atomicOr without a change");
+    }
+    
+    private interface OffsetTask {
+        void run(int offset);
+    }
+    
+    private interface ArgTask {
+        void run(LongBitString arg);
+    }
+    
+    private static void runThreads(ExecutorService executor, int length, long seed, OffsetTask task)
+            throws Exception {
+        runThreads(executor, THREADS, length, seed, task);
+    }
+    
+    /**
+     * Runs the task on every offset in each of the specified number of threads,
+     * each thread taking the offsets in its own random order.
+     */
+    private static void runThreads(ExecutorService executor, int threads, int length, long seed, OffsetTask task)
+            throws Exception {
+        final List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            final List<Integer> offsets = new ArrayList<>(length);
+            for (int i = 0; i < length; i++) offsets.add(i);
+            Collections.shuffle(offsets, new Random(seed + t));
+            futures.add(executor.submit(() -> {
+                for (int offset : offsets) task.run(offset);
+            }));
+        }
+        for (Future<?> future : futures) future.get();
+    }
+    
+    private static void runEach(ExecutorService executor, List<LongBitString> args, ArgTask task) throws Exception {
+        final List<Future<?>> futures = new ArrayList<>();
+        for (LongBitString arg : args) futures.add(executor.submit(() -> task.run(arg)));
+        for (Future<?> future : futures) future.get();
+    }
+}
@@ -0,0 +1,382 @@
+/* Copyright (C) 2026 James R. Pfeifer. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * General Public License for more details (a copy is included in the
+ * LICENSE file that accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this work.  If not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ * 
+ * Linking this library statically or dynamically with other modules is
+ * making a combined work based on this library.  Thus, the terms and
+ * conditions of the GNU General Public License cover the whole
+ * combination.
+ *
+ * As a special exception, the copyright holders of this library give you
+ * permission to link this library with independent modules to produce an
+ * executable, regardless of the license terms of these independent
+ * modules, and to copy and distribute the resulting executable under
+ * terms of your choice, provided that you also meet, for each linked
+ * independent module, the terms and conditions of the license of that
+ * module.  An independent module is a module which is not derived from
+ * or based on this library.  If you modify this library, you may extend
+ * this exception to your version of the library, but you are not
+ * obligated to do so.  If you do not wish to do so, delete this
+ * exception statement from your version.
+ *
+ * Please contact James Pfeifer at james@pfeifdom.net if you need additional
+ * information or have any questions.
+ */
+
+
+package net.pfeifdom.java.util;
+
+import java.util.Random;
+
+/**
+ * Checks {@code BigBitString} against a {@code LongBitString} model, with
+ * offsets clustered around the boundaries of its pages, and checks a sparse
+ * {@code BigBitString} longer than {@code Integer.MAX_VALUE} bits.
+ * <p>
+ * A {@code BigBitString} has no insert or delete; its length is changed with
+ * {@code setLength}.
+ */
+public final class BigBitStringTest {
+    
+    /**
+     * The number of bits in a page of a {@code BigBitString}.
+     */
+    private static final int PAGE_BITS = (1 << 16) * Long.SIZE;
+    
+    private static final int MAX_LENGTH = 2 * PAGE_BITS + 1000;
+    
+    private static final String[] OPS = {
+            "and", "andNot", "nand", "nandNot", "nor", "norNot", "or", "orNot", "xnor", "xor", "copyFrom" };
+    
+    private BigBitStringTest() {}
+    
+    public static void main(String[] args) {
+        for (long seed = 0; seed < 20; seed++) {
+            runModelCheck(seed);
+        }
+        checkSparse();
+        System.out.println("BigBitStringTest passed");
+    }
+    
+    private static void runModelCheck(long seed) {
+        final Random random = new Random(seed);
+        final int initialLength = random.nextInt(MAX_LENGTH + 1);
+        BigBitString bits = new BigBitString(initialLength);
+        final LongBitString model = new LongBitString(initialLength);
+        for (int step = 0; step < 100; step++) {
+            final int length = model.length();
+            final int offset = randomOffset(random, length);
+            final int n = randomLength(random, length - offset);
+            final String op;
+            switch (random.nextInt(12)) {
+            case 0:
+                op = "setBit";
+                if (length > 0) {
+                    bits.setBit(offset);
+                    model.setBit(offset);
+                }
+                break;
+            case 1:
+                op = "clearBit";
+                if (length > 0) {
+                    bits.clearBit(offset);
+                    model.clearBit(offset);
+                }
+                break;
+            case 2:
+                op = "flipBit";
+                if (length > 0) {
+                    bits.flipBit(offset);
+                    model.flipBit(offset);
+                }
+                break;
+            case 3:
+                op = "set";
+                bits.set(offset, n);
+                model.set(offset, n);
+                break;
+            case 4:
+                op = "clear";
+                bits.clear(offset, n);
+                model.clear(offset, n);
+                break;
+            case 5:
+                op = "flip";
+                bits.flip(offset, n);
+                model.flip(offset, n);
+                break;
+            case 6:
+            case 7: {
+                final LongBitString arg = BitStringModelCheck.randomBits(random, n + 1 + random.nextInt(200));
+                final int argOffset = random.nextInt(arg.length() - n);
+                final int i = random.nextInt(OPS.length);
+                op = OPS[i] + "(BitString)";
+                apply(i, bits, offset, n, arg, argOffset);
+                apply(i, model, offset, n, arg, argOffset);
+                break;
+            }
+            case 8: {
+                // the argument starts just before a page boundary, so that its
+                // substring is not aligned with the pages of either operand
+                final int argOffset = PAGE_BITS - random.nextInt(200);
+                final LongBitString arg = BitStringModelCheck.randomBits(random, argOffset + n + 1);
+                final int i = random.nextInt(OPS.length);
+                op = OPS[i] + "(BigBitString)";
+                apply(i, bits, offset, n, new BigBitString(arg), argOffset);
+                apply(i, model, offset, n, arg, argOffset);
+                break;
+            }
+            case 9: {
+                op = "putLong";
+                if (length - offset >= Long.SIZE) {
+                    final long primitive = random.nextLong();
+                    bits.putLong(offset, primitive);
+                    model.putLong(offset, primitive);
+                    BitStringModelCheck.check(bits.getLong(offset) == primitive, "getLong(" + offset + ") differs");
+                }
+                break;
+            }
+            case 10: {
+                op = "setLength";
+                final int newLength = random.nextBoolean()
+                        ? random.nextInt(MAX_LENGTH + 1)
+                        : randomOffset(random, MAX_LENGTH);
+                bits.setLength(newLength);
+                model.setLength(newLength);
+                break;
+            }
+            default:
+                if (random.nextBoolean()) {
+                    op = "clone";
+                    final BigBitString clone = bits.clone();
+                    if (length > 0) {
+                        clone.flipBit(offset);
+                        compare(bits, model, step, "the original after changing its clone", offset, n);
+                        clone.flipBit(offset);
+                    }
+                    bits = clone;
+                } else {
+                    op = "serialization";
+                    bits = BitStringModelCheck.roundTrip(bits);
+                }
+                break;
+            }
+            compare(bits, model, step, op, offset, n);
+        }
+    }
+    
+    /**
+     * Returns a random offset less than the length, or 0 if the length is 0,
+     * which is half the time close to a page boundary.
+     */
+    private static int randomOffset(Random random, int length) {
+        if (length > PAGE_BITS && random.nextBoolean()) {
+            final int boundary = PAGE_BITS * (1 + random.nextInt(length / PAGE_BITS));
+            return Math.min(length - 1, Math.max(0, boundary + random.nextInt(257) - 128));
+        }
+        return (length == 0) ? 0 : random.nextInt(length);
+    }
+    
+    /**
+     * Returns a random length no greater than the specified maximum, which is
+     * short, long enough to reach past the next page boundary, or anything.
+     */
+    private static int randomLength(Random random, int max) {
+        switch (random.nextInt(3)) {
+        case 0:
+            return random.nextInt(Math.min(max, 300) + 1);
+        case 1:
+            return max - random.nextInt(Math.min(max, 300) + 1);
+        default:
+            return random.nextInt(max + 1);
+        }
+    }
+    
+    private static void apply(int op, BigBitString bits, long offset, long n, BitString arg, int argOffset) {
+        switch (OPS[op]) {
+        case "and":
+            bits.and(offset, n, arg, argOffset, (int) n);
+            break;
+        case "andNot":
+            bits.andNot(offset, n, arg, argOffset, (int) n);
+            break;
+        case "nand":
+            bits.nand(offset, n, arg, argOffset, (int) n);
+            break;
+        case "nandNot":
+            bits.nandNot(offset, n, arg, argOffset, (int) n);
+            break;
+        case "nor":
+            bits.nor(offset, n, arg, argOffset, (int) n);
+            break;
+        case "norNot":
+            bits.norNot(offset, n, arg, argOffset, (int) n);
+            break;
+        case "or":
+            bits.or(offset, n, arg, argOffset, (int) n);
+            break;
+        case "orNot":
+            bits.orNot(offset, n, arg, argOffset, (int) n);
+            break;
+        case "xnor":
+            bits.xnor(offset, n, arg, argOffset, (int) n);
+            break;
+        case "xor":
+            bits.xor(offset, n, arg, argOffset, (int) n);
+            break;
+        default:
+            bits.copyFrom(offset, n, arg, argOffset, (int) n);
+            break;
+        }
+    }
+    
+    private static void apply(int op, BigBitString bits, long offset, long n, BigBitString arg, long argOffset) {
+        switch (OPS[op]) {
+        case "and":
+            bits.and(offset, n, arg, argOffset, n);
+            break;
+        case "andNot":
+            bits.andNot(offset, n, arg, argOffset, n);
+            break;
+        case "nand":
+            bits.nand(offset, n, arg, argOffset, n);
+            break;
+        case "nandNot":
+            bits.nandNot(offset, n, arg, argOffset, n);
+            break;
+        case "nor":
+            bits.nor(offset, n, arg, argOffset, n);
+            break;
+        case "norNot":
+            bits.norNot(offset, n, arg, argOffset, n);
+            break;
+        case "or":
+            bits.or(offset, n, arg, argOffset, n);
+            break;
+        case "orNot":
+            bits.orNot(offset, n, arg, argOffset, n);
+            break;
+        case "xnor":
+            bits.xnor(offset, n, arg, argOffset, n);
+            break;
+        case "xor":
+            bits.xor(offset, n, arg, argOffset, n);
+            break;
+        default:
+            bits.copyFrom(offset, n, arg, argOffset, n);
+            break;
+        }
+    }
+    
+    private static void apply(int op, LongBitString model, int offset, int n, BitString arg, int argOffset) {
+        switch (OPS[op]) {
+        case "and":
+            model.and(offset, n, arg, argOffset, n);
+            break;
+        case "andNot":
+            model.andNot(offset, n, arg, argOffset, n);
+            break;
+        case "nand":
+            model.nand(offset, n, arg, argOffset, n);
+            break;
+        case "nandNot":
+            model.nandNot(offset, n, arg, argOffset, n);
+            break;
+        case "nor":
+            model.nor(offset, n, arg, argOffset, n);
+            break;
+        case "norNot":
+            model.norNot(offset, n, arg, argOffset, n);
+            break;
+        case "or":
+            model.or(offset, n, arg, argOffset, n);
+            break;
+        case "orNot":
+            model.orNot(offset, n, arg, argOffset, n);
+            break;
+        case "xnor":
+            model.xnor(offset, n, arg, argOffset, n);
+            break;
+        case "xor":
+            model.xor(offset, n, arg, argOffset, n);
+            break;
+        default:
+            model.copyFrom(offset, n, arg, argOffset, n);
+            break;
+        }
+    }
+    
+    private static void compare(BigBitString bits, LongBitString model, int step, String op, int offset, int n) {
+        final String where = "step " + step + ", " + op + ": ";
+        final int length = model.length();
+        // setLength may have left the substring of the step past the end
+        offset = (length == 0) ? 0 : Math.min(offset, length - 1);
+        n = Math.min(n, length - offset);
+        BitStringModelCheck.check(bits.length() == length, where + "length " + bits.length() + " != " + length);
+        BitStringModelCheck.check(bits.substring(0, length).equals(model), where + "bits differ");
+        BitStringModelCheck.check(bits.equals(new BigBitString(model)), where + "equals differs");
+        BitStringModelCheck.check(bits.hashCode() == model.hashCode(), where + "hashCode differs");
+        BitStringModelCheck.check(bits.numberOfOnes() == model.numberOfOnes(), where + "numberOfOnes differs");
+        BitStringModelCheck.check(bits.numberOfOnes(offset, n) == model.numberOfOnes(offset, n),
+                where + "numberOfOnes(" + offset + ", " + n + ") differs");
+        BitStringModelCheck.check(bits.offsetOfNextOne(offset) == model.offsetOfNextOne(offset),
+                where + "offsetOfNextOne(" + offset + ") differs");
+        BitStringModelCheck.check(bits.offsetOfNextZero(offset) == model.offsetOfNextZero(offset),
+                where + "offsetOfNextZero(" + offset + ") differs");
+        BitStringModelCheck.check(bits.offsetOfPreviousOne(offset - 1) == model.offsetOfPreviousOne(offset - 1),
+                where + "offsetOfPreviousOne(" + (offset - 1) + ") differs");
+    }
+    
+    /**
+     * Checks a bit string longer than {@code Integer.MAX_VALUE} bits with only a
+     * few allocated pages, around offsets past the range of an {@code int}.
+     */
+    private static void checkSparse() {
+        final long length = 4L * Integer.MAX_VALUE + 12345;
+        final long offset = 1L << 32;
+        BigBitString bits = new BigBitString(length);
+        final LongBitString model = new LongBitString(1000);
+        final Random random = new Random(1);
+        
+        final LongBitString arg = BitStringModelCheck.randomBits(random, 1000);
+        bits.copyFrom(offset - 500, 1000, arg, 0, 1000);
+        model.copyFrom(arg);
+        bits.flip(offset - 100, 200);
+        model.flip(400, 200);
+        bits.setBit(length - 1);
+        BitStringModelCheck.check(bits.substring(offset - 500, 1000).equals(model), "bits differ past 2^32");
+        BitStringModelCheck.check(bits.numberOfOnes() == model.numberOfOnes() + 1, "numberOfOnes differs");
+        BitStringModelCheck.check(bits.numberOfOnes(offset - 500, 1000) == model.numberOfOnes(),
+                "numberOfOnes past 2^32 differs");
+        BitStringModelCheck.check(bits.offsetOfNextOne(0) == offset - 500 + model.offsetOfNextOne(0),
+                "offsetOfNextOne across empty pages differs");
+        BitStringModelCheck.check(bits.offsetOfNextOne(offset + 500) == length - 1,
+                "offsetOfNextOne to the last bit differs");
+        
+        bits = BitStringModelCheck.roundTrip(bits);
+        final BigBitString clone = bits.clone();
+        BitStringModelCheck.check(bits.equals(clone) && bits.hashCode() == clone.hashCode(),
+                "clone of a serialized bit string differs");
+        
+        // shortening the bit string discards the last bit, and lengthening it
+        // again does not bring it back
+        bits.setLength(length - 1);
+        bits.setLength(length);
+        BitStringModelCheck.check(!bits.getBit(length - 1), "setLength kept a discarded bit");
+        BitStringModelCheck.check(bits.numberOfOnes() == model.numberOfOnes(), "numberOfOnes after setLength differs");
+        BitStringModelCheck.check(!bits.equals(clone), "a changed bit string equals its clone");
+    }
+}
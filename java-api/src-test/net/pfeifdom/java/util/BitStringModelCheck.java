@@ -0,0 +1,282 @@
+/* Copyright (C) 2026 James R. Pfeifer. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * General Public License for more details (a copy is included in the
+ * LICENSE file that accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this work.  If not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ * 
+ * Linking this library statically or dynamically with other modules is
+ * making a combined work based on this library.  Thus, the terms and
+ * conditions of the GNU General Public License cover the whole
+ * combination.
+ *
+ * As a special exception, the copyright holders of this library give you
+ * permission to link this library with independent modules to produce an
+ * executable, regardless of the license terms of these independent
+ * modules, and to copy and distribute the resulting executable under
+ * terms of your choice, provided that you also meet, for each linked
+ * independent module, the terms and conditions of the license of that
+ * module.  An independent module is a module which is not derived from
+ * or based on this library.  If you modify this library, you may extend
+ * this exception to your version of the library, but you are not
+ * obligated to do so.  If you do not wish to do so, delete this
+ * exception statement from your version.
+ *
+ * Please contact James Pfeifer at james@pfeifdom.net if you need additional
+ * information or have any questions.
+ */
+
+package net.pfeifdom.java.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.Random;
+import java.util.function.IntFunction;
+
+/**
+ * A randomized model check of a {@code BitString} subclass: the same random
+ * sequence of operations is applied to a bit string of the subclass and to a
+ * {@code LongBitString}, the model, and the two are compared after each one.
+ * <p>
+ * The operations cover single bits, ranges, the bitwise operations with an
+ * argument, insert, delete, changes of length, clones and serialization round
+ * trips. The arguments are random bit strings that are sparse, dense or made
+ * of long runs, so that each form of a compressed bit string is exercised.
+ * <p>
+ * The tests in this source folder have no dependencies outside of the
+ * library, and the folder is not on the build path. Each test is run with its
+ * {@code main} method, and throws an {@code AssertionError} on the first
+ * difference from the model:
+ * 
+ * <pre>
+ * javac -d bin src/net/pfeifdom/java/util/*.java src/net/pfeifdom/java/util/function/*.java
+ * javac -cp bin -d bin src-test/net/pfeifdom/java/util/*.java
+ * java -cp bin net.pfeifdom.java.util.EwahBitStringTest
+ * </pre>
+ */
+final class BitStringModelCheck {
+    
+    private BitStringModelCheck() {}
+    
+    /**
+     * Applies the specified number of random operations to a bit string made by
+     * the factory and to the model, keeping the length of both no greater than
+     * the specified maximum length.
+     * 
+     * @param factory   makes a bit string of the subclass with a given length
+     * @param maxLength the greatest length of the bit string
+     * @param steps     the number of operations
+     * @param seed      the seed of the random operations
+     */
+    static void run(IntFunction<BitString> factory, int maxLength, int steps, long seed) {
+        final Random random = new Random(seed);
+        final int initialLength = random.nextInt(maxLength + 1);
+        BitString bits = factory.apply(initialLength);
+        BitString model = new LongBitString(initialLength);
+        for (int step = 0; step < steps; step++) {
+            final int length = model.length();
+            final int offset = (length == 0) ? 0 : random.nextInt(length);
+            final int n = (length == 0) ? 0 : random.nextInt(length - offset + 1);
+            final String op;
+            switch (random.nextInt(18)) {
+            case 0:
+                op = "setBit";
+                if (length > 0) {
+                    bits.setBit(offset);
+                    model.setBit(offset);
+                }
+                break;
+            case 1:
+                op = "clearBit";
+                if (length > 0) {
+                    bits.clearBit(offset);
+                    model.clearBit(offset);
+                }
+                break;
+            case 2:
+                op = "flipBit";
+                if (length > 0) {
+                    bits.flipBit(offset);
+                    model.flipBit(offset);
+                }
+                break;
+            case 3:
+                op = "set";
+                bits.set(offset, n);
+                model.set(offset, n);
+                break;
+            case 4:
+                op = "clear";
+                bits.clear(offset, n);
+                model.clear(offset, n);
+                break;
+            case 5:
+                op = "flip";
+                bits.flip(offset, n);
+                model.flip(offset, n);
+                break;
+            case 6:
+            case 7:
+            case 8:
+            case 9:
+            case 10: {
+                final BitString arg = randomBits(random, n + 1 + random.nextInt(200));
+                final int argOffset = random.nextInt(arg.length() - n);
+                switch (random.nextInt(5)) {
+                case 0:
+                    op = "and";
+                    bits.and(offset, n, arg, argOffset, n);
+                    model.and(offset, n, arg, argOffset, n);
+                    break;
+                case 1:
+                    op = "or";
+                    bits.or(offset, n, arg, argOffset, n);
+                    model.or(offset, n, arg, argOffset, n);
+                    break;
+                case 2:
+                    op = "xor";
+                    bits.xor(offset, n, arg, argOffset, n);
+                    model.xor(offset, n, arg, argOffset, n);
+                    break;
+                case 3:
+                    op = "andNot";
+                    bits.andNot(offset, n, arg, argOffset, n);
+                    model.andNot(offset, n, arg, argOffset, n);
+                    break;
+                default:
+                    op = "copyFrom";
+                    bits.copyFrom(offset, n, arg, argOffset, n);
+                    model.copyFrom(offset, n, arg, argOffset, n);
+                    break;
+                }
+                break;
+            }
+            case 11:
+            case 12: {
+                op = "insert";
+                final int position = random.nextInt(length + 1);
+                final int insertLength = random.nextInt(Math.min(maxLength - length, 300) + 1);
+                final BitString that = randomBits(random, insertLength + 1);
+                bits.insert(position, that, 0, insertLength);
+                model.insert(position, that, 0, insertLength);
+                break;
+            }
+            case 13:
+            case 14:
+                op = "delete";
+                bits.delete(offset, Math.min(n, 300));
+                model.delete(offset, Math.min(n, 300));
+                break;
+            case 15: {
+                op = "setLength";
+                final int newLength = random.nextBoolean()
+                        ? random.nextInt(maxLength + 1)
+                        : Math.min(maxLength, length + random.nextInt(100));
+                bits.setLength(newLength);
+                model.setLength(newLength);
+                break;
+            }
+            case 16: {
+                op = "clone";
+                final BitString clone = bits.clone();
+                check(clone != bits && clone.getClass() == bits.getClass(), "clone is not a new " + bits.getClass());
+                compare(clone, model, step, op);
+                if (length > 0) {
+                    clone.flipBit(offset);
+                    compare(bits, model, step, "the original after changing its clone");
+                    clone.flipBit(offset);
+                }
+                bits = clone;
+                break;
+            }
+            default: {
+                op = "serialization";
+                final BitString copy = roundTrip(bits);
+                check(copy.getClass() == bits.getClass(), "deserialized a " + copy.getClass());
+                bits = copy;
+                break;
+            }
+            }
+            compare(bits, model, step, op);
+        }
+    }
+    
+    /**
+     * Throws an {@code AssertionError} unless the bit string has the same bits
+     * as the model.
+     */
+    static void compare(BitString bits, BitString model, int step, String op) {
+        final String where = "step " + step + ", " + op + ": ";
+        check(bits.length() == model.length(),
+                where + "length " + bits.length() + " != " + model.length());
+        check(bits.equals(model) && model.equals(bits), where + "bits differ");
+        check(bits.numberOfOnes() == model.numberOfOnes(), where + "numberOfOnes differs");
+        final int length = model.length();
+        for (int i = 0; i < 4 && length > 0; i++) {
+            final int offset = (length * i) / 4;
+            check(bits.offsetOfNextOne(offset) == model.offsetOfNextOne(offset),
+                    where + "offsetOfNextOne(" + offset + ") differs");
+            check(bits.getBit(offset) == model.getBit(offset), where + "getBit(" + offset + ") differs");
+        }
+    }
+    
+    /**
+     * Returns a random bit string of the specified length, which is sparse,
+     * dense, or made of long runs of the same bit.
+     */
+    static LongBitString randomBits(Random random, int length) {
+        final LongBitString bits = new LongBitString(length);
+        switch (random.nextInt(3)) {
+        case 0:
+            for (int i = random.nextInt(length + 1); i < length; i += 1 + random.nextInt(100)) bits.setBit(i);
+            break;
+        case 1:
+            for (int i = 0; i < length; i++) if (random.nextInt(4) != 0) bits.setBit(i);
+            break;
+        default:
+            for (int i = 0; i < length; ) {
+                final int run = 1 + random.nextInt(500);
+                if (random.nextBoolean()) bits.set(i, Math.min(run, length - i));
+                i += run;
+            }
+            break;
+        }
+        return bits;
+    }
+    
+    /**
+     * Serializes and deserializes the specified object.
+     */
+    @SuppressWarnings("unchecked")
+    static <T extends Serializable> T roundTrip(T object) {
+        try {
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+                out.writeObject(object);
+            }
+            try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+                return (T) in.readObject();
+            }
+        } catch (IOException | ClassNotFoundException e) {
+            throw new AssertionError("serialization round trip failed", e);
+        }
+    }
+    
+    static void check(boolean condition, String message) {
+        if (!condition) throw new AssertionError(message);
+    }
+}
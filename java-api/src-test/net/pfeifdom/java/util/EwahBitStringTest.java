@@ -0,0 +1,62 @@
+/* Copyright (C) 2026 James R. Pfeifer. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * General Public License for more details (a copy is included in the
+ * LICENSE file that accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this work.  If not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ * 
+ * Linking this library statically or dynamically with other modules is
+ * making a combined work based on this library.  Thus, the terms and
+ * conditions of the GNU General Public License cover the whole
+ * combination.
+ *
+ * As a special exception, the copyright holders of this library give you
+ * permission to link this library with independent modules to produce an
+ * executable, regardless of the license terms of these independent
+ * modules, and to copy and distribute the resulting executable under
+ * terms of your choice, provided that you also meet, for each linked
+ * independent module, the terms and conditions of the license of that
+ * module.  An independent module is a module which is not derived from
+ * or based on this library.  If you modify this library, you may extend
+ * this exception to your version of the library, but you are not
+ * obligated to do so.  If you do not wish to do so, delete this
+ * exception statement from your version.
+ *
+ * Please contact James Pfeifer at james@pfeifdom.net if you need additional
+ * information or have any questions.
+ */
+
+package net.pfeifdom.java.util;
+
+import java.util.Random;
+
+/**
+ * Checks {@code EwahBitString} against a {@code LongBitString} model, and that
+ * {@code valueOf} copies the bits of any bit string.
+ */
+public final class EwahBitStringTest {
+    
+    private EwahBitStringTest() {}
+    
+    public static void main(String[] args) {
+        for (long seed = 0; seed < 200; seed++) {
+            BitStringModelCheck.run(EwahBitString::new, 5000, 300, seed);
+        }
+        final Random random = new Random(1);
+        for (int i = 0; i < 200; i++) {
+            final LongBitString bits = BitStringModelCheck.randomBits(random, random.nextInt(5000) + 1);
+            BitStringModelCheck.compare(EwahBitString.valueOf(bits), bits, i, "valueOf");
+        }
+        System.out.println("EwahBitStringTest passed");
+    }
+}
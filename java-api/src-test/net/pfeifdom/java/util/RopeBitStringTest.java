@@ -0,0 +1,97 @@
+/* Copyright (C) 2026 James R. Pfeifer. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * General Public License for more details (a copy is included in the
+ * LICENSE file that accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this work.  If not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ * 
+ * Linking this library statically or dynamically with other modules is
+ * making a combined work based on this library.  Thus, the terms and
+ * conditions of the GNU General Public License cover the whole
+ * combination.
+ *
+ * As a special exception, the copyright holders of this library give you
+ * permission to link this library with independent modules to produce an
+ * executable, regardless of the license terms of these independent
+ * modules, and to copy and distribute the resulting executable under
+ * terms of your choice, provided that you also meet, for each linked
+ * independent module, the terms and conditions of the license of that
+ * module.  An independent module is a module which is not derived from
+ * or based on this library.  If you modify this library, you may extend
+ * this exception to your version of the library, but you are not
+ * obligated to do so.  If you do not wish to do so, delete this
+ * exception statement from your version.
+ *
+ * Please contact James Pfeifer at james@pfeifdom.net if you need additional
+ * information or have any questions.
+ */
+
+package net.pfeifdom.java.util;
+
+import java.util.Random;
+
+/**
+ * Checks {@code RopeBitString} against a {@code LongBitString} model, on bit
+ * strings of many chunks, with edits anywhere in them.
+ */
+public final class RopeBitStringTest {
+    
+    private RopeBitStringTest() {}
+    
+    public static void main(String[] args) {
+        for (long seed = 0; seed < 100; seed++) {
+            BitStringModelCheck.run(RopeBitString::new, 40000, 300, seed);
+        }
+        
+        // long runs of edits, which split and join the tree many times
+        final Random random = new Random(1);
+        final RopeBitString bits = new RopeBitString();
+        final LongBitString model = new LongBitString();
+        for (int step = 0; step < 3000; step++) {
+            final int length = model.length();
+            final int position = random.nextInt(length + 1);
+            final LongBitString that = BitStringModelCheck.randomBits(random, random.nextInt(10000) + 1);
+            switch (random.nextInt(4)) {
+            case 0:
+                bits.append(that);
+                model.append(that);
+                break;
+            case 1:
+                bits.insert(position, that);
+                model.insert(position, that);
+                break;
+            case 2: {
+                final int offset = (length == 0) ? 0 : Math.min(position, length - 1);
+                final int n = (length == 0) ? 0 : random.nextInt(length - offset + 1);
+                bits.replace(offset, n, that, 0, that.length());
+                model.replace(offset, n, that, 0, that.length());
+                break;
+            }
+            default: {
+                final int offset = (length == 0) ? 0 : Math.min(position, length - 1);
+                final int n = (length == 0) ? 0 : random.nextInt(length - offset + 1);
+                bits.delete(offset, n);
+                model.delete(offset, n);
+                break;
+            }
+            }
+            if (model.length() > 1 << 20) {
+                bits.delete(0, 1 << 19);
+                model.delete(0, 1 << 19);
+            }
+            BitStringModelCheck.compare(bits, model, step, "edit");
+        }
+        BitStringModelCheck.compare(BitStringModelCheck.roundTrip(bits), model, 0, "serialization");
+        System.out.println("RopeBitStringTest passed");
+    }
+}
@@ -0,0 +1,253 @@
+/* Copyright (C) 2026 James R. Pfeifer. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * General Public License for more details (a copy is included in the
+ * LICENSE file that accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this work.  If not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ * 
+ * Linking this library statically or dynamically with other modules is
+ * making a combined work based on this library.  Thus, the terms and
+ * conditions of the GNU General Public License cover the whole
+ * combination.
+ *
+ * As a special exception, the copyright holders of this library give you
+ * permission to link this library with independent modules to produce an
+ * executable, regardless of the license terms of these independent
+ * modules, and to copy and distribute the resulting executable under
+ * terms of your choice, provided that you also meet, for each linked
+ * independent module, the terms and conditions of the license of that
+ * module.  An independent module is a module which is not derived from
+ * or based on this library.  If you modify this library, you may extend
+ * this exception to your version of the library, but you are not
+ * obligated to do so.  If you do not wish to do so, delete this
+ * exception statement from your version.
+ *
+ * Please contact James Pfeifer at james@pfeifdom.net if you need additional
+ * information or have any questions.
+ */
+
+
+package net.pfeifdom.java.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Checks {@code StripedBitString} against a {@code LongBitString} model, and
+ * checks that an operation on a substring spanning several stripes is seen by
+ * other threads either entirely or not at all.
+ * <p>
+ * A {@code StripedBitString} has a fixed length, so there is no insert or
+ * delete to check.
+ */
+public final class StripedBitStringTest {
+    
+    private static final int THREADS = 4;
+    
+    private StripedBitStringTest() {}
+    
+    public static void main(String[] args) throws Exception {
+        for (long seed = 0; seed < 200; seed++) {
+            runModelCheck(seed);
+        }
+        
+        final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            final Random random = new Random(1);
+            for (int i = 0; i < 20; i++) {
+                checkConcurrentXor(executor, random);
+                checkAtomicRanges(executor, random);
+            }
+        } finally {
+            executor.shutdown();
+        }
+        System.out.println("StripedBitStringTest passed");
+    }
+    
+    private static void runModelCheck(long seed) {
+        final Random random = new Random(seed);
+        final int length = random.nextInt(5000);
+        StripedBitString bits = new StripedBitString(length, 1 << random.nextInt(4));
+        final LongBitString model = new LongBitString(length);
+        for (int step = 0; step < 300; step++) {
+            final int offset = (length == 0) ? 0 : random.nextInt(length);
+            final int n = (length == 0) ? 0 : random.nextInt(length - offset + 1);
+            final String op;
+            switch (random.nextInt(12)) {
+            case 0:
+                op = "setBit";
+                if (length > 0) {
+                    bits.setBit(offset);
+                    model.setBit(offset);
+                }
+                break;
+            case 1:
+                op = "clearBit";
+                if (length > 0) {
+                    bits.clearBit(offset);
+                    model.clearBit(offset);
+                }
+                break;
+            case 2:
+                op = "flipBit";
+                if (length > 0) {
+                    bits.flipBit(offset);
+                    model.flipBit(offset);
+                }
+                break;
+            case 3:
+                op = "set";
+                bits.set(offset, n);
+                model.set(offset, n);
+                break;
+            case 4:
+                op = "clear";
+                bits.clear(offset, n);
+                model.clear(offset, n);
+                break;
+            case 5:
+                op = "flip";
+                bits.flip(offset, n);
+                model.flip(offset, n);
+                break;
+            case 6:
+            case 7:
+            case 8:
+            case 9:
+            case 10: {
+                final BitString arg = BitStringModelCheck.randomBits(random, n + 1 + random.nextInt(200));
+                final int argOffset = random.nextInt(arg.length() - n);
+                switch (random.nextInt(5)) {
+                case 0:
+                    op = "and";
+                    bits.and(offset, n, arg, argOffset, n);
+                    model.and(offset, n, arg, argOffset, n);
+                    break;
+                case 1:
+                    op = "or";
+                    bits.or(offset, n, arg, argOffset, n);
+                    model.or(offset, n, arg, argOffset, n);
+                    break;
+                case 2:
+                    op = "xor";
+                    bits.xor(offset, n, arg, argOffset, n);
+                    model.xor(offset, n, arg, argOffset, n);
+                    break;
+                case 3:
+                    op = "andNot";
+                    bits.andNot(offset, n, arg, argOffset, n);
+                    model.andNot(offset, n, arg, argOffset, n);
+                    break;
+                default:
+                    op = "copyFrom";
+                    bits.copyFrom(offset, n, arg, argOffset, n);
+                    model.copyFrom(offset, n, arg, argOffset, n);
+                    break;
+                }
+                break;
+            }
+            default:
+                op = "serialization";
+                bits = BitStringModelCheck.roundTrip(bits);
+                break;
+            }
+            compare(bits, model, step, op, offset, n);
+        }
+    }
+    
+    private static void compare(StripedBitString bits, LongBitString model, int step, String op, int offset, int n) {
+        final String where = "step " + step + ", " + op + ": ";
+        final int length = model.length();
+        BitStringModelCheck.check(bits.length() == length, where + "length " + bits.length() + " != " + length);
+        BitStringModelCheck.check(bits.substring(0, length).equals(model), where + "bits differ");
+        BitStringModelCheck.check(bits.substring(offset, n).equals(model.substring(offset, n)),
+                where + "substring(" + offset + ", " + n + ") differs");
+        BitStringModelCheck.check(bits.numberOfOnes() == model.numberOfOnes(), where + "numberOfOnes differs");
+        BitStringModelCheck.check(bits.numberOfOnes(offset, n) == model.numberOfOnes(offset, n),
+                where + "numberOfOnes(" + offset + ", " + n + ") differs");
+        if (length > 0) {
+            BitStringModelCheck.check(bits.getBit(offset) == model.getBit(offset),
+                    where + "getBit(" + offset + ") differs");
+        }
+    }
+    
+    /**
+     * Each thread xors its own arguments into random, overlapping substrings;
+     * the result does not depend on the order of the operations.
+     */
+    private static void checkConcurrentXor(ExecutorService executor, Random random) throws Exception {
+        final int length = random.nextInt(50000) + 1;
+        final StripedBitString bits = new StripedBitString(length, 1 << random.nextInt(4));
+        final LongBitString model = new LongBitString(length);
+        final List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            final List<int[]> ranges = new ArrayList<>();
+            final List<LongBitString> args = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                final int offset = random.nextInt(length);
+                final int n = random.nextInt(length - offset + 1);
+                final LongBitString arg = BitStringModelCheck.randomBits(random, n);
+                model.xor(offset, n, arg, 0, n);
+                ranges.add(new int[] { offset, n });
+                args.add(arg);
+            }
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < ranges.size(); i++) {
+                    final int[] range = ranges.get(i);
+                    bits.xor(range[0], range[1], args.get(i), 0, range[1]);
+                }
+            }));
+        }
+        for (Future<?> future : futures) future.get();
+        BitStringModelCheck.check(bits.substring(0, length).equals(model), "concurrent xor lost a write");
+        BitStringModelCheck.check(bits.numberOfOnes() == model.numberOfOnes(), "numberOfOnes differs after xor");
+    }
+    
+    /**
+     * One thread flips a substring spanning several stripes while the others read
+     * it; every read sees the bits of the substring all {@code ZERO} or all
+     * {@code ONE}.
+     */
+    private static void checkAtomicRanges(ExecutorService executor, Random random) throws Exception {
+        final int stripeWords = 1 << random.nextInt(4);
+        final int length = random.nextInt(20000) + stripeWords * Long.SIZE * 4;
+        final int offset = random.nextInt(length - stripeWords * Long.SIZE * 3);
+        final int n = random.nextInt(length - offset - stripeWords * Long.SIZE * 2) + stripeWords * Long.SIZE * 2;
+        final StripedBitString bits = new StripedBitString(length, stripeWords);
+        final AtomicBoolean done = new AtomicBoolean();
+        final List<Future<?>> futures = new ArrayList<>();
+        for (int t = 1; t < THREADS; t++) {
+            futures.add(executor.submit(() -> {
+                while (!done.get()) {
+                    final int ones = bits.numberOfOnes(offset, n);
+                    BitStringModelCheck.check(ones == 0 || ones == n, "numberOfOnes saw a partial flip: " + ones);
+                    final int substringOnes = bits.substring(offset, n).numberOfOnes();
+                    BitStringModelCheck.check(substringOnes == 0 || substringOnes == n,
+                            "substring saw a partial flip: " + substringOnes);
+                }
+            }));
+        }
+        try {
+            for (int i = 0; i < 2000; i++) bits.flip(offset, n);
+        } finally {
+            done.set(true);
+        }
+        for (Future<?> future : futures) future.get();
+        BitStringModelCheck.check(bits.numberOfOnes() == 0, "an even number of flips left ONES");
+    }
+}
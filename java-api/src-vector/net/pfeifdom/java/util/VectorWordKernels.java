@@ -0,0 +1,240 @@
+/* Copyright (C) 2026 James R. Pfeifer. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * General Public License for more details (a copy is included in the
+ * LICENSE file that accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this work.  If not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ * 
+ * Linking this library statically or dynamically with other modules is
+ * making a combined work based on this library.  Thus, the terms and
+ * conditions of the GNU General Public License cover the whole
+ * combination.
+ *
+ * As a special exception, the copyright holders of this library give you
+ * permission to link this library with independent modules to produce an
+ * executable, regardless of the license terms of these independent
+ * modules, and to copy and distribute the resulting executable under
+ * terms of your choice, provided that you also meet, for each linked
+ * independent module, the terms and conditions of the license of that
+ * module.  An independent module is a module which is not derived from
+ * or based on this library.  If you modify this library, you may extend
+ * this exception to your version of the library, but you are not
+ * obligated to do so.  If you do not wish to do so, delete this
+ * exception statement from your version.
+ *
+ * Please contact James Pfeifer at james@pfeifdom.net if you need additional
+ * information or have any questions.
+ */
+
+package net.pfeifdom.java.util;
+
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@code WordKernels} built on {@code jdk.incubator.vector.LongVector}, which
+ * operate on as many words at a time as the processor's preferred vector
+ * register holds.
+ * 
+ * <p>
+ * This class needs JDK 17 or later and is compiled separately from the rest of
+ * the package, with {@code --add-modules jdk.incubator.vector}. It is only used
+ * when it is on the class path and the application is run with
+ * {@code --add-modules jdk.incubator.vector}. Otherwise {@code BitString} falls
+ * back to its scalar loops.
+ */
+final class VectorWordKernels implements WordKernels {
+    
+    private static final VectorSpecies<Long> SPECIES = LongVector.SPECIES_PREFERRED;
+    
+    private static final int LANES = SPECIES.length();
+    
+    /**
+     * The number of vectors whose bit counts can be summed bytewise before a byte
+     * could overflow: each byte of a vector holds at most 8 {@code ONES}.
+     */
+    private static final int BYTE_SUM_VECTORS = 255 / Byte.SIZE;
+    
+    VectorWordKernels() {
+        if (LANES < 2) throw new UnsupportedOperationException("the preferred vector holds a single long");
+    }
+    
+    /**
+     * Returns the number of {@code ONES} in each byte of the specified vector.
+     */
+    private static LongVector byteBitCounts(LongVector v) {
+        v = v.sub(v.lanewise(VectorOperators.LSHR, 1).and(0x5555555555555555L));
+        v = v.and(0x3333333333333333L).add(v.lanewise(VectorOperators.LSHR, 2).and(0x3333333333333333L));
+        return v.add(v.lanewise(VectorOperators.LSHR, 4)).and(0x0f0f0f0f0f0f0f0fL);
+    }
+    
+    /**
+     * Returns the sum of all the bytes of the specified vector.
+     */
+    private static long sumOfBytes(LongVector v) {
+        v = v.and(0x00ff00ff00ff00ffL).add(v.lanewise(VectorOperators.LSHR, 8).and(0x00ff00ff00ff00ffL));
+        v = v.add(v.lanewise(VectorOperators.LSHR, 16));
+        v = v.add(v.lanewise(VectorOperators.LSHR, 32)).and(0xffffL);
+        return v.reduceLanes(VectorOperators.ADD);
+    }
+    
+    @Override
+    public int bitCount(long[] words, int fromIndex, int toIndex) {
+        long sum = 0;
+        int index = fromIndex;
+        final int upperBound = fromIndex + SPECIES.loopBound(toIndex - fromIndex);
+        while (index < upperBound) {
+            // sum bytewise, which needs no widening, for as long as no byte can overflow
+            LongVector byteSums = LongVector.zero(SPECIES);
+            for (int n = 0; n < BYTE_SUM_VECTORS && index < upperBound; n++, index += LANES) {
+                byteSums = byteSums.add(byteBitCounts(LongVector.fromArray(SPECIES, words, index)));
+            }
+            sum += sumOfBytes(byteSums);
+        }
+        for (; index < toIndex; index++) {
+            sum += Long.bitCount(words[index]);
+        }
+        return (int) sum;
+    }
+    
+    @Override
+    public boolean equalWords(long[] thisWords, int thisFrom, long[] thatWords, int thatFrom, int count) {
+        int index = 0;
+        for (final int upperBound = SPECIES.loopBound(count); index < upperBound; index += LANES) {
+            final LongVector thisVector = LongVector.fromArray(SPECIES, thisWords, thisFrom + index);
+            final LongVector thatVector = LongVector.fromArray(SPECIES, thatWords, thatFrom + index);
+            if (!thisVector.eq(thatVector).allTrue()) return false;
+        }
+        for (; index < count; index++) {
+            if (thisWords[thisFrom+index] != thatWords[thatFrom+index]) return false;
+        }
+        return true;
+    }
+    
+    @Override
+    public boolean intersectingWords(long[] thisWords, int thisFrom, long[] thatWords, int thatFrom, int count) {
+        int index = 0;
+        for (final int upperBound = SPECIES.loopBound(count); index < upperBound; index += LANES) {
+            final LongVector thisVector = LongVector.fromArray(SPECIES, thisWords, thisFrom + index);
+            final LongVector thatVector = LongVector.fromArray(SPECIES, thatWords, thatFrom + index);
+            if (thisVector.and(thatVector).compare(VectorOperators.NE, 0L).anyTrue()) return true;
+        }
+        for (; index < count; index++) {
+            if ((thisWords[thisFrom+index] & thatWords[thatFrom+index]) != 0L) return true;
+        }
+        return false;
+    }
+    
+    @Override
+    public int applyToArrays(int op, long[] thisWords, int thisFrom, long[] thatWords, int thatFrom, int count) {
+        assert thisWords != thatWords;
+        final int upperBound = SPECIES.loopBound(count);
+        switch (op) {
+        case AND:
+            for (int index = 0; index < upperBound; index += LANES) {
+                LongVector.fromArray(SPECIES, thisWords, thisFrom + index)
+                        .and(LongVector.fromArray(SPECIES, thatWords, thatFrom + index))
+                        .intoArray(thisWords, thisFrom + index);
+            }
+            break;
+        case ANDNOT:
+            for (int index = 0; index < upperBound; index += LANES) {
+                LongVector.fromArray(SPECIES, thisWords, thisFrom + index)
+                        .lanewise(VectorOperators.AND_NOT, LongVector.fromArray(SPECIES, thatWords, thatFrom + index))
+                        .intoArray(thisWords, thisFrom + index);
+            }
+            break;
+        case NAND:
+            for (int index = 0; index < upperBound; index += LANES) {
+                LongVector.fromArray(SPECIES, thisWords, thisFrom + index)
+                        .and(LongVector.fromArray(SPECIES, thatWords, thatFrom + index))
+                        .not()
+                        .intoArray(thisWords, thisFrom + index);
+            }
+            break;
+        case NANDNOT:
+            for (int index = 0; index < upperBound; index += LANES) {
+                LongVector.fromArray(SPECIES, thisWords, thisFrom + index)
+                        .not()
+                        .or(LongVector.fromArray(SPECIES, thatWords, thatFrom + index))
+                        .intoArray(thisWords, thisFrom + index);
+            }
+            break;
+        case NOR:
+            for (int index = 0; index < upperBound; index += LANES) {
+                LongVector.fromArray(SPECIES, thisWords, thisFrom + index)
+                        .or(LongVector.fromArray(SPECIES, thatWords, thatFrom + index))
+                        .not()
+                        .intoArray(thisWords, thisFrom + index);
+            }
+            break;
+        case NORNOT:
+            for (int index = 0; index < upperBound; index += LANES) {
+                LongVector.fromArray(SPECIES, thatWords, thatFrom + index)
+                        .lanewise(VectorOperators.AND_NOT, LongVector.fromArray(SPECIES, thisWords, thisFrom + index))
+                        .intoArray(thisWords, thisFrom + index);
+            }
+            break;
+        case OR:
+            for (int index = 0; index < upperBound; index += LANES) {
+                LongVector.fromArray(SPECIES, thisWords, thisFrom + index)
+                        .or(LongVector.fromArray(SPECIES, thatWords, thatFrom + index))
+                        .intoArray(thisWords, thisFrom + index);
+            }
+            break;
+        case ORNOT:
+            for (int index = 0; index < upperBound; index += LANES) {
+                LongVector.fromArray(SPECIES, thisWords, thisFrom + index)
+                        .or(LongVector.fromArray(SPECIES, thatWords, thatFrom + index).not())
+                        .intoArray(thisWords, thisFrom + index);
+            }
+            break;
+        case XNOR:
+            for (int index = 0; index < upperBound; index += LANES) {
+                LongVector.fromArray(SPECIES, thisWords, thisFrom + index)
+                        .lanewise(VectorOperators.XOR, LongVector.fromArray(SPECIES, thatWords, thatFrom + index))
+                        .not()
+                        .intoArray(thisWords, thisFrom + index);
+            }
+            break;
+        case XOR:
+            for (int index = 0; index < upperBound; index += LANES) {
+                LongVector.fromArray(SPECIES, thisWords, thisFrom + index)
+                        .lanewise(VectorOperators.XOR, LongVector.fromArray(SPECIES, thatWords, thatFrom + index))
+                        .intoArray(thisWords, thisFrom + index);
+            }
+            break;
+        case NOT:
+            for (int index = 0; index < upperBound; index += LANES) {
+                LongVector.fromArray(SPECIES, thisWords, thisFrom + index)
+                        .not()
+                        .intoArray(thisWords, thisFrom + index);
+            }
+            break;
+        case COPY:
+            System.arraycopy(thatWords, thatFrom, thisWords, thisFrom, upperBound);
+            break;
+        case COPYNOT:
+            for (int index = 0; index < upperBound; index += LANES) {
+                LongVector.fromArray(SPECIES, thatWords, thatFrom + index)
+                        .not()
+                        .intoArray(thisWords, thisFrom + index);
+            }
+            break;
+        default:
+            return 0;
+        }
+        return upperBound;
+    }
+}
@@ -0,0 +1,405 @@
+/* Copyright (C) 2026 James R. Pfeifer. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * General Public License for more details (a copy is included in the
+ * LICENSE file that accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this work.  If not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ * 
+ * Linking this library statically or dynamically with other modules is
+ * making a combined work based on this library.  Thus, the terms and
+ * conditions of the GNU General Public License cover the whole
+ * combination.
+ *
+ * As a special exception, the copyright holders of this library give you
+ * permission to link this library with independent modules to produce an
+ * executable, regardless of the license terms of these independent
+ * modules, and to copy and distribute the resulting executable under
+ * terms of your choice, provided that you also meet, for each linked
+ * independent module, the terms and conditions of the license of that
+ * module.  An independent module is a module which is not derived from
+ * or based on this library.  If you modify this library, you may extend
+ * this exception to your version of the library, but you are not
+ * obligated to do so.  If you do not wish to do so, delete this
+ * exception statement from your version.
+ *
+ * Please contact James Pfeifer at james@pfeifdom.net if you need additional
+ * information or have any questions.
+ */
+
+package net.pfeifdom.java.util;
+
+import java.util.Arrays;
+
+/**
+ * A {@code BitString} that holds the offsets of its {@code ONES} in a sorted
+ * array while it is sparse, and switches to an array of words once that would
+ * take less memory.
+ * 
+ * <p>
+ * While sparse, {@code numberOfOnes} and {@code offsetOfNextOne} search the
+ * offsets rather than scan the words, and so cost the same however long the
+ * bit string is. A sparse bit string becomes dense when it holds more
+ * {@code ONES} than twice the number of words in its capacity, since an
+ * {@code int} offset takes half the space of a word. A dense bit string
+ * behaves as a {@code LongBitString}; it only becomes sparse again when
+ * {@link #trimToLength()} is called and finds it has few enough {@code ONES}.
+ * <p>
+ * Bulk operations on a sparse bit string merge the offsets of each run of
+ * words they write in a single pass. Each run that changes the number of
+ * {@code ONES} moves the offsets that follow it. Once bulk operations have
+ * moved more offsets than the bit string has words, it becomes dense, so that
+ * the cost of bulk operations stays proportional to the number of words they
+ * write.
+ */
+public class AdaptiveBitString extends BitString {
+    
+    /**
+     * 
+     */
+    private static final long serialVersionUID = -7436620718340952270L;
+    
+    private static final int ADDRESS_BITS_PER_WORD = 6;
+    
+    private static final long BIT_MASK = 0x8000000000000000L;
+    
+    /**
+     * The sorted offsets of the ONES of this bit string while it is sparse, or
+     * {@code null} once it is dense.
+     */
+    private int[] offsets;
+    
+    /**
+     * The number of offsets in use while this bit string is sparse.
+     */
+    private int nOffsets;
+    
+    /**
+     * The words of this bit string once it is dense, or {@code null} while it is
+     * sparse.
+     */
+    private long[] words;
+    
+    /**
+     * The number of words this bit string may hold.
+     */
+    private int capacityWords;
+    
+    /**
+     * The number of offsets moved by bulk writes since this bit string last
+     * became sparse.
+     */
+    private transient long offsetsMoved;
+    
+    /**
+     * Creates a new {@code AdaptiveBitString} of length 0. The capacity of the new
+     * {@code AdaptiveBitString} will equal Long.SIZE (64 bits).
+     */
+    public AdaptiveBitString() {
+        super(0);
+        initOffsets(Long.SIZE);
+    }
+    
+    /**
+     * Creates a new {@code AdaptiveBitString} with the specified length. The
+     * capacity of the new {@code AdaptiveBitString} will equal the nearest
+     * multiple of Long.SIZE (64 bits) greater than or equal to the length. All
+     * bits are initially set to {@code ZERO}.
+     * 
+     * @param length the initial length of the new {@code BitString}
+     * @throws IllegalArgumentException if the specified length is negative
+     */
+    public AdaptiveBitString(int length) {
+        super(length);
+        initOffsets(length);
+    }
+    
+    /**
+     * Creates a new {@code AdaptiveBitString} with the specified length and
+     * capacity. The specified capacity must be equal to or greater than the
+     * specified length. The actual capacity is rounded up to the nearest multiple
+     * of Long.SIZE (64 bits). All bits are initially set to {@code ZERO}.
+     * 
+     * @param length   the initial length of the new {@code BitString}
+     * @param capacity the initial capacity of the new {@code BitString}
+     * @throws IllegalArgumentException if the specified length is negative, or if
+     *                                  the specified capacity is less than the
+     *                                  length
+     */
+    public AdaptiveBitString(int length, int capacity) {
+        super(length);
+        if (capacity < length) {
+            throw new IllegalArgumentException("capacity (" + capacity + ") < length (" + length + ")");
+        }
+        initOffsets(capacity);
+    }
+    
+    private void initOffsets(int capacity) {
+        this.capacityWords = wordCount(capacity);
+        this.offsets = new int[4];
+    }
+    
+    private static int wordCount(int nBits) {
+        return ((nBits - 1) >> ADDRESS_BITS_PER_WORD) + 1;
+    }
+    
+    @Override
+    AdaptiveBitString newBitString(int length) {
+        return new AdaptiveBitString(length);
+    }
+    
+    /**
+     * Returns {@code true} if this bit string holds the offsets of its
+     * {@code ONES}, rather than its words.
+     * 
+     * @return {@code true} if this bit string is sparse
+     */
+    public boolean isSparse() {
+        return words == null;
+    }
+    
+    /**
+     * Returns the largest number of ONES a sparse bit string of the current
+     * capacity holds.
+     */
+    private int sparseLimit() {
+        return 2 * capacityWords;
+    }
+    
+    @Override
+    void resizeBackingArray(int capacity) {
+        final int newCapacityWords = wordCount(capacity);
+        if (newCapacityWords == capacityWords) return;
+        capacityWords = newCapacityWords;
+        if (words != null) {
+            words = Arrays.copyOf(words, newCapacityWords);
+        } else {
+            nOffsets = indexOf(newCapacityWords << ADDRESS_BITS_PER_WORD);
+        }
+    }
+    
+    @Override
+    public int capacity() {
+        return capacityWords >= MAX_LONGS
+                ? Integer.MAX_VALUE
+                : capacityWords * Long.SIZE;
+    }
+    
+    /**
+     * Sets the capacity of this bit string to its length, and makes it sparse
+     * again if it holds few enough {@code ONES}.
+     * 
+     * @return the new capacity of this bit string
+     */
+    @Override
+    public int trimToLength() {
+        final int capacity = super.trimToLength();
+        if (words != null) {
+            final int length = length();
+            final int ones = super.numberOfOnes(0, length);
+            if (ones <= sparseLimit()) {
+                final int[] newOffsets = new int[Math.max(ones, 1)];
+                for (int i = 0, offset = super.offsetOfNextOne(0); offset >= 0; i++) {
+                    newOffsets[i] = offset;
+                    offset = (offset + 1 < length) ? super.offsetOfNextOne(offset + 1) : -1;
+                }
+                offsets = newOffsets;
+                nOffsets = ones;
+                offsetsMoved = 0L;
+                words = null;
+            }
+        } else if (offsets.length > nOffsets) {
+            offsets = Arrays.copyOf(offsets, Math.max(nOffsets, 1));
+        }
+        return capacity;
+    }
+    
+    @Override
+    public void setLength(int newLength) {
+        // a sparse bit string keeps no offsets past its length
+        if (words == null && newLength >= 0 && newLength < length()) nOffsets = indexOf(newLength);
+        super.setLength(newLength);
+    }
+    
+    @Override
+    long[] wordArray() {
+        return words;
+    }
+    
+    /**
+     * Returns the index of the first offset greater than or equal to the
+     * specified offset.
+     */
+    private int indexOf(int offset) {
+        int low = 0;
+        int high = nOffsets;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (offsets[mid] < offset) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+    
+    @Override
+    long getWord(int wordIndex) {
+        if (words != null) return words[wordIndex];
+        final int start = wordIndex << ADDRESS_BITS_PER_WORD;
+        long word = 0L;
+        for (int i = indexOf(start); i < nOffsets && offsets[i] - start < Long.SIZE; i++) {
+            word |= BIT_MASK >>> (offsets[i] - start);
+        }
+        return word;
+    }
+    
+    @Override
+    void getWords(int wordIndex, long[] dst, int dstFrom, int count) {
+        if (words != null) {
+            System.arraycopy(words, wordIndex, dst, dstFrom, count);
+            return;
+        }
+        Arrays.fill(dst, dstFrom, dstFrom + count, 0L);
+        final int start = wordIndex << ADDRESS_BITS_PER_WORD;
+        final long end = (long)count << ADDRESS_BITS_PER_WORD;
+        for (int i = indexOf(start); i < nOffsets && offsets[i] - start < end; i++) {
+            final int bit = offsets[i] - start;
+            dst[dstFrom + (bit >>> ADDRESS_BITS_PER_WORD)] |= BIT_MASK >>> bit;
+        }
+    }
+    
+    @Override
+    void setWord(int wordIndex, long word) {
+        if (words != null) {
+            words[wordIndex] = word;
+            return;
+        }
+        final int start = wordIndex << ADDRESS_BITS_PER_WORD;
+        final int low = indexOf(start);
+        int high = low;
+        long oldWord = 0L;
+        while (high < nOffsets && offsets[high] - start < Long.SIZE) {
+            oldWord |= BIT_MASK >>> (offsets[high] - start);
+            high++;
+        }
+        if (word == oldWord) return;
+        final int count = Long.bitCount(word);
+        final int newNOffsets = nOffsets - (high - low) + count;
+        if (newNOffsets > sparseLimit()) {
+            toDense();
+            words[wordIndex] = word;
+            return;
+        }
+        if (count != high - low) {
+            growOffsets(newNOffsets);
+            System.arraycopy(offsets, high, offsets, low + count, nOffsets - high);
+            nOffsets = newNOffsets;
+        }
+        putOffsets(low, start, word);
+    }
+    
+    /**
+     * Replaces the offsets of the ONES of the specified run of words with those
+     * of the specified words, moving the offsets that follow the run at most
+     * once.
+     */
+    @Override
+    void setWords(int wordIndex, long[] src, int srcFrom, int count) {
+        if (words != null) {
+            System.arraycopy(src, srcFrom, words, wordIndex, count);
+            return;
+        }
+        final int start = wordIndex << ADDRESS_BITS_PER_WORD;
+        final int low = indexOf(start);
+        final int high = indexOf((int)Math.min(start + ((long)count << ADDRESS_BITS_PER_WORD), Integer.MAX_VALUE));
+        int ones = 0;
+        for (int i = 0; i < count; i++) ones += Long.bitCount(src[srcFrom + i]);
+        final int newNOffsets = nOffsets - (high - low) + ones;
+        if (ones != high - low) {
+            offsetsMoved += nOffsets - high;
+            if (newNOffsets > sparseLimit() || offsetsMoved > capacityWords) {
+                toDense();
+                System.arraycopy(src, srcFrom, words, wordIndex, count);
+                return;
+            }
+            growOffsets(newNOffsets);
+            System.arraycopy(offsets, high, offsets, low + ones, nOffsets - high);
+            nOffsets = newNOffsets;
+        }
+        for (int i = 0, j = low; i < count; i++) {
+            j = putOffsets(j, start + (i << ADDRESS_BITS_PER_WORD), src[srcFrom + i]);
+        }
+    }
+    
+    /**
+     * Makes room for at least the specified number of offsets.
+     */
+    private void growOffsets(int minLength) {
+        if (minLength > offsets.length) {
+            offsets = Arrays.copyOf(offsets, Math.max(minLength, Math.min(offsets.length * 2, sparseLimit())));
+        }
+    }
+    
+    /**
+     * Writes the offsets of the ONES of the specified word, which starts at the
+     * specified offset, starting at the specified index of the offsets, and
+     * returns the index following the last offset written.
+     */
+    private int putOffsets(int index, int start, long word) {
+        for (long bits = word; bits != 0L; index++) {
+            final int bit = Long.numberOfLeadingZeros(bits);
+            offsets[index] = start + bit;
+            bits &= ~(BIT_MASK >>> bit);
+        }
+        return index;
+    }
+    
+    private void toDense() {
+        final long[] newWords = new long[capacityWords];
+        for (int i = 0; i < nOffsets; i++) {
+            newWords[offsets[i] >>> ADDRESS_BITS_PER_WORD] |= BIT_MASK >>> offsets[i];
+        }
+        words = newWords;
+        offsets = null;
+        nOffsets = 0;
+    }
+    
+    /**
+     * Cloning this {@code BitString} produces a new {@code BitString}
+     * that is equal to it.
+     * 
+     * @return a clone of this bit string
+     */
+    @Override
+    public AdaptiveBitString clone() {
+        final AdaptiveBitString clone = (AdaptiveBitString) super.clone();
+        if (words != null) clone.words = words.clone();
+        if (offsets != null) clone.offsets = offsets.clone();
+        return clone;
+    }
+    
+    @Override
+    public int numberOfOnes(int offset, int length) {
+        if (words != null) return super.numberOfOnes(offset, length);
+        checkThisOffset(offset);
+        checkThisLength(offset, length);
+        return indexOf(offset + length) - indexOf(offset);
+    }
+    
+    @Override
+    public int offsetOfNextOne(int startOffset) {
+        if (words != null) return super.offsetOfNextOne(startOffset);
+        if (startOffset == length()) return -1;
+        checkThisOffset(startOffset);
+        final int i = indexOf(startOffset);
+        return (i < nOffsets) ? offsets[i] : -1;
+    }
+}
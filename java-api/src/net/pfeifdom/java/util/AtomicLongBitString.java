@@ -0,0 +1,595 @@
+/* Copyright (C) 2026 James R. Pfeifer. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * General Public License for more details (a copy is included in the
+ * LICENSE file that accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this work.  If not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ * 
+ * Linking this library statically or dynamically with other modules is
+ * making a combined work based on this library.  Thus, the terms and
+ * conditions of the GNU General Public License cover the whole
+ * combination.
+ *
+ * As a special exception, the copyright holders of this library give you
+ * permission to link this library with independent modules to produce an
+ * executable, regardless of the license terms of these independent
+ * modules, and to copy and distribute the resulting executable under
+ * terms of your choice, provided that you also meet, for each linked
+ * independent module, the terms and conditions of the license of that
+ * module.  An independent module is a module which is not derived from
+ * or based on this library.  If you modify this library, you may extend
+ * this exception to your version of the library, but you are not
+ * obligated to do so.  If you do not wish to do so, delete this
+ * exception statement from your version.
+ *
+ * Please contact James Pfeifer at james@pfeifdom.net if you need additional
+ * information or have any questions.
+ */
+
+package net.pfeifdom.java.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@code BitString} whose bits can be set, cleared and combined with the bits
+ * of another bit string by many threads at once, without locking.
+ * 
+ * <p>
+ * The words of an {@code AtomicLongBitString} are held in an
+ * {@code AtomicLongArray}. {@link #setBit(int)}, {@link #clearBit(int)} and
+ * {@link #flipBit(int)}, {@link #testAndSet(int)} and
+ * {@link #testAndClear(int)} update the word holding the bit with a
+ * compare-and-set, and so are atomic with respect to each other; a bit that
+ * already has the value being set is not written at all, so threads that mark
+ * the same bits do not contend for the same word. {@link #atomicOr(BitString)},
+ * {@link #atomicAnd(BitString)} and {@link #atomicXor(BitString)} combine the
+ * bits of another bit string a word at a time, each word with a
+ * compare-and-set, so that each word is updated atomically, though the
+ * operation as a whole is not. {@link #getBit(int)} always reads the latest
+ * value of a bit.
+ * <p>
+ * The capacity of an {@code AtomicLongBitString} is fixed when it is created,
+ * so that the array of words is never replaced while other threads are
+ * updating it; increasing the length past the capacity throws an
+ * {@code UnsupportedOperationException}. All other operations, including
+ * changes to the length, the bitwise operations inherited from
+ * {@code BitString} and any operation on a {@code Range}, read and write whole
+ * words without compare-and-set, and are not safe for multithreaded use without
+ * external synchronization.
+ */
+public class AtomicLongBitString extends BitString {
+    
+    /**
+     * 
+     */
+    private static final long serialVersionUID = -1033867305247580010L;
+    
+    private static final int ADDRESS_BITS_PER_WORD = 6;
+    
+    private static final long BIT_MASK = 0x8000000000000000L;
+    
+    private static final long WORD_MASK = 0xFFFFFFFFFFFFFFFFL;
+    
+    /**
+     * The words of this bit string; its length is fixed.
+     */
+    private AtomicLongArray words;
+    
+    /**
+     * Counts the writes to the bits of this bit string, in place of the plain
+     * counter of {@code BitString}, so that threads marking bits at once
+     * neither lose counts nor all write to the same field.
+     */
+    private LongAdder bitsModCount = new LongAdder();
+    
+    /**
+     * Creates a new {@code AtomicLongBitString} of length 0. The capacity of the
+     * new {@code AtomicLongBitString} will equal Long.SIZE (64 bits).
+     */
+    public AtomicLongBitString() {
+        super(0);
+        initWords(Long.SIZE);
+    }
+    
+    /**
+     * Creates a new {@code AtomicLongBitString} with the specified length. The
+     * capacity of the new {@code AtomicLongBitString} will equal the nearest
+     * multiple of Long.SIZE (64 bits) greater than or equal to the length, and
+     * cannot be increased. All bits are initially set to {@code ZERO}.
+     * 
+     * @param length the initial length of the new {@code BitString}
+     * @throws IllegalArgumentException if the specified length is negative
+     */
+    public AtomicLongBitString(int length) {
+        super(length);
+        initWords(length);
+    }
+    
+    /**
+     * Creates a new {@code AtomicLongBitString} with the specified length and
+     * capacity. The specified capacity must be equal to or greater than the
+     * specified length. The actual capacity is rounded up to the nearest multiple
+     * of Long.SIZE (64 bits), and cannot be increased. All bits are initially set
+     * to {@code ZERO}.
+     * 
+     * @param length   the initial length of the new {@code BitString}
+     * @param capacity the capacity of the new {@code BitString}
+     * @throws IllegalArgumentException if the specified length is negative, or if
+     *                                  the specified capacity is less than the
+     *                                  length
+     */
+    public AtomicLongBitString(int length, int capacity) {
+        super(length);
+        if (capacity < length) {
+            throw new IllegalArgumentException("capacity (" + capacity + ") < length (" + length + ")");
+        }
+        initWords(capacity);
+    }
+    
+    private void initWords(int capacity) {
+        this.words = new AtomicLongArray(wordCount(Math.max(capacity, 1)));
+    }
+    
+    private static int wordCount(int nBits) {
+        return ((nBits - 1) >> ADDRESS_BITS_PER_WORD) + 1;
+    }
+    
+    @Override
+    AtomicLongBitString newBitString(int length) {
+        return new AtomicLongBitString(length);
+    }
+    
+    /**
+     * The array of words is never replaced, so the capacity can not be increased,
+     * and is left as it is when it is trimmed.
+     */
+    @Override
+    void resizeBackingArray(int capacity) {
+        if (wordCount(capacity) > words.length()) {
+            throw new UnsupportedOperationException(
+                    "the capacity of an AtomicLongBitString cannot be increased; capacity=" + capacity()
+                            + ", required capacity=" + capacity);
+        }
+    }
+    
+    @Override
+    public int capacity() {
+        return words.length() >= MAX_LONGS
+                ? Integer.MAX_VALUE
+                : words.length() * Long.SIZE;
+    }
+    
+    @Override
+    long getWord(int wordIndex) {
+        return words.get(wordIndex);
+    }
+    
+    @Override
+    void setWord(int wordIndex, long word) {
+        words.set(wordIndex, word);
+    }
+    
+    @Override
+    Object parallelWordStorage() {
+        return words;
+    }
+    
+    @Override
+    long bitsModCount() {
+        return bitsModCount.sum();
+    }
+    
+    @Override
+    void incrementBitsModCount() {
+        bitsModCount.increment();
+    }
+    
+    /**
+     * Cloning this {@code BitString} produces a new {@code BitString}
+     * that is equal to it, with the same capacity.
+     * 
+     * @return a clone of this bit string
+     */
+    @Override
+    public AtomicLongBitString clone() {
+        final AtomicLongBitString clone = (AtomicLongBitString) super.clone();
+        final AtomicLongArray words = new AtomicLongArray(this.words.length());
+        for (int i = 0; i < words.length(); i++) words.set(i, this.words.get(i));
+        clone.words = words;
+        clone.bitsModCount = new LongAdder();
+        return clone;
+    }
+    
+    /**
+     * Atomically sets the bit at the specified offset to {@code ONE}.
+     * 
+     * @param bitOffset the offset of the bit to set
+     * @return this {@code BitString}
+     * @throws StringIndexOutOfBoundsException if
+     *                                         {@code bitOffset < 0 || bitOffset > 0 && bitOffset >= length()}
+     */
+    @Override
+    public BitString setBit(int bitOffset) {
+        testAndSet(bitOffset);
+        return this;
+    }
+    
+    /**
+     * Atomically sets the bit at the specified offset to {@code ZERO}.
+     * 
+     * @param bitOffset the offset of the bit to clear
+     * @return this {@code BitString}
+     * @throws StringIndexOutOfBoundsException if
+     *                                         {@code bitOffset < 0 || bitOffset > 0 && bitOffset >= length()}
+     */
+    @Override
+    public BitString clearBit(int bitOffset) {
+        testAndClear(bitOffset);
+        return this;
+    }
+    
+    /**
+     * Atomically sets the bit at the specified offset to the complement of its
+     * current value.
+     * 
+     * @param bitOffset the offset of the bit to flip
+     * @return this {@code BitString}
+     * @throws StringIndexOutOfBoundsException if
+     *                                         {@code bitOffset < 0 || bitOffset > 0 && bitOffset >= length()}
+     */
+    @Override
+    public BitString flipBit(int bitOffset) {
+        checkThisOffset(bitOffset);
+        final int wordIndex = bitOffset >>> ADDRESS_BITS_PER_WORD;
+        final long mask = BIT_MASK >>> bitOffset;
+        long word;
+        do {
+            word = words.get(wordIndex);
+        } while (!words.compareAndSet(wordIndex, word, word ^ mask));
+        incrementBitsModCount();
+        return this;
+    }
+    
+    /**
+     * Atomically sets the bit at the specified offset to {@code ONE}, and returns
+     * its previous value. Of several threads setting the same bit, exactly one
+     * sees {@code false} returned.
+     * 
+     * @param bitOffset the offset of the bit to set
+     * @return {@code true} if the bit was already {@code ONE}
+     * @throws StringIndexOutOfBoundsException if
+     *                                         {@code bitOffset < 0 || bitOffset > 0 && bitOffset >= length()}
+     */
+    public boolean testAndSet(int bitOffset) {
+        checkThisOffset(bitOffset);
+        final int wordIndex = bitOffset >>> ADDRESS_BITS_PER_WORD;
+        final long mask = BIT_MASK >>> bitOffset;
+        long word;
+        do {
+            word = words.get(wordIndex);
+            if ((word & mask) != 0L) return true;
+        } while (!words.compareAndSet(wordIndex, word, word | mask));
+        incrementBitsModCount();
+        return false;
+    }
+    
+    /**
+     * Atomically sets the bit at the specified offset to {@code ZERO}, and
+     * returns its previous value. Of several threads clearing the same bit,
+     * exactly one sees {@code true} returned.
+     * 
+     * @param bitOffset the offset of the bit to clear
+     * @return {@code true} if the bit was {@code ONE}
+     * @throws StringIndexOutOfBoundsException if
+     *                                         {@code bitOffset < 0 || bitOffset > 0 && bitOffset >= length()}
+     */
+    public boolean testAndClear(int bitOffset) {
+        checkThisOffset(bitOffset);
+        final int wordIndex = bitOffset >>> ADDRESS_BITS_PER_WORD;
+        final long mask = BIT_MASK >>> bitOffset;
+        long word;
+        do {
+            word = words.get(wordIndex);
+            if ((word & mask) == 0L) return false;
+        } while (!words.compareAndSet(wordIndex, word, word & ~mask));
+        incrementBitsModCount();
+        return true;
+    }
+    
+    /**
+     * Performs a logical <b>OR</b> of this {@code BitString} with the specified
+     * bit string (arg), updating each word of this {@code BitString}
+     * atomically.
+     * 
+     * The length of the operation is equal to the smaller of the length of this
+     * {@code BitString} or the length of the bit string argument.
+     * 
+     * @param arg bit string argument
+     * @return this {@code BitString} with the results of the operation
+     * @see BitString#or(BitString)
+     */
+    public BitString atomicOr(BitString arg) {
+        iAtomic(AtomicOp.OR, 0, Math.min(this.length(), arg.length()), arg, 0);
+        return this;
+    }
+    
+    /**
+     * Performs a logical <b>OR</b> of a substring of this {@code BitString} with a
+     * substring of the specified bit string (arg), updating each word of this
+     * {@code BitString} atomically.
+     * 
+     * The length of the operation is equal to the smaller of the length of this
+     * substring or the length of the substring argument.
+     * 
+     * @param thisOffset the start of this substring
+     * @param thisLength the length of this substring
+     * @param arg        bit string argument
+     * @param argOffset  the start of the argument substring
+     * @param argLength  the length of the argument substring
+     * @return this {@code BitString} with the results of the operation
+     * @throws StringIndexOutOfBoundsException if
+     *                                         {@code thisOffset < 0 || thisOffset > 0 && thisOffset >= this.length()}
+     *                                         or
+     *                                         {@code argOffset < 0 || argOffset > 0 && argOffset >= arg.length()}
+     * @throws IllegalArgumentException        if
+     *                                         {@code thisLength < 0 || thisLength > this.length() - thisOffset}
+     *                                         or
+     *                                         {@code argLength < 0 || argLength > arg.length() - argOffset}
+     * @see BitString#or(int, int, BitString, int, int)
+     */
+    public BitString atomicOr(int thisOffset, int thisLength, BitString arg, int argOffset, int argLength) {
+        checkThisOffset(thisOffset);
+        checkThisLength(thisOffset, thisLength);
+        arg.checkArgOffset(argOffset);
+        arg.checkArgLength(argOffset, argLength);
+        iAtomic(AtomicOp.OR, thisOffset, Math.min(thisLength, argLength), arg, argOffset);
+        return this;
+    }
+    
+    /**
+     * Performs a logical <b>OR</b> of a Field of this {@code BitString} with a
+     * Field of the specified bit string (arg), updating each word of this
+     * {@code BitString} atomically.
+     * 
+     * The length of the operation is equal to the smaller of the length of this
+     * Field or the length of the specified Field.
+     * 
+     * @param thisField Field of this {@code BitString}
+     * @param arg       bit string argument
+     * @param argField  Field of the bit string argument
+     * @return this {@code BitString} with the results of the operation
+     * @throws StringIndexOutOfBoundsException if
+     *                                         {@code thisField.offset() > 0 && thisField.offset() >= this.length()}
+     *                                         or
+     *                                         {@code argField.offset() > 0 && argField.offset() >= arg.length()}
+     * @throws IllegalArgumentException        if
+     *                                         {@code thisField.length() > this.length() - thisField.offset()}
+     *                                         or
+     *                                         {@code argField.length() > arg.length() - argField.offset()}
+     */
+    public BitString atomicOr(Field thisField, BitString arg, Field argField) {
+        return atomicOr(thisField.offset(), thisField.length(this), arg, argField.offset(), argField.length(arg));
+    }
+    
+    /**
+     * Performs a logical <b>AND</b> of this {@code BitString} with the specified
+     * bit string (arg), updating each word of this {@code BitString}
+     * atomically.
+     * 
+     * The length of the operation is equal to the smaller of the length of this
+     * {@code BitString} or the length of the bit string argument.
+     * 
+     * @param arg bit string argument
+     * @return this {@code BitString} with the results of the operation
+     * @see BitString#and(BitString)
+     */
+    public BitString atomicAnd(BitString arg) {
+        iAtomic(AtomicOp.AND, 0, Math.min(this.length(), arg.length()), arg, 0);
+        return this;
+    }
+    
+    /**
+     * Performs a logical <b>AND</b> of a substring of this {@code BitString} with
+     * a substring of the specified bit string (arg), updating each word of this
+     * {@code BitString} atomically.
+     * 
+     * The length of the operation is equal to the smaller of the length of this
+     * substring or the length of the substring argument.
+     * 
+     * @param thisOffset the start of this substring
+     * @param thisLength the length of this substring
+     * @param arg        bit string argument
+     * @param argOffset  the start of the argument substring
+     * @param argLength  the length of the argument substring
+     * @return this {@code BitString} with the results of the operation
+     * @throws StringIndexOutOfBoundsException if
+     *                                         {@code thisOffset < 0 || thisOffset > 0 && thisOffset >= this.length()}
+     *                                         or
+     *                                         {@code argOffset < 0 || argOffset > 0 && argOffset >= arg.length()}
+     * @throws IllegalArgumentException        if
+     *                                         {@code thisLength < 0 || thisLength > this.length() - thisOffset}
+     *                                         or
+     *                                         {@code argLength < 0 || argLength > arg.length() - argOffset}
+     * @see BitString#and(int, int, BitString, int, int)
+     */
+    public BitString atomicAnd(int thisOffset, int thisLength, BitString arg, int argOffset, int argLength) {
+        checkThisOffset(thisOffset);
+        checkThisLength(thisOffset, thisLength);
+        arg.checkArgOffset(argOffset);
+        arg.checkArgLength(argOffset, argLength);
+        iAtomic(AtomicOp.AND, thisOffset, Math.min(thisLength, argLength), arg, argOffset);
+        return this;
+    }
+    
+    /**
+     * Performs a logical <b>AND</b> of a Field of this {@code BitString} with a
+     * Field of the specified bit string (arg), updating each word of this
+     * {@code BitString} atomically.
+     * 
+     * The length of the operation is equal to the smaller of the length of this
+     * Field or the length of the specified Field.
+     * 
+     * @param thisField Field of this {@code BitString}
+     * @param arg       bit string argument
+     * @param argField  Field of the bit string argument
+     * @return this {@code BitString} with the results of the operation
+     * @throws StringIndexOutOfBoundsException if
+     *                                         {@code thisField.offset() > 0 && thisField.offset() >= this.length()}
+     *                                         or
+     *                                         {@code argField.offset() > 0 && argField.offset() >= arg.length()}
+     * @throws IllegalArgumentException        if
+     *                                         {@code thisField.length() > this.length() - thisField.offset()}
+     *                                         or
+     *                                         {@code argField.length() > arg.length() - argField.offset()}
+     */
+    public BitString atomicAnd(Field thisField, BitString arg, Field argField) {
+        return atomicAnd(thisField.offset(), thisField.length(this), arg, argField.offset(), argField.length(arg));
+    }
+    
+    /**
+     * Performs a logical <b>XOR</b> of this {@code BitString} with the specified
+     * bit string (arg), updating each word of this {@code BitString}
+     * atomically.
+     * 
+     * The length of the operation is equal to the smaller of the length of this
+     * {@code BitString} or the length of the bit string argument.
+     * 
+     * @param arg bit string argument
+     * @return this {@code BitString} with the results of the operation
+     * @see BitString#xor(BitString)
+     */
+    public BitString atomicXor(BitString arg) {
+        iAtomic(AtomicOp.XOR, 0, Math.min(this.length(), arg.length()), arg, 0);
+        return this;
+    }
+    
+    /**
+     * Performs a logical <b>XOR</b> of a substring of this {@code BitString} with
+     * a substring of the specified bit string (arg), updating each word of this
+     * {@code BitString} atomically.
+     * 
+     * The length of the operation is equal to the smaller of the length of this
+     * substring or the length of the substring argument.
+     * 
+     * @param thisOffset the start of this substring
+     * @param thisLength the length of this substring
+     * @param arg        bit string argument
+     * @param argOffset  the start of the argument substring
+     * @param argLength  the length of the argument substring
+     * @return this {@code BitString} with the results of the operation
+     * @throws StringIndexOutOfBoundsException if
+     *                                         {@code thisOffset < 0 || thisOffset > 0 && thisOffset >= this.length()}
+     *                                         or
+     *                                         {@code argOffset < 0 || argOffset > 0 && argOffset >= arg.length()}
+     * @throws IllegalArgumentException        if
+     *                                         {@code thisLength < 0 || thisLength > this.length() - thisOffset}
+     *                                         or
+     *                                         {@code argLength < 0 || argLength > arg.length() - argOffset}
+     * @see BitString#xor(int, int, BitString, int, int)
+     */
+    public BitString atomicXor(int thisOffset, int thisLength, BitString arg, int argOffset, int argLength) {
+        checkThisOffset(thisOffset);
+        checkThisLength(thisOffset, thisLength);
+        arg.checkArgOffset(argOffset);
+        arg.checkArgLength(argOffset, argLength);
+        iAtomic(AtomicOp.XOR, thisOffset, Math.min(thisLength, argLength), arg, argOffset);
+        return this;
+    }
+    
+    /**
+     * Performs a logical <b>XOR</b> of a Field of this {@code BitString} with a
+     * Field of the specified bit string (arg), updating each word of this
+     * {@code BitString} atomically.
+     * 
+     * The length of the operation is equal to the smaller of the length of this
+     * Field or the length of the specified Field.
+     * 
+     * @param thisField Field of this {@code BitString}
+     * @param arg       bit string argument
+     * @param argField  Field of the bit string argument
+     * @return this {@code BitString} with the results of the operation
+     * @throws StringIndexOutOfBoundsException if
+     *                                         {@code thisField.offset() > 0 && thisField.offset() >= this.length()}
+     *                                         or
+     *                                         {@code argField.offset() > 0 && argField.offset() >= arg.length()}
+     * @throws IllegalArgumentException        if
+     *                                         {@code thisField.length() > this.length() - thisField.offset()}
+     *                                         or
+     *                                         {@code argField.length() > arg.length() - argField.offset()}
+     */
+    public BitString atomicXor(Field thisField, BitString arg, Field argField) {
+        return atomicXor(thisField.offset(), thisField.length(this), arg, argField.offset(), argField.length(arg));
+    }
+    
+    /**
+     * Combines the specified number of bits of the argument, starting at the
+     * specified offset of the argument, with the bits of this bit string starting
+     * at the specified offset, one word of this bit string at a time. The bits of
+     * each word outside the operation are left as they are, and a word that
+     * would not change is not written. The count of writes is incremented once,
+     * after the words are written, and only if a word changed.
+     */
+    private void iAtomic(AtomicOp op, int thisOffset, int length, BitString arg, int argOffset) {
+        if (length == 0) return;
+        boolean modified = false;
+        final int end = thisOffset + length;
+        for (int offset = thisOffset; offset < end;) {
+            final int wordIndex = offset >>> ADDRESS_BITS_PER_WORD;
+            final int bit = offset & (Long.SIZE - 1);
+            final int n = Math.min(Long.SIZE - bit, end - offset);
+            final long mask = (WORD_MASK >>> bit) & (WORD_MASK << (Long.SIZE - bit - n));
+            final long bits = arg.getFullWord(argOffset + (offset - thisOffset)) >>> bit;
+            long word;
+            long newWord;
+            do {
+                word = words.get(wordIndex);
+                newWord = op.apply(word, bits, mask);
+                if (newWord == word) break;
+            } while (!words.compareAndSet(wordIndex, word, newWord));
+            modified |= (newWord != word);
+            offset += n;
+        }
+        if (modified) incrementBitsModCount();
+    }
+    
+    /**
+     * The bitwise operations applied to a word with a compare-and-set.
+     */
+    private enum AtomicOp {
+        OR {
+            @Override
+            long apply(long word, long bits, long mask) {
+                return word | (bits & mask);
+            }
+        },
+        AND {
+            @Override
+            long apply(long word, long bits, long mask) {
+                return word & (bits | ~mask);
+            }
+        },
+        XOR {
+            @Override
+            long apply(long word, long bits, long mask) {
+                return word ^ (bits & mask);
+            }
+        };
+    
+        /**
+         * Returns the specified word with the bits selected by the mask combined
+         * with the same bits of the argument.
+         */
+        abstract long apply(long word, long bits, long mask);
+    }
+}
@@ -0,0 +1,1880 @@
+/* Copyright (C) 2026 James R. Pfeifer. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * General Public License for more details (a copy is included in the
+ * LICENSE file that accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this work.  If not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ * 
+ * Linking this library statically or dynamically with other modules is
+ * making a combined work based on this library.  Thus, the terms and
+ * conditions of the GNU General Public License cover the whole
+ * combination.
+ *
+ * As a special exception, the copyright holders of this library give you
+ * permission to link this library with independent modules to produce an
+ * executable, regardless of the license terms of these independent
+ * modules, and to copy and distribute the resulting executable under
+ * terms of your choice, provided that you also meet, for each linked
+ * independent module, the terms and conditions of the license of that
+ * module.  An independent module is a module which is not derived from
+ * or based on this library.  If you modify this library, you may extend
+ * this exception to your version of the library, but you are not
+ * obligated to do so.  If you do not wish to do so, delete this
+ * exception statement from your version.
+ *
+ * Please contact James Pfeifer at james@pfeifdom.net if you need additional
+ * information or have any questions.
+ */
+
+package net.pfeifdom.java.util;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+import net.pfeifdom.java.util.BitString.BitwiseOp;
+
+/**
+ * A mutable sequence of bits whose length, and the offsets into it, are
+ * {@code long}s, allowing it to hold more than {@code Integer.MAX_VALUE} bits.
+ * 
+ * <p>
+ * The bits are stored in pages of 64-bit words. A page is only allocated
+ * once a {@code ONE} bit is stored in it, so sparse bit strings use memory in
+ * proportion to the pages they touch. As with {@code BitString}, the first bit
+ * of a word is its most significant bit.
+ * <p>
+ * A {@code BigBitString} supports the bitwise operations, the scans and the
+ * primitive get and put operations of {@code BitString}, with {@code long}
+ * offsets and lengths. Bitwise operations and copies can take a
+ * {@code BitString} as their argument, and a substring of a
+ * {@code BigBitString} can be copied to or from a {@code BitString}. As with
+ * {@code BitString}, the substring operations take the offset and length of
+ * each substring, and operate on the length of the shorter substring.
+ * <p>
+ * Operations with multiple bit string operands can operate on substrings from
+ * the same bit string, but if the substrings overlap, the results are
+ * unpredictable.
+ * <p>
+ * A {@code BigBitString} is not safe for multithreaded use without external
+ * synchronization.
+ */
+public class BigBitString implements Cloneable, Serializable {
+    
+    /**
+     * 
+     */
+    private static final long serialVersionUID = -4127723914419871507L;
+    
+    private static final int ADDRESS_BITS_PER_WORD = 6;
+    private static final int BITS_PER_WORD = 1 << ADDRESS_BITS_PER_WORD;
+    private static final int BIT_INDEX_MASK = BITS_PER_WORD - 1;
+    private static final long BIT_MASK = 0x8000000000000000L;
+    private static final long WORD_MASK = 0xFFFFFFFFFFFFFFFFL;
+    
+    private static final int ADDRESS_WORDS_PER_PAGE = 16;
+    private static final int WORDS_PER_PAGE = 1 << ADDRESS_WORDS_PER_PAGE;
+    private static final int WORD_INDEX_MASK = WORDS_PER_PAGE - 1;
+    
+    /**
+     * The maximum length of a {@code BigBitString}; the number of bits in
+     * {@code Integer.MAX_VALUE} pages.
+     */
+    public static final long MAX_LENGTH = (long)Integer.MAX_VALUE * WORDS_PER_PAGE * BITS_PER_WORD;
+    
+    /**
+     * A page of {@code ZEROS}, read in place of the unallocated pages of an
+     * argument. It is never written.
+     */
+    private static final long[] ZERO_PAGE = new long[WORDS_PER_PAGE];
+    
+    /**
+     * The number of unaligned argument words that are shifted into line with the
+     * words of this {@code BigBitString} at a time.
+     */
+    private static final int SCRATCH_WORDS = 256;
+    
+    /**
+     * The pages of words, indexed by page index. A {@code null} page is all
+     * {@code ZEROS}. The bits that follow the end of the bit string are always
+     * {@code ZERO}.
+     */
+    private long[][] pages;
+    
+    private long length;
+    
+    /**
+     * Creates a new {@code BigBitString} with the specified length. All bits are
+     * initially set to {@code ZERO}.
+     * 
+     * @param length the initial length of the new {@code BigBitString}
+     * @throws IllegalArgumentException if the specified length is negative or
+     *                                  greater than {@code MAX_LENGTH}
+     */
+    public BigBitString(long length) {
+        checkNewLength(length);
+        this.pages = new long[pageCount(length)][];
+        this.length = length;
+    }
+    
+    /**
+     * Creates a new {@code BigBitString} containing all the bits of the specified
+     * {@code BitString}.
+     * 
+     * @param bitString the bits of the new {@code BigBitString}
+     */
+    public BigBitString(BitString bitString) {
+        this(bitString.length());
+        copyFrom(bitString);
+    }
+    
+    private static void checkNewLength(long length) {
+        if (length < 0 || length > MAX_LENGTH) {
+            throw new IllegalArgumentException("length is negative or exceeds the maximum of "
+                    + MAX_LENGTH + ": " + length);
+        }
+    }
+    
+    private static int pageCount(long length) {
+        return (int)((wordCount(length) + WORDS_PER_PAGE - 1) >>> ADDRESS_WORDS_PER_PAGE);
+    }
+    
+    private static long wordCount(long length) {
+        return (length + BIT_INDEX_MASK) >>> ADDRESS_BITS_PER_WORD;
+    }
+    
+    private static long wordIndex(long offset) {
+        return offset >>> ADDRESS_BITS_PER_WORD;
+    }
+    
+    private static int wordBitIndex(long offset) {
+        return (int)offset & BIT_INDEX_MASK;
+    }
+    
+    private long getWord(long wordIndex) {
+        final long[] page = pages[(int)(wordIndex >>> ADDRESS_WORDS_PER_PAGE)];
+        return (page == null) ? 0L : page[(int)wordIndex & WORD_INDEX_MASK];
+    }
+    
+    private void setWord(long wordIndex, long word) {
+        final int pageIndex = (int)(wordIndex >>> ADDRESS_WORDS_PER_PAGE);
+        long[] page = pages[pageIndex];
+        if (page == null) {
+            if (word == 0L) return;
+            page = pages[pageIndex] = new long[WORDS_PER_PAGE];
+        }
+        page[(int)wordIndex & WORD_INDEX_MASK] = word;
+    }
+    
+    /**
+     * Returns the 64 bits starting at the specified offset, as a word whose first
+     * bit is the bit at the offset. The two words that the bits straddle are read
+     * and combined, so the offset need not be word aligned. The bits of the word
+     * that follow the end of this {@code BigBitString} are {@code ZERO}.
+     * 
+     * @param offset the offset of the first bit of the word
+     * @return the 64 bits starting at the specified offset
+     */
+    private long getFullWord(long offset) {
+        final long wordIndex = wordIndex(offset);
+        final int shift = wordBitIndex(offset);
+        final long word = getWord(wordIndex) << shift;
+        if (shift == 0 || wordIndex + 1 >= wordCount(length)) return word;
+        return word | (getWord(wordIndex + 1) >>> (BITS_PER_WORD - shift));
+    }
+    
+    /**
+     * Replace the specified number of bits, starting at the specified offset, with
+     * the specified number of rightmost bits of the specified value.
+     * 
+     * @param offset the offset of the first bit to replace
+     * @param size   the number of bits to replace, from 1 to 64
+     * @param bits   the replacement bits, right justified
+     */
+    private void putBits(long offset, int size, long bits) {
+        final long wordIndex = wordIndex(offset);
+        final int wordBitIndex = wordBitIndex(offset);
+        final long mask = WORD_MASK >>> (BITS_PER_WORD - size);
+        bits &= mask;
+        final int shift = BITS_PER_WORD - size - wordBitIndex;
+        if (shift >= 0) {
+            setWord(wordIndex, (getWord(wordIndex) & ~(mask << shift)) | (bits << shift));
+        } else {
+            setWord(wordIndex, (getWord(wordIndex) & ~(mask >>> -shift)) | (bits >>> -shift));
+            setWord(wordIndex + 1, (getWord(wordIndex + 1) & (WORD_MASK >>> -shift))
+                    | (bits << (BITS_PER_WORD + shift)));
+        }
+    }
+    
+    private long getBits(long offset, int size) {
+        return getFullWord(offset) >>> (BITS_PER_WORD - size);
+    }
+    
+    /**
+     * Returns {@code true} if the specified bitwise operation (op) leaves a
+     * {@code ZERO} word {@code ZERO} whatever the argument word, so that the
+     * unallocated pages of this {@code BigBitString} can be skipped.
+     */
+    private static boolean keepsZeros(BitwiseOp op) {
+        return op.applyAsLong(0L, 0L) == 0L && op.applyAsLong(0L, WORD_MASK) == 0L;
+    }
+    
+    /**
+     * Replace the bits of the specified word that are selected by the mask with
+     * the result of the specified bitwise operation (op) on the word and the
+     * specified argument word.
+     */
+    private void applyToWord(long wordIndex, long arg, long mask, BitwiseOp op) {
+        final long word = getWord(wordIndex);
+        setWord(wordIndex, (word & ~mask) | (op.applyAsLong(word, arg) & mask));
+    }
+    
+    /**
+     * Perform the specified bitwise operation (op) on the specified number of
+     * words of this {@code BigBitString}, all in one page, and the argument words
+     * in the specified array, with the operation's own loop over arrays of words.
+     * 
+     * @param wordIndex  index of the first word of this {@code BigBitString}
+     * @param count      the number of words
+     * @param argWords   the argument words
+     * @param argFrom    index of the first argument word
+     * @param op         the bitwise operation to perform
+     * @param keepsZeros {@code true} if the operation leaves {@code ZERO} words
+     *                   {@code ZERO}
+     */
+    private void applyToPage(long wordIndex, int count, long[] argWords, int argFrom, BitwiseOp op,
+            boolean keepsZeros) {
+        final int pageIndex = (int)(wordIndex >>> ADDRESS_WORDS_PER_PAGE);
+        long[] page = pages[pageIndex];
+        if (page == null) {
+            if (keepsZeros || (argWords == ZERO_PAGE && op.applyAsLong(0L, 0L) == 0L)) return;
+            page = pages[pageIndex] = new long[WORDS_PER_PAGE];
+        }
+        op.applyToArrays(page, (int)wordIndex & WORD_INDEX_MASK, argWords, argFrom, count);
+    }
+    
+    /**
+     * Perform the specified bitwise operation (op) on a substring of this
+     * {@code BigBitString} and a substring of the specified {@code BigBitString}
+     * (arg).
+     * 
+     * Only the first and last words of this substring need to be masked. The
+     * words in between are operated on a page at a time by the operation's own
+     * loop: straight from the argument's pages when the substrings are word
+     * aligned with each other, otherwise from a scratch array the argument words
+     * are shifted into. Unallocated pages of this {@code BigBitString} are skipped
+     * when the operation cannot set any of their bits.
+     * 
+     * @param thisOffset the start of this substring
+     * @param length     the length of the substrings
+     * @param arg        the argument bit string
+     * @param argOffset  the start of the argument substring
+     * @param op         the bitwise operation to perform
+     */
+    private void bitwiseOp(long thisOffset, long length, BigBitString arg, long argOffset, BitwiseOp op) {
+        if (length <= 0) return;
+        final long endOffset = thisOffset + length;
+        final long firstWordIndex = wordIndex(thisOffset);
+        final long lastWordIndex = wordIndex(endOffset - 1);
+        final int leftMarginSize = wordBitIndex(thisOffset);
+        final long firstWordMask = WORD_MASK >>> leftMarginSize;
+        final long lastWordMask = WORD_MASK << (BIT_INDEX_MASK - wordBitIndex(endOffset - 1));
+        
+        // The first word of this substring starts leftMarginSize bits before the
+        // substring, so the argument bits are shifted right to line up with it.
+        final long firstArg = arg.getFullWord(argOffset) >>> leftMarginSize;
+        if (firstWordIndex == lastWordIndex) {
+            applyToWord(firstWordIndex, firstArg, firstWordMask & lastWordMask, op);
+            return;
+        }
+        applyToWord(firstWordIndex, firstArg, firstWordMask, op);
+        
+        final boolean keepsZeros = keepsZeros(op);
+        long argCursor = argOffset + (BITS_PER_WORD - leftMarginSize);
+        final boolean aligned = (wordBitIndex(argCursor) == 0);
+        long[] scratch = null;
+        for (long wordIndex = firstWordIndex + 1; wordIndex < lastWordIndex; ) {
+            int count = (int)Math.min(lastWordIndex - wordIndex, WORDS_PER_PAGE - ((int)wordIndex & WORD_INDEX_MASK));
+            if (keepsZeros && pages[(int)(wordIndex >>> ADDRESS_WORDS_PER_PAGE)] == null) {
+                // nothing to read: the words stay ZERO
+            } else if (aligned) {
+                final long argWordIndex = wordIndex(argCursor);
+                final int argFrom = (int)argWordIndex & WORD_INDEX_MASK;
+                count = Math.min(count, WORDS_PER_PAGE - argFrom);
+                final long[] argPage = arg.pages[(int)(argWordIndex >>> ADDRESS_WORDS_PER_PAGE)];
+                applyToPage(wordIndex, count, (argPage == null) ? ZERO_PAGE : argPage, argFrom, op, keepsZeros);
+            } else {
+                if (scratch == null) scratch = new long[SCRATCH_WORDS];
+                count = Math.min(count, SCRATCH_WORDS);
+                for (int i = 0; i < count; i++) {
+                    scratch[i] = arg.getFullWord(argCursor + ((long)i << ADDRESS_BITS_PER_WORD));
+                }
+                applyToPage(wordIndex, count, scratch, 0, op, keepsZeros);
+            }
+            wordIndex += count;
+            argCursor += (long)count << ADDRESS_BITS_PER_WORD;
+        }
+        applyToWord(lastWordIndex, arg.getFullWord(argCursor), lastWordMask, op);
+    }
+    
+    /**
+     * Perform the specified bitwise operation (op) on a substring of this
+     * {@code BigBitString} and a substring of the specified {@code BitString}
+     * (arg). When the argument's words are stored in an array of longs and the
+     * substrings are word aligned with each other, the operation's loop reads the
+     * argument's array directly.
+     * 
+     * @param thisOffset the start of this substring
+     * @param length     the length of the substrings
+     * @param arg        the argument bit string
+     * @param argOffset  the start of the argument substring
+     * @param op         the bitwise operation to perform
+     * @see #bitwiseOp(long, long, BigBitString, long, BitwiseOp)
+     */
+    private void bitwiseOp(long thisOffset, long length, BitString arg, int argOffset, BitwiseOp op) {
+        if (length <= 0) return;
+        final long endOffset = thisOffset + length;
+        final long firstWordIndex = wordIndex(thisOffset);
+        final long lastWordIndex = wordIndex(endOffset - 1);
+        final int leftMarginSize = wordBitIndex(thisOffset);
+        final long firstWordMask = WORD_MASK >>> leftMarginSize;
+        final long lastWordMask = WORD_MASK << (BIT_INDEX_MASK - wordBitIndex(endOffset - 1));
+        
+        final long firstArg = arg.getFullWord(argOffset) >>> leftMarginSize;
+        if (firstWordIndex == lastWordIndex) {
+            applyToWord(firstWordIndex, firstArg, firstWordMask & lastWordMask, op);
+            return;
+        }
+        applyToWord(firstWordIndex, firstArg, firstWordMask, op);
+        
+        // Only offsets within the argument substring are ever read.
+        final boolean keepsZeros = keepsZeros(op);
+        int argCursor = argOffset + (BITS_PER_WORD - leftMarginSize);
+        final long[] argArray = (wordBitIndex(arg.bitIndex(argCursor)) == 0) ? arg.wordArray() : null;
+        long[] scratch = null;
+        for (long wordIndex = firstWordIndex + 1; wordIndex < lastWordIndex; ) {
+            int count = (int)Math.min(lastWordIndex - wordIndex, WORDS_PER_PAGE - ((int)wordIndex & WORD_INDEX_MASK));
+            if (keepsZeros && pages[(int)(wordIndex >>> ADDRESS_WORDS_PER_PAGE)] == null) {
+                // nothing to read: the words stay ZERO
+            } else if (argArray != null) {
+                applyToPage(wordIndex, count, argArray, BitString.wordIndex(arg.bitIndex(argCursor)), op, keepsZeros);
+            } else {
+                if (scratch == null) scratch = new long[SCRATCH_WORDS];
+                count = Math.min(count, SCRATCH_WORDS);
+                for (int i = 0; i < count; i++) {
+                    scratch[i] = arg.getFullWord(argCursor + (i << ADDRESS_BITS_PER_WORD));
+                }
+                applyToPage(wordIndex, count, scratch, 0, op, keepsZeros);
+            }
+            wordIndex += count;
+            argCursor += count << ADDRESS_BITS_PER_WORD;
+        }
+        applyToWord(lastWordIndex, arg.getFullWord(argCursor), lastWordMask, op);
+    }
+    
+    /**
+     * Set all the bits of the specified substring to the bits of the specified
+     * fill word. The whole words of the substring are filled a page at a time,
+     * and unallocated pages are left unallocated when the fill word is
+     * {@code ZERO}.
+     */
+    private void fill(long offset, long length, long fillWord) {
+        if (length <= 0) return;
+        final long endOffset = offset + length;
+        final long firstWordIndex = wordIndex(offset);
+        final long lastWordIndex = wordIndex(endOffset - 1);
+        final long firstWordMask = WORD_MASK >>> wordBitIndex(offset);
+        final long lastWordMask = WORD_MASK << (BIT_INDEX_MASK - wordBitIndex(endOffset - 1));
+        if (firstWordIndex == lastWordIndex) {
+            applyToWord(firstWordIndex, fillWord, firstWordMask & lastWordMask, BitwiseOp.COPY);
+            return;
+        }
+        applyToWord(firstWordIndex, fillWord, firstWordMask, BitwiseOp.COPY);
+        for (long wordIndex = firstWordIndex + 1; wordIndex < lastWordIndex; ) {
+            final int from = (int)wordIndex & WORD_INDEX_MASK;
+            final int count = (int)Math.min(lastWordIndex - wordIndex, WORDS_PER_PAGE - from);
+            final int pageIndex = (int)(wordIndex >>> ADDRESS_WORDS_PER_PAGE);
+            if (pages[pageIndex] == null && fillWord != 0L) pages[pageIndex] = new long[WORDS_PER_PAGE];
+            if (pages[pageIndex] != null) Arrays.fill(pages[pageIndex], from, from + count, fillWord);
+            wordIndex += count;
+        }
+        applyToWord(lastWordIndex, fillWord, lastWordMask, BitwiseOp.COPY);
+    }
+    
+    private static boolean isValidOffset(long offset, long stringLength) {
+        return offset >= 0 && (offset == 0 || offset < stringLength);
+    }
+    
+    private static boolean isValidLength(long offset, long length, long stringLength) {
+        return length >= 0 && length <= stringLength - offset;
+    }
+    
+    private void checkThisOffset(long offset) {
+        if (offset < 0 || offset >= length) {
+            throw new StringIndexOutOfBoundsException(
+                    "specified offset is invalid for this BigBitString; offset=" + offset + ", length=" + length);
+        }
+    }
+    
+    private void checkThisSubstring(long offset, long length) {
+        if (!isValidOffset(offset, this.length)) {
+            throw new StringIndexOutOfBoundsException(
+                    "specified offset is invalid for this BigBitString; offset=" + offset + ", length=" + this.length);
+        }
+        if (!isValidLength(offset, length, this.length)) {
+            throw new IllegalArgumentException("specified length is negative or exceeds offset+length of this BigBitString; length="
+                    + length + " offset=" + offset + " BigBitString length=" + this.length);
+        }
+    }
+    
+    private void checkArgSubstring(long offset, long length) {
+        if (!isValidOffset(offset, this.length)) {
+            throw new StringIndexOutOfBoundsException(
+                    "The specified BigBitString's offset is invalid; offset=" + offset + ", length=" + this.length);
+        }
+        if (!isValidLength(offset, length, this.length)) {
+            throw new IllegalArgumentException("specified length exceeds offset+length of the specified BigBitString; length="
+                    + length + " offset=" + offset + " BigBitString length=" + this.length);
+        }
+    }
+    
+    private void checkAvailableSpace(long offset, int requiredSpace) {
+        checkThisOffset(offset);
+        final long availableSpace = length - offset;
+        if (availableSpace < requiredSpace) {
+            throw new UnsupportedOperationException("not enough space in the BigBitString to perform the operation"
+                    + "; required space=" + requiredSpace + ", available space=" + availableSpace
+                    + ", BigBitString Length=" + length + ", offset=" + offset);
+        }
+    }
+    
+    /**
+     * Returns the length of this {@code BigBitString}.
+     * 
+     * @return the length of this {@code BigBitString}
+     */
+    public long length() {
+        return length;
+    }
+    
+    /**
+     * Returns {@code true} if the length of this {@code BigBitString} is zero.
+     * 
+     * @return {@code true} if the length is zero
+     */
+    public boolean isEmpty() {
+        return length == 0;
+    }
+    
+    /**
+     * Sets the length of this {@code BigBitString}. If the new length is greater
+     * than the current length, the new bits are set to {@code ZERO}. If the new
+     * length is less than the current length, the bits past the new length are
+     * discarded.
+     * 
+     * @param newLength the new length
+     * @throws IllegalArgumentException if the new length is negative or greater
+     *                                  than {@code MAX_LENGTH}
+     */
+    public void setLength(long newLength) {
+        checkNewLength(newLength);
+        if (newLength < length) {
+            // keep the bits that follow the end of the bit string ZERO
+            final long endWordIndex = wordCount(newLength);
+            if (wordBitIndex(newLength) != 0) {
+                final long lastWordIndex = endWordIndex - 1;
+                setWord(lastWordIndex, getWord(lastWordIndex) & (WORD_MASK << (BITS_PER_WORD - wordBitIndex(newLength))));
+            }
+            final int newPageCount = pageCount(newLength);
+            if (newPageCount > 0 && (endWordIndex & WORD_INDEX_MASK) != 0) {
+                final long[] lastPage = pages[newPageCount - 1];
+                if (lastPage != null) Arrays.fill(lastPage, (int)endWordIndex & WORD_INDEX_MASK, WORDS_PER_PAGE, 0L);
+            }
+        }
+        final int newPageCount = pageCount(newLength);
+        if (newPageCount != pages.length) pages = Arrays.copyOf(pages, newPageCount);
+        length = newLength;
+    }
+    
+    /**
+     * Returns the bit at the specified offset.
+     * 
+     * @param bitOffset the offset of the bit to get
+     * @return the bit at the specified offset
+     * @throws StringIndexOutOfBoundsException if
+     *                                         {@code bitOffset < 0 || bitOffset >= length()}
+     */
+    public boolean getBit(long bitOffset) {
+        checkThisOffset(bitOffset);
+        return (getWord(wordIndex(bitOffset)) & (BIT_MASK >>> wordBitIndex(bitOffset))) != 0L;
+    }
+    
+    /**
+     * Sets the bit at the specified offset to {@code ONE}.
+     * 
+     * @param bitOffset the offset of the bit to set
+     * @return this {@code BigBitString}
+     * @throws StringIndexOutOfBoundsException if
+     *                                         {@code bitOffset < 0 || bitOffset >= length()}
+     */
+    public BigBitString setBit(long bitOffset) {
+        checkThisOffset(bitOffset);
+        final long wordIndex = wordIndex(bitOffset);
+        setWord(wordIndex, getWord(wordIndex) | (BIT_MASK >>> wordBitIndex(bitOffset)));
+        return this;
+    }
+    
+    /**
+     * Sets the bit at the specified offset to the specified value.
+     * 
+     * @param bit       the new value of the bit
+     * @param bitOffset the offset of the bit to set
+     * @return this {@code BigBitString}
+     * @throws StringIndexOutOfBoundsException if
+     *                                         {@code bitOffset < 0 || bitOffset >= length()}
+     */
+    public BigBitString setBit(boolean bit, long bitOffset) {
+        return bit ? setBit(bitOffset) : clearBit(bitOffset);
+    }
+    
+    /**
+     * Sets the bit at the specified offset to {@code ZERO}.
+     * 
+     * @param bitOffset the offset of the bit to clear
+     * @return this {@code BigBitString}
+     * @throws StringIndexOutOfBoundsException if
+     *                                         {@code bitOffset < 0 || bitOffset >= length()}
+     */
+    public BigBitString clearBit(long bitOffset) {
+        checkThisOffset(bitOffset);
+        final long wordIndex = wordIndex(bitOffset);
+        setWord(wordIndex, getWord(wordIndex) & ~(BIT_MASK >>> wordBitIndex(bitOffset)));
+        return this;
+    }
+    
+    /**
+     * Flips the bit at the specified offset.
+     * 
+     * @param bitOffset the offset of the bit to flip
+     * @return this {@code BigBitString}
+     * @throws StringIndexOutOfBoundsException if
+     *                                         {@code bitOffset < 0 || bitOffset >= length()}
+     */
+    public BigBitString flipBit(long bitOffset) {
+        checkThisOffset(bitOffset);
+        final long wordIndex = wordIndex(bitOffset);
+        setWord(wordIndex, getWord(wordIndex) ^ (BIT_MASK >>> wordBitIndex(bitOffset)));
+        return this;
+    }
+    
+    /**
+     * Sets all of the bits of this {@code BigBitString} to {@code ONE}.
+     * 
+     * @return this {@code BigBitString}
+     */
+    public BigBitString set() {
+        return set(0L, length);
+    }
+    
+    /**
+     * Sets all of the bits of the specified substring to {@code ONE}.
+     * 
+     * @param offset the start of the substring
+     * @param length the length of the substring
+     * @return this {@code BigBitString}
+     * @throws StringIndexOutOfBoundsException if the offset is invalid
+     * @throws IllegalArgumentException        if
+     *                                         {@code length < 0 || length > length() - offset}
+     */
+    public BigBitString set(long offset, long length) {
+        checkThisSubstring(offset, length);
+        fill(offset, length, WORD_MASK);
+        return this;
+    }
+    
+    /**
+     * Sets all of the bits of this {@code BigBitString} to {@code ZERO}.
+     * 
+     * @return this {@code BigBitString}
+     */
+    public BigBitString clear() {
+        Arrays.fill(pages, null);
+        return this;
+    }
+    
+    /**
+     * Sets all of the bits of the specified substring to {@code ZERO}.
+     * 
+     * @param offset the start of the substring
+     * @param length the length of the substring
+     * @return this {@code BigBitString}
+     * @throws StringIndexOutOfBoundsException if the offset is invalid
+     * @throws IllegalArgumentException        if
+     *                                         {@code length < 0 || length > length() - offset}
+     */
+    public BigBitString clear(long offset, long length) {
+        checkThisSubstring(offset, length);
+        fill(offset, length, 0L);
+        return this;
+    }
+    
+    /**
+     * Flips all of the bits of this {@code BigBitString}.
+     * 
+     * @return this {@code BigBitString}
+     */
+    public BigBitString flip() {
+        return flip(0L, length);
+    }
+    
+    /**
+     * Flips all of the bits of the specified substring.
+     * 
+     * @param offset the start of the substring
+     * @param length the length of the substring
+     * @return this {@code BigBitString}
+     * @throws StringIndexOutOfBoundsException if the offset is invalid
+     * @throws IllegalArgumentException        if
+     *                                         {@code length < 0 || length > length() - offset}
+     */
+    public BigBitString flip(long offset, long length) {
+        checkThisSubstring(offset, length);
+        bitwiseOp(offset, length, this, offset, BitwiseOp.NOT);
+        return this;
+    }
+    
+    /**
+     * Performs a logical <b>AND</b> of this {@code BigBitString} with the specified
+     * bit string (arg). The length of the operation is equal to the smaller of
+     * the two lengths.
+     * For each {@code ONE} bit in the argument, the corresponding bit is left
+     * unchanged, otherwise the bit is set to {@code ZERO}.
+     * 
+     * @param arg the argument bit string
+     * @return this {@code BigBitString}
+     */
+    public BigBitString and(BigBitString arg) {
+        bitwiseOp(0L, Math.min(this.length, arg.length), arg, 0L, BitwiseOp.AND);
+        return this;
+    }
+    
+    /**
+     * Performs a logical <b>AND</b> of this {@code BigBitString} with the specified
+     * {@code BitString} (arg). The length of the operation is equal to the smaller
+     * of the two lengths.
+     * 
+     * @param arg the argument bit string
+     * @return this {@code BigBitString}
+     * @see #and(BigBitString)
+     */
+    public BigBitString and(BitString arg) {
+        bitwiseOp(0L, Math.min(this.length, arg.length()), arg, 0, BitwiseOp.AND);
+        return this;
+    }
+    
+    /**
+     * Performs a logical <b>AND</b> of a substring of this {@code BigBitString}
+     * with a substring of the specified bit string (arg). The length of the
+     * operation is equal to the smaller of the lengths of the two substrings.
+     * 
+     * @param thisOffset the start of this substring
+     * @param thisLength the length of this substring
+     * @param arg        the argument bit string
+     * @param argOffset  the start of the argument substring
+     * @param argLength  the length of the argument substring
+     * @return this {@code BigBitString}
+     * @throws StringIndexOutOfBoundsException if either offset is invalid
+     * @throws IllegalArgumentException        if either length is negative or
+     *                                         either substring extends past the
+     *                                         end of its bit string
+     */
+    public BigBitString and(long thisOffset, long thisLength, BigBitString arg, long argOffset, long argLength) {
+        checkThisSubstring(thisOffset, thisLength);
+        arg.checkArgSubstring(argOffset, argLength);
+        bitwiseOp(thisOffset, Math.min(thisLength, argLength), arg, argOffset, BitwiseOp.AND);
+        return this;
+    }
+    
+    /**
+     * Performs a logical <b>AND</b> of a substring of this {@code BigBitString}
+     * with a substring of the specified {@code BitString} (arg). The length of
+     * the operation is equal to the smaller of the lengths of the two substrings.
+     * 
+     * @param thisOffset the start of this substring
+     * @param thisLength the length of this substring
+     * @param arg        the argument bit string
+     * @param argOffset  the start of the argument substring
+     * @param argLength  the length of the argument substring
+     * @return this {@code BigBitString}
+     * @throws StringIndexOutOfBoundsException if either offset is invalid
+     * @throws IllegalArgumentException        if either length is negative or
+     *                                         either substring extends past the
+     *                                         end of its bit string
+     */
+    public BigBitString and(long thisOffset, long thisLength, BitString arg, int argOffset, int argLength) {
+        checkThisSubstring(thisOffset, thisLength);
+        arg.checkArgOffset(argOffset);
+        arg.checkArgLength(argOffset, argLength);
+        bitwiseOp(thisOffset, Math.min(thisLength, argLength), arg, argOffset, BitwiseOp.AND);
+        return this;
+    }
+    
+    /**
+     * Performs a logical <b>ANDNOT</b> of this {@code BigBitString} with the specified
+     * bit string (arg). The length of the operation is equal to the smaller of
+     * the two lengths.
+     * For each {@code ONE} bit in the argument, the corresponding bit is set to
+     * {@code ZERO}, otherwise the bit is left unchanged.
+     * 
+     * @param arg the argument bit string
+     * @return this {@code BigBitString}
+     */
+    public BigBitString andNot(BigBitString arg) {
+        bitwiseOp(0L, Math.min(this.length, arg.length), arg, 0L, BitwiseOp.ANDNOT);
+        return this;
+    }
+    
+    /**
+     * Performs a logical <b>ANDNOT</b> of this {@code BigBitString} with the specified
+     * {@code BitString} (arg). The length of the operation is equal to the smaller
+     * of the two lengths.
+     * 
+     * @param arg the argument bit string
+     * @return this {@code BigBitString}
+     * @see #andNot(BigBitString)
+     */
+    public BigBitString andNot(BitString arg) {
+        bitwiseOp(0L, Math.min(this.length, arg.length()), arg, 0, BitwiseOp.ANDNOT);
+        return this;
+    }
+    
+    /**
+     * Performs a logical <b>ANDNOT</b> of a substring of this {@code BigBitString}
+     * with a substring of the specified bit string (arg). The length of the
+     * operation is equal to the smaller of the lengths of the two substrings.
+     * 
+     * @param thisOffset the start of this substring
+     * @param thisLength the length of this substring
+     * @param arg        the argument bit string
+     * @param argOffset  the start of the argument substring
+     * @param argLength  the length of the argument substring
+     * @return this {@code BigBitString}
+     * @throws StringIndexOutOfBoundsException if either offset is invalid
+     * @throws IllegalArgumentException        if either length is negative or
+     *                                         either substring extends past the
+     *                                         end of its bit string
+     */
+    public BigBitString andNot(long thisOffset, long thisLength, BigBitString arg, long argOffset, long argLength) {
+        checkThisSubstring(thisOffset, thisLength);
+        arg.checkArgSubstring(argOffset, argLength);
+        bitwiseOp(thisOffset, Math.min(thisLength, argLength), arg, argOffset, BitwiseOp.ANDNOT);
+        return this;
+    }
+    
+    /**
+     * Performs a logical <b>ANDNOT</b> of a substring of this {@code BigBitString}
+     * with a substring of the specified {@code BitString} (arg). The length of
+     * the operation is equal to the smaller of the lengths of the two substrings.
+     * 
+     * @param thisOffset the start of this substring
+     * @param thisLength the length of this substring
+     * @param arg        the argument bit string
+     * @param argOffset  the start of the argument substring
+     * @param argLength  the length of the argument substring
+     * @return this {@code BigBitString}
+     * @throws StringIndexOutOfBoundsException if either offset is invalid
+     * @throws IllegalArgumentException        if either length is negative or
+     *                                         either substring extends past the
+     *                                         end of its bit string
+     */
+    public BigBitString andNot(long thisOffset, long thisLength, BitString arg, int argOffset, int argLength) {
+        checkThisSubstring(thisOffset, thisLength);
+        arg.checkArgOffset(argOffset);
+        arg.checkArgLength(argOffset, argLength);
+        bitwiseOp(thisOffset, Math.min(thisLength, argLength), arg, argOffset, BitwiseOp.ANDNOT);
+        return this;
+    }
+    
+    /**
+     * Performs a logical <b>NAND</b> of this {@code BigBitString} with the specified
+     * bit string (arg). The length of the operation is equal to the smaller of
+     * the two lengths.
+     * For each {@code ONE} bit in the argument, the corresponding bit is
+     * flipped, otherwise the bit is set to {@code ONE}.
+     * 
+     * @param arg the argument bit string
+     * @return this {@code BigBitString}
+     */
+    public BigBitString nand(BigBitString arg) {
+        bitwiseOp(0L, Math.min(this.length, arg.length), arg, 0L, BitwiseOp.NAND);
+        return this;
+    }
+    
+    /**
+     * Performs a logical <b>NAND</b> of this {@code BigBitString} with the specified
+     * {@code BitString} (arg). The length of the operation is equal to the smaller
+     * of the two lengths.
+     * 
+     * @param arg the argument bit string
+     * @return this {@code BigBitString}
+     * @see #nand(BigBitString)
+     */
+    public BigBitString nand(BitString arg) {
+        bitwiseOp(0L, Math.min(this.length, arg.length()), arg, 0, BitwiseOp.NAND);
+        return this;
+    }
+    
+    /**
+     * Performs a logical <b>NAND</b> of a substring of this {@code BigBitString}
+     * with a substring of the specified bit string (arg). The length of the
+     * operation is equal to the smaller of the lengths of the two substrings.
+     * 
+     * @param thisOffset the start of this substring
+     * @param thisLength the length of this substring
+     * @param arg        the argument bit string
+     * @param argOffset  the start of the argument substring
+     * @param argLength  the length of the argument substring
+     * @return this {@code BigBitString}
+     * @throws StringIndexOutOfBoundsException if either offset is invalid
+     * @throws IllegalArgumentException        if either length is negative or
+     *                                         either substring extends past the
+     *                                         end of its bit string
+     */
+    public BigBitString nand(long thisOffset, long thisLength, BigBitString arg, long argOffset, long argLength) {
+        checkThisSubstring(thisOffset, thisLength);
+        arg.checkArgSubstring(argOffset, argLength);
+        bitwiseOp(thisOffset, Math.min(thisLength, argLength), arg, argOffset, BitwiseOp.NAND);
+        return this;
+    }
+    
+    /**
+     * Performs a logical <b>NAND</b> of a substring of this {@code BigBitString}
+     * with a substring of the specified {@code BitString} (arg). The length of
+     * the operation is equal to the smaller of the lengths of the two substrings.
+     * 
+     * @param thisOffset the start of this substring
+     * @param thisLength the length of this substring
+     * @param arg        the argument bit string
+     * @param argOffset  the start of the argument substring
+     * @param argLength  the length of the argument substring
+     * @return this {@code BigBitString}
+     * @throws StringIndexOutOfBoundsException if either offset is invalid
+     * @throws IllegalArgumentException        if either length is negative or
+     *                                         either substring extends past the
+     *                                         end of its bit string
+     */
+    public BigBitString nand(long thisOffset, long thisLength, BitString arg, int argOffset, int argLength) {
+        checkThisSubstring(thisOffset, thisLength);
+        arg.checkArgOffset(argOffset);
+        arg.checkArgLength(argOffset, argLength);
+        bitwiseOp(thisOffset, Math.min(thisLength, argLength), arg, argOffset, BitwiseOp.NAND);
+        return this;
+    }
+    
+    /**
+     * Performs a logical <b>NANDNOT</b> of this {@code BigBitString} with the specified
+     * bit string (arg). The length of the operation is equal to the smaller of
+     * the two lengths.
+     * For each {@code ONE} bit in the argument, the corresponding bit is set to
+     * {@code ONE}, otherwise the bit is flipped.
+     * 
+     * @param arg the argument bit string
+     * @return this {@code BigBitString}
+     */
+    public BigBitString nandNot(BigBitString arg) {
+        bitwiseOp(0L, Math.min(this.length, arg.length), arg, 0L, BitwiseOp.NANDNOT);
+        return this;
+    }
+    
+    /**
+     * Performs a logical <b>NANDNOT</b> of this {@code BigBitString} with the specified
+     * {@code BitString} (arg). The length of the operation is equal to the smaller
+     * of the two lengths.
+     * 
+     * @param arg the argument bit string
+     * @return this {@code BigBitString}
+     * @see #nandNot(BigBitString)
+     */
+    public BigBitString nandNot(BitString arg) {
+        bitwiseOp(0L, Math.min(this.length, arg.length()), arg, 0, BitwiseOp.NANDNOT);
+        return this;
+    }
+    
+    /**
+     * Performs a logical <b>NANDNOT</b> of a substring of this {@code BigBitString}
+     * with a substring of the specified bit string (arg). The length of the
+     * operation is equal to the smaller of the lengths of the two substrings.
+     * 
+     * @param thisOffset the start of this substring
+     * @param thisLength the length of this substring
+     * @param arg        the argument bit string
+     * @param argOffset  the start of the argument substring
+     * @param argLength  the length of the argument substring
+     * @return this {@code BigBitString}
+     * @throws StringIndexOutOfBoundsException if either offset is invalid
+     * @throws IllegalArgumentException        if either length is negative or
+     *                                         either substring extends past the
+     *                                         end of its bit string
+     */
+    public BigBitString nandNot(long thisOffset, long thisLength, BigBitString arg, long argOffset, long argLength) {
+        checkThisSubstring(thisOffset, thisLength);
+        arg.checkArgSubstring(argOffset, argLength);
+        bitwiseOp(thisOffset, Math.min(thisLength, argLength), arg, argOffset, BitwiseOp.NANDNOT);
+        return this;
+    }
+    
+    /**
+     * Performs a logical <b>NANDNOT</b> of a substring of this {@code BigBitString}
+     * with a substring of the specified {@code BitString} (arg). The length of
+     * the operation is equal to the smaller of the lengths of the two substrings.
+     * 
+     * @param thisOffset the start of this substring
+     * @param thisLength the length of this substring
+     * @param arg        the argument bit string
+     * @param argOffset  the start of the argument substring
+     * @param argLength  the length of the argument substring
+     * @return this {@code BigBitString}
+     * @throws StringIndexOutOfBoundsException if either offset is invalid
+     * @throws IllegalArgumentException        if either length is negative or
+     *                                         either substring extends past the
+     *                                         end of its bit string
+     */
+    public BigBitString nandNot(long thisOffset, long thisLength, BitString arg, int argOffset, int argLength) {
+        checkThisSubstring(thisOffset, thisLength);
+        arg.checkArgOffset(argOffset);
+        arg.checkArgLength(argOffset, argLength);
+        bitwiseOp(thisOffset, Math.min(thisLength, argLength), arg, argOffset, BitwiseOp.NANDNOT);
+        return this;
+    }
+    
+    /**
+     * Performs a logical <b>NOR</b> of this {@code BigBitString} with the specified
+     * bit string (arg). The length of the operation is equal to the smaller of
+     * the two lengths.
+     * For each {@code ONE} bit in the argument, the corresponding bit is set to
+     * {@code ZERO}, otherwise the bit is flipped.
+     * 
+     * @param arg the argument bit string
+     * @return this {@code BigBitString}
+     */
+    public BigBitString nor(BigBitString arg) {
+        bitwiseOp(0L, Math.min(this.length, arg.length), arg, 0L, BitwiseOp.NOR);
+        return this;
+    }
+    
+    /**
+     * Performs a logical <b>NOR</b> of this {@code BigBitString} with the specified
+     * {@code BitString} (arg). The length of the operation is equal to the smaller
+     * of the two lengths.
+     * 
+     * @param arg the argument bit string
+     * @return this {@code BigBitString}
+     * @see #nor(BigBitString)
+     */
+    public BigBitString nor(BitString arg) {
+        bitwiseOp(0L, Math.min(this.length, arg.length()), arg, 0, BitwiseOp.NOR);
+        return this;
+    }
+    
+    /**
+     * Performs a logical <b>NOR</b> of a substring of this {@code BigBitString}
+     * with a substring of the specified bit string (arg). The length of the
+     * operation is equal to the smaller of the lengths of the two substrings.
+     * 
+     * @param thisOffset the start of this substring
+     * @param thisLength the length of this substring
+     * @param arg        the argument bit string
+     * @param argOffset  the start of the argument substring
+     * @param argLength  the length of the argument substring
+     * @return this {@code BigBitString}
+     * @throws StringIndexOutOfBoundsException if either offset is invalid
+     * @throws IllegalArgumentException        if either length is negative or
+     *                                         either substring extends past the
+     *                                         end of its bit string
+     */
+    public BigBitString nor(long thisOffset, long thisLength, BigBitString arg, long argOffset, long argLength) {
+        checkThisSubstring(thisOffset, thisLength);
+        arg.checkArgSubstring(argOffset, argLength);
+        bitwiseOp(thisOffset, Math.min(thisLength, argLength), arg, argOffset, BitwiseOp.NOR);
+        return this;
+    }
+    
+    /**
+     * Performs a logical <b>NOR</b> of a substring of this {@code BigBitString}
+     * with a substring of the specified {@code BitString} (arg). The length of
+     * the operation is equal to the smaller of the lengths of the two substrings.
+     * 
+     * @param thisOffset the start of this substring
+     * @param thisLength the length of this substring
+     * @param arg        the argument bit string
+     * @param argOffset  the start of the argument substring
+     * @param argLength  the length of the argument substring
+     * @return this {@code BigBitString}
+     * @throws StringIndexOutOfBoundsException if either offset is invalid
+     * @throws IllegalArgumentException        if either length is negative or
+     *                                         either substring extends past the
+     *                                         end of its bit string
+     */
+    public BigBitString nor(long thisOffset, long thisLength, BitString arg, int argOffset, int argLength) {
+        checkThisSubstring(thisOffset, thisLength);
+        arg.checkArgOffset(argOffset);
+        arg.checkArgLength(argOffset, argLength);
+        bitwiseOp(thisOffset, Math.min(thisLength, argLength), arg, argOffset, BitwiseOp.NOR);
+        return this;
+    }
+    
+    /**
+     * Performs a logical <b>NORNOT</b> of this {@code BigBitString} with the specified
+     * bit string (arg). The length of the operation is equal to the smaller of
+     * the two lengths.
+     * For each {@code ONE} bit in the argument, the corresponding bit is
+     * flipped, otherwise the bit is set to {@code ZERO}.
+     * 
+     * @param arg the argument bit string
+     * @return this {@code BigBitString}
+     */
+    public BigBitString norNot(BigBitString arg) {
+        bitwiseOp(0L, Math.min(this.length, arg.length), arg, 0L, BitwiseOp.NORNOT);
+        return this;
+    }
+    
+    /**
+     * Performs a logical <b>NORNOT</b> of this {@code BigBitString} with the specified
+     * {@code BitString} (arg). The length of the operation is equal to the smaller
+     * of the two lengths.
+     * 
+     * @param arg the argument bit string
+     * @return this {@code BigBitString}
+     * @see #norNot(BigBitString)
+     */
+    public BigBitString norNot(BitString arg) {
+        bitwiseOp(0L, Math.min(this.length, arg.length()), arg, 0, BitwiseOp.NORNOT);
+        return this;
+    }
+    
+    /**
+     * Performs a logical <b>NORNOT</b> of a substring of this {@code BigBitString}
+     * with a substring of the specified bit string (arg). The length of the
+     * operation is equal to the smaller of the lengths of the two substrings.
+     * 
+     * @param thisOffset the start of this substring
+     * @param thisLength the length of this substring
+     * @param arg        the argument bit string
+     * @param argOffset  the start of the argument substring
+     * @param argLength  the length of the argument substring
+     * @return this {@code BigBitString}
+     * @throws StringIndexOutOfBoundsException if either offset is invalid
+     * @throws IllegalArgumentException        if either length is negative or
+     *                                         either substring extends past the
+     *                                         end of its bit string
+     */
+    public BigBitString norNot(long thisOffset, long thisLength, BigBitString arg, long argOffset, long argLength) {
+        checkThisSubstring(thisOffset, thisLength);
+        arg.checkArgSubstring(argOffset, argLength);
+        bitwiseOp(thisOffset, Math.min(thisLength, argLength), arg, argOffset, BitwiseOp.NORNOT);
+        return this;
+    }
+    
+    /**
+     * Performs a logical <b>NORNOT</b> of a substring of this {@code BigBitString}
+     * with a substring of the specified {@code BitString} (arg). The length of
+     * the operation is equal to the smaller of the lengths of the two substrings.
+     * 
+     * @param thisOffset the start of this substring
+     * @param thisLength the length of this substring
+     * @param arg        the argument bit string
+     * @param argOffset  the start of the argument substring
+     * @param argLength  the length of the argument substring
+     * @return this {@code BigBitString}
+     * @throws StringIndexOutOfBoundsException if either offset is invalid
+     * @throws IllegalArgumentException        if either length is negative or
+     *                                         either substring extends past the
+     *                                         end of its bit string
+     */
+    public BigBitString norNot(long thisOffset, long thisLength, BitString arg, int argOffset, int argLength) {
+        checkThisSubstring(thisOffset, thisLength);
+        arg.checkArgOffset(argOffset);
+        arg.checkArgLength(argOffset, argLength);
+        bitwiseOp(thisOffset, Math.min(thisLength, argLength), arg, argOffset, BitwiseOp.NORNOT);
+        return this;
+    }
+    
+    /**
+     * Performs a logical <b>OR</b> of this {@code BigBitString} with the specified
+     * bit string (arg). The length of the operation is equal to the smaller of
+     * the two lengths.
+     * For each {@code ONE} bit in the argument, the corresponding bit is set to
+     * {@code ONE}, otherwise the bit is left unchanged.
+     * 
+     * @param arg the argument bit string
+     * @return this {@code BigBitString}
+     */
+    public BigBitString or(BigBitString arg) {
+        bitwiseOp(0L, Math.min(this.length, arg.length), arg, 0L, BitwiseOp.OR);
+        return this;
+    }
+    
+    /**
+     * Performs a logical <b>OR</b> of this {@code BigBitString} with the specified
+     * {@code BitString} (arg). The length of the operation is equal to the smaller
+     * of the two lengths.
+     * 
+     * @param arg the argument bit string
+     * @return this {@code BigBitString}
+     * @see #or(BigBitString)
+     */
+    public BigBitString or(BitString arg) {
+        bitwiseOp(0L, Math.min(this.length, arg.length()), arg, 0, BitwiseOp.OR);
+        return this;
+    }
+    
+    /**
+     * Performs a logical <b>OR</b> of a substring of this {@code BigBitString}
+     * with a substring of the specified bit string (arg). The length of the
+     * operation is equal to the smaller of the lengths of the two substrings.
+     * 
+     * @param thisOffset the start of this substring
+     * @param thisLength the length of this substring
+     * @param arg        the argument bit string
+     * @param argOffset  the start of the argument substring
+     * @param argLength  the length of the argument substring
+     * @return this {@code BigBitString}
+     * @throws StringIndexOutOfBoundsException if either offset is invalid
+     * @throws IllegalArgumentException        if either length is negative or
+     *                                         either substring extends past the
+     *                                         end of its bit string
+     */
+    public BigBitString or(long thisOffset, long thisLength, BigBitString arg, long argOffset, long argLength) {
+        checkThisSubstring(thisOffset, thisLength);
+        arg.checkArgSubstring(argOffset, argLength);
+        bitwiseOp(thisOffset, Math.min(thisLength, argLength), arg, argOffset, BitwiseOp.OR);
+        return this;
+    }
+    
+    /**
+     * Performs a logical <b>OR</b> of a substring of this {@code BigBitString}
+     * with a substring of the specified {@code BitString} (arg). The length of
+     * the operation is equal to the smaller of the lengths of the two substrings.
+     * 
+     * @param thisOffset the start of this substring
+     * @param thisLength the length of this substring
+     * @param arg        the argument bit string
+     * @param argOffset  the start of the argument substring
+     * @param argLength  the length of the argument substring
+     * @return this {@code BigBitString}
+     * @throws StringIndexOutOfBoundsException if either offset is invalid
+     * @throws IllegalArgumentException        if either length is negative or
+     *                                         either substring extends past the
+     *                                         end of its bit string
+     */
+    public BigBitString or(long thisOffset, long thisLength, BitString arg, int argOffset, int argLength) {
+        checkThisSubstring(thisOffset, thisLength);
+        arg.checkArgOffset(argOffset);
+        arg.checkArgLength(argOffset, argLength);
+        bitwiseOp(thisOffset, Math.min(thisLength, argLength), arg, argOffset, BitwiseOp.OR);
+        return this;
+    }
+    
+    /**
+     * Performs a logical <b>ORNOT</b> of this {@code BigBitString} with the specified
+     * bit string (arg). The length of the operation is equal to the smaller of
+     * the two lengths.
+     * For each {@code ONE} bit in the argument, the corresponding bit is left
+     * unchanged, otherwise the bit is set to {@code ONE}.
+     * 
+     * @param arg the argument bit string
+     * @return this {@code BigBitString}
+     */
+    public BigBitString orNot(BigBitString arg) {
+        bitwiseOp(0L, Math.min(this.length, arg.length), arg, 0L, BitwiseOp.ORNOT);
+        return this;
+    }
+    
+    /**
+     * Performs a logical <b>ORNOT</b> of this {@code BigBitString} with the specified
+     * {@code BitString} (arg). The length of the operation is equal to the smaller
+     * of the two lengths.
+     * 
+     * @param arg the argument bit string
+     * @return this {@code BigBitString}
+     * @see #orNot(BigBitString)
+     */
+    public BigBitString orNot(BitString arg) {
+        bitwiseOp(0L, Math.min(this.length, arg.length()), arg, 0, BitwiseOp.ORNOT);
+        return this;
+    }
+    
+    /**
+     * Performs a logical <b>ORNOT</b> of a substring of this {@code BigBitString}
+     * with a substring of the specified bit string (arg). The length of the
+     * operation is equal to the smaller of the lengths of the two substrings.
+     * 
+     * @param thisOffset the start of this substring
+     * @param thisLength the length of this substring
+     * @param arg        the argument bit string
+     * @param argOffset  the start of the argument substring
+     * @param argLength  the length of the argument substring
+     * @return this {@code BigBitString}
+     * @throws StringIndexOutOfBoundsException if either offset is invalid
+     * @throws IllegalArgumentException        if either length is negative or
+     *                                         either substring extends past the
+     *                                         end of its bit string
+     */
+    public BigBitString orNot(long thisOffset, long thisLength, BigBitString arg, long argOffset, long argLength) {
+        checkThisSubstring(thisOffset, thisLength);
+        arg.checkArgSubstring(argOffset, argLength);
+        bitwiseOp(thisOffset, Math.min(thisLength, argLength), arg, argOffset, BitwiseOp.ORNOT);
+        return this;
+    }
+    
+    /**
+     * Performs a logical <b>ORNOT</b> of a substring of this {@code BigBitString}
+     * with a substring of the specified {@code BitString} (arg). The length of
+     * the operation is equal to the smaller of the lengths of the two substrings.
+     * 
+     * @param thisOffset the start of this substring
+     * @param thisLength the length of this substring
+     * @param arg        the argument bit string
+     * @param argOffset  the start of the argument substring
+     * @param argLength  the length of the argument substring
+     * @return this {@code BigBitString}
+     * @throws StringIndexOutOfBoundsException if either offset is invalid
+     * @throws IllegalArgumentException        if either length is negative or
+     *                                         either substring extends past the
+     *                                         end of its bit string
+     */
+    public BigBitString orNot(long thisOffset, long thisLength, BitString arg, int argOffset, int argLength) {
+        checkThisSubstring(thisOffset, thisLength);
+        arg.checkArgOffset(argOffset);
+        arg.checkArgLength(argOffset, argLength);
+        bitwiseOp(thisOffset, Math.min(thisLength, argLength), arg, argOffset, BitwiseOp.ORNOT);
+        return this;
+    }
+    
+    /**
+     * Performs a logical <b>XNOR</b> of this {@code BigBitString} with the specified
+     * bit string (arg). The length of the operation is equal to the smaller of
+     * the two lengths.
+     * For each {@code ONE} bit in the argument, the corresponding bit is left
+     * unchanged, otherwise the bit is flipped.
+     * 
+     * @param arg the argument bit string
+     * @return this {@code BigBitString}
+     */
+    public BigBitString xnor(BigBitString arg) {
+        bitwiseOp(0L, Math.min(this.length, arg.length), arg, 0L, BitwiseOp.XNOR);
+        return this;
+    }
+    
+    /**
+     * Performs a logical <b>XNOR</b> of this {@code BigBitString} with the specified
+     * {@code BitString} (arg). The length of the operation is equal to the smaller
+     * of the two lengths.
+     * 
+     * @param arg the argument bit string
+     * @return this {@code BigBitString}
+     * @see #xnor(BigBitString)
+     */
+    public BigBitString xnor(BitString arg) {
+        bitwiseOp(0L, Math.min(this.length, arg.length()), arg, 0, BitwiseOp.XNOR);
+        return this;
+    }
+    
+    /**
+     * Performs a logical <b>XNOR</b> of a substring of this {@code BigBitString}
+     * with a substring of the specified bit string (arg). The length of the
+     * operation is equal to the smaller of the lengths of the two substrings.
+     * 
+     * @param thisOffset the start of this substring
+     * @param thisLength the length of this substring
+     * @param arg        the argument bit string
+     * @param argOffset  the start of the argument substring
+     * @param argLength  the length of the argument substring
+     * @return this {@code BigBitString}
+     * @throws StringIndexOutOfBoundsException if either offset is invalid
+     * @throws IllegalArgumentException        if either length is negative or
+     *                                         either substring extends past the
+     *                                         end of its bit string
+     */
+    public BigBitString xnor(long thisOffset, long thisLength, BigBitString arg, long argOffset, long argLength) {
+        checkThisSubstring(thisOffset, thisLength);
+        arg.checkArgSubstring(argOffset, argLength);
+        bitwiseOp(thisOffset, Math.min(thisLength, argLength), arg, argOffset, BitwiseOp.XNOR);
+        return this;
+    }
+    
+    /**
+     * Performs a logical <b>XNOR</b> of a substring of this {@code BigBitString}
+     * with a substring of the specified {@code BitString} (arg). The length of
+     * the operation is equal to the smaller of the lengths of the two substrings.
+     * 
+     * @param thisOffset the start of this substring
+     * @param thisLength the length of this substring
+     * @param arg        the argument bit string
+     * @param argOffset  the start of the argument substring
+     * @param argLength  the length of the argument substring
+     * @return this {@code BigBitString}
+     * @throws StringIndexOutOfBoundsException if either offset is invalid
+     * @throws IllegalArgumentException        if either length is negative or
+     *                                         either substring extends past the
+     *                                         end of its bit string
+     */
+    public BigBitString xnor(long thisOffset, long thisLength, BitString arg, int argOffset, int argLength) {
+        checkThisSubstring(thisOffset, thisLength);
+        arg.checkArgOffset(argOffset);
+        arg.checkArgLength(argOffset, argLength);
+        bitwiseOp(thisOffset, Math.min(thisLength, argLength), arg, argOffset, BitwiseOp.XNOR);
+        return this;
+    }
+    
+    /**
+     * Performs a logical <b>XOR</b> of this {@code BigBitString} with the specified
+     * bit string (arg). The length of the operation is equal to the smaller of
+     * the two lengths.
+     * For each {@code ONE} bit in the argument, the corresponding bit is
+     * flipped, otherwise the bit is left unchanged.
+     * 
+     * @param arg the argument bit string
+     * @return this {@code BigBitString}
+     */
+    public BigBitString xor(BigBitString arg) {
+        bitwiseOp(0L, Math.min(this.length, arg.length), arg, 0L, BitwiseOp.XOR);
+        return this;
+    }
+    
+    /**
+     * Performs a logical <b>XOR</b> of this {@code BigBitString} with the specified
+     * {@code BitString} (arg). The length of the operation is equal to the smaller
+     * of the two lengths.
+     * 
+     * @param arg the argument bit string
+     * @return this {@code BigBitString}
+     * @see #xor(BigBitString)
+     */
+    public BigBitString xor(BitString arg) {
+        bitwiseOp(0L, Math.min(this.length, arg.length()), arg, 0, BitwiseOp.XOR);
+        return this;
+    }
+    
+    /**
+     * Performs a logical <b>XOR</b> of a substring of this {@code BigBitString}
+     * with a substring of the specified bit string (arg). The length of the
+     * operation is equal to the smaller of the lengths of the two substrings.
+     * 
+     * @param thisOffset the start of this substring
+     * @param thisLength the length of this substring
+     * @param arg        the argument bit string
+     * @param argOffset  the start of the argument substring
+     * @param argLength  the length of the argument substring
+     * @return this {@code BigBitString}
+     * @throws StringIndexOutOfBoundsException if either offset is invalid
+     * @throws IllegalArgumentException        if either length is negative or
+     *                                         either substring extends past the
+     *                                         end of its bit string
+     */
+    public BigBitString xor(long thisOffset, long thisLength, BigBitString arg, long argOffset, long argLength) {
+        checkThisSubstring(thisOffset, thisLength);
+        arg.checkArgSubstring(argOffset, argLength);
+        bitwiseOp(thisOffset, Math.min(thisLength, argLength), arg, argOffset, BitwiseOp.XOR);
+        return this;
+    }
+    
+    /**
+     * Performs a logical <b>XOR</b> of a substring of this {@code BigBitString}
+     * with a substring of the specified {@code BitString} (arg). The length of
+     * the operation is equal to the smaller of the lengths of the two substrings.
+     * 
+     * @param thisOffset the start of this substring
+     * @param thisLength the length of this substring
+     * @param arg        the argument bit string
+     * @param argOffset  the start of the argument substring
+     * @param argLength  the length of the argument substring
+     * @return this {@code BigBitString}
+     * @throws StringIndexOutOfBoundsException if either offset is invalid
+     * @throws IllegalArgumentException        if either length is negative or
+     *                                         either substring extends past the
+     *                                         end of its bit string
+     */
+    public BigBitString xor(long thisOffset, long thisLength, BitString arg, int argOffset, int argLength) {
+        checkThisSubstring(thisOffset, thisLength);
+        arg.checkArgOffset(argOffset);
+        arg.checkArgLength(argOffset, argLength);
+        bitwiseOp(thisOffset, Math.min(thisLength, argLength), arg, argOffset, BitwiseOp.XOR);
+        return this;
+    }
+    
+    /**
+     * Copies the specified bit string (that) into this {@code BigBitString}.
+     * 
+     * The bits are copied from front to back. If that bit string is shorter than
+     * this {@code BigBitString}, this {@code BigBitString} is padded (on the
+     * right) with {@code ZEROS}. If it is longer, the copy is truncated to fit
+     * this {@code BigBitString}.
+     * 
+     * @param that the bit string to copy from
+     * @return this {@code BigBitString}
+     */
+    public BigBitString copyFrom(BigBitString that) {
+        return copyFrom(0L, this.length, that, 0L, that.length);
+    }
+    
+    /**
+     * Copies the specified {@code BitString} (that) into this
+     * {@code BigBitString}, padding or truncating as {@link #copyFrom(BigBitString)}
+     * does.
+     * 
+     * @param that the bit string to copy from
+     * @return this {@code BigBitString}
+     */
+    public BigBitString copyFrom(BitString that) {
+        return copyFrom(0L, this.length, that, 0, that.length());
+    }
+    
+    /**
+     * Copies a substring of the specified bit string (that) into a substring of
+     * this {@code BigBitString}. If that substring is shorter than this
+     * substring, this substring is padded (on the right) with {@code ZEROS}. If it
+     * is longer, the copy is truncated to fit this substring.
+     * 
+     * @param thisOffset the start of this substring
+     * @param thisLength the length of this substring
+     * @param that       the bit string to copy from
+     * @param thatOffset the start of that substring
+     * @param thatLength the length of that substring
+     * @return this {@code BigBitString}
+     * @throws StringIndexOutOfBoundsException if either offset is invalid
+     * @throws IllegalArgumentException        if either length is negative or
+     *                                         either substring extends past the
+     *                                         end of its bit string
+     */
+    public BigBitString copyFrom(long thisOffset, long thisLength, BigBitString that, long thatOffset, long thatLength) {
+        checkThisSubstring(thisOffset, thisLength);
+        that.checkArgSubstring(thatOffset, thatLength);
+        final long length = Math.min(thisLength, thatLength);
+        bitwiseOp(thisOffset, length, that, thatOffset, BitwiseOp.COPY);
+        fill(thisOffset + length, thisLength - length, 0L);
+        return this;
+    }
+    
+    /**
+     * Copies a substring of the specified {@code BitString} (that) into a
+     * substring of this {@code BigBitString}, padding or truncating as
+     * {@link #copyFrom(long, long, BigBitString, long, long)} does.
+     * 
+     * @param thisOffset the start of this substring
+     * @param thisLength the length of this substring
+     * @param that       the bit string to copy from
+     * @param thatOffset the start of that substring
+     * @param thatLength the length of that substring
+     * @return this {@code BigBitString}
+     * @throws StringIndexOutOfBoundsException if either offset is invalid
+     * @throws IllegalArgumentException        if either length is negative or
+     *                                         either substring extends past the
+     *                                         end of its bit string
+     */
+    public BigBitString copyFrom(long thisOffset, long thisLength, BitString that, int thatOffset, int thatLength) {
+        checkThisSubstring(thisOffset, thisLength);
+        that.checkArgOffset(thatOffset);
+        that.checkArgLength(thatOffset, thatLength);
+        final long length = Math.min(thisLength, thatLength);
+        bitwiseOp(thisOffset, length, that, thatOffset, BitwiseOp.COPY);
+        fill(thisOffset + length, thisLength - length, 0L);
+        return this;
+    }
+    
+    /**
+     * Copies a substring of this {@code BigBitString} into a substring of the
+     * specified {@code BitString} (that). If this substring is shorter than that
+     * substring, that substring is padded (on the right) with {@code ZEROS}. If it
+     * is longer, the copy is truncated to fit that substring.
+     * 
+     * @param thisOffset the start of this substring
+     * @param thisLength the length of this substring
+     * @param that       the bit string to copy to
+     * @param thatOffset the start of that substring
+     * @param thatLength the length of that substring
+     * @return this {@code BigBitString}
+     * @throws StringIndexOutOfBoundsException if either offset is invalid
+     * @throws IllegalArgumentException        if either length is negative or
+     *                                         either substring extends past the
+     *                                         end of its bit string
+     */
+    public BigBitString copyTo(long thisOffset, long thisLength, BitString that, int thatOffset, int thatLength) {
+        checkThisSubstring(thisOffset, thisLength);
+        that.checkArgOffset(thatOffset);
+        that.checkArgLength(thatOffset, thatLength);
+        final int length = (int)Math.min(thisLength, thatLength);
+        for (int copied = 0; copied < length; copied += BITS_PER_WORD) {
+            final int size = Math.min(BITS_PER_WORD, length - copied);
+            that.putBits(thatOffset + copied, size, getBits(thisOffset + copied, size));
+        }
+        if (length < thatLength) that.clear(thatOffset + length, thatLength - length);
+        return this;
+    }
+    
+    /**
+     * Returns a new {@code LongBitString} containing the bits of the specified
+     * substring of this {@code BigBitString}.
+     * 
+     * @param offset the start of the substring
+     * @param length the length of the substring
+     * @return a new {@code LongBitString} containing the bits of the substring
+     * @throws StringIndexOutOfBoundsException if the offset is invalid
+     * @throws IllegalArgumentException        if
+     *                                         {@code length < 0 || length > length() - offset}
+     */
+    public LongBitString substring(long offset, int length) {
+        final LongBitString substring = new LongBitString(length);
+        copyTo(offset, length, substring, 0, length);
+        return substring;
+    }
+    
+    /**
+     * Returns the number of {@code ONES} in this {@code BigBitString}.
+     * 
+     * @return the number of {@code ONES} in this {@code BigBitString}
+     */
+    public long numberOfOnes() {
+        long sum = 0;
+        for (final long[] page : pages) {
+            if (page == null) continue;
+            for (final long word : page) sum += Long.bitCount(word);
+        }
+        return sum;
+    }
+    
+    /**
+     * Returns the number of {@code ONES} in the specified substring of this
+     * {@code BigBitString}.
+     * 
+     * @param offset the start of the substring
+     * @param length the length of the substring
+     * @return the number of {@code ONES} in the specified substring
+     * @throws StringIndexOutOfBoundsException if the offset is invalid
+     * @throws IllegalArgumentException        if
+     *                                         {@code length < 0 || length > length() - offset}
+     */
+    public long numberOfOnes(long offset, long length) {
+        checkThisSubstring(offset, length);
+        if (length == 0) return 0;
+        final long endOffset = offset + length;
+        final long firstWordIndex = wordIndex(offset);
+        final long lastWordIndex = wordIndex(endOffset - 1);
+        final long firstWordMask = WORD_MASK >>> wordBitIndex(offset);
+        final long lastWordMask = WORD_MASK << (BIT_INDEX_MASK - wordBitIndex(endOffset - 1));
+        if (firstWordIndex == lastWordIndex) {
+            return Long.bitCount(getWord(firstWordIndex) & firstWordMask & lastWordMask);
+        }
+        long sum = Long.bitCount(getWord(firstWordIndex) & firstWordMask)
+                 + Long.bitCount(getWord(lastWordIndex) & lastWordMask);
+        for (long wordIndex = firstWordIndex + 1; wordIndex < lastWordIndex; wordIndex++) {
+            if ((wordIndex & WORD_INDEX_MASK) == 0 && pages[(int)(wordIndex >>> ADDRESS_WORDS_PER_PAGE)] == null) {
+                // skip the rest of an unallocated page
+                wordIndex += WORD_INDEX_MASK;
+                continue;
+            }
+            sum += Long.bitCount(getWord(wordIndex));
+        }
+        return sum;
+    }
+    
+    /**
+     * Returns the number of {@code ZEROS} in this {@code BigBitString}.
+     * 
+     * @return the number of {@code ZEROS} in this {@code BigBitString}
+     */
+    public long numberOfZeros() {
+        return length - numberOfOnes();
+    }
+    
+    /**
+     * Returns the number of {@code ZEROS} in the specified substring of this
+     * {@code BigBitString}.
+     * 
+     * @param offset the start of the substring
+     * @param length the length of the substring
+     * @return the number of {@code ZEROS} in the specified substring
+     * @throws StringIndexOutOfBoundsException if the offset is invalid
+     * @throws IllegalArgumentException        if
+     *                                         {@code length < 0 || length > length() - offset}
+     */
+    public long numberOfZeros(long offset, long length) {
+        return length - numberOfOnes(offset, length);
+    }
+    
+    /**
+     * Returns the offset of the next bit that is set to the specified value that
+     * occurs on or after the specified start offset, or -1 if there is none.
+     */
+    private long offsetOfNext(boolean bit, long startOffset) {
+        if (startOffset < 0 || startOffset > length) {
+            throw new StringIndexOutOfBoundsException(
+                    "specified offset is negative, or greater than the length; offset=" + startOffset + ", length=" + length);
+        }
+        if (startOffset == length) return -1;
+        final long flip = bit ? 0L : WORD_MASK;
+        final long lastWordIndex = wordIndex(length - 1);
+        long wordIndex = wordIndex(startOffset);
+        long word = (getWord(wordIndex) ^ flip) & (WORD_MASK >>> wordBitIndex(startOffset));
+        while (word == 0L) {
+            if (++wordIndex > lastWordIndex) return -1;
+            if (bit && (wordIndex & WORD_INDEX_MASK) == 0
+                    && pages[(int)(wordIndex >>> ADDRESS_WORDS_PER_PAGE)] == null) {
+                // an unallocated page contains no ONES
+                wordIndex += WORD_INDEX_MASK;
+                continue;
+            }
+            word = getWord(wordIndex) ^ flip;
+        }
+        final long offset = (wordIndex << ADDRESS_BITS_PER_WORD) + Long.numberOfLeadingZeros(word);
+        return (offset < length) ? offset : -1;
+    }
+    
+    /**
+     * Returns the offset of the previous bit that is set to the specified value
+     * that occurs on or before the specified start offset, or -1 if there is none.
+     */
+    private long offsetOfPrevious(boolean bit, long startOffset) {
+        if (startOffset < -1 || startOffset >= length) {
+            throw new StringIndexOutOfBoundsException(
+                    "specified offset is less than -1, or greater than or equal to the length; offset=" + startOffset + ", length=" + length);
+        }
+        if (startOffset == -1) return -1;
+        final long flip = bit ? 0L : WORD_MASK;
+        long wordIndex = wordIndex(startOffset);
+        long word = (getWord(wordIndex) ^ flip) & (WORD_MASK << (BIT_INDEX_MASK - wordBitIndex(startOffset)));
+        while (word == 0L) {
+            if (--wordIndex < 0) return -1;
+            if (bit && (wordIndex & WORD_INDEX_MASK) == WORD_INDEX_MASK
+                    && pages[(int)(wordIndex >>> ADDRESS_WORDS_PER_PAGE)] == null) {
+                // an unallocated page contains no ONES
+                wordIndex -= WORD_INDEX_MASK;
+                continue;
+            }
+            word = getWord(wordIndex) ^ flip;
+        }
+        return (wordIndex << ADDRESS_BITS_PER_WORD) + BIT_INDEX_MASK - Long.numberOfTrailingZeros(word);
+    }
+    
+    /**
+     * Returns the offset of the next bit that is set to {@code ONE} that occurs on
+     * or after the specified start offset. If no such bit exists, or
+     * {@code startOffset == length()}, -1 is returned.
+     * 
+     * @param startOffset the offset to start checking from (inclusive)
+     * @return the offset of the next {@code ONE} bit or -1
+     * @throws StringIndexOutOfBoundsException if
+     *                                         {@code startOffset < 0 || startOffset > length()}
+     */
+    public long offsetOfNextOne(long startOffset) {
+        return offsetOfNext(true, startOffset);
+    }
+    
+    /**
+     * Returns the offset of the next bit that is set to {@code ZERO} that occurs
+     * on or after the specified start offset. If no such bit exists, or
+     * {@code startOffset == length()}, -1 is returned.
+     * 
+     * @param startOffset the offset to start checking from (inclusive)
+     * @return the offset of the next {@code ZERO} bit or -1
+     * @throws StringIndexOutOfBoundsException if
+     *                                         {@code startOffset < 0 || startOffset > length()}
+     */
+    public long offsetOfNextZero(long startOffset) {
+        return offsetOfNext(false, startOffset);
+    }
+    
+    /**
+     * Returns the offset of the previous bit that is set to {@code ONE} that
+     * occurs on or before the specified start offset. If no such bit exists, or
+     * {@code startOffset == -1}, -1 is returned.
+     * 
+     * @param startOffset the offset to start checking from (inclusive)
+     * @return the offset of the previous {@code ONE} bit or -1
+     * @throws StringIndexOutOfBoundsException if
+     *                                         {@code startOffset < -1 || startOffset >= length()}
+     */
+    public long offsetOfPreviousOne(long startOffset) {
+        return offsetOfPrevious(true, startOffset);
+    }
+    
+    /**
+     * Returns the offset of the previous bit that is set to {@code ZERO} that
+     * occurs on or before the specified start offset. If no such bit exists, or
+     * {@code startOffset == -1}, -1 is returned.
+     * 
+     * @param startOffset the offset to start checking from (inclusive)
+     * @return the offset of the previous {@code ZERO} bit or -1
+     * @throws StringIndexOutOfBoundsException if
+     *                                         {@code startOffset < -1 || startOffset >= length()}
+     */
+    public long offsetOfPreviousZero(long startOffset) {
+        return offsetOfPrevious(false, startOffset);
+    }
+    
+    public byte getByte(long offset) {
+        checkAvailableSpace(offset, Byte.SIZE);
+        return (byte)getBits(offset, Byte.SIZE);
+    }
+    
+    public char getChar(long offset) {
+        checkAvailableSpace(offset, Character.SIZE);
+        return (char)getBits(offset, Character.SIZE);
+    }
+    
+    public short getShort(long offset) {
+        checkAvailableSpace(offset, Short.SIZE);
+        return (short)getBits(offset, Short.SIZE);
+    }
+    
+    public int getInt(long offset) {
+        checkAvailableSpace(offset, Integer.SIZE);
+        return (int)getBits(offset, Integer.SIZE);
+    }
+    
+    public float getFloat(long offset) {
+        return Float.intBitsToFloat(getInt(offset));
+    }
+    
+    public long getLong(long offset) {
+        checkAvailableSpace(offset, Long.SIZE);
+        return getFullWord(offset);
+    }
+    
+    public double getDouble(long offset) {
+        return Double.longBitsToDouble(getLong(offset));
+    }
+    
+    public BigBitString putByte(long offset, byte primitive) {
+        checkAvailableSpace(offset, Byte.SIZE);
+        putBits(offset, Byte.SIZE, primitive);
+        return this;
+    }
+    
+    public BigBitString putChar(long offset, char primitive) {
+        checkAvailableSpace(offset, Character.SIZE);
+        putBits(offset, Character.SIZE, primitive);
+        return this;
+    }
+    
+    public BigBitString putShort(long offset, short primitive) {
+        checkAvailableSpace(offset, Short.SIZE);
+        putBits(offset, Short.SIZE, primitive);
+        return this;
+    }
+    
+    public BigBitString putInt(long offset, int primitive) {
+        checkAvailableSpace(offset, Integer.SIZE);
+        putBits(offset, Integer.SIZE, primitive);
+        return this;
+    }
+    
+    public BigBitString putFloat(long offset, float primitive) {
+        return putInt(offset, Float.floatToRawIntBits(primitive));
+    }
+    
+    public BigBitString putLong(long offset, long primitive) {
+        checkAvailableSpace(offset, Long.SIZE);
+        putBits(offset, Long.SIZE, primitive);
+        return this;
+    }
+    
+    public BigBitString putDouble(long offset, double primitive) {
+        return putLong(offset, Double.doubleToRawLongBits(primitive));
+    }
+    
+    /**
+     * Cloning this {@code BigBitString} produces a new {@code BigBitString} that
+     * is equal to it.
+     *
+     * @return a clone of this bit string
+     */
+    @Override
+    public BigBitString clone() {
+        try {
+            final BigBitString clone = (BigBitString) super.clone();
+            clone.pages = pages.clone();
+            for (int pageIndex = 0; pageIndex < pages.length; pageIndex++) {
+                if (pages[pageIndex] != null) clone.pages[pageIndex] = pages[pageIndex].clone();
+            }
+            return clone;
+        } catch (CloneNotSupportedException e) {
+            throw new InternalError(e);
+        }
+    }
+    
+    /**
+     * Compares this {@code BigBitString} against the specified object. The result
+     * is {@code true} if and only if the argument is a {@code BigBitString} with
+     * the same length and the same bits as this {@code BigBitString}.
+     * 
+     * @param obj the object to compare with
+     * @return {@code true} if the objects are the same; {@code false} otherwise
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (!(obj instanceof BigBitString)) return false;
+        final BigBitString that = (BigBitString) obj;
+        if (this.length != that.length) return false;
+        for (int pageIndex = 0; pageIndex < pages.length; pageIndex++) {
+            final long[] thisPage = this.pages[pageIndex];
+            final long[] thatPage = that.pages[pageIndex];
+            if (thisPage == null && thatPage == null) continue;
+            if (thisPage == null || thatPage == null) {
+                // an allocated page may still be all ZEROS
+                final long[] page = (thisPage == null) ? thatPage : thisPage;
+                for (final long word : page) if (word != 0L) return false;
+            } else if (!Arrays.equals(thisPage, thatPage)) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Returns the hash code value for this {@code BigBitString}, computed in the
+     * same way as {@link BitString#hashCode()}.
+     */
+    @Override
+    public int hashCode() {
+        long hashcode = 1234;
+        for (long wordIndex = 0, wordCount = wordCount(length); wordIndex < wordCount; wordIndex++) {
+            if ((wordIndex & WORD_INDEX_MASK) == 0 && pages[(int)(wordIndex >>> ADDRESS_WORDS_PER_PAGE)] == null) {
+                wordIndex += WORD_INDEX_MASK;
+                continue;
+            }
+            hashcode ^= getWord(wordIndex) * (wordIndex + 1);
+        }
+        return (int)((hashcode >> 32) ^ hashcode);
+    }
+    
+    /**
+     * Returns a String of '0's and '1's, representing the bits in a substring of
+     * this {@code BigBitString}.
+     * 
+     * @param offset the start of the substring
+     * @param length the length of the substring
+     * @return a String of '0's and '1's, representing the bits in the substring
+     * @throws StringIndexOutOfBoundsException if the offset is invalid
+     * @throws IllegalArgumentException        if
+     *                                         {@code length < 0 || length > length() - offset}
+     */
+    public String toString(long offset, int length) {
+        return substring(offset, length).toString();
+    }
+    
+    @Override
+    public String toString() {
+        return "BigBitString[length=" + length + ", ones=" + numberOfOnes() + "]";
+    }
+}
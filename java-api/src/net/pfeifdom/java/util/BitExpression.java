@@ -0,0 +1,488 @@
+/* Copyright (C) 2026 James R. Pfeifer. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * General Public License for more details (a copy is included in the
+ * LICENSE file that accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this work.  If not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ * 
+ * Linking this library statically or dynamically with other modules is
+ * making a combined work based on this library.  Thus, the terms and
+ * conditions of the GNU General Public License cover the whole
+ * combination.
+ *
+ * As a special exception, the copyright holders of this library give you
+ * permission to link this library with independent modules to produce an
+ * executable, regardless of the license terms of these independent
+ * modules, and to copy and distribute the resulting executable under
+ * terms of your choice, provided that you also meet, for each linked
+ * independent module, the terms and conditions of the license of that
+ * module.  An independent module is a module which is not derived from
+ * or based on this library.  If you modify this library, you may extend
+ * this exception to your version of the library, but you are not
+ * obligated to do so.  If you do not wish to do so, delete this
+ * exception statement from your version.
+ *
+ * Please contact James Pfeifer at james@pfeifdom.net if you need additional
+ * information or have any questions.
+ */
+
+package net.pfeifdom.java.util;
+
+import java.util.Arrays;
+
+/**
+ * A boolean expression over bit strings, evaluated lazily.
+ * 
+ * <p>
+ * An expression is built from bit strings with {@link #of(BitString)}, and
+ * combined with {@link #and}, {@link #or}, {@link #xor} and {@link #not}, for
+ * example {@code and(of(a), or(of(b), not(of(c))))}. Building an expression
+ * reads no bits. The bits are only read when one of the terminal operations,
+ * {@link #evaluate()}, {@link #numberOfOnes()} or {@link #offsetOfFirstOne()},
+ * is called, and then in a single pass over all the operands together, a block
+ * of words at a time, so that no intermediate bit string the length of the
+ * operands is ever created. {@code BitString.ONES} and {@code BitString.ZEROS}
+ * may be used as operands, and are folded away when the expression is built.
+ * <p>
+ * The length of an expression is the length of its shortest operand, the same
+ * as for the bitwise operations of {@code BitString}. The operands are read
+ * each time a terminal operation is called, so the result reflects their
+ * current bits.
+ */
+public abstract class BitExpression {
+    
+    private static final int ADDRESS_BITS_PER_WORD = 6;
+    
+    private static final long WORD_MASK = 0xFFFFFFFFFFFFFFFFL;
+    
+    /**
+     * The number of words evaluated at a time.
+     */
+    private static final int BLOCK_WORDS = 256;
+    
+    private static final Constant ONES = new Constant(WORD_MASK, Integer.MAX_VALUE);
+    
+    private static final Constant ZEROS = new Constant(0L, Integer.MAX_VALUE);
+    
+    BitExpression() {
+    }
+    
+    /**
+     * Returns an expression whose value is the specified bit string.
+     * 
+     * @param bits the bit string
+     * @return an expression whose value is {@code bits}
+     */
+    public static BitExpression of(BitString bits) {
+        if (bits == BitString.ONES) return ONES;
+        if (bits == BitString.ZEROS) return ZEROS;
+        return new Operand(bits);
+    }
+    
+    /**
+     * Returns an expression whose value is the logical <b>NOT</b> of the
+     * specified expression.
+     * 
+     * @param expression the expression to complement
+     * @return an expression whose value is the <b>NOT</b> of {@code expression}
+     */
+    public static BitExpression not(BitExpression expression) {
+        if (expression instanceof Constant) {
+            final Constant constant = (Constant) expression;
+            return new Constant(~constant.word, constant.length);
+        }
+        if (expression instanceof Not) return ((Not) expression).operand;
+        return new Not(expression);
+    }
+    
+    /**
+     * Returns an expression whose value is the logical <b>AND</b> of the
+     * specified expressions. Once a block of words of the result is all
+     * {@code ZEROS}, the remaining expressions are not read for that block.
+     * 
+     * @param expressions the expressions to combine
+     * @return an expression whose value is the <b>AND</b> of {@code expressions}
+     * @throws IllegalArgumentException if no expressions are specified
+     */
+    public static BitExpression and(BitExpression... expressions) {
+        return Operation.of(Operator.AND, expressions);
+    }
+    
+    /**
+     * Returns an expression whose value is the logical <b>OR</b> of the
+     * specified expressions. Once a block of words of the result is all
+     * {@code ONES}, the remaining expressions are not read for that block.
+     * 
+     * @param expressions the expressions to combine
+     * @return an expression whose value is the <b>OR</b> of {@code expressions}
+     * @throws IllegalArgumentException if no expressions are specified
+     */
+    public static BitExpression or(BitExpression... expressions) {
+        return Operation.of(Operator.OR, expressions);
+    }
+    
+    /**
+     * Returns an expression whose value is the logical <b>XOR</b> of the
+     * specified expressions.
+     * 
+     * @param expressions the expressions to combine
+     * @return an expression whose value is the <b>XOR</b> of {@code expressions}
+     * @throws IllegalArgumentException if no expressions are specified
+     */
+    public static BitExpression xor(BitExpression... expressions) {
+        return Operation.of(Operator.XOR, expressions);
+    }
+    
+    /**
+     * Returns the length of the value of this expression, which is the length of
+     * its shortest operand.
+     * 
+     * @return the length of the value of this expression
+     */
+    public abstract int length();
+    
+    /**
+     * Returns the number of buffers needed to evaluate this expression, one for
+     * each level below the top of the expression.
+     */
+    abstract int depth();
+    
+    /**
+     * Stores the specified words of the value of this expression into the
+     * specified buffer, using the buffers from the specified level on as
+     * temporary storage. Bits past the length of this expression may be left
+     * set to either value.
+     */
+    abstract void evaluate(int fromWord, int nWords, long[] out, long[][] buffers, int level);
+    
+    /**
+     * Returns a new {@code BitString} holding the value of this expression.
+     * 
+     * @return a new {@code BitString} holding the value of this expression
+     */
+    public BitString evaluate() {
+        final int length = length();
+        final LongBitString result = new LongBitString(length);
+        final long[] words = result.wordArray();
+        final long[][] buffers = newBuffers();
+        final long[] block = new long[BLOCK_WORDS];
+        final int nWords = wordCount(length);
+        for (int from = 0; from < nWords; from += BLOCK_WORDS) {
+            final int n = Math.min(BLOCK_WORDS, nWords - from);
+            evaluate(from, n, block, buffers, 0);
+            System.arraycopy(block, 0, words, from, n);
+        }
+        final int tail = length & (Long.SIZE - 1);
+        if (tail != 0) words[nWords - 1] &= ~(WORD_MASK >>> tail);
+        return result;
+    }
+    
+    /**
+     * Returns the number of {@code ONES} in the value of this expression, without
+     * creating it.
+     * 
+     * @return the number of {@code ONES} in the value of this expression
+     */
+    public int numberOfOnes() {
+        final int length = length();
+        final long[][] buffers = newBuffers();
+        final long[] block = new long[BLOCK_WORDS];
+        final int nWords = wordCount(length);
+        int count = 0;
+        for (int from = 0; from < nWords; from += BLOCK_WORDS) {
+            final int n = Math.min(BLOCK_WORDS, nWords - from);
+            evaluate(from, n, block, buffers, 0);
+            maskTail(block, from, n, length);
+            for (int i = 0; i < n; i++) count += Long.bitCount(block[i]);
+        }
+        return count;
+    }
+    
+    /**
+     * Returns the offset of the first {@code ONE} in the value of this expression,
+     * or -1 if there is none. Evaluation stops at the block of words holding the
+     * first {@code ONE}.
+     * 
+     * @return the offset of the first {@code ONE} in the value of this expression,
+     *         or -1 if there is none
+     */
+    public int offsetOfFirstOne() {
+        final int length = length();
+        final long[][] buffers = newBuffers();
+        final long[] block = new long[BLOCK_WORDS];
+        final int nWords = wordCount(length);
+        for (int from = 0; from < nWords; from += BLOCK_WORDS) {
+            final int n = Math.min(BLOCK_WORDS, nWords - from);
+            evaluate(from, n, block, buffers, 0);
+            maskTail(block, from, n, length);
+            for (int i = 0; i < n; i++) {
+                if (block[i] != 0L) {
+                    return ((from + i) << ADDRESS_BITS_PER_WORD) + Long.numberOfLeadingZeros(block[i]);
+                }
+            }
+        }
+        return -1;
+    }
+    
+    private long[][] newBuffers() {
+        final long[][] buffers = new long[depth()][];
+        for (int i = 0; i < buffers.length; i++) buffers[i] = new long[BLOCK_WORDS];
+        return buffers;
+    }
+    
+    private static int wordCount(int nBits) {
+        return ((nBits - 1) >> ADDRESS_BITS_PER_WORD) + 1;
+    }
+    
+    /**
+     * Clears the bits of the specified block that are past the specified length,
+     * if the block holds the last word.
+     */
+    private static void maskTail(long[] block, int fromWord, int nWords, int length) {
+        final int tail = length & (Long.SIZE - 1);
+        if (tail != 0 && fromWord + nWords == wordCount(length)) {
+            block[nWords - 1] &= ~(WORD_MASK >>> tail);
+        }
+    }
+    
+    /**
+     * An expression whose value is a bit string.
+     */
+    private static final class Operand extends BitExpression {
+    
+        private final BitString bits;
+    
+        Operand(BitString bits) {
+            this.bits = bits;
+        }
+    
+        @Override
+        public int length() {
+            return bits.length();
+        }
+    
+        @Override
+        int depth() {
+            return 0;
+        }
+    
+        @Override
+        void evaluate(int fromWord, int nWords, long[] out, long[][] buffers, int level) {
+            // whole words are copied straight from the backing array of the bit
+            // string, if it has one and its first bit starts a word
+            final int firstBitIndex = bits.bitIndex(0);
+            final long[] array = ((firstBitIndex & (Long.SIZE - 1)) == 0) ? bits.wordArray() : null;
+            final int fullWords = bits.length() >>> ADDRESS_BITS_PER_WORD;
+            int i = 0;
+            if (array != null && fromWord < fullWords) {
+                i = Math.min(nWords, fullWords - fromWord);
+                System.arraycopy(array, (firstBitIndex >> ADDRESS_BITS_PER_WORD) + fromWord, out, 0, i);
+            }
+            for (; i < nWords; i++) {
+                final int offset = (fromWord + i) << ADDRESS_BITS_PER_WORD;
+                out[i] = (offset < bits.length()) ? bits.getFullWord(offset) : 0L;
+            }
+        }
+    }
+    
+    /**
+     * An expression whose value is all {@code ONES} or all {@code ZEROS}.
+     */
+    private static final class Constant extends BitExpression {
+    
+        private final long word;
+    
+        private final int length;
+    
+        Constant(long word, int length) {
+            this.word = word;
+            this.length = length;
+        }
+    
+        @Override
+        public int length() {
+            return length;
+        }
+    
+        @Override
+        int depth() {
+            return 0;
+        }
+    
+        @Override
+        void evaluate(int fromWord, int nWords, long[] out, long[][] buffers, int level) {
+            Arrays.fill(out, 0, nWords, word);
+        }
+    }
+    
+    /**
+     * An expression whose value is the complement of another.
+     */
+    private static final class Not extends BitExpression {
+    
+        private final BitExpression operand;
+    
+        Not(BitExpression operand) {
+            this.operand = operand;
+        }
+    
+        @Override
+        public int length() {
+            return operand.length();
+        }
+    
+        @Override
+        int depth() {
+            return operand.depth();
+        }
+    
+        @Override
+        void evaluate(int fromWord, int nWords, long[] out, long[][] buffers, int level) {
+            operand.evaluate(fromWord, nWords, out, buffers, level);
+            for (int i = 0; i < nWords; i++) out[i] = ~out[i];
+        }
+    }
+    
+    /**
+     * The bitwise operations that combine expressions.
+     */
+    private enum Operator {
+        AND {
+            @Override
+            void combine(long[] out, long[] arg, int nWords) {
+                for (int i = 0; i < nWords; i++) out[i] &= arg[i];
+            }
+    
+            @Override
+            boolean isSettled(long[] out, int nWords) {
+                long any = 0L;
+                for (int i = 0; i < nWords; i++) any |= out[i];
+                return any == 0L;
+            }
+        },
+        OR {
+            @Override
+            void combine(long[] out, long[] arg, int nWords) {
+                for (int i = 0; i < nWords; i++) out[i] |= arg[i];
+            }
+    
+            @Override
+            boolean isSettled(long[] out, int nWords) {
+                long all = WORD_MASK;
+                for (int i = 0; i < nWords; i++) all &= out[i];
+                return all == WORD_MASK;
+            }
+        },
+        XOR {
+            @Override
+            void combine(long[] out, long[] arg, int nWords) {
+                for (int i = 0; i < nWords; i++) out[i] ^= arg[i];
+            }
+    
+            @Override
+            boolean isSettled(long[] out, int nWords) {
+                return false;
+            }
+        };
+    
+        abstract void combine(long[] out, long[] arg, int nWords);
+    
+        /**
+         * Returns {@code true} if no further operand can change the specified
+         * words.
+         */
+        abstract boolean isSettled(long[] out, int nWords);
+    }
+    
+    /**
+     * An expression whose value is a bitwise operation on other expressions.
+     */
+    private static final class Operation extends BitExpression {
+    
+        private final Operator operator;
+    
+        private final BitExpression[] operands;
+    
+        private final int length;
+    
+        private final int depth;
+    
+        private Operation(Operator operator, BitExpression[] operands) {
+            this.operator = operator;
+            this.operands = operands;
+            int length = Integer.MAX_VALUE;
+            int depth = 0;
+            for (BitExpression operand : operands) {
+                length = Math.min(length, operand.length());
+                depth = Math.max(depth, operand.depth());
+            }
+            this.length = length;
+            this.depth = depth + 1;
+        }
+    
+        /**
+         * Returns an expression for the specified operation on the specified
+         * operands, with any constant operands folded away.
+         */
+        static BitExpression of(Operator operator, BitExpression[] expressions) {
+            if (expressions.length == 0) throw new IllegalArgumentException("no expressions specified");
+            final BitExpression[] operands = new BitExpression[expressions.length + 1];
+            int nOperands = 0;
+            int length = Integer.MAX_VALUE;
+            int operandsLength = Integer.MAX_VALUE;
+            boolean settled = false;
+            boolean complement = false;
+            for (BitExpression expression : expressions) {
+                length = Math.min(length, expression.length());
+                if (expression instanceof Constant) {
+                    final boolean one = (((Constant) expression).word != 0L);
+                    if (operator == Operator.AND && !one || operator == Operator.OR && one) settled = true;
+                    if (operator == Operator.XOR && one) complement = !complement;
+                    continue;
+                }
+                operandsLength = Math.min(operandsLength, expression.length());
+                operands[nOperands++] = expression;
+            }
+            final long identity = (operator == Operator.AND) ? WORD_MASK : 0L;
+            if (settled) return new Constant(~identity, length);
+            if (nOperands == 0) return new Constant(complement ? ~identity : identity, length);
+            // a constant operand shorter than the others still limits the length
+            if (operandsLength > length) operands[nOperands++] = new Constant(identity, length);
+            final BitExpression result = (nOperands == 1)
+                    ? operands[0]
+                    : new Operation(operator, Arrays.copyOf(operands, nOperands));
+            return complement ? not(result) : result;
+        }
+    
+        @Override
+        public int length() {
+            return length;
+        }
+    
+        @Override
+        int depth() {
+            return depth;
+        }
+    
+        @Override
+        void evaluate(int fromWord, int nWords, long[] out, long[][] buffers, int level) {
+            final long[] arg = buffers[level];
+            operands[0].evaluate(fromWord, nWords, out, buffers, level + 1);
+            for (int i = 1; i < operands.length; i++) {
+                if (operator.isSettled(out, nWords)) return;
+                operands[i].evaluate(fromWord, nWords, arg, buffers, level + 1);
+                operator.combine(out, arg, nWords);
+            }
+        }
+    }
+}
@@ -38,18 +38,36 @@
 
 package net.pfeifdom.java.util;
 
+import java.io.EOFException;
 import java.io.IOException;
+import java.io.InvalidObjectException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.io.StreamCorruptedException;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.ConcurrentModificationException;
 import java.util.Objects;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntConsumer;
 import java.util.function.IntToLongFunction;
 import java.util.function.LongBinaryOperator;
-import java.util.function.LongToIntFunction;
-import java.util.function.Predicate;
-import java.util.function.ToLongFunction;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
 
+import net.pfeifdom.java.util.function.IntIntConsumer;
 import net.pfeifdom.java.util.function.IntLongConsumer;
 import net.pfeifdom.java.util.function.LongBiPredicate;
 
@@ -162,6 +180,51 @@ public abstract class BitString implements Cloneable, Serializable  {
     static final int MAX_LONGS = Integer.MAX_VALUE / Long.SIZE + 1;
     static final int MAX_SHORTS = Integer.MAX_VALUE / Short.SIZE + 1;
     
+    /**
+     * The shortest length of a parallel operation that is run in parallel, and
+     * the length of the chunks it is split into, a multiple of the word size.
+     */
+    private static final int PARALLEL_THRESHOLD = 1 << 20;
+    private static final int PARALLEL_CHUNK_BITS = 1 << 18;
+    
+    /**
+     * The optional SIMD kernels for loops over arrays of words, or {@code null}
+     * when they are not available, and the fewest words handed to them.
+     */
+    private static final WordKernels VECTOR_KERNELS = loadVectorKernels();
+    private static final int MIN_VECTOR_WORDS = 16;
+    
+    /**
+     * The largest number of words that a bitwise operation stages in a scratch
+     * array at a time, when the words cannot be operated on in place.
+     */
+    private static final int STAGE_WORDS = 256;
+    
+    /**
+     * The number of bits between the entries of a rank index.
+     */
+    private static final int ADDRESS_BITS_PER_RANK_BLOCK = 9;
+    private static final int BITS_PER_RANK_BLOCK = 1 << ADDRESS_BITS_PER_RANK_BLOCK;
+    
+    /**
+     * The number of bits written to or read from a channel at a time.
+     */
+    private static final int CHANNEL_BUFFER_BITS = 1 << 16;
+    
+    /**
+     * The version of the compact serial format of {@link #writeBlocks}, the
+     * number of bits in each of its blocks, and the tags of its block encodings.
+     */
+    private static final int SERIAL_FORMAT_VERSION = 1;
+    private static final int ADDRESS_BITS_PER_SERIAL_BLOCK = 12;
+    private static final int BITS_PER_SERIAL_BLOCK = 1 << ADDRESS_BITS_PER_SERIAL_BLOCK;
+    private static final int WORDS_PER_SERIAL_BLOCK = BITS_PER_SERIAL_BLOCK / BITS_PER_WORD;
+    private static final byte EMPTY_BLOCK = 0;
+    private static final byte FULL_BLOCK = 1;
+    private static final byte SPARSE_BLOCK = 2;
+    private static final byte RUN_BLOCK = 3;
+    private static final byte LITERAL_BLOCK = 4;
+    
     public static final BitString ONES = new Constant(WORD_MASK);
     public static final BitString ZEROS = new Constant(0L);
     
@@ -203,6 +266,17 @@ public abstract class BitString implements Cloneable, Serializable  {
      */
     private long modCount = 0L;
     
+    /**
+     * Incremented any time bits of the bit string may have been written
+     */
+    private long bitsModCount = 0L;
+    
+    /**
+     * The rank index of the bit string, built when first needed and rebuilt
+     * once the bits or the length of the bit string have changed
+     */
+    private transient RankIndex rankIndex;
+    
     BitString() {
         this(0);
     }
@@ -291,6 +365,14 @@ public abstract class BitString implements Cloneable, Serializable  {
         this.modCount++;
     }
     
+    long bitsModCount() {
+        return this.bitsModCount;
+    }
+    
+    void incrementBitsModCount() {
+        this.bitsModCount++;
+    }
+    
     /**
      * Cloning this {@code BitString} produces a new {@code BitString}
      * that is equal to it.
@@ -312,6 +394,64 @@ public abstract class BitString implements Cloneable, Serializable  {
     
     abstract void setWord(int wordIndex, long word);
     
+    /**
+     * Returns the array of longs that backs this bit string, where each element
+     * of the array is the word with the same word index, or {@code null} if the
+     * words of this bit string are not stored in an array of longs.
+     * 
+     * @return the backing array of this bit string, or {@code null}
+     */
+    long[] wordArray() {
+        return null;
+    }
+    
+    /**
+     * Copy the specified number of words of this bit string, starting with the
+     * word at the specified word index, into the specified array. Subclasses whose
+     * words are not stored in an array of longs can override this to read a run
+     * of words without a call per word.
+     * 
+     * @param wordIndex index of the first word to read
+     * @param dst       the array to copy the words into
+     * @param dstFrom   index in the array of the first word
+     * @param count     the number of words
+     */
+    void getWords(int wordIndex, long[] dst, int dstFrom, int count) {
+        for (int i = 0; i < count; i++) {
+            dst[dstFrom + i] = getWord(wordIndex + i);
+        }
+    }
+    
+    /**
+     * Replace the specified number of words of this bit string, starting with the
+     * word at the specified word index, with the words of the specified array.
+     * 
+     * @param wordIndex index of the first word to replace
+     * @param src       the array holding the replacement words
+     * @param srcFrom   index in the array of the first word
+     * @param count     the number of words
+     * @see #getWords(int, long[], int, int)
+     */
+    void setWords(int wordIndex, long[] src, int srcFrom, int count) {
+        for (int i = 0; i < count; i++) {
+            setWord(wordIndex + i, src[srcFrom + i]);
+        }
+    }
+    
+    /**
+     * Returns the object that holds the words of this bit string, if separate
+     * threads may read and write separate words of this bit string at once,
+     * through {@code getWord}/{@code setWord} and {@code getWords}/{@code setWords},
+     * otherwise {@code null}. Bit strings whose words are held in the same
+     * storage return the same object. The parallel operations run sequentially
+     * on bit strings for which this returns {@code null}.
+     * 
+     * @return the storage of the words of this bit string, or {@code null}
+     */
+    Object parallelWordStorage() {
+        return wordArray();
+    }
+    
     int bitIndex(int offset) {
         return offset;
     }
@@ -379,138 +519,107 @@ public abstract class BitString implements Cloneable, Serializable  {
         return wordIndex(lastBitIndex(offset, length));
     }
     
-    private int[] getIterator() {
-        return getIterator(0, length());
-    }
-    
-    private int[] getIterator(int offset, int length) {
-        final int[] iterator = new int[7];
-        iterator[0] = -1; // word index
-        iterator[1] = firstWordIndex(offset);
-        iterator[2] = lastWordIndex(offset, length);
-        iterator[3] = leftMarginSize(offset);
-        iterator[4] = rightMarginSize(offset, length);
-        iterator[5] = length; // remaining bit count
-        iterator[6] = 0; // word bit count
-        return iterator;
-    }
-    
-    private int getIteratorWordIndex(int[] iterator) {
-        return iterator[0];
-    }
-    
-    private int getIteratorWordBitCount(int[] iterator) {
-        return iterator[6];
-    }
-    
-    private boolean hasNextIteratorWord(int[] iterator) {
-        // return currentWordIndex != lastWordIndex && remainingLength > 0
-        return iterator[0] != iterator[2] && iterator[5] > 0;
-    }
-    
-    private boolean hasPreviousIteratorWord(int[] iterator) {
-        // return currentWordIndex != firstWordIndex && remainingLength > 0
-        return iterator[0] != iterator[1] && iterator[5] > 0;
-    }
-    
-//    private long getNextIteratorWord(int[] iterator) {
-//        return getNextIteratorWord(iterator, ZERO_FILL);
-//    }
-    
-//    private long getNextIteratorWord(int[] iterator, boolean fill) {
-//        int wordIndex = iterator[0];
-//        final int firstWordIndex = iterator[1];
-//        final int lastWordIndex = iterator[2];
-//        final int leftMarginSize = iterator[3];
-//        final int rightMarginSize = iterator[4];
-//        final int remainingLength = iterator[5];
-//        if (wordIndex == lastWordIndex || remainingLength <= 0) throw new IllegalStateException();
-//        if (wordIndex == -1) wordIndex = firstWordIndex;
-//        else wordIndex++;
-//        iterator[0] = wordIndex;
-//        if (wordIndex == firstWordIndex && wordIndex == lastWordIndex) {
-//            iterator[6] = (remainingLength > BITS_PER_WORD) ? BITS_PER_WORD-(rightMarginSize+leftMarginSize) : remainingLength;
-//        } else if (wordIndex == firstWordIndex) {
-//            iterator[6] = (remainingLength > BITS_PER_WORD) ? BITS_PER_WORD-leftMarginSize : remainingLength;
-//        } else if (wordIndex == lastWordIndex) {
-//            iterator[6] = (remainingLength > BITS_PER_WORD) ? BITS_PER_WORD-rightMarginSize : remainingLength;
-//        } else {
-//            iterator[6] = (remainingLength > BITS_PER_WORD) ? BITS_PER_WORD : remainingLength;
-//        }
-//        iterator[5] -= iterator[6];
-//        return fillMargins(fill, getWord(wordIndex), wordIndex,
-//                firstWordIndex, lastWordIndex, leftMarginSize, rightMarginSize);
-//    }
-    
-//    private long getPreviousIteratorWord(int[] iterator) {
-//        return getPreviousIteratorWord(iterator, ZERO_FILL);
-//    }
-    
-//    private long getPreviousIteratorWord(int[] iterator, boolean fill) {
-//        int wordIndex = iterator[0];
-//        final int firstWordIndex = iterator[1];
-//        final int lastWordIndex = iterator[2];
-//        final int leftMarginSize = iterator[3];
-//        final int rightMarginSize = iterator[4];
-//        final int remainingLength = iterator[5];
-//        if (wordIndex == firstWordIndex || remainingLength <= 0) throw new IllegalStateException();
-//        if (wordIndex == -1) wordIndex = lastWordIndex;
-//        else wordIndex--;
-//        iterator[0] = wordIndex;
-//        if (wordIndex == firstWordIndex && wordIndex == lastWordIndex) {
-//            iterator[6] = (remainingLength > BITS_PER_WORD) ? BITS_PER_WORD-(rightMarginSize+leftMarginSize) : remainingLength;
-//        } else if (wordIndex == firstWordIndex) {
-//            iterator[6] = (remainingLength > BITS_PER_WORD) ? BITS_PER_WORD-leftMarginSize : remainingLength;
-//        } else if (wordIndex == lastWordIndex) {
-//            iterator[6] = (remainingLength > BITS_PER_WORD) ? BITS_PER_WORD-rightMarginSize : remainingLength;
-//        } else {
-//            iterator[6] = (remainingLength > BITS_PER_WORD) ? BITS_PER_WORD : remainingLength;
-//        }
-//        iterator[5] -= iterator[6];
-//        return fillMargins(fill, getWord(wordIndex), wordIndex,
-//                firstWordIndex, lastWordIndex, leftMarginSize, rightMarginSize);
-//    }
-    
-    private long getNextIteratorFullWord(int[] iterator) {
-        return getNextIteratorFullWord(iterator, ZERO_FILL);
-    }
-    
-    private long getNextIteratorFullWord(int[] iterator, boolean fill) {
-        int wordIndex = iterator[0];
-        final int firstWordIndex = iterator[1];
-        final int lastWordIndex = iterator[2];
-        final int leftMarginSize = iterator[3];
-        final int rightMarginSize = iterator[4];
-        final int remainingLength = iterator[5];
-        if (wordIndex == lastWordIndex || remainingLength <= 0) throw new IllegalStateException();
-        if (wordIndex == -1) wordIndex = firstWordIndex;
-        else wordIndex++;
-        iterator[0] = wordIndex;
-        iterator[6] = (remainingLength > BITS_PER_WORD) ? BITS_PER_WORD : remainingLength;
-        iterator[5] -= iterator[6];
+    /**
+     * A cursor over the words of a substring of this {@code BitString}, which
+     * returns each word of the substring, front to back or back to front, as a
+     * full word whose first bit is a bit of the substring.
+     * 
+     * A cursor is created for a single scan of a substring and must not be
+     * allowed to escape the method that creates it. This lets the JIT replace
+     * the cursor with its fields (scalar replacement), so that scanning a
+     * substring does not allocate.
+     */
+    private final class WordCursor {
         
-        return shiftWordLeft(leftMarginSize, fill, wordIndex, lastWordIndex, rightMarginSize);
-    }
-    
-    private long getPreviousIteratorFullWord(int[] iterator) {
-        return getPreviousIteratorFullWord(iterator, ZERO_FILL);
-    }
-    
-    private long getPreviousIteratorFullWord(int[] iterator, boolean fill) {
-        int wordIndex = iterator[0];
-        final int firstWordIndex = iterator[1];
-        final int lastWordIndex = iterator[2];
-        final int leftMarginSize = iterator[3];
-        final int rightMarginSize = iterator[4];
-        int remainingLength = iterator[5];
-        if (wordIndex == firstWordIndex || remainingLength <= 0) throw new IllegalStateException();
-        if (wordIndex == -1) wordIndex = lastWordIndex;
-        else wordIndex--;
-        iterator[0] = wordIndex;
-        iterator[6] = (remainingLength > BITS_PER_WORD) ? BITS_PER_WORD : remainingLength;
-        iterator[5] -= iterator[6];
+        private final int firstWordIndex;
+        private final int lastWordIndex;
+        private final int leftMarginSize;
+        private final int rightMarginSize;
+        private int wordIndex = -1;
+        private int remainingLength;
+        private int wordBitCount = 0;
+        
+        /**
+         * Create a cursor over the words of the specified substring.
+         * 
+         * @param offset the start of the substring
+         * @param length the length of the substring
+         */
+        WordCursor(int offset, int length) {
+            this.firstWordIndex = BitString.this.firstWordIndex(offset);
+            this.lastWordIndex = BitString.this.lastWordIndex(offset, length);
+            this.leftMarginSize = BitString.this.leftMarginSize(offset);
+            this.rightMarginSize = BitString.this.rightMarginSize(offset, length);
+            this.remainingLength = length;
+        }
+        
+        /**
+         * Returns the index of the word most recently returned by this cursor.
+         * 
+         * @return the index of the current word
+         */
+        int wordIndex() {
+            return wordIndex;
+        }
+        
+        /**
+         * Returns the number of bits of the substring contained in the full word
+         * most recently returned by this cursor.
+         * 
+         * @return the number of bits in the current word
+         */
+        int wordBitCount() {
+            return wordBitCount;
+        }
+        
+        boolean hasNext() {
+            return wordIndex != lastWordIndex && remainingLength > 0;
+        }
+        
+        boolean hasPrevious() {
+            return wordIndex != firstWordIndex && remainingLength > 0;
+        }
+        
+        long nextFullWord() {
+            return nextFullWord(ZERO_FILL);
+        }
+        
+        /**
+         * Returns the next full word of the substring. The bits of the word that
+         * follow the end of the substring are set to the specified fill value.
+         * 
+         * @param fill the value of the bits following the substring
+         * @return the next full word
+         * @throws IllegalStateException if there is no next word
+         */
+        long nextFullWord(boolean fill) {
+            if (!hasNext()) throw new IllegalStateException();
+            wordIndex = (wordIndex == -1) ? firstWordIndex : wordIndex + 1;
+            wordBitCount = (remainingLength > BITS_PER_WORD) ? BITS_PER_WORD : remainingLength;
+            remainingLength -= wordBitCount;
+            return shiftWordLeft(leftMarginSize, fill, wordIndex, lastWordIndex, rightMarginSize);
+        }
+        
+        long previousFullWord() {
+            return previousFullWord(ZERO_FILL);
+        }
         
-        return shiftWordRight(rightMarginSize, fill, wordIndex, firstWordIndex, leftMarginSize);
+        /**
+         * Returns the previous full word of the substring. The bits of the word
+         * that precede the start of the substring are set to the specified fill
+         * value.
+         * 
+         * @param fill the value of the bits preceding the substring
+         * @return the previous full word
+         * @throws IllegalStateException if there is no previous word
+         */
+        long previousFullWord(boolean fill) {
+            if (!hasPrevious()) throw new IllegalStateException();
+            wordIndex = (wordIndex == -1) ? lastWordIndex : wordIndex - 1;
+            wordBitCount = (remainingLength > BITS_PER_WORD) ? BITS_PER_WORD : remainingLength;
+            remainingLength -= wordBitCount;
+            return shiftWordRight(rightMarginSize, fill, wordIndex, firstWordIndex, leftMarginSize);
+        }
     }
     
     /**
@@ -543,22 +652,11 @@ public abstract class BitString implements Cloneable, Serializable  {
         return (lArg << shift) | (rArg >>> (BITS_PER_WORD - shift));
     }
     
-    private long shiftWord(int shift, boolean fill, int wordIndex,
-            int firstWordIndex, int lastWordIndex,
-            int leftMarginSize, int rightMarginSize) {
-        assert shift > -BITS_PER_WORD && shift < BITS_PER_WORD;
-        long word;
-        if (shift == 0) word = getWord(wordIndex);
-        else if (shift > 0) word = shiftWordRight(shift, fill, wordIndex, firstWordIndex, leftMarginSize);
-        else                word = shiftWordLeft(-shift, fill, wordIndex, lastWordIndex, rightMarginSize);
-        return word;
-    }
-    
     private long shiftWordLeft(int shift, boolean fill, int wordIndex,
             int lastWordIndex, int rightMarginSize) {
         assert shift >= 0 && shift < BITS_PER_WORD;
         long word = getWord(wordIndex);
-        if (shift == 0) return word;
+        if (shift == 0) return fillRightMargin(fill, word, wordIndex, lastWordIndex, rightMarginSize);
         if (wordIndex == lastWordIndex) {
             word = fillRightMargin(fill, word, wordIndex, lastWordIndex, rightMarginSize);
             word = shiftArgsLeft(shift, word, fill ? WORD_MASK : 0L);
@@ -573,7 +671,7 @@ public abstract class BitString implements Cloneable, Serializable  {
             int firstWordIndex, int leftMarginSize) {
         assert shift >= 0 && shift < BITS_PER_WORD;
         long word = getWord(wordIndex);
-        if (shift == 0) return word;
+        if (shift == 0) return fillLeftMargin(fill, word, wordIndex, firstWordIndex, leftMarginSize);
         if (wordIndex == firstWordIndex) {
             word = fillLeftMargin(fill, word, wordIndex, firstWordIndex, leftMarginSize);
             word = shiftArgsRight(shift, fill ? WORD_MASK : 0L, word);
@@ -621,30 +719,17 @@ public abstract class BitString implements Cloneable, Serializable  {
         return word;
     }
     
-    private void restoreMargin(int wordIndex,
-            long originalFirstWord, long originalLastWord,
-            int firstWordIndex, int lastWordIndex,
-            int leftMarginSize, int rightMarginSize) {
-        if (wordIndex == firstWordIndex) restoreLeftMargin(originalFirstWord, firstWordIndex, leftMarginSize);
-        if (wordIndex == lastWordIndex) restoreRightMargin(originalLastWord, lastWordIndex, rightMarginSize);
-    }
-    
-    private void restoreLeftMargin(long originalFirstWord,
-            int firstWordIndex, int leftMarginSize) {
-        if (leftMarginSize > 0) {
-            setWord(firstWordIndex,
-                    (originalFirstWord & (WORD_MASK << (BITS_PER_WORD - leftMarginSize)))
-                  | (getWord(firstWordIndex) & (WORD_MASK >>> leftMarginSize)));
-        }
-    }
-    
-    private void restoreRightMargin(long originalLastWord,
-            int lastWordIndex, int rightMarginSize) {
-        if (rightMarginSize > 0) {
-            setWord(lastWordIndex,
-                    (originalLastWord & (WORD_MASK >>> (BITS_PER_WORD - rightMarginSize)))
-                  | (getWord(lastWordIndex) & (WORD_MASK << rightMarginSize)));
-        }
+    /**
+     * Replace the bits of the specified word that are selected by the mask with
+     * the corresponding bits of the specified word value. The bits of the word
+     * that are not selected by the mask are left unchanged.
+     * 
+     * @param wordIndex index of the word to set
+     * @param word      word value
+     * @param mask      the bits of the word to set
+     */
+    private void setWordMasked(int wordIndex, long word, long mask) {
+        setWord(wordIndex, (getWord(wordIndex) & ~mask) | (word & mask));
     }
     
     static long[] packBooleans(boolean[] booleans) {
@@ -833,167 +918,550 @@ public abstract class BitString implements Cloneable, Serializable  {
     }
     
     /**
-     * Perform an <b>AND</b> operation on a substring of this BitString and a
-     * substring the specified BitString (that).
-     * 
-     * <pre>
-     *                 that bit
-     *                  value
-     *                | 0 | 1 |
-     *             ===|=======|
-     *        this  0 | 0 | 0 |
-     *         bit ---|-------|
-     *       value  1 | 0 | 1 |
-     *             ============
-     * </pre>
-     * 
-     * @param thisOffset the offset of this substring
-     * @param length     the length of the substrings
-     * @param that       the argument bit string
-     * @param thatOffset the offset of that substring
-     */
-    private void iAnd(int thisOffset, int length, BitString that, int thatOffset) {
-        iBitwiseOp(thisOffset, length, that, thatOffset,
-                (lArg, rArg) -> { return lArg & rArg; });
-    }
-    
-    /**
-     * Perform an <b>ANDNOT</b> operation on a substring of this BitString and a
-     * substring the specified BitString (that).
-     * 
-     * <pre>
-     *                 that bit
-     *                  value
-     *                | 0 | 1 |
-     *             ===|=======|
-     *        this  0 | 0 | 0 |
-     *         bit ---|-------|
-     *       value  1 | 1 | 0 |
-     *             ============
-     * </pre>
-     * 
-     * @param thisOffset the offset of this substring
-     * @param length     the length of the substrings
-     * @param that       the argument bit string
-     * @param thatOffset the offset of that substring
-     */
-    private void iAndNot(int thisOffset, int length, BitString that, int thatOffset) {
-        iBitwiseOp(thisOffset, length, that, thatOffset,
-                (lArg, rArg) -> { return lArg & ~rArg; });
-    }
-    
-    void iClear(int offset, int length) {
-        iBitwiseOp(offset, length, ZEROS, offset,
-                (lArg, rArg) -> { return rArg; });
-    }
-    
-    /**
-     * Perform an <b>NAND</b> operation on a substring of this BitString and a
-     * substring the specified BitString (that).
-     * 
-     * <pre>
-     *                 that bit
-     *                  value
-     *                | 0 | 1 |
-     *             ===|=======|
-     *        this  0 | 1 | 1 |
-     *         bit ---|-------|
-     *       value  1 | 1 | 0 |
-     *             ============
-     * </pre>
-     * 
-     * @param thisOffset the offset of this substring
-     * @param length     the length of the substrings
-     * @param that       the argument bit string
-     * @param thatOffset the offset of that substring
-     */
-    private void iNand(int thisOffset, int length, BitString that, int thatOffset) {
-        iBitwiseOp(thisOffset, length, that, thatOffset,
-                (lArg, rArg) -> { return ~(lArg & rArg); });
-    }
-    
-    /**
-     * Perform an <b>NANDNOT</b> operation on a substring of this BitString and a
-     * substring the specified BitString (that).
-     * 
-     * <pre>
-     *                 that bit
-     *                  value
-     *                | 0 | 1 |
-     *             ===|=======|
-     *        this  0 | 1 | 1 |
-     *         bit ---|-------|
-     *       value  1 | 0 | 1 |
-     *             ============
-     * </pre>
-     * 
-     * @param thisOffset the offset of this substring
-     * @param length     the length of the substrings
-     * @param that       the argument bit string
-     * @param thatOffset the offset of that substring
-     */
-    private void iNandNot(int thisOffset, int length, BitString that, int thatOffset) {
-        iBitwiseOp(thisOffset, length, that, thatOffset,
-                (lArg, rArg) -> { return ~lArg | rArg; });
-             // (lArg, rArg) -> { return ~(lArg & ~rArg); });
-    }
-    
-    /**
-     * Perform an <b>NOR</b> operation on a substring of this BitString and a
-     * substring the specified BitString (that).
-     * 
-     * <pre>
-     *                 that bit
-     *                  value
-     *                | 0 | 1 |
-     *             ===|=======|
-     *        this  0 | 1 | 0 |
-     *         bit ---|-------|
-     *       value  1 | 0 | 0 |
-     *             ============
-     * </pre>
-     * 
-     * @param thisOffset the offset of this substring
-     * @param length     the length of the substrings
-     * @param that       the argument bit string
-     * @param thatOffset the offset of that substring
-     */
-    private void iNor(int thisOffset, int length, BitString that, int thatOffset) {
-        iBitwiseOp(thisOffset, length, that, thatOffset,
-                (lArg, rArg) -> { return ~(lArg | rArg); });
-    }
-    
-    /**
-     * Perform an <b>NORNOT</b> operation on a substring of this BitString and a
-     * substring the specified BitString (that).
-     * 
-     * <pre>
-     *                 that bit
-     *                  value
-     *                | 0 | 1 |
-     *             ===|=======|
-     *        this  0 | 0 | 1 |
-     *         bit ---|-------|
-     *       value  1 | 0 | 0 |
-     *             ============
-     * </pre>
+     * The bitwise operations which can be performed on the words of a substring of
+     * this {@code BitString} (the left argument) and the words of a substring of
+     * another bit string (the right argument).
      * 
-     * @param thisOffset the offset of this substring
-     * @param length     the length of the substrings
-     * @param that       the argument bit string
-     * @param thatOffset the offset of that substring
+     * Each operation supplies its own loops over arrays of words, so that each loop
+     * contains a single, statically known operation on its words. The interior
+     * words of every substring are operated on by these loops rather than through
+     * {@code getWord}/{@code setWord} and a {@code LongBinaryOperator}, which keeps
+     * each loop simple enough for the JIT to unroll and vectorize. Words stored in
+     * arrays of longs are used in place when they are word aligned; otherwise they
+     * are staged in scratch arrays, see {@code iBitwiseOpStaged}.
+     * {@code BigBitString} runs the same loops over its pages.
      */
-    private void iNorNot(int thisOffset, int length, BitString that, int thatOffset) {
-        iBitwiseOp(thisOffset, length, that, thatOffset,
-                (lArg, rArg) -> { return ~lArg & rArg; });
-             // (lArg, rArg) -> { return ~(lArg | !rArg); });
-    }
-    
-    private void iNot(int offset, int length) {
-        iBitwiseOp(offset, length, ZEROS, offset,
-                (lArg, rArg) -> { return ~lArg; });
-    }
-    
+    enum BitwiseOp implements LongBinaryOperator {
+        /** <b>AND</b> */
+        AND(WordKernels.AND) {
+            @Override
+            public long applyAsLong(long lArg, long rArg) {
+                return lArg & rArg;
+            }
+            
+            @Override
+            void applyToArrays(long[] thisWords, int thisFrom, long[] thatWords, int thatFrom, int count) {
+                for (int thisCursor = thisFrom, thatCursor = thatFrom, thisTo = thisFrom + count;
+                        thisCursor < thisTo;
+                        thisCursor++, thatCursor++) {
+                    thisWords[thisCursor] = thisWords[thisCursor] & thatWords[thatCursor];
+                }
+            }
+            
+            @Override
+            void applyToArraysRL(long[] thisWords, int thisFrom, long[] thatWords, int thatFrom, int count) {
+                for (int thisCursor = thisFrom + count - 1, thatCursor = thatFrom + count - 1;
+                        thisCursor >= thisFrom;
+                        thisCursor--, thatCursor--) {
+                    thisWords[thisCursor] = thisWords[thisCursor] & thatWords[thatCursor];
+                }
+            }
+        },
+        
+        /** <b>ANDNOT</b> */
+        ANDNOT(WordKernels.ANDNOT) {
+            @Override
+            public long applyAsLong(long lArg, long rArg) {
+                return lArg & ~rArg;
+            }
+            
+            @Override
+            void applyToArrays(long[] thisWords, int thisFrom, long[] thatWords, int thatFrom, int count) {
+                for (int thisCursor = thisFrom, thatCursor = thatFrom, thisTo = thisFrom + count;
+                        thisCursor < thisTo;
+                        thisCursor++, thatCursor++) {
+                    thisWords[thisCursor] = thisWords[thisCursor] & ~thatWords[thatCursor];
+                }
+            }
+            
+            @Override
+            void applyToArraysRL(long[] thisWords, int thisFrom, long[] thatWords, int thatFrom, int count) {
+                for (int thisCursor = thisFrom + count - 1, thatCursor = thatFrom + count - 1;
+                        thisCursor >= thisFrom;
+                        thisCursor--, thatCursor--) {
+                    thisWords[thisCursor] = thisWords[thisCursor] & ~thatWords[thatCursor];
+                }
+            }
+        },
+        
+        /** <b>NAND</b> */
+        NAND(WordKernels.NAND) {
+            @Override
+            public long applyAsLong(long lArg, long rArg) {
+                return ~(lArg & rArg);
+            }
+            
+            @Override
+            void applyToArrays(long[] thisWords, int thisFrom, long[] thatWords, int thatFrom, int count) {
+                for (int thisCursor = thisFrom, thatCursor = thatFrom, thisTo = thisFrom + count;
+                        thisCursor < thisTo;
+                        thisCursor++, thatCursor++) {
+                    thisWords[thisCursor] = ~(thisWords[thisCursor] & thatWords[thatCursor]);
+                }
+            }
+            
+            @Override
+            void applyToArraysRL(long[] thisWords, int thisFrom, long[] thatWords, int thatFrom, int count) {
+                for (int thisCursor = thisFrom + count - 1, thatCursor = thatFrom + count - 1;
+                        thisCursor >= thisFrom;
+                        thisCursor--, thatCursor--) {
+                    thisWords[thisCursor] = ~(thisWords[thisCursor] & thatWords[thatCursor]);
+                }
+            }
+        },
+        
+        /** <b>NANDNOT</b> */
+        NANDNOT(WordKernels.NANDNOT) {
+            @Override
+            public long applyAsLong(long lArg, long rArg) {
+                return ~lArg | rArg;
+            }
+            
+            @Override
+            void applyToArrays(long[] thisWords, int thisFrom, long[] thatWords, int thatFrom, int count) {
+                for (int thisCursor = thisFrom, thatCursor = thatFrom, thisTo = thisFrom + count;
+                        thisCursor < thisTo;
+                        thisCursor++, thatCursor++) {
+                    thisWords[thisCursor] = ~thisWords[thisCursor] | thatWords[thatCursor];
+                }
+            }
+            
+            @Override
+            void applyToArraysRL(long[] thisWords, int thisFrom, long[] thatWords, int thatFrom, int count) {
+                for (int thisCursor = thisFrom + count - 1, thatCursor = thatFrom + count - 1;
+                        thisCursor >= thisFrom;
+                        thisCursor--, thatCursor--) {
+                    thisWords[thisCursor] = ~thisWords[thisCursor] | thatWords[thatCursor];
+                }
+            }
+        },
+        
+        /** <b>NOR</b> */
+        NOR(WordKernels.NOR) {
+            @Override
+            public long applyAsLong(long lArg, long rArg) {
+                return ~(lArg | rArg);
+            }
+            
+            @Override
+            void applyToArrays(long[] thisWords, int thisFrom, long[] thatWords, int thatFrom, int count) {
+                for (int thisCursor = thisFrom, thatCursor = thatFrom, thisTo = thisFrom + count;
+                        thisCursor < thisTo;
+                        thisCursor++, thatCursor++) {
+                    thisWords[thisCursor] = ~(thisWords[thisCursor] | thatWords[thatCursor]);
+                }
+            }
+            
+            @Override
+            void applyToArraysRL(long[] thisWords, int thisFrom, long[] thatWords, int thatFrom, int count) {
+                for (int thisCursor = thisFrom + count - 1, thatCursor = thatFrom + count - 1;
+                        thisCursor >= thisFrom;
+                        thisCursor--, thatCursor--) {
+                    thisWords[thisCursor] = ~(thisWords[thisCursor] | thatWords[thatCursor]);
+                }
+            }
+        },
+        
+        /** <b>NORNOT</b> */
+        NORNOT(WordKernels.NORNOT) {
+            @Override
+            public long applyAsLong(long lArg, long rArg) {
+                return ~lArg & rArg;
+            }
+            
+            @Override
+            void applyToArrays(long[] thisWords, int thisFrom, long[] thatWords, int thatFrom, int count) {
+                for (int thisCursor = thisFrom, thatCursor = thatFrom, thisTo = thisFrom + count;
+                        thisCursor < thisTo;
+                        thisCursor++, thatCursor++) {
+                    thisWords[thisCursor] = ~thisWords[thisCursor] & thatWords[thatCursor];
+                }
+            }
+            
+            @Override
+            void applyToArraysRL(long[] thisWords, int thisFrom, long[] thatWords, int thatFrom, int count) {
+                for (int thisCursor = thisFrom + count - 1, thatCursor = thatFrom + count - 1;
+                        thisCursor >= thisFrom;
+                        thisCursor--, thatCursor--) {
+                    thisWords[thisCursor] = ~thisWords[thisCursor] & thatWords[thatCursor];
+                }
+            }
+        },
+        
+        /** <b>OR</b> */
+        OR(WordKernels.OR) {
+            @Override
+            public long applyAsLong(long lArg, long rArg) {
+                return lArg | rArg;
+            }
+            
+            @Override
+            void applyToArrays(long[] thisWords, int thisFrom, long[] thatWords, int thatFrom, int count) {
+                for (int thisCursor = thisFrom, thatCursor = thatFrom, thisTo = thisFrom + count;
+                        thisCursor < thisTo;
+                        thisCursor++, thatCursor++) {
+                    thisWords[thisCursor] = thisWords[thisCursor] | thatWords[thatCursor];
+                }
+            }
+            
+            @Override
+            void applyToArraysRL(long[] thisWords, int thisFrom, long[] thatWords, int thatFrom, int count) {
+                for (int thisCursor = thisFrom + count - 1, thatCursor = thatFrom + count - 1;
+                        thisCursor >= thisFrom;
+                        thisCursor--, thatCursor--) {
+                    thisWords[thisCursor] = thisWords[thisCursor] | thatWords[thatCursor];
+                }
+            }
+        },
+        
+        /** <b>ORNOT</b> */
+        ORNOT(WordKernels.ORNOT) {
+            @Override
+            public long applyAsLong(long lArg, long rArg) {
+                return lArg | ~rArg;
+            }
+            
+            @Override
+            void applyToArrays(long[] thisWords, int thisFrom, long[] thatWords, int thatFrom, int count) {
+                for (int thisCursor = thisFrom, thatCursor = thatFrom, thisTo = thisFrom + count;
+                        thisCursor < thisTo;
+                        thisCursor++, thatCursor++) {
+                    thisWords[thisCursor] = thisWords[thisCursor] | ~thatWords[thatCursor];
+                }
+            }
+            
+            @Override
+            void applyToArraysRL(long[] thisWords, int thisFrom, long[] thatWords, int thatFrom, int count) {
+                for (int thisCursor = thisFrom + count - 1, thatCursor = thatFrom + count - 1;
+                        thisCursor >= thisFrom;
+                        thisCursor--, thatCursor--) {
+                    thisWords[thisCursor] = thisWords[thisCursor] | ~thatWords[thatCursor];
+                }
+            }
+        },
+        
+        /** <b>XNOR</b> */
+        XNOR(WordKernels.XNOR) {
+            @Override
+            public long applyAsLong(long lArg, long rArg) {
+                return ~(lArg ^ rArg);
+            }
+            
+            @Override
+            void applyToArrays(long[] thisWords, int thisFrom, long[] thatWords, int thatFrom, int count) {
+                for (int thisCursor = thisFrom, thatCursor = thatFrom, thisTo = thisFrom + count;
+                        thisCursor < thisTo;
+                        thisCursor++, thatCursor++) {
+                    thisWords[thisCursor] = ~(thisWords[thisCursor] ^ thatWords[thatCursor]);
+                }
+            }
+            
+            @Override
+            void applyToArraysRL(long[] thisWords, int thisFrom, long[] thatWords, int thatFrom, int count) {
+                for (int thisCursor = thisFrom + count - 1, thatCursor = thatFrom + count - 1;
+                        thisCursor >= thisFrom;
+                        thisCursor--, thatCursor--) {
+                    thisWords[thisCursor] = ~(thisWords[thisCursor] ^ thatWords[thatCursor]);
+                }
+            }
+        },
+        
+        /** <b>XOR</b> */
+        XOR(WordKernels.XOR) {
+            @Override
+            public long applyAsLong(long lArg, long rArg) {
+                return lArg ^ rArg;
+            }
+            
+            @Override
+            void applyToArrays(long[] thisWords, int thisFrom, long[] thatWords, int thatFrom, int count) {
+                for (int thisCursor = thisFrom, thatCursor = thatFrom, thisTo = thisFrom + count;
+                        thisCursor < thisTo;
+                        thisCursor++, thatCursor++) {
+                    thisWords[thisCursor] = thisWords[thisCursor] ^ thatWords[thatCursor];
+                }
+            }
+            
+            @Override
+            void applyToArraysRL(long[] thisWords, int thisFrom, long[] thatWords, int thatFrom, int count) {
+                for (int thisCursor = thisFrom + count - 1, thatCursor = thatFrom + count - 1;
+                        thisCursor >= thisFrom;
+                        thisCursor--, thatCursor--) {
+                    thisWords[thisCursor] = thisWords[thisCursor] ^ thatWords[thatCursor];
+                }
+            }
+        },
+        
+        /** <b>NOT</b> of the left argument */
+        NOT(WordKernels.NOT) {
+            @Override
+            public long applyAsLong(long lArg, long rArg) {
+                return ~lArg;
+            }
+            
+            @Override
+            void applyToArrays(long[] thisWords, int thisFrom, long[] thatWords, int thatFrom, int count) {
+                for (int thisCursor = thisFrom, thatCursor = thatFrom, thisTo = thisFrom + count;
+                        thisCursor < thisTo;
+                        thisCursor++, thatCursor++) {
+                    thisWords[thisCursor] = ~thisWords[thisCursor];
+                }
+            }
+            
+            @Override
+            void applyToArraysRL(long[] thisWords, int thisFrom, long[] thatWords, int thatFrom, int count) {
+                for (int thisCursor = thisFrom + count - 1, thatCursor = thatFrom + count - 1;
+                        thisCursor >= thisFrom;
+                        thisCursor--, thatCursor--) {
+                    thisWords[thisCursor] = ~thisWords[thisCursor];
+                }
+            }
+        },
+        
+        /** Copy of the right argument */
+        COPY(WordKernels.COPY) {
+            @Override
+            public long applyAsLong(long lArg, long rArg) {
+                return rArg;
+            }
+            
+            @Override
+            void applyToArrays(long[] thisWords, int thisFrom, long[] thatWords, int thatFrom, int count) {
+                for (int thisCursor = thisFrom, thatCursor = thatFrom, thisTo = thisFrom + count;
+                        thisCursor < thisTo;
+                        thisCursor++, thatCursor++) {
+                    thisWords[thisCursor] = thatWords[thatCursor];
+                }
+            }
+            
+            @Override
+            void applyToArraysRL(long[] thisWords, int thisFrom, long[] thatWords, int thatFrom, int count) {
+                for (int thisCursor = thisFrom + count - 1, thatCursor = thatFrom + count - 1;
+                        thisCursor >= thisFrom;
+                        thisCursor--, thatCursor--) {
+                    thisWords[thisCursor] = thatWords[thatCursor];
+                }
+            }
+        },
+        
+        /** <b>NOT</b> of the right argument */
+        COPYNOT(WordKernels.COPYNOT) {
+            @Override
+            public long applyAsLong(long lArg, long rArg) {
+                return ~rArg;
+            }
+            
+            @Override
+            void applyToArrays(long[] thisWords, int thisFrom, long[] thatWords, int thatFrom, int count) {
+                for (int thisCursor = thisFrom, thatCursor = thatFrom, thisTo = thisFrom + count;
+                        thisCursor < thisTo;
+                        thisCursor++, thatCursor++) {
+                    thisWords[thisCursor] = ~thatWords[thatCursor];
+                }
+            }
+            
+            @Override
+            void applyToArraysRL(long[] thisWords, int thisFrom, long[] thatWords, int thatFrom, int count) {
+                for (int thisCursor = thisFrom + count - 1, thatCursor = thatFrom + count - 1;
+                        thisCursor >= thisFrom;
+                        thisCursor--, thatCursor--) {
+                    thisWords[thisCursor] = ~thatWords[thatCursor];
+                }
+            }
+        };
+        
+        /** the opcode of this operation in {@code WordKernels} */
+        final int kernel;
+        
+        private BitwiseOp(int kernel) {
+            this.kernel = kernel;
+        }
+        
+        
+        /**
+         * Perform this operation on the specified number of words, front to back,
+         * storing each result in the left array.
+         * 
+         * @param thisWords the left words, and the destination of the results
+         * @param thisFrom  index of the first left word
+         * @param thatWords the right words
+         * @param thatFrom  index of the first right word
+         * @param count     the number of words
+         */
+        abstract void applyToArrays(long[] thisWords, int thisFrom, long[] thatWords, int thatFrom, int count);
+        
+        /**
+         * Perform this operation on the specified number of words, back to front,
+         * storing each result in the left array.
+         * 
+         * @param thisWords the left words, and the destination of the results
+         * @param thisFrom  index of the first left word
+         * @param thatWords the right words
+         * @param thatFrom  index of the first right word
+         * @param count     the number of words
+         */
+        abstract void applyToArraysRL(long[] thisWords, int thisFrom, long[] thatWords, int thatFrom, int count);
+    }
+    
+    /**
+     * Perform an <b>AND</b> operation on a substring of this BitString and a
+     * substring the specified BitString (that).
+     * 
+     * <pre>
+     *                 that bit
+     *                  value
+     *                | 0 | 1 |
+     *             ===|=======|
+     *        this  0 | 0 | 0 |
+     *         bit ---|-------|
+     *       value  1 | 0 | 1 |
+     *             ============
+     * </pre>
+     * 
+     * @param thisOffset the offset of this substring
+     * @param length     the length of the substrings
+     * @param that       the argument bit string
+     * @param thatOffset the offset of that substring
+     */
+    private void iAnd(int thisOffset, int length, BitString that, int thatOffset) {
+        iBitwiseOp(thisOffset, length, that, thatOffset,
+                BitwiseOp.AND);
+    }
+    
+    /**
+     * Perform an <b>ANDNOT</b> operation on a substring of this BitString and a
+     * substring the specified BitString (that).
+     * 
+     * <pre>
+     *                 that bit
+     *                  value
+     *                | 0 | 1 |
+     *             ===|=======|
+     *        this  0 | 0 | 0 |
+     *         bit ---|-------|
+     *       value  1 | 1 | 0 |
+     *             ============
+     * </pre>
+     * 
+     * @param thisOffset the offset of this substring
+     * @param length     the length of the substrings
+     * @param that       the argument bit string
+     * @param thatOffset the offset of that substring
+     */
+    private void iAndNot(int thisOffset, int length, BitString that, int thatOffset) {
+        iBitwiseOp(thisOffset, length, that, thatOffset,
+                BitwiseOp.ANDNOT);
+    }
+    
+    void iClear(int offset, int length) {
+        iFill(offset, length, 0L);
+    }
+    
+    /**
+     * Perform an <b>NAND</b> operation on a substring of this BitString and a
+     * substring the specified BitString (that).
+     * 
+     * <pre>
+     *                 that bit
+     *                  value
+     *                | 0 | 1 |
+     *             ===|=======|
+     *        this  0 | 1 | 1 |
+     *         bit ---|-------|
+     *       value  1 | 1 | 0 |
+     *             ============
+     * </pre>
+     * 
+     * @param thisOffset the offset of this substring
+     * @param length     the length of the substrings
+     * @param that       the argument bit string
+     * @param thatOffset the offset of that substring
+     */
+    private void iNand(int thisOffset, int length, BitString that, int thatOffset) {
+        iBitwiseOp(thisOffset, length, that, thatOffset,
+                BitwiseOp.NAND);
+    }
+    
+    /**
+     * Perform an <b>NANDNOT</b> operation on a substring of this BitString and a
+     * substring the specified BitString (that).
+     * 
+     * <pre>
+     *                 that bit
+     *                  value
+     *                | 0 | 1 |
+     *             ===|=======|
+     *        this  0 | 1 | 1 |
+     *         bit ---|-------|
+     *       value  1 | 0 | 1 |
+     *             ============
+     * </pre>
+     * 
+     * @param thisOffset the offset of this substring
+     * @param length     the length of the substrings
+     * @param that       the argument bit string
+     * @param thatOffset the offset of that substring
+     */
+    private void iNandNot(int thisOffset, int length, BitString that, int thatOffset) {
+        iBitwiseOp(thisOffset, length, that, thatOffset,
+                BitwiseOp.NANDNOT);
+    }
+    
+    /**
+     * Perform an <b>NOR</b> operation on a substring of this BitString and a
+     * substring the specified BitString (that).
+     * 
+     * <pre>
+     *                 that bit
+     *                  value
+     *                | 0 | 1 |
+     *             ===|=======|
+     *        this  0 | 1 | 0 |
+     *         bit ---|-------|
+     *       value  1 | 0 | 0 |
+     *             ============
+     * </pre>
+     * 
+     * @param thisOffset the offset of this substring
+     * @param length     the length of the substrings
+     * @param that       the argument bit string
+     * @param thatOffset the offset of that substring
+     */
+    private void iNor(int thisOffset, int length, BitString that, int thatOffset) {
+        iBitwiseOp(thisOffset, length, that, thatOffset,
+                BitwiseOp.NOR);
+    }
+    
+    /**
+     * Perform an <b>NORNOT</b> operation on a substring of this BitString and a
+     * substring the specified BitString (that).
+     * 
+     * <pre>
+     *                 that bit
+     *                  value
+     *                | 0 | 1 |
+     *             ===|=======|
+     *        this  0 | 0 | 1 |
+     *         bit ---|-------|
+     *       value  1 | 0 | 0 |
+     *             ============
+     * </pre>
+     * 
+     * @param thisOffset the offset of this substring
+     * @param length     the length of the substrings
+     * @param that       the argument bit string
+     * @param thatOffset the offset of that substring
+     */
+    private void iNorNot(int thisOffset, int length, BitString that, int thatOffset) {
+        iBitwiseOp(thisOffset, length, that, thatOffset,
+                BitwiseOp.NORNOT);
+    }
+    
+    private void iNot(int offset, int length) {
+        iBitwiseOp(offset, length, ZEROS, offset,
+                BitwiseOp.NOT);
+    }
+    
     /**
      * Perform an <b>OR</b> operation on a substring of this BitString and a
      * substring the specified BitString (that).
@@ -1016,7 +1484,7 @@ public abstract class BitString implements Cloneable, Serializable  {
      */
     private void iOr(int thisOffset, int length, BitString that, int thatOffset) {
         iBitwiseOp(thisOffset, length, that, thatOffset,
-                (lArg, rArg) -> { return lArg | rArg; });
+                BitwiseOp.OR);
     }
     
     /**
@@ -1041,184 +1509,626 @@ public abstract class BitString implements Cloneable, Serializable  {
      */
     private void iOrNot(int thisOffset, int length, BitString that, int thatOffset) {
         iBitwiseOp(thisOffset, length, that, thatOffset,
-                (lArg, rArg) -> { return lArg | ~rArg; });
+                BitwiseOp.ORNOT);
+    }
+    
+    private void iSet(int offset, int length) {
+        iFill(offset, length, WORD_MASK);
+    }
+    
+    /**
+     * Set every bit of a substring of this {@code BitString} to the corresponding
+     * bit of the specified fill word, which must be either all zeros or all ones.
+     * 
+     * @param offset   the offset of the substring
+     * @param length   the length of the substring
+     * @param fillWord the word to fill the substring with
+     */
+    private void iFill(int offset, int length, long fillWord) {
+        assert fillWord == 0L || fillWord == WORD_MASK;
+        final long[] words = wordArray();
+        if (words == null || length <= 0) {
+            iBitwiseOp(offset, length, (fillWord == 0L) ? ZEROS : ONES, offset,
+                    BitwiseOp.COPY);
+            return;
+        }
+        
+        final int firstWordIndex = firstWordIndex(offset);
+        final int lastWordIndex = lastWordIndex(offset, length);
+        final long firstWordMask = WORD_MASK >>> leftMarginSize(offset);
+        final long lastWordMask = WORD_MASK << rightMarginSize(offset, length);
+        
+        incrementBitsModCount();
+        if (firstWordIndex == lastWordIndex) {
+            final long mask = firstWordMask & lastWordMask;
+            words[firstWordIndex] = (words[firstWordIndex] & ~mask) | (fillWord & mask);
+            return;
+        }
+        
+        words[firstWordIndex] = (words[firstWordIndex] & ~firstWordMask) | (fillWord & firstWordMask);
+        Arrays.fill(words, firstWordIndex + 1, lastWordIndex, fillWord);
+        words[lastWordIndex] = (words[lastWordIndex] & ~lastWordMask) | (fillWord & lastWordMask);
+    }
+    
+    /**
+     * Perform an <b>XNOR</b> operation on a substring of this BitString and a
+     * substring the specified BitString (that).
+     * 
+     * <pre>
+     *                 that bit
+     *                  value
+     *                | 0 | 1 |
+     *             ===|=======|
+     *        this  0 | 1 | 0 |
+     *         bit ---|-------|
+     *       value  1 | 0 | 1 |
+     *             ============
+     * </pre>
+     * 
+     * @param thisOffset the offset of this substring
+     * @param length     the length of the substrings
+     * @param that       the argument bit string
+     * @param thatOffset the offset of that substring
+     */
+    private void iXnor(int thisOffset, int length, BitString that, int thatOffset) {
+        iBitwiseOp(thisOffset, length, that, thatOffset,
+                BitwiseOp.XNOR);
+    }
+    
+    /**
+     * Perform an <b>XOR</b> operation on a substring of this BitString and a
+     * substring the specified BitString (that).
+     * 
+     * <pre>
+     *                 that bit
+     *                  value
+     *                | 0 | 1 |
+     *             ===|=======|
+     *        this  0 | 0 | 1 |
+     *         bit ---|-------|
+     *       value  1 | 1 | 0 |
+     *             ============
+     * </pre>
+     * 
+     * @param thisOffset the offset of this substring
+     * @param length     the length of the substrings
+     * @param that       the argument bit string
+     * @param thatOffset the offset of that substring
+     */
+    private void iXor(int thisOffset, int length, BitString that, int thatOffset) {
+        iBitwiseOp(thisOffset, length, that, thatOffset,
+                BitwiseOp.XOR);
+    }
+    
+    /**
+     * Perform the specified bitwise operation (op) on a substring of this {@code BitString}
+     * and a substring of the specified bit string (that), front to back.
+     * 
+     * Word aligned substrings of bit strings whose words are stored in arrays of
+     * longs are operated on in place; all others are staged.
+     * 
+     * @param thisOffset the offset of this substring
+     * @param length the length of the substrings
+     * @param that the argument bit string
+     * @param thatOffset the offset of that substring
+     * @param op the bitwise operation to perform
+     */
+    private void iBitwiseOp(int thisOffset, int length, BitString that, int thatOffset,
+            BitwiseOp op) {
+        
+        assert (((long)thisOffset + length) <= this.length());
+        assert (((long)thatOffset + length) <= that.length());
+        if (length <= 0) return;
+        incrementBitsModCount();
+        iBitwiseOpWords(thisOffset, length, that, thatOffset, op);
+    }
+    
+    /**
+     * Perform the specified bitwise operation (op) on a substring of this
+     * {@code BitString} and a substring of the specified bit string (that), front
+     * to back, without counting the write. The parallel operations call this for
+     * each chunk, and count the write once.
+     * 
+     * @param thisOffset the offset of this substring
+     * @param length the length of the substrings
+     * @param that the argument bit string
+     * @param thatOffset the offset of that substring
+     * @param op the bitwise operation to perform
+     */
+    private void iBitwiseOpWords(int thisOffset, int length, BitString that, int thatOffset,
+            BitwiseOp op) {
+        if (length <= 0) return;
+        if (isArrayCopyable(thisOffset, that, thatOffset)) {
+            iBitwiseOpAligned(thisOffset, length, that, thatOffset, op);
+        } else {
+            iBitwiseOpStaged(thisOffset, length, that, thatOffset, op, false);
+        }
+    }
+    
+    /**
+     * Perform the specified bitwise operation (op) on a substring of this {@code BitString}
+     * and a substring of the specified bit string (that), back to front.
+     * 
+     * @param thisOffset the offset of this substring
+     * @param length the length of the substrings
+     * @param that the argument bit string
+     * @param thatOffset the offset of that substring
+     * @param op the bitwise operation to perform
+     * @see #iBitwiseOp(int, int, BitString, int, BitwiseOp)
+     */
+    private void iBitwiseOpRL(int thisOffset, int length, BitString that, int thatOffset,
+            BitwiseOp op) {
+        
+        assert (((long)thisOffset + length) <= this.length());
+        assert (((long)thatOffset + length) <= that.length());
+        if (length <= 0) return;
+        incrementBitsModCount();
+        if (isArrayCopyable(thisOffset, that, thatOffset)) {
+            iBitwiseOpAlignedRL(thisOffset, length, that, thatOffset, op);
+        } else {
+            iBitwiseOpStaged(thisOffset, length, that, thatOffset, op, true);
+        }
+    }
+    
+    /**
+     * Perform the specified bitwise operation (op) on a substring of this
+     * {@code BitString} and a substring of the specified bit string (that), where
+     * the words of the two substrings cannot both be operated on in place.
+     * 
+     * Only the first and last words of this substring are masked and combined
+     * one at a time. The words in between are processed in blocks of up to
+     * {@code STAGE_WORDS} words. The argument bits that line up with a block are
+     * read into a scratch array, shifted into place if the substrings are not
+     * word aligned. The words of this substring are read into a second scratch
+     * array with {@link #getWords}, unless they are stored in an array of longs.
+     * The operation's own loop then combines the two arrays, and staged words are
+     * written back with {@link #setWords}. No call is made through the operation
+     * per word, and subclasses that override {@code getWords} and
+     * {@code setWords} are read and written a block at a time.
+     * <p>
+     * The blocks are processed front to back, or back to front if rl is
+     * {@code true}. All the argument bits of a block are read before any of its
+     * words are written. So when this substring and that substring overlap, and
+     * the operation runs in the direction that reads each argument bit before it
+     * is overwritten, the result is the same as operating on a word at a time.
+     * 
+     * @param thisOffset the offset of this substring
+     * @param length     the length of the substrings
+     * @param that       the argument bit string
+     * @param thatOffset the offset of that substring
+     * @param op         the bitwise operation to perform
+     * @param rl         {@code true} to operate back to front
+     */
+    private void iBitwiseOpStaged(int thisOffset, int length, BitString that, int thatOffset,
+            BitwiseOp op, boolean rl) {
+        final int thisFirstWordIndex = this.firstWordIndex(thisOffset);
+        final int thisLastWordIndex = this.lastWordIndex(thisOffset, length);
+        final int leftMarginSize = this.leftMarginSize(thisOffset);
+        final long firstWordMask = WORD_MASK >>> leftMarginSize;
+        final long lastWordMask = WORD_MASK << this.rightMarginSize(thisOffset, length);
+        
+        // The first word of this substring starts leftMarginSize bits before the
+        // substring, so the argument bits are shifted right to line up with it.
+        if (thisFirstWordIndex == thisLastWordIndex) {
+            setWordMasked(thisFirstWordIndex,
+                    op.applyAsLong(getWord(thisFirstWordIndex), that.getFullWord(thatOffset) >>> leftMarginSize),
+                    firstWordMask & lastWordMask);
+            return;
+        }
+        final int count = thisLastWordIndex - thisFirstWordIndex - 1;
+        final int thatLastWordOffset = thatOffset + (((count + 1) << ADDRESS_BITS_PER_WORD) - leftMarginSize);
+        if (rl) {
+            setWordMasked(thisLastWordIndex,
+                    op.applyAsLong(getWord(thisLastWordIndex), that.getFullWord(thatLastWordOffset)),
+                    lastWordMask);
+        } else {
+            setWordMasked(thisFirstWordIndex,
+                    op.applyAsLong(getWord(thisFirstWordIndex), that.getFullWord(thatOffset) >>> leftMarginSize),
+                    firstWordMask);
+        }
+        
+        // the argument bits that line up with the first whole word of this
+        // substring start 'shift' bits into the word at thatFirstWordIndex
+        final int thatBitIndex = that.bitIndex(thatOffset) + (BITS_PER_WORD - leftMarginSize);
+        final int thatFirstWordIndex = wordIndex(thatBitIndex);
+        final int shift = wordBitIndex(thatBitIndex);
+        final long[] thisWords = this.wordArray();
+        final long[] thatWords = that.wordArray();
+        final long[] thisStage = (thisWords == null) ? new long[Math.min(count, STAGE_WORDS)] : null;
+        final long[] thatStage = (thatWords == null || shift != 0) ? new long[Math.min(count, STAGE_WORDS)] : null;
+        for (int done = 0; done < count; ) {
+            final int n = Math.min(STAGE_WORDS, count - done);
+            final int block = rl ? count - done - n : done;
+            final int thisWordIndex = thisFirstWordIndex + 1 + block;
+            
+            final long[] argWords;
+            final int argFrom;
+            if (thatStage == null) {
+                argWords = thatWords;
+                argFrom = thatFirstWordIndex + block;
+            } else {
+                that.stageWords(thatWords, thatFirstWordIndex + block, shift, thatStage, n);
+                argWords = thatStage;
+                argFrom = 0;
+            }
+            
+            final long[] words = (thisStage == null) ? thisWords : thisStage;
+            final int from = (thisStage == null) ? thisWordIndex : 0;
+            if (thisStage != null) getWords(thisWordIndex, thisStage, 0, n);
+            final int vectorCount = vectorApplyToArrays(op, words, from, argWords, argFrom, n);
+            op.applyToArrays(words, from + vectorCount, argWords, argFrom + vectorCount, n - vectorCount);
+            if (thisStage != null) setWords(thisWordIndex, thisStage, 0, n);
+            done += n;
+        }
+        
+        if (rl) {
+            setWordMasked(thisFirstWordIndex,
+                    op.applyAsLong(getWord(thisFirstWordIndex), that.getFullWord(thatOffset) >>> leftMarginSize),
+                    firstWordMask);
+        } else {
+            setWordMasked(thisLastWordIndex,
+                    op.applyAsLong(getWord(thisLastWordIndex), that.getFullWord(thatLastWordOffset)),
+                    lastWordMask);
+        }
     }
     
-    private void iSet(int offset, int length) {
-        iBitwiseOp(offset, length, ONES, offset,
-                (lArg, rArg) -> { return rArg; });
+    /**
+     * Read the specified number of 64 bit words of this bit string into the
+     * specified array, the first of which starts 'shift' bits into the word at
+     * the specified word index.
+     * 
+     * @param words     the array of longs backing this bit string, or {@code null}
+     * @param wordIndex index of the word holding the first bit to read
+     * @param shift     the bit index of the first bit within its word
+     * @param stage     the array to read the words into
+     * @param count     the number of words to read
+     */
+    private void stageWords(long[] words, int wordIndex, int shift, long[] stage, int count) {
+        if (shift == 0) {
+            if (words != null) System.arraycopy(words, wordIndex, stage, 0, count);
+            else getWords(wordIndex, stage, 0, count);
+        } else if (words != null) {
+            for (int i = 0; i < count; i++) {
+                stage[i] = (words[wordIndex + i] << shift) | (words[wordIndex + i + 1] >>> (BITS_PER_WORD - shift));
+            }
+        } else {
+            // each word is shifted before the next word, which it borrows bits from, is
+            getWords(wordIndex, stage, 0, count);
+            final long nextWord = getWord(wordIndex + count);
+            for (int i = 0; i < count; i++) {
+                final long next = (i + 1 < count) ? stage[i + 1] : nextWord;
+                stage[i] = (stage[i] << shift) | (next >>> (BITS_PER_WORD - shift));
+            }
+        }
     }
     
     /**
-     * Perform an <b>XNOR</b> operation on a substring of this BitString and a
-     * substring the specified BitString (that).
-     * 
-     * <pre>
-     *                 that bit
-     *                  value
-     *                | 0 | 1 |
-     *             ===|=======|
-     *        this  0 | 1 | 0 |
-     *         bit ---|-------|
-     *       value  1 | 0 | 1 |
-     *             ============
-     * </pre>
+     * Returns {@code true} if a substring of this {@code BitString}, starting at the
+     * specified offset (thisOffset), and a substring of the specified bit string
+     * (that), starting at the specified offset (thatOffset), start at the same
+     * bit index within their first words. The words of aligned substrings line
+     * up one-to-one, so no shifting is required to operate on them.
      * 
      * @param thisOffset the offset of this substring
-     * @param length     the length of the substrings
      * @param that       the argument bit string
      * @param thatOffset the offset of that substring
+     * @return {@code true} if the substrings are word aligned with each other
      */
-    private void iXnor(int thisOffset, int length, BitString that, int thatOffset) {
-        iBitwiseOp(thisOffset, length, that, thatOffset,
-                (lArg, rArg) -> { return ~(lArg ^ rArg); });
+    private boolean isAligned(int thisOffset, BitString that, int thatOffset) {
+        return this.firstWordBitIndex(thisOffset) == that.firstWordBitIndex(thatOffset);
     }
     
     /**
-     * Perform an <b>XOR</b> operation on a substring of this BitString and a
-     * substring the specified BitString (that).
+     * Perform the specified bitwise operation (op) on a substring of this
+     * {@code BitString} and a word aligned substring of the specified bit string
+     * (that), front to back.
      * 
-     * <pre>
-     *                 that bit
-     *                  value
-     *                | 0 | 1 |
-     *             ===|=======|
-     *        this  0 | 0 | 1 |
-     *         bit ---|-------|
-     *       value  1 | 1 | 0 |
-     *             ============
-     * </pre>
+     * Only the first and last words of this substring can contain bits outside of
+     * the substring, so they are the only words which need to be masked. All of
+     * the other words are operated on whole.
      * 
      * @param thisOffset the offset of this substring
      * @param length     the length of the substrings
      * @param that       the argument bit string
      * @param thatOffset the offset of that substring
+     * @param op         the bitwise operation to perform
      */
-    private void iXor(int thisOffset, int length, BitString that, int thatOffset) {
-        iBitwiseOp(thisOffset, length, that, thatOffset,
-                (lArg, rArg) -> { return lArg ^ rArg; });
-    }
-    
-    /**
-     * Perform the specified bitwise operation (op) on a substring of this {@code BitString}
-     * and a substring of the specified bit string (that).
+    private void iBitwiseOpAligned(int thisOffset, int length, BitString that, int thatOffset,
+            BitwiseOp op) {
+        assert isAligned(thisOffset, that, thatOffset);
+        assert length > 0;
+        
+        final int thisFirstWordIndex = this.firstWordIndex(thisOffset);
+        final int thisLastWordIndex = this.lastWordIndex(thisOffset, length);
+        final int thatFirstWordIndex = that.firstWordIndex(thatOffset);
+        final int thatLastWordIndex = thatFirstWordIndex + (thisLastWordIndex - thisFirstWordIndex);
+        final long firstWordMask = WORD_MASK >>> this.leftMarginSize(thisOffset);
+        final long lastWordMask = WORD_MASK << this.rightMarginSize(thisOffset, length);
+        
+        if (thisFirstWordIndex == thisLastWordIndex) {
+            setWordMasked(thisFirstWordIndex,
+                    op.applyAsLong(getWord(thisFirstWordIndex), that.getWord(thatFirstWordIndex)),
+                    firstWordMask & lastWordMask);
+            return;
+        }
+        
+        setWordMasked(thisFirstWordIndex,
+                op.applyAsLong(getWord(thisFirstWordIndex), that.getWord(thatFirstWordIndex)),
+                firstWordMask);
+        final long[] thisWords = this.wordArray();
+        final long[] thatWords = that.wordArray();
+        final int count = thisLastWordIndex - thisFirstWordIndex - 1;
+        final int vectorCount = vectorApplyToArrays(op, thisWords, thisFirstWordIndex + 1,
+                thatWords, thatFirstWordIndex + 1, count);
+        op.applyToArrays(thisWords, thisFirstWordIndex + 1 + vectorCount,
+                thatWords, thatFirstWordIndex + 1 + vectorCount,
+                count - vectorCount);
+        setWordMasked(thisLastWordIndex,
+                op.applyAsLong(getWord(thisLastWordIndex), that.getWord(thatLastWordIndex)),
+                lastWordMask);
+    }
+    
+    /**
+     * Perform the specified bitwise operation (op) on a substring of this
+     * {@code BitString} and a word aligned substring of the specified bit string
+     * (that), back to front.
      * 
      * @param thisOffset the offset of this substring
-     * @param length the length of the substrings
-     * @param that the argument bit string
+     * @param length     the length of the substrings
+     * @param that       the argument bit string
      * @param thatOffset the offset of that substring
-     * @param op the bitwise operation to perform
+     * @param op         the bitwise operation to perform
+     * @see #iBitwiseOpAligned(int, int, BitString, int, BitwiseOp)
      */
-    private void iBitwiseOp(int thisOffset, int length, BitString that, int thatOffset,
-            LongBinaryOperator op) {
-        
-        assert (((long)thisOffset + length) <= this.length());
-        assert (((long)thatOffset + length) <= that.length());
-        if (length <= 0) return;
+    private void iBitwiseOpAlignedRL(int thisOffset, int length, BitString that, int thatOffset,
+            BitwiseOp op) {
+        assert isAligned(thisOffset, that, thatOffset);
+        assert length > 0;
         
         final int thisFirstWordIndex = this.firstWordIndex(thisOffset);
         final int thisLastWordIndex = this.lastWordIndex(thisOffset, length);
         final int thatFirstWordIndex = that.firstWordIndex(thatOffset);
-        final int thatLastWordIndex = that.lastWordIndex(thatOffset, length);
-        final int thisLeftMarginSize = this.leftMarginSize(thisOffset);
-        final int thisRightMarginSize = this.rightMarginSize(thisOffset, length);
-        final int thatLeftMarginSize = that.leftMarginSize(thatOffset);
-        final int thatRightMarginSize = that.rightMarginSize(thatOffset, length);
-        
-        final long thisOriginalFirstWord = that.getWord(thisFirstWordIndex);
-        final long thisOriginalLastWord = that.getWord(thisLastWordIndex);
-        
-        long arg;
-        int thatShift = this.firstWordBitIndex(thisOffset) - that.firstWordBitIndex(thatOffset);
-        for (int thisWordCursor = thisFirstWordIndex, thatWordCursor = thatFirstWordIndex;
-                thisWordCursor <= thisLastWordIndex;
-                thisWordCursor++, thatWordCursor++) {
-            
-            if (thatWordCursor > thatLastWordIndex) {
-                // This situation occurs if thisWord spans across two words,
-                // but thatWord, before it is shifted into place,
-                // is contained wholly within a single word.
-                // The portion of the last thatWord that is shifted into
-                // the next word, needs to be shifted into place.
-                assert thisWordCursor == thisLastWordIndex;
-                thatShift = this.lastWordBitIndex(thisOffset, length) - that.lastWordBitIndex(thatOffset, length);
-                thatWordCursor = thatLastWordIndex;
-            }
-            
-            // Shift that substring (the argument) so that it aligns up with this substring.
-            arg = that.shiftWord(thatShift, ZERO_FILL, thatWordCursor,
-                    thatFirstWordIndex, thatLastWordIndex,
-                    thatLeftMarginSize, thatRightMarginSize);
-            
-            setWord(thisWordCursor, op.applyAsLong(getWord(thisWordCursor), arg));
-            
-            restoreMargin(thisWordCursor,
-                    thisOriginalFirstWord, thisOriginalLastWord,
-                    thisFirstWordIndex, thisLastWordIndex,
-                    thisLeftMarginSize, thisRightMarginSize);
-            
-        }
+        final int thatLastWordIndex = thatFirstWordIndex + (thisLastWordIndex - thisFirstWordIndex);
+        final long firstWordMask = WORD_MASK >>> this.leftMarginSize(thisOffset);
+        final long lastWordMask = WORD_MASK << this.rightMarginSize(thisOffset, length);
         
-    }
-    
-    private void iBitwiseOpRL(int thisOffset, int length, BitString that, int thatOffset,
-            LongBinaryOperator op) {
+        if (thisFirstWordIndex == thisLastWordIndex) {
+            setWordMasked(thisFirstWordIndex,
+                    op.applyAsLong(getWord(thisFirstWordIndex), that.getWord(thatFirstWordIndex)),
+                    firstWordMask & lastWordMask);
+            return;
+        }
         
-        assert (((long)thisOffset + length) <= this.length());
-        assert (((long)thatOffset + length) <= that.length());
-        if (length <= 0) return;
+        setWordMasked(thisLastWordIndex,
+                op.applyAsLong(getWord(thisLastWordIndex), that.getWord(thatLastWordIndex)),
+                lastWordMask);
+        final long[] thisWords = this.wordArray();
+        final long[] thatWords = that.wordArray();
+        final int count = thisLastWordIndex - thisFirstWordIndex - 1;
+        final int vectorCount = vectorApplyToArrays(op, thisWords, thisFirstWordIndex + 1,
+                thatWords, thatFirstWordIndex + 1, count);
+        op.applyToArraysRL(thisWords, thisFirstWordIndex + 1 + vectorCount,
+                thatWords, thatFirstWordIndex + 1 + vectorCount,
+                count - vectorCount);
+        setWordMasked(thisFirstWordIndex,
+                op.applyAsLong(getWord(thisFirstWordIndex), that.getWord(thatFirstWordIndex)),
+                firstWordMask);
+    }
+    
+    /**
+     * Copy a word aligned substring of the specified bit string (that) into a
+     * substring of this {@code BitString}, where the words of both bit strings are
+     * stored in arrays of longs. The whole words between the first and last words
+     * of the substring are copied with {@code System.arraycopy}, which copies
+     * overlapping words correctly regardless of the direction of the copy.
+     * 
+     * @param thisOffset the offset of this substring
+     * @param length     the length of the substrings
+     * @param that       the bit string to copy
+     * @param thatOffset the offset of that substring
+     */
+    private void iCopyAligned(int thisOffset, int length, BitString that, int thatOffset) {
+        assert isAligned(thisOffset, that, thatOffset);
+        assert length > 0;
+        incrementBitsModCount();
         
+        final long[] thisWords = this.wordArray();
+        final long[] thatWords = that.wordArray();
         final int thisFirstWordIndex = this.firstWordIndex(thisOffset);
         final int thisLastWordIndex = this.lastWordIndex(thisOffset, length);
         final int thatFirstWordIndex = that.firstWordIndex(thatOffset);
-        final int thatLastWordIndex = that.lastWordIndex(thatOffset, length);
-        final int thisLeftMarginSize = this.leftMarginSize(thisOffset);
-        final int thisRightMarginSize = this.rightMarginSize(thisOffset, length);
-        final int thatLeftMarginSize = that.leftMarginSize(thatOffset);
-        final int thatRightMarginSize = that.rightMarginSize(thatOffset, length);
-        
-        final long thisOriginalFirstWord = that.getWord(thisFirstWordIndex);
-        final long thisOriginalLastWord = that.getWord(thisLastWordIndex);
-        
-        long arg;
-        int thatShift = this.lastWordBitIndex(thisOffset, length) - that.lastWordBitIndex(thatOffset, length);
-        for (int thisWordCursor = thisLastWordIndex, thatWordCursor = thatLastWordIndex;
-                thisWordCursor >= thisFirstWordIndex;
-                thisWordCursor--, thatWordCursor--) {
-            
-            if (thatWordCursor < thatFirstWordIndex) {
-                // This situation occurs if thisWord spans across two words,
-                // but thatWord, before it is shifted into place,
-                // is contained wholly within a single word.
-                // The portion of the first thatWord that is shifted into
-                // the next word, needs to be shifted into place.
-                assert thisWordCursor == thisFirstWordIndex;
-                thatShift = this.firstWordBitIndex(thisOffset) - that.firstWordBitIndex(thatOffset);
-                thatWordCursor = thatFirstWordIndex;
+        final int thatLastWordIndex = thatFirstWordIndex + (thisLastWordIndex - thisFirstWordIndex);
+        final long firstWordMask = WORD_MASK >>> this.leftMarginSize(thisOffset);
+        final long lastWordMask = WORD_MASK << this.rightMarginSize(thisOffset, length);
+        
+        if (thisFirstWordIndex == thisLastWordIndex) {
+            final long mask = firstWordMask & lastWordMask;
+            thisWords[thisFirstWordIndex] = (thisWords[thisFirstWordIndex] & ~mask)
+                                          | (thatWords[thatFirstWordIndex] & mask);
+            return;
+        }
+        
+        // Read the first and last words of that substring before anything is
+        // written, in case this substring and that substring overlap.
+        final long thatFirstWord = thatWords[thatFirstWordIndex];
+        final long thatLastWord = thatWords[thatLastWordIndex];
+        System.arraycopy(thatWords, thatFirstWordIndex + 1,
+                thisWords, thisFirstWordIndex + 1,
+                thisLastWordIndex - thisFirstWordIndex - 1);
+        thisWords[thisFirstWordIndex] = (thisWords[thisFirstWordIndex] & ~firstWordMask)
+                                      | (thatFirstWord & firstWordMask);
+        thisWords[thisLastWordIndex] = (thisWords[thisLastWordIndex] & ~lastWordMask)
+                                     | (thatLastWord & lastWordMask);
+    }
+    
+    /**
+     * Returns {@code true} if the words of this {@code BitString} and the words of
+     * the specified bit string (that) are both stored in arrays of longs, and the
+     * specified substrings are word aligned, allowing the words of that substring
+     * to be copied into this substring with {@code System.arraycopy}.
+     */
+    private boolean isArrayCopyable(int thisOffset, BitString that, int thatOffset) {
+        return this.wordArray() != null && that.wordArray() != null
+                && isAligned(thisOffset, that, thatOffset);
+    }
+    
+    /**
+     * Returns the {@code VectorWordKernels}, or {@code null} if the class is not on
+     * the class path, the {@code jdk.incubator.vector} module is not present, or
+     * the system property {@code net.pfeifdom.java.util.BitString.vector} is
+     * {@code false}.
+     */
+    private static WordKernels loadVectorKernels() {
+        try {
+            if (!Boolean.parseBoolean(System.getProperty("net.pfeifdom.java.util.BitString.vector", "true"))) {
+                return null;
             }
-            
-            // Shift that substring (the argument) so that it aligns up with this substring.
-            arg = that.shiftWord(thatShift, ZERO_FILL, thatWordCursor,
-                    thatFirstWordIndex, thatLastWordIndex,
-                    thatLeftMarginSize, thatRightMarginSize);
-            
-            setWord(thisWordCursor, op.applyAsLong(getWord(thisWordCursor), arg));
-            
-            restoreMargin(thisWordCursor,
-                    thisOriginalFirstWord, thisOriginalLastWord,
-                    thisFirstWordIndex, thisLastWordIndex,
-                    thisLeftMarginSize, thisRightMarginSize);
-            
+            return (WordKernels) Class.forName("net.pfeifdom.java.util.VectorWordKernels")
+                    .getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+            return null;
+        }
+    }
+    
+    /**
+     * Perform the specified bitwise operation (op) with the vector kernels on a
+     * leading part of the specified number of words, and return the number of
+     * words operated on, which is zero when the kernels are not loaded, there are
+     * too few words, or both ranges of words are in the same array.
+     */
+    private static int vectorApplyToArrays(BitwiseOp op, long[] thisWords, int thisFrom,
+            long[] thatWords, int thatFrom, int count) {
+        if (VECTOR_KERNELS == null || count < MIN_VECTOR_WORDS || thisWords == thatWords) return 0;
+        return VECTOR_KERNELS.applyToArrays(op.kernel, thisWords, thisFrom, thatWords, thatFrom, count);
+    }
+    
+    /**
+     * Returns the number of {@code ONES} in the specified range of words.
+     * 
+     * The words are summed into four independent accumulators, so the bit counts
+     * of consecutive words do not depend on each other and can be computed in
+     * parallel by the processor.
+     * 
+     * @param words     the words to count
+     * @param fromIndex index of the first word to count, inclusive
+     * @param toIndex   index of the last word to count, exclusive
+     * @return the number of {@code ONES} in the words
+     */
+    private static int bitCount(long[] words, int fromIndex, int toIndex) {
+        if (VECTOR_KERNELS != null && toIndex - fromIndex >= MIN_VECTOR_WORDS) {
+            return VECTOR_KERNELS.bitCount(words, fromIndex, toIndex);
+        }
+        int sum0 = 0, sum1 = 0, sum2 = 0, sum3 = 0;
+        int index = fromIndex;
+        for (final int unrolledToIndex = toIndex - 3; index < unrolledToIndex; index += 4) {
+            sum0 += Long.bitCount(words[index]);
+            sum1 += Long.bitCount(words[index+1]);
+            sum2 += Long.bitCount(words[index+2]);
+            sum3 += Long.bitCount(words[index+3]);
+        }
+        for (; index < toIndex; index++) {
+            sum0 += Long.bitCount(words[index]);
+        }
+        return sum0 + sum1 + sum2 + sum3;
+    }
+    
+    /**
+     * Returns {@code true} if the specified number of words of the left array are
+     * equal to the corresponding words of the right array.
+     * 
+     * @param thisWords the left words
+     * @param thisFrom  index of the first left word
+     * @param thatWords the right words
+     * @param thatFrom  index of the first right word
+     * @param count     the number of words
+     * @return {@code true} if the words are equal
+     */
+    private static boolean equalWords(long[] thisWords, int thisFrom, long[] thatWords, int thatFrom, int count) {
+        if (VECTOR_KERNELS != null && count >= MIN_VECTOR_WORDS) {
+            return VECTOR_KERNELS.equalWords(thisWords, thisFrom, thatWords, thatFrom, count);
+        }
+        int index = 0;
+        for (final int unrolledCount = count - 3; index < unrolledCount; index += 4) {
+            final long difference = (thisWords[thisFrom+index]   ^ thatWords[thatFrom+index])
+                                  | (thisWords[thisFrom+index+1] ^ thatWords[thatFrom+index+1])
+                                  | (thisWords[thisFrom+index+2] ^ thatWords[thatFrom+index+2])
+                                  | (thisWords[thisFrom+index+3] ^ thatWords[thatFrom+index+3]);
+            if (difference != 0L) return false;
+        }
+        for (; index < count; index++) {
+            if (thisWords[thisFrom+index] != thatWords[thatFrom+index]) return false;
+        }
+        return true;
+    }
+    
+    /**
+     * Returns {@code true} if any of the specified number of words of the left
+     * array have a {@code ONE} in common with the corresponding word of the right
+     * array.
+     * 
+     * @param thisWords the left words
+     * @param thisFrom  index of the first left word
+     * @param thatWords the right words
+     * @param thatFrom  index of the first right word
+     * @param count     the number of words
+     * @return {@code true} if the words intersect
+     */
+    private static boolean intersectingWords(long[] thisWords, int thisFrom, long[] thatWords, int thatFrom, int count) {
+        if (VECTOR_KERNELS != null && count >= MIN_VECTOR_WORDS) {
+            return VECTOR_KERNELS.intersectingWords(thisWords, thisFrom, thatWords, thatFrom, count);
+        }
+        int index = 0;
+        for (final int unrolledCount = count - 3; index < unrolledCount; index += 4) {
+            final long intersection = (thisWords[thisFrom+index]   & thatWords[thatFrom+index])
+                                    | (thisWords[thisFrom+index+1] & thatWords[thatFrom+index+1])
+                                    | (thisWords[thisFrom+index+2] & thatWords[thatFrom+index+2])
+                                    | (thisWords[thisFrom+index+3] & thatWords[thatFrom+index+3]);
+            if (intersection != 0L) return true;
+        }
+        for (; index < count; index++) {
+            if ((thisWords[thisFrom+index] & thatWords[thatFrom+index]) != 0L) return true;
+        }
+        return false;
+    }
+    
+    private int iNumberOfOnes(int offset, int length) {
+        assert (((long)offset + length) <= this.length());
+        if (length <= 0) return 0;
+        
+        final long[] words = wordArray();
+        if (words == null) {
+            int sum = 0;
+            final WordCursor cursor = new WordCursor(offset, length);
+            while (cursor.hasNext()) {
+                sum += Long.bitCount(cursor.nextFullWord());
+            }
+            return sum;
         }
         
+        final int firstWordIndex = firstWordIndex(offset);
+        final int lastWordIndex = lastWordIndex(offset, length);
+        final long firstWordMask = WORD_MASK >>> leftMarginSize(offset);
+        final long lastWordMask = WORD_MASK << rightMarginSize(offset, length);
+        if (firstWordIndex == lastWordIndex) {
+            return Long.bitCount(words[firstWordIndex] & firstWordMask & lastWordMask);
+        }
+        return Long.bitCount(words[firstWordIndex] & firstWordMask)
+             + bitCount(words, firstWordIndex + 1, lastWordIndex)
+             + Long.bitCount(words[lastWordIndex] & lastWordMask);
     }
     
     private boolean iEquals(int thisOffset, int length, BitString that, int thatOffset) {
+        if (length > 0 && isArrayCopyable(thisOffset, that, thatOffset)) {
+            return iPredicateAligned(thisOffset, length, that, thatOffset, true);
+        }
         return iPredicate( (lArg, rArg) -> { return lArg == rArg; }, ONE_DFLT, ONE_FILL,
                 thisOffset, length, that, thatOffset);
     }
     
     private boolean iIntersects(int thisOffset, int length, BitString that, int thatOffset) {
+        if (length > 0 && isArrayCopyable(thisOffset, that, thatOffset)) {
+            return iPredicateAligned(thisOffset, length, that, thatOffset, false);
+        }
         return iPredicate( (lArg, rArg) -> { return (lArg & rArg) != 0; }, ZERO_DFLT, ZERO_FILL,
                 thisOffset, length, that, thatOffset);
     }
@@ -1228,13 +2138,13 @@ public abstract class BitString implements Cloneable, Serializable  {
         
         assert (((long)thisOffset + length) <= this.length());
         assert (((long)thatOffset + length) <= that.length());
-        if (length <= 0) return false;
+        if (length <= 0) return dflt;
         
-        final int[] thisIterator = this.getIterator(thisOffset, length);
-        final int[] thatIterator = that.getIterator(thatOffset, length);
-        while (this.hasNextIteratorWord(thisIterator)) {
-            final long thisWord = this.getNextIteratorFullWord(thisIterator, fill);
-            final long thatWord = that.getNextIteratorFullWord(thatIterator, fill);
+        final WordCursor thisCursor = this.new WordCursor(thisOffset, length);
+        final WordCursor thatCursor = that.new WordCursor(thatOffset, length);
+        while (thisCursor.hasNext()) {
+            final long thisWord = thisCursor.nextFullWord(fill);
+            final long thatWord = thatCursor.nextFullWord(fill);
             if (op.test(thisWord, thatWord)^dflt) return !dflt;
         }        
         
@@ -1242,24 +2152,77 @@ public abstract class BitString implements Cloneable, Serializable  {
         
     }
     
+    /**
+     * Test a substring of this {@code BitString} and a word aligned substring of
+     * the specified bit string (that) for equality or for intersection, where the
+     * words of both bit strings are stored in arrays of longs.
+     * 
+     * @param thisOffset the offset of this substring
+     * @param length     the length of the substrings
+     * @param that       the argument bit string
+     * @param thatOffset the offset of that substring
+     * @param equality   {@code true} to test for equality, {@code false} to test
+     *                   for intersection
+     * @return the result of the test
+     */
+    private boolean iPredicateAligned(int thisOffset, int length, BitString that, int thatOffset,
+            boolean equality) {
+        assert isArrayCopyable(thisOffset, that, thatOffset);
+        assert length > 0;
+        
+        final long[] thisWords = this.wordArray();
+        final long[] thatWords = that.wordArray();
+        final int thisFirstWordIndex = this.firstWordIndex(thisOffset);
+        final int thisLastWordIndex = this.lastWordIndex(thisOffset, length);
+        final int thatFirstWordIndex = that.firstWordIndex(thatOffset);
+        final int thatLastWordIndex = thatFirstWordIndex + (thisLastWordIndex - thisFirstWordIndex);
+        long firstWordMask = WORD_MASK >>> this.leftMarginSize(thisOffset);
+        final long lastWordMask = WORD_MASK << this.rightMarginSize(thisOffset, length);
+        if (thisFirstWordIndex == thisLastWordIndex) firstWordMask &= lastWordMask;
+        
+        final long firstWords = equality
+                ? (thisWords[thisFirstWordIndex] ^ thatWords[thatFirstWordIndex]) & firstWordMask
+                : (thisWords[thisFirstWordIndex] & thatWords[thatFirstWordIndex]) & firstWordMask;
+        if (firstWords != 0L) return !equality;
+        if (thisFirstWordIndex == thisLastWordIndex) return equality;
+        
+        final long lastWords = equality
+                ? (thisWords[thisLastWordIndex] ^ thatWords[thatLastWordIndex]) & lastWordMask
+                : (thisWords[thisLastWordIndex] & thatWords[thatLastWordIndex]) & lastWordMask;
+        if (lastWords != 0L) return !equality;
+        
+        final int count = thisLastWordIndex - thisFirstWordIndex - 1;
+        return equality
+                ? equalWords(thisWords, thisFirstWordIndex + 1, thatWords, thatFirstWordIndex + 1, count)
+                : intersectingWords(thisWords, thisFirstWordIndex + 1, thatWords, thatFirstWordIndex + 1, count);
+    }
+    
     private void iCopy(int thisOffset, int length, BitString that, int thatOffset) {
+        if (length > 0 && isArrayCopyable(thisOffset, that, thatOffset)) {
+            iCopyAligned(thisOffset, length, that, thatOffset);
+            return;
+        }
         iBitwiseOp(thisOffset, length, that, thatOffset,
-                (lArg, rArg) -> { return rArg; });
+                BitwiseOp.COPY);
     }
     
     private void iCopyRL(int thisOffset, int length, BitString that, int thatOffset) {
+        if (length > 0 && isArrayCopyable(thisOffset, that, thatOffset)) {
+            iCopyAligned(thisOffset, length, that, thatOffset);
+            return;
+        }
         iBitwiseOpRL(thisOffset, length, that, thatOffset,
-                (lArg, rArg) -> { return rArg; });
+                BitwiseOp.COPY);
     }
     
     private void iCopyNot(int thisOffset, int length, BitString that, int thatOffset) {
         iBitwiseOp(thisOffset, length, that, thatOffset,
-                (lArg, rArg) -> { return ~rArg; });
+                BitwiseOp.COPYNOT);
     }
     
     private void iCopyNotRL(int thisOffset, int length, BitString that, int thatOffset) {
         iBitwiseOpRL(thisOffset, length, that, thatOffset,
-                (lArg, rArg) -> { return ~rArg; });
+                BitwiseOp.COPYNOT);
     }
     
     private void iCopyFromFrontOf(int thisOffset, int thisLength, BitString that, int thatOffset, int thatLength) {
@@ -1286,7 +2249,7 @@ public abstract class BitString implements Cloneable, Serializable  {
         final int copyLength = Math.min(thisLength, thatLength);
         final int clearLength = thisLength - copyLength;
         
-        iCopyRL(thisOffset + clearLength, copyLength, that, thatOffset);
+        iCopyRL(thisOffset + clearLength, copyLength, that, thatOffset + thatLength - copyLength);
         iClear(thisOffset, clearLength);
     }
     
@@ -1314,114 +2277,30 @@ public abstract class BitString implements Cloneable, Serializable  {
         final int copyLength = Math.min(thisLength, thatLength);
         final int setLength = thisLength - copyLength;
         
-        iCopyNotRL(thisOffset + setLength, copyLength, that, thatOffset);
+        iCopyNotRL(thisOffset + setLength, copyLength, that, thatOffset + thatLength - copyLength);
         iSet(thisOffset, setLength);
     }
     
     private void iReverse(int offset, int length) {
         assert isValidOffset(offset);
         assert isValidLength(offset, length);
-        if (length == 0) return;
         
-        final int firstWordIndex = firstWordIndex(offset);
-        final int lastWordIndex = lastWordIndex(offset, length);
-        final int leftMarginSize = leftMarginSize(offset);
-        final int rightMarginSize = rightMarginSize(offset, length);
-        
-        // basically swap the first reversed word and the last reversed word,
-        // the second reversed word and the next to last reversed word, etc.
-        
-        int frontLastBitIndex = firstBitIndex(offset) - 1; //offset-1;
-        int backFirstBitIndex = lastBitIndex(offset, length) + 1; //length;
-        int frontWordBitCount = 0;
-        int backWordBitCount = 0;
-        int frontWordIndex = -1;
-        int backWordIndex = -1;
-        long frontWordReversed = 0L;
-        long backWordReversed = 0L;
-        
-        final int[] frontIterator = getIterator(offset, length);
-        final int[] backIterator = getIterator(offset, length);
-        int numberOfBitsRemainingToReverse = length;
-        while (numberOfBitsRemainingToReverse > 0) {
-            
-            if (hasNextIteratorWord(frontIterator)) {
-                frontWordReversed = Long.reverse(getNextIteratorFullWord(frontIterator));
-                frontWordIndex = getIteratorWordIndex(frontIterator);
-                frontWordBitCount = getIteratorWordBitCount(frontIterator);
-                frontLastBitIndex += frontWordBitCount;
-            } else {
-                frontWordBitCount = 0;
-            }
-            if (hasPreviousIteratorWord(backIterator)) {
-                backWordReversed = Long.reverse(getPreviousIteratorFullWord(backIterator));
-                backWordIndex = getIteratorWordIndex(backIterator);
-                backWordBitCount = getIteratorWordBitCount(backIterator);
-                backFirstBitIndex -= backWordBitCount;
-            } else {
-                backWordBitCount = 0;
-            }
-            
-            // do the front word and back word overlap?
-            if (frontLastBitIndex >= backFirstBitIndex) {
-                final int delta = frontLastBitIndex - backFirstBitIndex;
-                if (frontWordBitCount > backWordBitCount) {
-                    frontWordBitCount -= (delta + 1);
-                } else {
-                    backWordBitCount -= (delta + 1);
-                }
-            }
-            numberOfBitsRemainingToReverse -= (frontWordBitCount + backWordBitCount);
-            
-            // front
-            if (backWordBitCount > 0) {
-                long word = backWordReversed;
-                final int thisWordSize = (leftMarginSize + backWordBitCount > BITS_PER_WORD) ?
-                        BITS_PER_WORD - leftMarginSize : backWordBitCount;
-                final int nextWordSize = backWordBitCount - thisWordSize;
-                final int thisRightMarginSize = BITS_PER_WORD - leftMarginSize - thisWordSize;
-                final long originalWord = getWord(frontWordIndex);
-                if (leftMarginSize > 0) {
-                    word = (originalWord & (WORD_MASK << BITS_PER_WORD - leftMarginSize)) // preserve left margin
-                         | (backWordReversed >>> leftMarginSize);
-                    if (nextWordSize > 0 && frontWordIndex+1 <= lastWordIndex) {
-                        setWord(frontWordIndex+1,
-                                (backWordReversed << BITS_PER_WORD - nextWordSize)
-                              | (getWord(frontWordIndex+1) & (WORD_MASK >>> nextWordSize))); 
-                    }
-                }
-                // restore right margin
-                if (thisRightMarginSize > 0) {
-                    word = (word & (WORD_MASK << thisRightMarginSize))
-                         | (originalWord & (WORD_MASK >>> BITS_PER_WORD - thisRightMarginSize));
-                }
-                setWord(frontWordIndex, word);
-            }
-
-            // back
-            if (frontWordBitCount > 0) {
-                long word = frontWordReversed;
-                final int thisWordSize = (rightMarginSize + frontWordBitCount > BITS_PER_WORD) ?
-                        BITS_PER_WORD - rightMarginSize : frontWordBitCount;
-                final int prevWordSize = frontWordBitCount - thisWordSize;
-                final int thisLeftMarginSize = BITS_PER_WORD - rightMarginSize - thisWordSize;
-                final long originalWord = getWord(backWordIndex);
-                if (rightMarginSize > 0) {
-                    word = (frontWordReversed << rightMarginSize)
-                         | (originalWord & (WORD_MASK >>> BITS_PER_WORD - rightMarginSize)); // preserve right margin
-                    if (prevWordSize > 0 && backWordIndex-1 >= firstWordIndex) {
-                        setWord(backWordIndex-1,
-                                (getWord(backWordIndex-1) & (WORD_MASK << prevWordSize))
-                              | (frontWordReversed >>> BITS_PER_WORD - prevWordSize)); 
-                    } 
-                }
-                // restore left margin
-                if (thisLeftMarginSize > 0) {
-                    word = (originalWord & (WORD_MASK << BITS_PER_WORD - thisLeftMarginSize))
-                         | (word & (WORD_MASK >>> thisLeftMarginSize));
-                }
-                setWord(backWordIndex, word); 
-            }
+        // Swap the reversed first word of the substring with the reversed last
+        // word of the substring, then the reversed second word with the reversed
+        // next to last word, and so on, until the front and back meet. When fewer
+        // than two full words remain, the words are shortened to half of the
+        // remaining bits; a middle bit left over stays where it is.
+        int front = offset;
+        int back = offset + length;
+        while (back - front > 1) {
+            final int wordBitCount = Math.min(BITS_PER_WORD, (back - front) / 2);
+            final int shift = BITS_PER_WORD - wordBitCount;
+            final long frontWord = iGetPrimitive(front, wordBitCount);
+            final long backWord = iGetPrimitive(back - wordBitCount, wordBitCount);
+            iPutPrimitive(front, wordBitCount, Long.reverse(backWord) >>> shift);
+            iPutPrimitive(back - wordBitCount, wordBitCount, Long.reverse(frontWord) >>> shift);
+            front += wordBitCount;
+            back -= wordBitCount;
         }
     }
     
@@ -1685,6 +2564,33 @@ public abstract class BitString implements Cloneable, Serializable  {
         this.iShiftRight(nBits, fill, thisOffset, thisLength);
     }
     
+    /**
+     * Returns the 64 bits of this {@code BitString} starting at the specified
+     * offset, as a word whose first bit is the bit at the offset. The bits of the
+     * word that follow the end of this {@code BitString} are set to {@code ZERO}.
+     * 
+     * @param offset the offset of the first bit of the word
+     * @return the 64 bits starting at the specified offset
+     */
+    long getFullWord(int offset) {
+        assert isValidOffset(offset);
+        return iGetPrimitive(offset, BITS_PER_WORD);
+    }
+    
+    /**
+     * Replace the specified number of bits of this {@code BitString}, starting at
+     * the specified offset, with the specified number of rightmost bits of the
+     * specified value.
+     * 
+     * @param offset the offset of the first bit to replace
+     * @param size   the number of bits to replace, from 1 to 64
+     * @param bits   the replacement bits, right justified
+     */
+    void putBits(int offset, int size, long bits) {
+        assert size > 0 && size <= BITS_PER_WORD;
+        iPutPrimitive(offset, size, bits & (WORD_MASK >>> (BITS_PER_WORD - size)));
+    }
+    
     private long iGetPrimitive(int offset, int primitiveSize) {
         assert isValidOffset(offset);
         assert primitiveSize <= BITS_PER_WORD;
@@ -1698,6 +2604,7 @@ public abstract class BitString implements Cloneable, Serializable  {
         assert isValidOffset(offset);
         assert primitiveSize <= BITS_PER_WORD;
         assert isValidLength(offset, primitiveSize);
+        incrementBitsModCount();
         
         final int firstWordIndex = firstWordIndex(offset);
         final int firstWordBitIndex = firstWordBitIndex(offset);
@@ -1789,30 +2696,265 @@ public abstract class BitString implements Cloneable, Serializable  {
         return longs;
     }
     
-    private short[] iToShortArray(int offset, int length) {
-        assert isValidOffset(offset);
-        assert isValidLength(offset, length);
-        if (length == 0) return new short[0];
-        final short[] shorts = new short[(length - 1) / Short.SIZE + 1];
-        iToPrimitiveArray(offset, length, Short.SIZE,
-                (index, word) -> { shorts[index] = (short)word; });
-        return shorts;
+    private short[] iToShortArray(int offset, int length) {
+        assert isValidOffset(offset);
+        assert isValidLength(offset, length);
+        if (length == 0) return new short[0];
+        final short[] shorts = new short[(length - 1) / Short.SIZE + 1];
+        iToPrimitiveArray(offset, length, Short.SIZE,
+                (index, word) -> { shorts[index] = (short)word; });
+        return shorts;
+    }
+    
+    private void iToPrimitiveArray(int offset, int length,
+            int primitiveSize,
+            IntLongConsumer setPrimitiveArrayElementFromUnsignedLong) {
+        assert isValidOffset(offset);
+        assert isValidLength(offset, length);
+        final int primitivesPerWord = BITS_PER_WORD / primitiveSize;
+        final long primitiveMask = WORD_MASK >>> (BITS_PER_WORD - primitiveSize);
+        int index = 0;
+        final WordCursor cursor = new WordCursor(offset, length);
+        while (length > 0) {
+            final long word = cursor.nextFullWord();
+            for (int p = primitivesPerWord - 1; p >= 0 && length > 0; p--, length -= primitiveSize) {
+                setPrimitiveArrayElementFromUnsignedLong.accept(index++, (word >>> (p * primitiveSize)) & primitiveMask);
+            }
+        }
+    }
+    
+    private static int byteCount(int length) {
+        return (length == 0) ? 0 : (length - 1) / Byte.SIZE + 1;
+    }
+    
+    /**
+     * Writes the specified substring of this {@code BitString}, which starts on
+     * a multiple of the word size, to the specified big-endian buffer. If the
+     * substring does not end on a word boundary, it must end at the end of this
+     * {@code BitString}.
+     */
+    private void iWriteTo(ByteBuffer dst, int offset, int length) {
+        assert isValidOffset(offset);
+        assert isValidLength(offset, length);
+        final int fullWords = length >>> ADDRESS_BITS_PER_WORD;
+        final int firstBitIndex = bitIndex(offset);
+        final long[] array = (wordBitIndex(firstBitIndex) == 0) ? wordArray() : null;
+        if (array != null) {
+            dst.asLongBuffer().put(array, wordIndex(firstBitIndex), fullWords);
+            dst.position(dst.position() + fullWords * Long.BYTES);
+        } else {
+            for (int w = 0; w < fullWords; w++) {
+                dst.putLong(getFullWord(offset + (w << ADDRESS_BITS_PER_WORD)));
+            }
+        }
+        final int tailLength = length & BIT_INDEX_MASK;
+        if (tailLength > 0) {
+            final long word = getFullWord(offset + (fullWords << ADDRESS_BITS_PER_WORD));
+            for (int shift = BITS_PER_WORD - Byte.SIZE, n = byteCount(tailLength); n > 0; n--, shift -= Byte.SIZE) {
+                dst.put((byte)(word >>> shift));
+            }
+        }
+    }
+    
+    /**
+     * Replaces the specified substring of this {@code BitString}, which starts on
+     * a multiple of the word size, with bits read from the specified big-endian
+     * buffer.
+     */
+    private void iReadFrom(ByteBuffer src, int offset, int length) {
+        assert isValidOffset(offset);
+        assert isValidLength(offset, length);
+        final int fullWords = length >>> ADDRESS_BITS_PER_WORD;
+        final int firstBitIndex = bitIndex(offset);
+        final long[] array = (wordBitIndex(firstBitIndex) == 0) ? wordArray() : null;
+        if (array != null) {
+            src.asLongBuffer().get(array, wordIndex(firstBitIndex), fullWords);
+            src.position(src.position() + fullWords * Long.BYTES);
+            if (fullWords > 0) incrementBitsModCount();
+        } else {
+            for (int w = 0; w < fullWords; w++) {
+                putBits(offset + (w << ADDRESS_BITS_PER_WORD), BITS_PER_WORD, src.getLong());
+            }
+        }
+        final int tailLength = length & BIT_INDEX_MASK;
+        if (tailLength > 0) {
+            long word = 0L;
+            for (int shift = BITS_PER_WORD - Byte.SIZE, n = byteCount(tailLength); n > 0; n--, shift -= Byte.SIZE) {
+                word |= Byte.toUnsignedLong(src.get()) << shift;
+            }
+            putBits(offset + (fullWords << ADDRESS_BITS_PER_WORD), tailLength, word >>> (BITS_PER_WORD - tailLength));
+        }
+    }
+    
+    /**
+     * Writes the bits of this {@code BitString}, which must start on a word
+     * boundary, to the specified stream in the compact serial format, for the
+     * {@code writeObject} method of a subclass.
+     * <p>
+     * The format version (byte) is written first. The bits are then written in
+     * blocks of 4096 bits, the last block holding the rest. Each block is
+     * written as a tag (byte) followed by the smallest of these encodings:
+     * <ul>
+     * <li>{@code EMPTY_BLOCK}, all {@code ZEROS}: nothing follows.
+     * <li>{@code FULL_BLOCK}, all {@code ONES}: nothing follows.
+     * <li>{@code SPARSE_BLOCK}: the number of {@code ONES} (char), followed by
+     * the offset of each {@code ONE} within the block (char).
+     * <li>{@code RUN_BLOCK}: the number of runs of {@code ONES} (char), followed
+     * by the offset within the block (char) and the length (char) of each run.
+     * <li>{@code LITERAL_BLOCK}: the bits of the block in the big-endian byte
+     * format of {@link #toByteArray()}.
+     * </ul>
+     * Only the bits within the length of this {@code BitString} are written, so
+     * unused capacity costs nothing.
+     */
+    void writeBlocks(ObjectOutputStream stream) throws IOException {
+        assert wordBitIndex(bitIndex(0)) == 0;
+        stream.writeByte(SERIAL_FORMAT_VERSION);
+        final int length = length();
+        final int nWords = (length == 0) ? 0 : wordIndex(length - 1) + 1;
+        final int firstWordIndex = wordIndex(bitIndex(0));
+        final long[] words = new long[WORDS_PER_SERIAL_BLOCK];
+        final ByteBuffer bytes = ByteBuffer.allocate(WORDS_PER_SERIAL_BLOCK * Long.BYTES);
+        for (int first = 0; first < nWords; first += WORDS_PER_SERIAL_BLOCK) {
+            final int n = Math.min(WORDS_PER_SERIAL_BLOCK, nWords - first);
+            final int blockBits = Math.min(length - (first << ADDRESS_BITS_PER_WORD), BITS_PER_SERIAL_BLOCK);
+            int ones = 0;
+            int runs = 0;
+            long previous = 0L;
+            for (int i = 0; i < n; i++) {
+                long word = getWord(firstWordIndex + first + i);
+                final int wordBits = blockBits - (i << ADDRESS_BITS_PER_WORD);
+                if (wordBits < BITS_PER_WORD) word &= WORD_MASK << (BITS_PER_WORD - wordBits);
+                words[i] = word;
+                ones += Long.bitCount(word);
+                // a run starts at each ONE that follows a ZERO
+                runs += Long.bitCount(word & ~((word >>> 1) | (previous << (BITS_PER_WORD - 1))));
+                previous = word;
+            }
+    
+            final int literalSize = byteCount(blockBits);
+            if (ones == 0) {
+                stream.writeByte(EMPTY_BLOCK);
+            } else if (ones == blockBits) {
+                stream.writeByte(FULL_BLOCK);
+            } else if (2 * ones <= 4 * runs && 2 * ones + Character.BYTES < literalSize) {
+                stream.writeByte(SPARSE_BLOCK);
+                stream.writeChar(ones);
+                for (int i = 0; i < n; i++) {
+                    for (long word = words[i]; word != 0L; ) {
+                        final int bit = Long.numberOfLeadingZeros(word);
+                        word ^= BIT_MASK >>> bit;
+                        stream.writeChar((i << ADDRESS_BITS_PER_WORD) + bit);
+                    }
+                }
+            } else if (4 * runs + Character.BYTES < literalSize) {
+                stream.writeByte(RUN_BLOCK);
+                stream.writeChar(runs);
+                int runStart = -1;
+                for (int i = 0; i < n; i++) {
+                    final long word = words[i];
+                    final int offset = i << ADDRESS_BITS_PER_WORD;
+                    int bit = 0;
+                    while (bit < BITS_PER_WORD) {
+                        if (runStart < 0) {
+                            final long rest = word << bit;
+                            if (rest == 0L) break;
+                            bit += Long.numberOfLeadingZeros(rest);
+                            runStart = offset + bit;
+                        }
+                        final long rest = ~word << bit;
+                        if (rest == 0L) break;
+                        bit += Long.numberOfLeadingZeros(rest);
+                        stream.writeChar(runStart);
+                        stream.writeChar(offset + bit - runStart);
+                        runStart = -1;
+                    }
+                }
+                if (runStart >= 0) {
+                    stream.writeChar(runStart);
+                    stream.writeChar((n << ADDRESS_BITS_PER_WORD) - runStart);
+                }
+            } else {
+                stream.writeByte(LITERAL_BLOCK);
+                bytes.clear();
+                bytes.asLongBuffer().put(words, 0, n);
+                stream.write(bytes.array(), 0, literalSize);
+            }
+        }
+    }
+    
+    /**
+     * Replaces the bits of this {@code BitString}, which must start on a word
+     * boundary and have the length of the bit string that was written, with the
+     * bits read from the specified stream in the format written by
+     * {@link #writeBlocks(ObjectOutputStream)}, for the {@code readObject}
+     * method of a subclass.
+     */
+    void readBlocks(ObjectInputStream stream) throws IOException {
+        assert wordBitIndex(bitIndex(0)) == 0;
+        final int version = stream.readUnsignedByte();
+        if (version != SERIAL_FORMAT_VERSION) {
+            throw new InvalidObjectException("unsupported serial format version: " + version);
+        }
+        final int length = length();
+        final int nWords = (length == 0) ? 0 : wordIndex(length - 1) + 1;
+        final int firstWordIndex = wordIndex(bitIndex(0));
+        final long[] words = new long[WORDS_PER_SERIAL_BLOCK];
+        final ByteBuffer bytes = ByteBuffer.allocate(WORDS_PER_SERIAL_BLOCK * Long.BYTES);
+        for (int first = 0; first < nWords; first += WORDS_PER_SERIAL_BLOCK) {
+            final int n = Math.min(WORDS_PER_SERIAL_BLOCK, nWords - first);
+            final int blockBits = Math.min(length - (first << ADDRESS_BITS_PER_WORD), BITS_PER_SERIAL_BLOCK);
+            Arrays.fill(words, 0, n, 0L);
+            final int tag = stream.readByte();
+            switch (tag) {
+            case EMPTY_BLOCK:
+                break;
+            case FULL_BLOCK:
+                setBlockRun(words, 0, blockBits);
+                break;
+            case SPARSE_BLOCK:
+                for (int count = stream.readChar(); count > 0; count--) {
+                    final int bit = stream.readChar();
+                    if (bit >= blockBits) throw new StreamCorruptedException("offset outside block: " + bit);
+                    words[bit >>> ADDRESS_BITS_PER_WORD] |= BIT_MASK >>> bit;
+                }
+                break;
+            case RUN_BLOCK:
+                for (int count = stream.readChar(); count > 0; count--) {
+                    final int start = stream.readChar();
+                    final int runLength = stream.readChar();
+                    if (start + runLength > blockBits) throw new StreamCorruptedException("run outside block: " + start + "+" + runLength);
+                    setBlockRun(words, start, runLength);
+                }
+                break;
+            case LITERAL_BLOCK:
+                final int literalSize = byteCount(blockBits);
+                stream.readFully(bytes.array(), 0, literalSize);
+                Arrays.fill(bytes.array(), literalSize, n * Long.BYTES, (byte)0);
+                bytes.clear();
+                bytes.asLongBuffer().get(words, 0, n);
+                final int lastWordBits = blockBits - ((n - 1) << ADDRESS_BITS_PER_WORD);
+                words[n - 1] &= WORD_MASK << (BITS_PER_WORD - lastWordBits);
+                break;
+            default:
+                throw new StreamCorruptedException("invalid block tag: " + tag);
+            }
+            for (int i = 0; i < n; i++) {
+                setWord(firstWordIndex + first + i, words[i]);
+            }
+        }
+        incrementBitsModCount();
     }
     
-    private void iToPrimitiveArray(int offset, int length,
-            int primitiveSize,
-            IntLongConsumer setPrimitiveArrayElementFromUnsignedLong) {
-        assert isValidOffset(offset);
-        assert isValidLength(offset, length);
-        final int primitivesPerWord = BITS_PER_WORD / primitiveSize;
-        final long primitiveMask = WORD_MASK >>> (BITS_PER_WORD - primitiveSize);
-        int index = 0;
-        final int[] iterator = getIterator(offset, length);
-        while (length > 0) {
-            final long word = getNextIteratorFullWord(iterator);
-            for (int p = primitivesPerWord - 1; p >= 0 && length > 0; p--, length -= primitiveSize) {
-                setPrimitiveArrayElementFromUnsignedLong.accept(index++, (word >>> (p * primitiveSize)) & primitiveMask);
-            }
+    /**
+     * Sets the specified run of bits of a block of words to ONES.
+     */
+    private static void setBlockRun(long[] words, int start, int runLength) {
+        for (int bit = start, end = start + runLength; bit < end; ) {
+            final int wordBit = wordBitIndex(bit);
+            final int n = Math.min(BITS_PER_WORD - wordBit, end - bit);
+            words[bit >>> ADDRESS_BITS_PER_WORD] |= (WORD_MASK >>> wordBit) & (WORD_MASK << (BITS_PER_WORD - wordBit - n));
+            bit += n;
         }
     }
     
@@ -1825,10 +2967,7 @@ public abstract class BitString implements Cloneable, Serializable  {
      * @return the number of leading {@code ONES} of the substring
      */
     private int iNumberOfLeadingOnes(int offset, int length) {
-        return iNumberOfLeadingOrTrailingOnesOrZeros(offset, length,
-                iterator -> { return hasNextIteratorWord(iterator); },
-                iterator -> { return ~getNextIteratorFullWord(iterator, ZERO_FILL); },
-                word -> { return Long.numberOfLeadingZeros(word); });
+        return iNumberOfLeadingOrTrailingOnesOrZeros(offset, length, false, true);
     }
     
     /**
@@ -1840,10 +2979,7 @@ public abstract class BitString implements Cloneable, Serializable  {
      * @return the number of leading {@code ZEROS} of the substring
      */
     private int iNumberOfLeadingZeros(int offset, int length) {
-        return iNumberOfLeadingOrTrailingOnesOrZeros(offset, length,
-                iterator -> { return hasNextIteratorWord(iterator); },
-                iterator -> { return getNextIteratorFullWord(iterator, ONE_FILL); },
-                word -> { return Long.numberOfLeadingZeros(word); });
+        return iNumberOfLeadingOrTrailingOnesOrZeros(offset, length, false, false);
     }
     
     /**
@@ -1855,10 +2991,7 @@ public abstract class BitString implements Cloneable, Serializable  {
      * @return the number of trailing {@code ONES} of the substring
      */
     private int iNumberOfTrailingOnes(int offset, int length) {
-        return iNumberOfLeadingOrTrailingOnesOrZeros(offset, length,
-                iterator -> { return hasPreviousIteratorWord(iterator); },
-                iterator -> { return ~getPreviousIteratorFullWord(iterator, ZERO_FILL); },
-                word -> { return Long.numberOfTrailingZeros(word); });
+        return iNumberOfLeadingOrTrailingOnesOrZeros(offset, length, true, true);
     }
     
     /**
@@ -1870,35 +3003,33 @@ public abstract class BitString implements Cloneable, Serializable  {
      * @return the number of trailing {@code ZEROS} of the substring
      */
     private int iNumberOfTrailingZeros(int offset, int length) {
-        return iNumberOfLeadingOrTrailingOnesOrZeros(offset, length,
-                iterator -> { return hasPreviousIteratorWord(iterator); },
-                iterator -> { return getPreviousIteratorFullWord(iterator, ONE_FILL); },
-                word -> { return Long.numberOfTrailingZeros(word); });
+        return iNumberOfLeadingOrTrailingOnesOrZeros(offset, length, true, false);
     }
 
     /**
      * Returns the number of leading/trailing {@code ONES}/{@code ZEROS} of the specified substring of
      * this {@code BitString}.
      * 
-     * @param offset the start of the substring
-     * @param length the length of the substring
-     * @param hasIteratorWord a predicate that indicates if there exists a next or previous word
-     * @param getIteratorFullWord a function that returns the next or previous full word
-     * @param numberOfLeadingOrTrailingZeros a function that counts the number of leading or trailing Zeros of a word
+     * @param offset   the start of the substring
+     * @param length   the length of the substring
+     * @param trailing {@code true} to count trailing bits, {@code false} to count leading bits
+     * @param ones     {@code true} to count {@code ONES}, {@code false} to count {@code ZEROS}
      * @return the number of leading/trailing {@code ONES}/{@code ZEROS} of the substring
      */
     private int iNumberOfLeadingOrTrailingOnesOrZeros(int offset, int length,
-            Predicate<int[]> hasIteratorWord,
-            ToLongFunction<int[]> getIteratorFullWord,
-            LongToIntFunction numberOfLeadingOrTrailingZeros) {
+            boolean trailing, boolean ones) {
         assert isValidOffset(offset);
         assert isValidLength(offset, length);
+        // The bits outside of the substring are filled with the opposite of the
+        // bit being counted, so that they stop the count.
+        final boolean fill = ones ? ZERO_FILL : ONE_FILL;
         int count = 0;
-        final int[] iterator = getIterator(offset, length);
-        while (hasIteratorWord.test(iterator)) {
-            final long word = getIteratorFullWord.applyAsLong(iterator);
+        final WordCursor cursor = new WordCursor(offset, length);
+        while (trailing ? cursor.hasPrevious() : cursor.hasNext()) {
+            long word = trailing ? cursor.previousFullWord(fill) : cursor.nextFullWord(fill);
+            if (ones) word = ~word;
             if (word != 0L) {
-                count += numberOfLeadingOrTrailingZeros.applyAsInt(word);
+                count += trailing ? Long.numberOfTrailingZeros(word) : Long.numberOfLeadingZeros(word);
                 break;
             }
             count += BITS_PER_WORD;
@@ -2300,6 +3431,7 @@ public abstract class BitString implements Cloneable, Serializable  {
         checkThisOffset(bitOffset);
         final int bitIndex = bitIndex(bitOffset);
         int wordIndex = wordIndex(bitIndex);
+        incrementBitsModCount();
         setWord(wordIndex, getWord(wordIndex) & ~(BIT_MASK >>> wordBitIndex(bitIndex)));
         return this;
     }
@@ -2389,6 +3521,7 @@ public abstract class BitString implements Cloneable, Serializable  {
     public BitString flipBit(int bitOffset) {
         checkThisOffset(bitOffset);
         int wordIndex = wordIndex(bitIndex(bitOffset));
+        incrementBitsModCount();
         setWord(wordIndex, getWord(wordIndex) ^ (BIT_MASK >>> wordBitIndex(bitIndex(bitOffset))));
         return this;
     }
@@ -2932,6 +4065,7 @@ public abstract class BitString implements Cloneable, Serializable  {
         checkThisOffset(bitOffset);
         final int bitIndex = bitIndex(bitOffset);
         final int wordIndex = wordIndex(bitIndex);
+        incrementBitsModCount();
         setWord(wordIndex, getWord(wordIndex) | (BIT_MASK >>> wordBitIndex(bitIndex)));
         return this;
     }
@@ -4099,6 +5233,177 @@ public abstract class BitString implements Cloneable, Serializable  {
         return xor(thisField.offset(), thisField.length(this), arg, argField.offset(), argField.length(arg));
     }
     
+    /**
+     * Returns a new {@code BitString} holding the logical <b>AND</b> of all the
+     * specified bit strings.
+     * 
+     * The length of the result is equal to the length of the shortest of the bit
+     * strings, as for {@link #and(BitString)}. If no bit strings are specified,
+     * the result is empty.
+     * <p>
+     * The result is computed a word at a time: each word of the bit strings is
+     * read at most once and each word of the result is written once, and once a
+     * word of the result is all {@code ZEROS} the rest of the bit strings are not
+     * read for that word.
+     *
+     * @param bits the bit strings to combine
+     * @return a new {@code BitString} holding the <b>AND</b> of the bit strings
+     */
+    public static BitString andAll(BitString... bits) {
+        return iCombineAll(BitwiseOp.AND, bits);
+    }
+    
+    /**
+     * Returns a new {@code BitString} holding the logical <b>AND</b> of all the
+     * bit strings in the specified collection.
+     * 
+     * @param bits the bit strings to combine
+     * @return a new {@code BitString} holding the <b>AND</b> of the bit strings
+     * @see #andAll(BitString...)
+     */
+    public static BitString andAll(Collection<? extends BitString> bits) {
+        return andAll(bits.toArray(new BitString[bits.size()]));
+    }
+    
+    /**
+     * Returns a new {@code BitString} holding the logical <b>OR</b> of all the
+     * specified bit strings.
+     * 
+     * The length of the result is equal to the length of the shortest of the bit
+     * strings, as for {@link #or(BitString)}. If no bit strings are specified, the
+     * result is empty.
+     * <p>
+     * The result is computed a word at a time: each word of the bit strings is
+     * read once and each word of the result is written once.
+     *
+     * @param bits the bit strings to combine
+     * @return a new {@code BitString} holding the <b>OR</b> of the bit strings
+     */
+    public static BitString orAll(BitString... bits) {
+        return iCombineAll(BitwiseOp.OR, bits);
+    }
+    
+    /**
+     * Returns a new {@code BitString} holding the logical <b>OR</b> of all the
+     * bit strings in the specified collection.
+     * 
+     * @param bits the bit strings to combine
+     * @return a new {@code BitString} holding the <b>OR</b> of the bit strings
+     * @see #orAll(BitString...)
+     */
+    public static BitString orAll(Collection<? extends BitString> bits) {
+        return orAll(bits.toArray(new BitString[bits.size()]));
+    }
+    
+    /**
+     * Returns a new {@code BitString} holding the logical <b>XOR</b> of all the
+     * specified bit strings.
+     * 
+     * The length of the result is equal to the length of the shortest of the bit
+     * strings, as for {@link #xor(BitString)}. If no bit strings are specified,
+     * the result is empty.
+     * <p>
+     * The result is computed a word at a time: each word of the bit strings is
+     * read once and each word of the result is written once.
+     *
+     * @param bits the bit strings to combine
+     * @return a new {@code BitString} holding the <b>XOR</b> of the bit strings
+     */
+    public static BitString xorAll(BitString... bits) {
+        return iCombineAll(BitwiseOp.XOR, bits);
+    }
+    
+    /**
+     * Returns a new {@code BitString} holding the logical <b>XOR</b> of all the
+     * bit strings in the specified collection.
+     * 
+     * @param bits the bit strings to combine
+     * @return a new {@code BitString} holding the <b>XOR</b> of the bit strings
+     * @see #xorAll(BitString...)
+     */
+    public static BitString xorAll(Collection<? extends BitString> bits) {
+        return xorAll(bits.toArray(new BitString[bits.size()]));
+    }
+    
+    /**
+     * Returns a new {@code LongBitString} holding the result of the specified
+     * bitwise operation (op) on all the specified bit strings, over the length of
+     * the shortest.
+     */
+    private static LongBitString iCombineAll(BitwiseOp op, BitString[] bits) {
+        final int n = bits.length;
+        int length = (n == 0) ? 0 : Integer.MAX_VALUE;
+        for (BitString bitString : bits) {
+            length = Math.min(length, bitString.length());
+        }
+        final LongBitString result = new LongBitString(length);
+        if (length == 0) return result;
+        
+        // the bit strings whose whole words can be read straight from their
+        // backing arrays, and the index of the word holding their first bit
+        final long[][] arrays = new long[n][];
+        final int[] firstWordIndexes = new int[n];
+        final int[] fullWords = new int[n];
+        for (int i = 0; i < n; i++) {
+            final int firstBitIndex = bits[i].bitIndex(0);
+            if (wordBitIndex(firstBitIndex) == 0) {
+                arrays[i] = bits[i].wordArray();
+                firstWordIndexes[i] = wordIndex(firstBitIndex);
+            }
+            fullWords[i] = wordIndex(bits[i].length());
+        }
+        
+        // one loop per operation, so each inner loop holds a single, statically
+        // known operation on its words
+        final long[] resultWords = result.wordArray();
+        final int nWords = resultWords.length;
+        switch (op) {
+        case AND:
+            for (int w = 0; w < nWords; w++) {
+                long word = combineAllWord(bits[0], arrays[0], firstWordIndexes[0], fullWords[0], w);
+                for (int i = 1; i < n && word != 0L; i++) {
+                    word &= combineAllWord(bits[i], arrays[i], firstWordIndexes[i], fullWords[i], w);
+                }
+                resultWords[w] = word;
+            }
+            break;
+        case OR:
+            for (int w = 0; w < nWords; w++) {
+                long word = combineAllWord(bits[0], arrays[0], firstWordIndexes[0], fullWords[0], w);
+                for (int i = 1; i < n; i++) {
+                    word |= combineAllWord(bits[i], arrays[i], firstWordIndexes[i], fullWords[i], w);
+                }
+                resultWords[w] = word;
+            }
+            break;
+        case XOR:
+            for (int w = 0; w < nWords; w++) {
+                long word = combineAllWord(bits[0], arrays[0], firstWordIndexes[0], fullWords[0], w);
+                for (int i = 1; i < n; i++) {
+                    word ^= combineAllWord(bits[i], arrays[i], firstWordIndexes[i], fullWords[i], w);
+                }
+                resultWords[w] = word;
+            }
+            break;
+        default:
+            throw new AssertionError(op);
+        }
+        
+        // the bits of the longer bit strings past the end of the result
+        final int tail = wordBitIndex(length);
+        if (tail != 0) resultWords[nWords - 1] &= ~(WORD_MASK >>> tail);
+        return result;
+    }
+    
+    /**
+     * Returns the word at the specified word index of the specified bit string,
+     * with any bits past its end set to {@code ZERO}.
+     */
+    private static long combineAllWord(BitString bits, long[] array, int firstWordIndex, int fullWords, int w) {
+        if (w < fullWords && array != null) return array[firstWordIndex + w];
+        return bits.getFullWord(w << ADDRESS_BITS_PER_WORD);
+    }
+    
     /**
      * Performs a logical <b>XNOR</b> of this {@code BitString} with the specified
      * bit string (arg).
@@ -4184,43 +5489,370 @@ public abstract class BitString implements Cloneable, Serializable  {
     }
     
     /**
-     * Performs a logical <b>XNOR</b> of a Field of this {@code BitString} with a
-     * Field of the specified bit string (arg).
-     * 
-     * The length of the operation is equal to the smaller of the length of this
-     * Field or the length of the specified Field.
-     * <p>
-     * The bits in this field are modified according to the following
-     * logic table. For each {@code ONE} bit in the argument field, the
-     * corresponding bit in this field is left unchanged, otherwise,
-     * the bit is flipped. This operation is the complement of the <b>XOR</b> operation.
-     * 
-     * <pre>
-     *            arg bit
-     *             value
-     *           | 0 | 1 |
-     *        ===|=======|
-     *   this  0 | 1 | 0 |
-     *    bit ---|-------|
-     *  value  1 | 0 | 1 |
-     *        ============
-     * </pre>
-     * 
-     * @param thisField Field of this {@code BitString}
-     * @param arg       bit string argument
-     * @param argField  Field of the bit string argument
-     * @return this {@code BitString} with the results of the operation
-     * @throws StringIndexOutOfBoundsException if
-     *                                         {@code thisField.offset() > 0 && thisField.offset() >= this.length()}
-     *                                         or
-     *                                         {@code argField.offset() > 0 && argField.offset() >= arg.length()}
-     * @throws IllegalArgumentException        if
-     *                                         {@code thisField.length() > this.length() - thisField.offset()}
-     *                                         or
-     *                                         {@code argField.length() > arg.length() - argField.offset()}
+     * Performs a logical <b>XNOR</b> of a Field of this {@code BitString} with a
+     * Field of the specified bit string (arg).
+     * 
+     * The length of the operation is equal to the smaller of the length of this
+     * Field or the length of the specified Field.
+     * <p>
+     * The bits in this field are modified according to the following
+     * logic table. For each {@code ONE} bit in the argument field, the
+     * corresponding bit in this field is left unchanged, otherwise,
+     * the bit is flipped. This operation is the complement of the <b>XOR</b> operation.
+     * 
+     * <pre>
+     *            arg bit
+     *             value
+     *           | 0 | 1 |
+     *        ===|=======|
+     *   this  0 | 1 | 0 |
+     *    bit ---|-------|
+     *  value  1 | 0 | 1 |
+     *        ============
+     * </pre>
+     * 
+     * @param thisField Field of this {@code BitString}
+     * @param arg       bit string argument
+     * @param argField  Field of the bit string argument
+     * @return this {@code BitString} with the results of the operation
+     * @throws StringIndexOutOfBoundsException if
+     *                                         {@code thisField.offset() > 0 && thisField.offset() >= this.length()}
+     *                                         or
+     *                                         {@code argField.offset() > 0 && argField.offset() >= arg.length()}
+     * @throws IllegalArgumentException        if
+     *                                         {@code thisField.length() > this.length() - thisField.offset()}
+     *                                         or
+     *                                         {@code argField.length() > arg.length() - argField.offset()}
+     */
+    public BitString xnor(Field thisField, BitString arg, Field argField) {
+        return xnor(thisField.offset(), thisField.length(this), arg, argField.offset(), argField.length(arg));
+    }
+    
+    /**
+     * Performs a logical <b>AND</b> of this {@code BitString} with the specified
+     * bit string (arg), in parallel.
+     * 
+     * The result is the same as for {@link #and(BitString)}. The operation is
+     * run in parallel when its length is at least 2<sup>20</sup> bits, and the
+     * words of both bit strings can be read and written by separate threads
+     * without sharing storage. That is the case for {@code LongBitString},
+     * {@code ByteBitString}, {@code DirectBitString}, {@code MappedBitString},
+     * {@code BufferedByteBitString}, {@code BufferedLongBitString},
+     * {@code AtomicLongBitString}, a dense {@code AdaptiveBitString}, and
+     * {@code Range}s of them; {@code ZEROS} and {@code ONES} may be the
+     * argument. The operation is then split into chunks of 2<sup>18</sup> bits
+     * that start on word boundaries of this {@code BitString}, so no two chunks
+     * write the same word, and the chunks are run as tasks in the common
+     * {@code ForkJoinPool}. Otherwise, including for the compressed, run-length
+     * encoded, rope and gap bit strings and a sparse
+     * {@code AdaptiveBitString}, the operation is performed sequentially.
+     *
+     * @param arg bit string argument
+     * @return this {@code BitString} with the results of the operation
+     */
+    public BitString parallelAnd(BitString arg) {
+        return iParallelOp(BitwiseOp.AND, arg);
+    }
+    
+    /**
+     * Performs a logical <b>ANDNOT</b> of this {@code BitString} with the specified
+     * bit string (arg), in parallel.
+     * 
+     * The result is the same as for {@link #andNot(BitString)}. See
+     * {@link #parallelAnd(BitString)} for when the operation is run in parallel.
+     *
+     * @param arg bit string argument
+     * @return this {@code BitString} with the results of the operation
+     */
+    public BitString parallelAndNot(BitString arg) {
+        return iParallelOp(BitwiseOp.ANDNOT, arg);
+    }
+    
+    /**
+     * Performs a logical <b>NAND</b> of this {@code BitString} with the specified
+     * bit string (arg), in parallel.
+     * 
+     * The result is the same as for {@link #nand(BitString)}. See
+     * {@link #parallelAnd(BitString)} for when the operation is run in parallel.
+     *
+     * @param arg bit string argument
+     * @return this {@code BitString} with the results of the operation
+     */
+    public BitString parallelNand(BitString arg) {
+        return iParallelOp(BitwiseOp.NAND, arg);
+    }
+    
+    /**
+     * Performs a logical <b>NANDNOT</b> of this {@code BitString} with the specified
+     * bit string (arg), in parallel.
+     * 
+     * The result is the same as for {@link #nandNot(BitString)}. See
+     * {@link #parallelAnd(BitString)} for when the operation is run in parallel.
+     *
+     * @param arg bit string argument
+     * @return this {@code BitString} with the results of the operation
+     */
+    public BitString parallelNandNot(BitString arg) {
+        return iParallelOp(BitwiseOp.NANDNOT, arg);
+    }
+    
+    /**
+     * Performs a logical <b>NOR</b> of this {@code BitString} with the specified
+     * bit string (arg), in parallel.
+     * 
+     * The result is the same as for {@link #nor(BitString)}. See
+     * {@link #parallelAnd(BitString)} for when the operation is run in parallel.
+     *
+     * @param arg bit string argument
+     * @return this {@code BitString} with the results of the operation
+     */
+    public BitString parallelNor(BitString arg) {
+        return iParallelOp(BitwiseOp.NOR, arg);
+    }
+    
+    /**
+     * Performs a logical <b>NORNOT</b> of this {@code BitString} with the specified
+     * bit string (arg), in parallel.
+     * 
+     * The result is the same as for {@link #norNot(BitString)}. See
+     * {@link #parallelAnd(BitString)} for when the operation is run in parallel.
+     *
+     * @param arg bit string argument
+     * @return this {@code BitString} with the results of the operation
+     */
+    public BitString parallelNorNot(BitString arg) {
+        return iParallelOp(BitwiseOp.NORNOT, arg);
+    }
+    
+    /**
+     * Performs a logical <b>OR</b> of this {@code BitString} with the specified
+     * bit string (arg), in parallel.
+     * 
+     * The result is the same as for {@link #or(BitString)}. See
+     * {@link #parallelAnd(BitString)} for when the operation is run in parallel.
+     *
+     * @param arg bit string argument
+     * @return this {@code BitString} with the results of the operation
+     */
+    public BitString parallelOr(BitString arg) {
+        return iParallelOp(BitwiseOp.OR, arg);
+    }
+    
+    /**
+     * Performs a logical <b>ORNOT</b> of this {@code BitString} with the specified
+     * bit string (arg), in parallel.
+     * 
+     * The result is the same as for {@link #orNot(BitString)}. See
+     * {@link #parallelAnd(BitString)} for when the operation is run in parallel.
+     *
+     * @param arg bit string argument
+     * @return this {@code BitString} with the results of the operation
+     */
+    public BitString parallelOrNot(BitString arg) {
+        return iParallelOp(BitwiseOp.ORNOT, arg);
+    }
+    
+    /**
+     * Performs a logical <b>XNOR</b> of this {@code BitString} with the specified
+     * bit string (arg), in parallel.
+     * 
+     * The result is the same as for {@link #xnor(BitString)}. See
+     * {@link #parallelAnd(BitString)} for when the operation is run in parallel.
+     *
+     * @param arg bit string argument
+     * @return this {@code BitString} with the results of the operation
+     */
+    public BitString parallelXnor(BitString arg) {
+        return iParallelOp(BitwiseOp.XNOR, arg);
+    }
+    
+    /**
+     * Performs a logical <b>XOR</b> of this {@code BitString} with the specified
+     * bit string (arg), in parallel.
+     * 
+     * The result is the same as for {@link #xor(BitString)}. See
+     * {@link #parallelAnd(BitString)} for when the operation is run in parallel.
+     *
+     * @param arg bit string argument
+     * @return this {@code BitString} with the results of the operation
+     */
+    public BitString parallelXor(BitString arg) {
+        return iParallelOp(BitwiseOp.XOR, arg);
+    }
+    
+    /**
+     * Copy bits from the specified bit string (that) into this {@code BitString},
+     * in parallel.
+     * 
+     * The result is the same as for {@link #copyFrom(BitString)}. See
+     * {@link #parallelAnd(BitString)} for when the copy is run in parallel.
+     * 
+     * @param that the bit string to copy
+     * @return this {@code BitString}
+     */
+    public BitString parallelCopyFrom(BitString that) {
+        final int length = this.length();
+        if (!isParallelizable(length, that, false)) return copyFrom(that);
+        final int copyLength = Math.min(length, that.length());
+        iParallel(length, false, (offset, n) -> {
+            final int nCopy = Math.max(0, Math.min(n, copyLength - offset));
+            iBitwiseOpWords(offset, nCopy, that, offset, BitwiseOp.COPY);
+            iBitwiseOpWords(offset + nCopy, n - nCopy, ZEROS, offset + nCopy, BitwiseOp.COPY);
+            return 0;
+        });
+        incrementBitsModCount();
+        return this;
+    }
+    
+    /**
+     * Returns the number of {@code ONES} in this {@code BitString}, counting them
+     * in parallel.
+     * 
+     * The result is the same as for {@link #numberOfOnes()}. When the words of
+     * this {@code BitString} can be read by separate threads, as for
+     * {@link #parallelAnd(BitString)}, and it is at least 2<sup>20</sup> bits
+     * long, the words are counted in chunks run as tasks in the common
+     * {@code ForkJoinPool}. Otherwise they are counted sequentially.
+     *
+     * @return the number of {@code ONES} in this {@code BitString}
+     */
+    public int parallelNumberOfOnes() {
+        final int length = this.length();
+        if (!isParallelizable(length, this, true)) return numberOfOnes();
+        return iParallel(length, false, (offset, n) -> iNumberOfOnes(offset, n));
+    }
+    
+    /**
+     * Returns {@code true} if this {@code BitString} and the specified bit string
+     * (that) are equal, comparing them in parallel.
+     * 
+     * The result is the same as for {@link #equals(BitString)}. When the words of
+     * both bit strings can be read by separate threads, as for
+     * {@link #parallelAnd(BitString)}, and they are at least 2<sup>20</sup> bits
+     * long, the words are compared in chunks run as tasks in the common
+     * {@code ForkJoinPool}, and chunks not yet started are skipped once a
+     * difference is found. Otherwise they are compared sequentially.
+     *
+     * @param that the bit string to compare against
+     * @return {@code true} if this {@code BitString} and that bit string are equal
+     */
+    public boolean parallelEquals(BitString that) {
+        if (that == null) return false;
+        if (this == that) return true;
+        final int length = this.length();
+        if (length != that.length()) return false;
+        if (!isParallelizable(length, that, true)) return equals(that);
+        return iParallel(length, true, (offset, n) -> iEquals(offset, n, that, offset) ? 0 : 1) == 0;
+    }
+    
+    /**
+     * Returns {@code true} if this {@code BitString} intersects with the specified
+     * bit string (that), testing them in parallel.
+     * 
+     * The result is the same as for {@link #intersects(BitString)}. See
+     * {@link #parallelEquals(BitString)} for when the test is run in parallel.
+     *
+     * @param that the bit string to test for intersection
+     * @return {@code true} if this {@code BitString} intersects with that bit
+     *         string
+     */
+    public boolean parallelIntersects(BitString that) {
+        final int length = Math.min(this.length(), that.length());
+        if (!isParallelizable(length, that, true)) return intersects(that);
+        return iParallel(length, true, (offset, n) -> iIntersects(offset, n, that, offset) ? 1 : 0) != 0;
+    }
+    
+    /**
+     * Performs the specified bitwise operation (op) on this {@code BitString} and
+     * the specified bit string (arg), in parallel if it may be.
+     */
+    private BitString iParallelOp(BitwiseOp op, BitString arg) {
+        final int length = Math.min(this.length(), arg.length());
+        if (!isParallelizable(length, arg, false)) {
+            iBitwiseOp(0, length, arg, 0, op);
+            return this;
+        }
+        iParallel(length, false, (offset, n) -> {
+            iBitwiseOpWords(offset, n, arg, offset, op);
+            return 0;
+        });
+        incrementBitsModCount();
+        return this;
+    }
+    
+    /**
+     * Returns {@code true} if an operation of the specified length on this
+     * {@code BitString} and that bit string may be run in parallel: the words of
+     * both can be read and written by separate threads, and, unless the
+     * operation only reads, they are not held in the same storage.
      */
-    public BitString xnor(Field thisField, BitString arg, Field argField) {
-        return xnor(thisField.offset(), thisField.length(this), arg, argField.offset(), argField.length(arg));
+    private boolean isParallelizable(int length, BitString that, boolean readOnly) {
+        if (length < PARALLEL_THRESHOLD) return false;
+        final Object thisWords = this.parallelWordStorage();
+        final Object thatWords = that.parallelWordStorage();
+        return thisWords != null && thatWords != null && (readOnly || thisWords != thatWords);
+    }
+    
+    /**
+     * Applies the specified chunk operation to the substrings of this
+     * {@code BitString} that cover the first 'length' bits, in parallel, and
+     * returns the sum of the results. If 'stopOnNonZero' is {@code true}, chunks
+     * not yet started once any chunk returns a non-zero result are skipped.
+     */
+    private int iParallel(int length, boolean stopOnNonZero, IntBinaryOperator chunkOp) {
+        final AtomicBoolean stop = stopOnNonZero ? new AtomicBoolean() : null;
+        return ForkJoinPool.commonPool().invoke(
+                new ParallelTask(chunkOp, firstWordBitIndex(0), 0, length, stop));
+    }
+    
+    /**
+     * A task that applies a chunk operation, (offset, length) -> result, to a
+     * range of offsets of a bit string, splitting the range in half, at word
+     * boundaries of the bit string, until it is no longer than a chunk.
+     */
+    private static final class ParallelTask extends RecursiveTask<Integer> {
+        
+        /**
+         * 
+         */
+        private static final long serialVersionUID = 5521307427094367180L;
+        
+        private final IntBinaryOperator chunkOp;
+        
+        /**
+         * The index within its word of the bit at offset 0.
+         */
+        private final int firstWordBitIndex;
+        
+        private final int from;
+        
+        private final int to;
+        
+        private final AtomicBoolean stop;
+        
+        ParallelTask(IntBinaryOperator chunkOp, int firstWordBitIndex, int from, int to, AtomicBoolean stop) {
+            this.chunkOp = chunkOp;
+            this.firstWordBitIndex = firstWordBitIndex;
+            this.from = from;
+            this.to = to;
+            this.stop = stop;
+        }
+        
+        @Override
+        protected Integer compute() {
+            int mid = from + ((to - from) >>> 1);
+            mid -= wordBitIndex(firstWordBitIndex + mid);
+            if (to - from <= PARALLEL_CHUNK_BITS || mid <= from) {
+                if (stop != null && stop.get()) return 0;
+                final int result = chunkOp.applyAsInt(from, to - from);
+                if (result != 0 && stop != null) stop.set(true);
+                return result;
+            }
+            final ParallelTask left = new ParallelTask(chunkOp, firstWordBitIndex, from, mid, stop);
+            left.fork();
+            final int right = new ParallelTask(chunkOp, firstWordBitIndex, mid, to, stop).compute();
+            return right + left.join();
+        }
     }
     
     /**
@@ -4861,12 +6493,7 @@ public abstract class BitString implements Cloneable, Serializable  {
     public int numberOfOnes(int offset, int length) {
         checkThisOffset(offset);
         checkThisLength(offset, length);
-        int sum = 0;
-        final int[] iterator = getIterator(offset, length);
-        while (hasNextIteratorWord(iterator)) {
-            sum += Long.bitCount(getNextIteratorFullWord(iterator));
-        }
-        return sum;
+        return iNumberOfOnes(offset, length);
     }
     
     /**
@@ -4884,6 +6511,127 @@ public abstract class BitString implements Cloneable, Serializable  {
         return numberOfOnes(field.offset(), field.length(this));
     }
     
+    /**
+     * Returns the number of {@code ONES} that precede the specified offset of this
+     * {@code BitString}, its rank. The offset may equal the length of this
+     * {@code BitString}, in which case all its {@code ONES} are counted.
+     * <p>
+     * The first call builds a rank index of this {@code BitString}, holding the
+     * number of {@code ONES} before every 512th bit, which takes a sixteenth of
+     * the memory of the bits. The index is used until the bits or the length of
+     * this {@code BitString} change, and is then rebuilt by the next call. With
+     * the index, the rank is found by counting the {@code ONES} of at most eight
+     * words.
+     *
+     * @param offset the offset to count the preceding {@code ONES} of
+     * @return the number of {@code ONES} before the specified offset
+     * @throws StringIndexOutOfBoundsException if
+     *                                         {@code offset < 0 || offset > length()}
+     */
+    public int rank1(int offset) {
+        checkThisPosition(offset);
+        final int block = offset >>> ADDRESS_BITS_PER_RANK_BLOCK;
+        int rank = rankIndex().blockRanks[block];
+        int wordOffset = block << ADDRESS_BITS_PER_RANK_BLOCK;
+        for (; offset - wordOffset >= BITS_PER_WORD; wordOffset += BITS_PER_WORD) {
+            rank += Long.bitCount(getFullWord(wordOffset));
+        }
+        if (offset > wordOffset) {
+            rank += Long.bitCount(getFullWord(wordOffset) >>> (BITS_PER_WORD - (offset - wordOffset)));
+        }
+        return rank;
+    }
+    
+    /**
+     * Returns the offset of the {@code ONE} of this {@code BitString} that is
+     * preceded by exactly 'rank' other {@code ONES}, or -1 if this
+     * {@code BitString} has no more than 'rank' {@code ONES}. So
+     * {@code select1(0)} is the offset of the first {@code ONE}, and
+     * {@code rank1(select1(k)) == k}.
+     * <p>
+     * The rank index described at {@link #rank1(int)} is used, so the offset is
+     * found by a binary search of the index and a scan of at most eight words.
+     *
+     * @param rank the number of {@code ONES} preceding the {@code ONE} to find
+     * @return the offset of the {@code ONE} with the specified rank, or -1
+     * @throws IllegalArgumentException if {@code rank < 0}
+     */
+    public int select1(int rank) {
+        if (rank < 0) throw new IllegalArgumentException("specified rank is negative: " + rank);
+        final int[] blockRanks = rankIndex().blockRanks;
+        final int nBlocks = blockRanks.length - 1;
+        if (rank >= blockRanks[nBlocks]) return -1;
+        
+        // find the last block with fewer than 'rank' + 1 ONES before it
+        int low = 0;
+        int high = nBlocks - 1;
+        while (low < high) {
+            final int mid = (low + high + 1) >>> 1;
+            if (blockRanks[mid] <= rank) low = mid;
+            else high = mid - 1;
+        }
+        
+        int remaining = rank - blockRanks[low];
+        for (int wordOffset = low << ADDRESS_BITS_PER_RANK_BLOCK; ; wordOffset += BITS_PER_WORD) {
+            long word = getFullWord(wordOffset);
+            final int count = Long.bitCount(word);
+            if (remaining < count) {
+                for (; remaining > 0; remaining--) {
+                    word &= ~(BIT_MASK >>> Long.numberOfLeadingZeros(word));
+                }
+                return wordOffset + Long.numberOfLeadingZeros(word);
+            }
+            remaining -= count;
+        }
+    }
+    
+    /**
+     * Returns the rank index of this bit string, building it if there is none
+     * or if the bits or the length of this bit string have changed since it
+     * was built.
+     */
+    private RankIndex rankIndex() {
+        RankIndex index = this.rankIndex;
+        if (index == null || index.bitsModCount != bitsModCount() || index.length != length()) {
+            index = new RankIndex(this);
+            this.rankIndex = index;
+        }
+        return index;
+    }
+    
+    /**
+     * The number of {@code ONES} before each block of 512 bits of a bit string.
+     */
+    private static final class RankIndex {
+        
+        private final long bitsModCount;
+        
+        private final int length;
+        
+        /**
+         * The number of ONES before each block, followed by the number of ONES
+         * in the bit string.
+         */
+        private final int[] blockRanks;
+        
+        RankIndex(BitString bits) {
+            this.bitsModCount = bits.bitsModCount();
+            this.length = bits.length();
+            final int nBlocks = (length == 0) ? 0 : ((length - 1) >>> ADDRESS_BITS_PER_RANK_BLOCK) + 1;
+            this.blockRanks = new int[nBlocks + 1];
+            int rank = 0;
+            for (int block = 0; block < nBlocks; block++) {
+                blockRanks[block] = rank;
+                final int blockOffset = block << ADDRESS_BITS_PER_RANK_BLOCK;
+                final int blockEnd = (int)Math.min(length, (long)blockOffset + BITS_PER_RANK_BLOCK);
+                for (int wordOffset = blockOffset; wordOffset < blockEnd; wordOffset += BITS_PER_WORD) {
+                    rank += Long.bitCount(bits.getFullWord(wordOffset));
+                }
+            }
+            blockRanks[nBlocks] = rank;
+        }
+    }
+    
     /**
      * Returns the number of trailing {@code ONES} of this {@code BitString}.
      * 
@@ -5001,12 +6749,7 @@ public abstract class BitString implements Cloneable, Serializable  {
     public int numberOfZeros(int offset, int length) {
         checkThisOffset(offset);
         checkThisLength(offset, length);
-        int sum = 0;
-        final int[] iterator = getIterator(offset, length);
-        while (hasNextIteratorWord(iterator)) {
-            sum += Long.SIZE - Long.bitCount(getNextIteratorFullWord(iterator));
-        }
-        return sum;
+        return length - iNumberOfOnes(offset, length);
     }
     
     /**
@@ -5650,6 +7393,341 @@ public abstract class BitString implements Cloneable, Serializable  {
         return iOffsetOfLastZero(field.offset(), startOffset+1);
     }
     
+    /**
+     * Returns a stream of the offsets of the {@code ONES} of this
+     * {@code BitString}, in increasing order.
+     * <p>
+     * The stream reads this {@code BitString} a word at a time, and finds the
+     * {@code ONES} of each word without the bounds checks of
+     * {@link #offsetOfNextOne(int)}. Its spliterator splits at word boundaries,
+     * into halves of equal length, so the stream may be made parallel. The
+     * stream is {@code SIZED} if the rank index described at {@link #rank1(int)}
+     * is current when the stream is created. This {@code BitString} must not be
+     * modified while the stream is in use; if it is, the stream throws a
+     * {@code ConcurrentModificationException}, on a best-effort basis.
+     *
+     * @return a stream of the offsets of the {@code ONES} of this
+     *         {@code BitString}
+     */
+    public IntStream onesStream() {
+        return StreamSupport.intStream(new OffsetSpliterator(this, true), false);
+    }
+    
+    /**
+     * Returns a stream of the offsets of the {@code ZEROS} of this
+     * {@code BitString}, in increasing order.
+     * <p>
+     * The stream is made in the same way as the stream of
+     * {@link #onesStream()}.
+     *
+     * @return a stream of the offsets of the {@code ZEROS} of this
+     *         {@code BitString}
+     */
+    public IntStream zerosStream() {
+        return StreamSupport.intStream(new OffsetSpliterator(this, false), false);
+    }
+    
+    /**
+     * Performs the specified action on the offset of each {@code ONE} of this
+     * {@code BitString}, in increasing order.
+     * <p>
+     * The words of this {@code BitString} are read one at a time, and the
+     * {@code ONES} of each word are found by counting its leading zeros and
+     * clearing the bit found, without the bounds checks of
+     * {@link #offsetOfNextOne(int)} or the allocation of an iterator. The action
+     * must not modify this {@code BitString}; if it does, a
+     * {@code ConcurrentModificationException} is thrown once the iteration is
+     * done, on a best-effort basis.
+     *
+     * @param action the action to perform on each offset
+     * @throws NullPointerException if the specified action is null
+     */
+    public void forEachOne(IntConsumer action) {
+        iForEach(action, 0L);
+    }
+    
+    /**
+     * Performs the specified action on the offset of each {@code ZERO} of this
+     * {@code BitString}, in increasing order.
+     * <p>
+     * The iteration is performed in the same way as for
+     * {@link #forEachOne(IntConsumer)}.
+     *
+     * @param action the action to perform on each offset
+     * @throws NullPointerException if the specified action is null
+     */
+    public void forEachZero(IntConsumer action) {
+        iForEach(action, WORD_MASK);
+    }
+    
+    /**
+     * Performs the specified action on each run of consecutive {@code ONES} of
+     * this {@code BitString}, in increasing order. The action is given the
+     * offset of the first {@code ONE} of the run, and the number of
+     * {@code ONES} in the run; a run is never followed directly by another.
+     * <p>
+     * The ends of the runs are found by counting the leading zeros of each word
+     * and of its complement, so words wholly inside or outside a run are
+     * passed over with a single test. The action must not modify this
+     * {@code BitString}, as for {@link #forEachOne(IntConsumer)}.
+     *
+     * @param action the action to perform on the offset and length of each run
+     * @throws NullPointerException if the specified action is null
+     */
+    public void forEachRun(IntIntConsumer action) {
+        Objects.requireNonNull(action);
+        final long expectedBitsModCount = bitsModCount();
+        final int length = length();
+        final int nWords = (length == 0) ? 0 : wordIndex(length - 1) + 1;
+        final int firstBitIndex = bitIndex(0);
+        final long[] array = (wordBitIndex(firstBitIndex) == 0) ? wordArray() : null;
+        final int firstWordIndex = wordIndex(firstBitIndex);
+        final int fullWords = wordIndex(length);
+        int runStart = -1;
+        for (int w = 0; w < nWords; w++) {
+            final int offset = w << ADDRESS_BITS_PER_WORD;
+            final long word = combineAllWord(this, array, firstWordIndex, fullWords, w);
+            int bit = 0;
+            while (bit < BITS_PER_WORD) {
+                if (runStart < 0) {
+                    final long ones = word << bit;
+                    if (ones == 0L) break;
+                    bit += Long.numberOfLeadingZeros(ones);
+                    runStart = offset + bit;
+                }
+                final long zeros = ~word << bit;
+                if (zeros == 0L) break;
+                bit += Long.numberOfLeadingZeros(zeros);
+                action.accept(runStart, offset + bit - runStart);
+                runStart = -1;
+            }
+        }
+        if (runStart >= 0) action.accept(runStart, length - runStart);
+        checkBitsModCount(expectedBitsModCount);
+    }
+    
+    /**
+     * Performs the specified action on the offset of each bit of this bit
+     * string that is set once the bit is XORed with the specified flip.
+     */
+    private void iForEach(IntConsumer action, long flip) {
+        Objects.requireNonNull(action);
+        final long expectedBitsModCount = bitsModCount();
+        final int length = length();
+        final int nWords = (length == 0) ? 0 : wordIndex(length - 1) + 1;
+        final int firstBitIndex = bitIndex(0);
+        final long[] array = (wordBitIndex(firstBitIndex) == 0) ? wordArray() : null;
+        final int firstWordIndex = wordIndex(firstBitIndex);
+        final int fullWords = wordIndex(length);
+        for (int w = 0; w < nWords; w++) {
+            final int offset = w << ADDRESS_BITS_PER_WORD;
+            long word = combineAllWord(this, array, firstWordIndex, fullWords, w) ^ flip;
+            if (w == fullWords) word &= WORD_MASK << (BITS_PER_WORD - (length - offset));
+            while (word != 0L) {
+                final int bit = Long.numberOfLeadingZeros(word);
+                word ^= BIT_MASK >>> bit;
+                action.accept(offset + bit);
+            }
+        }
+        checkBitsModCount(expectedBitsModCount);
+    }
+    
+    private void checkBitsModCount(long expectedBitsModCount) {
+        if (bitsModCount() != expectedBitsModCount) {
+            throw new ConcurrentModificationException();
+        }
+    }
+    
+    /**
+     * Returns the number of {@code ONES} of this bit string if the rank index is
+     * current, otherwise -1.
+     */
+    private int knownNumberOfOnes() {
+        final RankIndex index = this.rankIndex;
+        if (index == null || index.bitsModCount != bitsModCount() || index.length != length()) return -1;
+        return index.blockRanks[index.blockRanks.length - 1];
+    }
+    
+    /**
+     * A spliterator of the offsets of the {@code ONES}, or of the
+     * {@code ZEROS}, of a bit string, that covers a range of the words of the
+     * bit string and is split by halving the range.
+     */
+    private static final class OffsetSpliterator implements Spliterator.OfInt {
+    
+        private final BitString bits;
+    
+        private final boolean ones;
+    
+        /**
+         * The backing array of the bit string if its first bit is the first bit
+         * of a word of the array, otherwise {@code null}.
+         */
+        private final long[] array;
+    
+        private final int firstWordIndex;
+    
+        /**
+         * The number of whole words of the bit string.
+         */
+        private final int fullWords;
+    
+        private final long expectedBitsModCount;
+    
+        /**
+         * The offset past the last bit covered.
+         */
+        private final int fence;
+    
+        /**
+         * The index past the last word covered.
+         */
+        private final int fenceWord;
+    
+        /**
+         * The index of the next word to read.
+         */
+        private int nextWord;
+    
+        /**
+         * The offsets not yet reported of the last word read, as set bits.
+         */
+        private long word;
+    
+        /**
+         * The offset of the first bit of the last word read.
+         */
+        private int wordOffset;
+    
+        /**
+         * The number of offsets not yet reported, or -1 if it is not known.
+         */
+        private int size;
+    
+        OffsetSpliterator(BitString bits, boolean ones) {
+            this.bits = bits;
+            this.ones = ones;
+            final int firstBitIndex = bits.bitIndex(0);
+            if (wordBitIndex(firstBitIndex) == 0) {
+                this.array = bits.wordArray();
+                this.firstWordIndex = wordIndex(firstBitIndex);
+            } else {
+                this.array = null;
+                this.firstWordIndex = 0;
+            }
+            final int length = bits.length();
+            this.fullWords = wordIndex(length);
+            this.expectedBitsModCount = bits.bitsModCount();
+            this.fence = length;
+            this.fenceWord = (length == 0) ? 0 : wordIndex(length - 1) + 1;
+            final int numberOfOnes = bits.knownNumberOfOnes();
+            this.size = (numberOfOnes < 0) ? -1 : ones ? numberOfOnes : length - numberOfOnes;
+        }
+    
+        private OffsetSpliterator(OffsetSpliterator parent, int fenceWord, int size) {
+            this.bits = parent.bits;
+            this.ones = parent.ones;
+            this.array = parent.array;
+            this.firstWordIndex = parent.firstWordIndex;
+            this.fullWords = parent.fullWords;
+            this.expectedBitsModCount = parent.expectedBitsModCount;
+            this.fence = fenceWord << ADDRESS_BITS_PER_WORD;
+            this.fenceWord = fenceWord;
+            this.nextWord = parent.nextWord;
+            this.word = parent.word;
+            this.wordOffset = parent.wordOffset;
+            this.size = size;
+        }
+    
+        /**
+         * Reads the word with the specified index, with its ZEROS set instead if
+         * offsets of ZEROS are reported, and the bits past the fence cleared.
+         */
+        private long readWord(int w) {
+            final int offset = w << ADDRESS_BITS_PER_WORD;
+            long bitsOfWord = (array != null && w < fullWords)
+                    ? array[firstWordIndex + w]
+                    : bits.getFullWord(offset);
+            if (!ones) bitsOfWord = ~bitsOfWord;
+            final int n = fence - offset;
+            if (n < BITS_PER_WORD) bitsOfWord &= WORD_MASK << (BITS_PER_WORD - n);
+            return bitsOfWord;
+        }
+    
+        @Override
+        public boolean tryAdvance(IntConsumer action) {
+            Objects.requireNonNull(action);
+            while (word == 0L) {
+                if (nextWord >= fenceWord) return false;
+                bits.checkBitsModCount(expectedBitsModCount);
+                wordOffset = nextWord << ADDRESS_BITS_PER_WORD;
+                word = readWord(nextWord++);
+            }
+            final int bit = Long.numberOfLeadingZeros(word);
+            word ^= BIT_MASK >>> bit;
+            if (size > 0) size--;
+            action.accept(wordOffset + bit);
+            return true;
+        }
+    
+        @Override
+        public void forEachRemaining(IntConsumer action) {
+            Objects.requireNonNull(action);
+            long w = word;
+            int offset = wordOffset;
+            int next = nextWord;
+            word = 0L;
+            nextWord = fenceWord;
+            if (size > 0) size = 0;
+            for (;;) {
+                while (w != 0L) {
+                    final int bit = Long.numberOfLeadingZeros(w);
+                    w ^= BIT_MASK >>> bit;
+                    action.accept(offset + bit);
+                }
+                if (next >= fenceWord) break;
+                offset = next << ADDRESS_BITS_PER_WORD;
+                w = readWord(next++);
+            }
+            bits.checkBitsModCount(expectedBitsModCount);
+        }
+    
+        @Override
+        public OfInt trySplit() {
+            final int mid = (nextWord + fenceWord) >>> 1;
+            if (mid <= nextWord) return null;
+            int prefixSize = -1;
+            if (size >= 0) {
+                final int midOffset = mid << ADDRESS_BITS_PER_WORD;
+                final int suffixOnes = bits.rank1(fence) - bits.rank1(midOffset);
+                final int suffixSize = ones ? suffixOnes : fence - midOffset - suffixOnes;
+                prefixSize = size - suffixSize;
+                size = suffixSize;
+            }
+            final OffsetSpliterator prefix = new OffsetSpliterator(this, mid, prefixSize);
+            nextWord = mid;
+            word = 0L;
+            return prefix;
+        }
+    
+        @Override
+        public long estimateSize() {
+            if (size >= 0) return size;
+            return Long.bitCount(word) + ((long)(fenceWord - nextWord) << ADDRESS_BITS_PER_WORD);
+        }
+    
+        @Override
+        public int characteristics() {
+            final int characteristics = ORDERED | DISTINCT | SORTED | NONNULL;
+            return (size >= 0) ? characteristics | SIZED | SUBSIZED : characteristics;
+        }
+    
+        @Override
+        public Comparator<? super Integer> getComparator() {
+            return null;
+        }
+    }
+    
     public BitString range(int offset) {
         checkThisOffset(offset);
         return range(offset, length() - offset);
@@ -6888,6 +8966,122 @@ public abstract class BitString implements Cloneable, Serializable  {
         return toByteArray(field.offset(), field.length(this));
     }
     
+    /**
+     * Writes all the bits of this {@code BitString} to the specified byte buffer,
+     * at its position, as the bytes of {@link #toByteArray()}, and advances the
+     * position of the buffer past them.
+     * <p>
+     * The bits are written in big-endian order whatever the order of the buffer,
+     * the last byte padded on the right with {@code ZEROS}. When this
+     * {@code BitString} is backed by an array of words and starts on a word
+     * boundary, its whole words are copied to a {@code LongBuffer} view of the
+     * buffer in bulk, without building a byte array first.
+     *
+     * @param dst the buffer to write the bits to
+     * @return this {@code BitString}
+     * @throws java.nio.BufferOverflowException if fewer than
+     *                                          {@code (length()+7)/8} bytes
+     *                                          remain in the buffer
+     * @throws java.nio.ReadOnlyBufferException if the buffer is read-only
+     */
+    public BitString writeTo(ByteBuffer dst) {
+        final int length = length();
+        if (dst.remaining() < byteCount(length)) throw new BufferOverflowException();
+        final ByteBuffer bb = dst.duplicate().order(ByteOrder.BIG_ENDIAN);
+        iWriteTo(bb, 0, length);
+        dst.position(bb.position());
+        return this;
+    }
+    
+    /**
+     * Writes all the bits of this {@code BitString} to the specified channel, as
+     * the bytes of {@link #toByteArray()}.
+     * <p>
+     * The bits are written through a buffer of at most 8 KiB, filled as by
+     * {@link #writeTo(ByteBuffer)}, so no copy of the whole {@code BitString}
+     * is made.
+     *
+     * @param ch the channel to write the bits to
+     * @return this {@code BitString}
+     * @throws IOException if an I/O error occurs
+     */
+    public BitString writeTo(WritableByteChannel ch) throws IOException {
+        final int length = length();
+        final ByteBuffer buffer = ByteBuffer.allocate(Math.min(byteCount(length), CHANNEL_BUFFER_BITS / Byte.SIZE));
+        for (int offset = 0; offset < length; ) {
+            final int n = Math.min(CHANNEL_BUFFER_BITS, length - offset);
+            buffer.clear();
+            iWriteTo(buffer, offset, n);
+            buffer.flip();
+            while (buffer.hasRemaining()) ch.write(buffer);
+            offset += n;
+        }
+        return this;
+    }
+    
+    /**
+     * Replaces all the bits of this {@code BitString} with bits read from the
+     * specified byte buffer, at its position, and advances the position of the
+     * buffer past them. The length of this {@code BitString} is unchanged, and
+     * {@code (length()+7)/8} bytes are read, in the format written by
+     * {@link #writeTo(ByteBuffer)}; the bits of the last byte past the end of
+     * this {@code BitString} are ignored.
+     * <p>
+     * When this {@code BitString} is backed by an array of words and starts on
+     * a word boundary, its whole words are copied from a {@code LongBuffer}
+     * view of the buffer in bulk.
+     *
+     * @param src the buffer to read the bits from
+     * @return this {@code BitString}
+     * @throws java.nio.BufferUnderflowException if fewer than
+     *                                           {@code (length()+7)/8} bytes
+     *                                           remain in the buffer
+     */
+    public BitString readFrom(ByteBuffer src) {
+        final int length = length();
+        if (src.remaining() < byteCount(length)) throw new BufferUnderflowException();
+        final ByteBuffer bb = src.duplicate().order(ByteOrder.BIG_ENDIAN);
+        iReadFrom(bb, 0, length);
+        src.position(bb.position());
+        return this;
+    }
+    
+    /**
+     * Sets the length of this {@code BitString} to the specified number of bits,
+     * and replaces all its bits with bits read from the specified channel, in
+     * the format written by {@link #writeTo(WritableByteChannel)}.
+     * <p>
+     * Exactly {@code (nBits+7)/8} bytes are read, through a buffer of at most
+     * 8 KiB. The channel should be in blocking mode. If the channel reaches its
+     * end first, an {@code EOFException} is thrown, and the bits not yet read
+     * are left as they were.
+     *
+     * @param ch    the channel to read the bits from
+     * @param nBits the new length of this {@code BitString}
+     * @return this {@code BitString}
+     * @throws IOException              if an I/O error occurs
+     * @throws java.io.EOFException     if the channel reaches its end before
+     *                                  all the bits are read
+     * @throws IllegalArgumentException if {@code nBits < 0}
+     */
+    public BitString readFrom(ReadableByteChannel ch, int nBits) throws IOException {
+        if (nBits < 0) throw new IllegalArgumentException("specified number of bits is negative: " + nBits);
+        setLength(nBits);
+        final ByteBuffer buffer = ByteBuffer.allocate(Math.min(byteCount(nBits), CHANNEL_BUFFER_BITS / Byte.SIZE));
+        for (int offset = 0; offset < nBits; ) {
+            final int n = Math.min(CHANNEL_BUFFER_BITS, nBits - offset);
+            buffer.clear();
+            buffer.limit(byteCount(n));
+            while (buffer.hasRemaining()) {
+                if (ch.read(buffer) < 0) throw new EOFException("channel ended after " + (offset / Byte.SIZE + buffer.position()) + " bytes");
+            }
+            buffer.flip();
+            iReadFrom(buffer, offset, n);
+            offset += n;
+        }
+        return this;
+    }
+    
     /**
      * Returns a new char array containing all the bits in this BitString.
      * <p>
@@ -7368,16 +9562,16 @@ public abstract class BitString implements Cloneable, Serializable  {
         checkThisOffset(offset);
         checkThisLength(offset, length);
         if (length == 0) return "";
-        final StringBuilder string = new StringBuilder(length);
-        final int[] iterator = getIterator(offset, length);
-        while (hasNextIteratorWord(iterator)) {
-            final long word = getNextIteratorFullWord(iterator);
-            String wordString = String.format("%64s", Long.toBinaryString(word)).replace(' ', '0');
-            final int wordBitCount = getIteratorWordBitCount(iterator);
-            if (wordBitCount < BITS_PER_WORD) wordString = wordString.substring(0, wordBitCount);
-            string.append(wordString);
+        final char[] string = new char[length];
+        int index = 0;
+        final WordCursor cursor = new WordCursor(offset, length);
+        while (cursor.hasNext()) {
+            long word = cursor.nextFullWord();
+            for (int count = cursor.wordBitCount(); count > 0; count--, word <<= 1) {
+                string[index++] = (word < 0L) ? '1' : '0';
+            }
         }
-        return string.toString();
+        return new String(string);
     }
     
     /**
@@ -7418,10 +9612,11 @@ public abstract class BitString implements Cloneable, Serializable  {
     @Override
     public int hashCode() {
         long hashcode = 1234;
-        final int[] iterator = getIterator();
-        while (hasNextIteratorWord(iterator)) {
-            final long word = getNextIteratorFullWord(iterator);
-            hashcode ^= word * (getIteratorWordIndex(iterator) + 1);
+        int index = 0;
+        final WordCursor cursor = new WordCursor(0, length());
+        while (cursor.hasNext()) {
+            final long word = cursor.nextFullWord();
+            hashcode ^= word * (++index);
         }
         return (int)((hashcode >> 32) ^ hashcode);
     }
@@ -7552,6 +9747,11 @@ public abstract class BitString implements Cloneable, Serializable  {
             throwCanNotBeModifiedException();
         }
         
+        @Override
+        Object parallelWordStorage() {
+            return this;
+        }
+        
         private String noCapacityMsg() {
             return "BitString Constants have no actual capacity";
         }
@@ -7639,6 +9839,30 @@ public abstract class BitString implements Cloneable, Serializable  {
             base.setWord(wordIndex, word);
         }
         
+        @Override
+        long[] wordArray() {
+            checkForModificationException();
+            return base.wordArray();
+        }
+        
+        @Override
+        void getWords(int wordIndex, long[] dst, int dstFrom, int count) {
+            checkForModificationException();
+            base.getWords(wordIndex, dst, dstFrom, count);
+        }
+        
+        @Override
+        void setWords(int wordIndex, long[] src, int srcFrom, int count) {
+            checkForModificationException();
+            base.setWords(wordIndex, src, srcFrom, count);
+        }
+        
+        @Override
+        Object parallelWordStorage() {
+            checkForModificationException();
+            return base.parallelWordStorage();
+        }
+        
         @Override
         void resizeBackingArray(int capacity) {
             base.resizeBackingArray(capacity);
@@ -7696,6 +9920,16 @@ public abstract class BitString implements Cloneable, Serializable  {
             return base.modCount();
         }
         
+        @Override
+        long bitsModCount() {
+            return base.bitsModCount();
+        }
+        
+        @Override
+        void incrementBitsModCount() {
+            base.incrementBitsModCount();
+        }
+        
         private void updateExpectantModCountAndLength(int lengthDelta) {
             this.stringLength += lengthDelta;
             this.expectantModCount = modCount();
@@ -164,7 +164,7 @@ public interface BufferedBitString {
     
     public long getLong(int offset);
 
-    public Long[] getLongArray(int offset, int count);
+    public long[] getLongArray(int offset, int count);
     
     public short getShort(int offset);
 
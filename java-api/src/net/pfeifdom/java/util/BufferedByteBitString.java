@@ -42,15 +42,40 @@ import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 
-public class BufferedByteBitString extends ByteBitString implements BufferedBitString {
+/**
+ * A {@code BitString} whose bits are the bytes of a {@code ByteBuffer}, read
+ * and written in place.
+ * 
+ * <p>
+ * Words are read and written with the buffer's absolute {@code getLong} and
+ * {@code putLong}, so any kind of byte buffer can be used, including direct,
+ * mapped and read-only buffers; the bytes are never copied into a heap array.
+ * Modifying the bits of a bit string backed by a read-only buffer throws a
+ * {@code ReadOnlyBufferException}.
+ * <p>
+ * In {@code ABSOLUTE} mode the bit string starts at index 0 of the buffer and
+ * its length is initially the buffer's limit. In {@code RELATIVE} mode the bit
+ * string is the buffer's remaining bytes, between its position and its limit.
+ */
+public class BufferedByteBitString extends BitString implements BufferedBitString {
     
     /**
      * 
      */
     private static final long serialVersionUID = -4473224767145978262L;
     
-    private final ByteBuffer buffer;
+    private static final int ADDRESS_BYTES_PER_WORD = 3;
+    
+    private ByteBuffer buffer;
+    
+    /**
+     * A big-endian duplicate of the buffer, spanning its whole capacity, used to
+     * read and write words with absolute indexes, independent of the buffer's
+     * position, limit and byte order.
+     */
+    private ByteBuffer words;
     
     private Mode mode;
     
@@ -62,11 +87,12 @@ public class BufferedByteBitString extends ByteBitString implements BufferedBitS
     }
     
     public BufferedByteBitString(ByteBuffer bb, Mode mode) {
-        super(bb.array(), bb.limit() * Byte.SIZE);
+        super((bb.limit() == MAX_BYTES) ? Integer.MAX_VALUE : bb.limit() * Byte.SIZE);
+        if (bb.capacity() > MAX_BYTES) throw new IllegalArgumentException("ByteBuffer is too large");
         this.buffer = bb;
-        //checkNewBitStringLength(bb.array().length * (long)Byte.SIZE);
-        if (bb.array().length > MAX_BYTES) throw new IllegalArgumentException("ByteBuffer's array is too large");
-        //if (bb.array().length == MAX_BYTES) stringLength = Integer.MAX_VALUE;
+        final ByteBuffer words = bb.duplicate();
+        words.clear();
+        this.words = words.order(ByteOrder.BIG_ENDIAN);
         this.mode = mode;
         this.expectantPosition = buffer.position();
         this.expectantLimit = buffer.limit();
@@ -80,7 +106,6 @@ public class BufferedByteBitString extends ByteBitString implements BufferedBitS
         if (newMode == mode()) return;
         switch (newMode) {
         case ABSOLUTE:
-            //stringLength = (buffer.arrayOffset() + buffer.limit()) * Byte.SIZE;
             stringLength = absPosition();
             break;
         case RELATIVE:
@@ -92,19 +117,44 @@ public class BufferedByteBitString extends ByteBitString implements BufferedBitS
         incrementModCount();
     }
     
+    @Override
+    BitString newBitString(int length) {
+        return new ByteBitString(length);
+    }
+    
     @Override
     void resizeBackingArray(int capacity) {
-        final int newLength = byteIndex(capacity-1) + 1;
-        final int currentLength = byteIndex(capacity()-1) + 1;
-        if (newLength == currentLength) return;
+        final int newLength = ByteBitString.byteIndex(capacity-1) + 1;
+        if (newLength == buffer.capacity()) return;
         throw new UnsupportedOperationException("The capacity of Buffered BitStrings cannot be changed");
     }
     
+    /**
+     * Cloning this {@code BufferedByteBitString} produces a new
+     * {@code BufferedByteBitString}, equal to it, that is backed by a copy of
+     * its buffer. The copy has the same capacity, position, limit and byte order
+     * as the buffer, is direct if the buffer is direct, and is read-only if the
+     * buffer is read-only.
+     *
+     * @return a clone of this bit string
+     */
     @Override
     public BufferedByteBitString clone() {
-        //return (BufferedByteBitString) super.clone();
-        return new BufferedByteBitString(buffer);
-        //throw new CloneNotSupportedException();
+        final BufferedByteBitString clone = (BufferedByteBitString) super.clone();
+        final ByteBuffer words = this.words.duplicate();
+        words.clear();
+        final ByteBuffer copy = buffer.isDirect()
+                ? ByteBuffer.allocateDirect(words.capacity())
+                : ByteBuffer.allocate(words.capacity());
+        copy.put(words);
+        copy.limit(buffer.limit());
+        copy.position(buffer.position());
+        clone.buffer = buffer.isReadOnly() ? copy.asReadOnlyBuffer() : copy;
+        clone.buffer.order(buffer.order());
+        clone.words = clone.buffer.duplicate();
+        clone.words.clear();
+        clone.words.order(ByteOrder.BIG_ENDIAN);
+        return clone;
     }
     
     private void writeObject(ObjectOutputStream stream)
@@ -127,12 +177,17 @@ public class BufferedByteBitString extends ByteBitString implements BufferedBitS
         return buffer.limit();
     }
     
+    /**
+     * Set the limit of the buffer so that its remaining bytes hold the specified
+     * number of bits.
+     */
     private void setLimit(int length) {
-        buffer.limit(byteIndex(length - 1) + 1);
+        buffer.limit(buffer.position() + ((length == 0) ? 0 : ByteBitString.byteIndex(length - 1) + 1));
+        this.expectantLimit = buffer.limit();
     }
     
     private int absPosition() {
-        return (buffer.arrayOffset() + buffer.position()) * Byte.SIZE;
+        return buffer.position() * Byte.SIZE;
     }
     
     private void checkForBufferMods() {
@@ -144,19 +199,25 @@ public class BufferedByteBitString extends ByteBitString implements BufferedBitS
     @Override
     public int position() {
         if (mode == Mode.ABSOLUTE) {
-            final int position = buffer.position() + buffer.arrayOffset();
+            final int position = buffer.position();
             return (position == MAX_BYTES) ? Integer.MAX_VALUE : position * Byte.SIZE;
         }
         checkForBufferMods();
         return 0;
     }
     
+    /**
+     * Returns the capacity of the whole buffer, in bits.
+     */
+    private int bufferCapacity() {
+        return (buffer.capacity() == MAX_BYTES) ? Integer.MAX_VALUE : buffer.capacity() * Byte.SIZE;
+    }
+    
     @Override
     public int capacity() {
-        if (mode == Mode.ABSOLUTE) return super.capacity();
-        //return super.capacity() - (buffer.arrayOffset() + buffer.position()) * Byte.SIZE;
+        if (mode == Mode.ABSOLUTE) return bufferCapacity();
         checkForBufferMods();
-        return super.capacity() - absPosition();
+        return bufferCapacity() - absPosition();
     }
     
     @Override
@@ -179,28 +240,56 @@ public class BufferedByteBitString extends ByteBitString implements BufferedBitS
             if (newLength == this.length()) return;
             if (newLength < 0) throw new IllegalArgumentException("specified length is negative: " + newLength);
             ensureCapacity(newLength);
-            setLimit((newLength == 0) ? 0 : (newLength - 1) / Byte.SIZE + 1);
             final int oldLength = this.length();
-            if (newLength > oldLength) iClear(oldLength, newLength - oldLength);
+            setLimit(newLength);
+            if (newLength > oldLength) iClear(oldLength, this.length() - oldLength);
             if (newLength < oldLength) incrementModCount(); // do not invalidate Ranges if appending  
         }
     }
     
-//    @Override
-//    void setRangeLength(int lengthDelta, int bitIndex) {
-//        if (mode == Mode.ABSOLUTE) {
-//            super.setRangeLength(lengthDelta, bitIndex);
-//        } else {
-//            setLimit(length() + lengthDelta);
-//        }
-//    }
-    
     @Override
     int bitIndex(int offset) {
         if (mode == Mode.ABSOLUTE) return super.bitIndex(offset);
-        //return super.bitIndex((buffer.arrayOffset() + buffer.position()) * Byte.SIZE + offset);
         checkForBufferMods();
         return super.bitIndex(absPosition() + offset);
     }
+    
+    @Override
+    long getWord(int wordIndex) {
+        final int index = wordIndex << ADDRESS_BYTES_PER_WORD;
+        assert wordIndex >= 0 && index < words.capacity();
+        if (index + Long.BYTES <= words.capacity()) return words.getLong(index);
+        
+        // the last word extends past the end of the buffer
+        long word = 0L;
+        for (int byteIndex = index, shift = Long.SIZE - Byte.SIZE;
+                byteIndex < words.capacity();
+                byteIndex++, shift -= Byte.SIZE) {
+            word |= (words.get(byteIndex) & 0xFFL) << shift;
+        }
+        return word;
+    }
+    
+    @Override
+    void setWord(int wordIndex, long word) {
+        final int index = wordIndex << ADDRESS_BYTES_PER_WORD;
+        assert wordIndex >= 0 && index < words.capacity();
+        if (index + Long.BYTES <= words.capacity()) {
+            words.putLong(index, word);
+            return;
+        }
+        
+        // the last word extends past the end of the buffer
+        for (int byteIndex = index, shift = Long.SIZE - Byte.SIZE;
+                byteIndex < words.capacity();
+                byteIndex++, shift -= Byte.SIZE) {
+            words.put(byteIndex, (byte)(word >>> shift));
+        }
+    }
+    
+    @Override
+    Object parallelWordStorage() {
+        return buffer;
+    }
 
 }
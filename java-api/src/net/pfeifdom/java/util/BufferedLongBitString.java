@@ -0,0 +1,280 @@
+/* Copyright (C) 2026 James R. Pfeifer. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * General Public License for more details (a copy is included in the
+ * LICENSE file that accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this work.  If not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ * 
+ * Linking this library statically or dynamically with other modules is
+ * making a combined work based on this library.  Thus, the terms and
+ * conditions of the GNU General Public License cover the whole
+ * combination.
+ *
+ * As a special exception, the copyright holders of this library give you
+ * permission to link this library with independent modules to produce an
+ * executable, regardless of the license terms of these independent
+ * modules, and to copy and distribute the resulting executable under
+ * terms of your choice, provided that you also meet, for each linked
+ * independent module, the terms and conditions of the license of that
+ * module.  An independent module is a module which is not derived from
+ * or based on this library.  If you modify this library, you may extend
+ * this exception to your version of the library, but you are not
+ * obligated to do so.  If you do not wish to do so, delete this
+ * exception statement from your version.
+ *
+ * Please contact James Pfeifer at james@pfeifdom.net if you need additional
+ * information or have any questions.
+ */
+
+package net.pfeifdom.java.util;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+
+/**
+ * A {@code BitString} whose words are the elements of a {@code LongBuffer},
+ * read and written in place.
+ * 
+ * <p>
+ * Each word of the bit string is one element of the buffer, so wrapping a
+ * buffer copies nothing, and heap, direct and mapped buffers can all be used.
+ * Modifying the bits of a bit string backed by a read-only buffer throws a
+ * {@code ReadOnlyBufferException}.
+ * <p>
+ * In {@code ABSOLUTE} mode the bit string starts at index 0 of the buffer and
+ * its length is initially the buffer's limit, in bits. In {@code RELATIVE} mode
+ * the bit string is the buffer's remaining elements, between its position and
+ * its limit.
+ */
+public class BufferedLongBitString extends BitString implements BufferedBitString {
+    
+    /**
+     * 
+     */
+    private static final long serialVersionUID = 2516440387951260893L;
+    
+    private LongBuffer buffer;
+    
+    /**
+     * A duplicate of the buffer, spanning its whole capacity, used to read and
+     * write words with absolute indexes, independent of the buffer's position
+     * and limit.
+     */
+    private LongBuffer words;
+    
+    private Mode mode;
+    
+    private int expectantPosition;
+    private int expectantLimit;
+    
+    public BufferedLongBitString(LongBuffer lb) {
+        this(lb, Mode.ABSOLUTE);
+    }
+    
+    public BufferedLongBitString(LongBuffer lb, Mode mode) {
+        super((lb.limit() == MAX_LONGS) ? Integer.MAX_VALUE : lb.limit() * Long.SIZE);
+        if (lb.capacity() > MAX_LONGS) throw new IllegalArgumentException("LongBuffer is too large");
+        this.buffer = lb;
+        final LongBuffer words = lb.duplicate();
+        words.clear();
+        this.words = words;
+        this.mode = mode;
+        this.expectantPosition = buffer.position();
+        this.expectantLimit = buffer.limit();
+    }
+    
+    public Mode mode() {
+        return this.mode;
+    }
+    
+    public void setMode(Mode newMode) {
+        if (newMode == mode()) return;
+        switch (newMode) {
+        case ABSOLUTE:
+            stringLength = absPosition();
+            break;
+        case RELATIVE:
+            break;
+        default:
+            throw new InternalError("unhandled BufferedBitString.Mode: " + newMode.toString());
+        }
+        this.mode = newMode;
+        incrementModCount();
+    }
+    
+    @Override
+    BitString newBitString(int length) {
+        return new LongBitString(length);
+    }
+    
+    @Override
+    void resizeBackingArray(int capacity) {
+        final int newLength = LongBitString.longIndex(capacity-1) + 1;
+        if (newLength == buffer.capacity()) return;
+        throw new UnsupportedOperationException("The capacity of Buffered BitStrings cannot be changed");
+    }
+    
+    /**
+     * Cloning this {@code BufferedLongBitString} produces a new
+     * {@code BufferedLongBitString}, equal to it, that is backed by a copy of
+     * its buffer. The copy has the same capacity, position, limit and byte order
+     * as the buffer, is direct if the buffer is direct, and is read-only if the
+     * buffer is read-only.
+     *
+     * @return a clone of this bit string
+     */
+    @Override
+    public BufferedLongBitString clone() {
+        final BufferedLongBitString clone = (BufferedLongBitString) super.clone();
+        final LongBuffer words = this.words.duplicate();
+        words.clear();
+        final LongBuffer copy = buffer.isDirect()
+                ? ByteBuffer.allocateDirect(words.capacity() * Long.BYTES).order(buffer.order()).asLongBuffer()
+                : LongBuffer.allocate(words.capacity());
+        copy.put(words);
+        copy.limit(buffer.limit());
+        copy.position(buffer.position());
+        clone.buffer = buffer.isReadOnly() ? copy.asReadOnlyBuffer() : copy;
+        clone.words = clone.buffer.duplicate();
+        clone.words.clear();
+        return clone;
+    }
+    
+    private void writeObject(ObjectOutputStream stream)
+        throws IOException {
+        throw new java.io.InvalidObjectException("not serializable");
+    }
+
+    private void readObject(ObjectInputStream stream)
+        throws IOException, ClassNotFoundException {
+        throw new java.io.InvalidObjectException("not serializable");
+    }
+    
+    @Override
+    public LongBuffer buffer() {
+        return buffer;
+    }
+    
+    @Override
+    public int limit() {
+        return buffer.limit();
+    }
+    
+    /**
+     * Set the limit of the buffer so that its remaining elements hold the
+     * specified number of bits.
+     */
+    private void setLimit(int length) {
+        buffer.limit(buffer.position() + ((length == 0) ? 0 : LongBitString.longIndex(length - 1) + 1));
+        this.expectantLimit = buffer.limit();
+    }
+    
+    private int absPosition() {
+        return buffer.position() * Long.SIZE;
+    }
+    
+    private void checkForBufferMods() {
+        if (buffer.position() != this.expectantPosition || buffer.limit() != this.expectantLimit) incrementModCount();
+        this.expectantPosition = buffer.position();
+        this.expectantLimit = buffer.limit();
+    }
+    
+    @Override
+    public int position() {
+        if (mode == Mode.ABSOLUTE) {
+            final int position = buffer.position();
+            return (position == MAX_LONGS) ? Integer.MAX_VALUE : position * Long.SIZE;
+        }
+        checkForBufferMods();
+        return 0;
+    }
+    
+    /**
+     * Returns the capacity of the whole buffer, in bits.
+     */
+    private int bufferCapacity() {
+        return (buffer.capacity() == MAX_LONGS) ? Integer.MAX_VALUE : buffer.capacity() * Long.SIZE;
+    }
+    
+    @Override
+    public int capacity() {
+        if (mode == Mode.ABSOLUTE) return bufferCapacity();
+        checkForBufferMods();
+        return bufferCapacity() - absPosition();
+    }
+    
+    @Override
+    public int length() {
+        if (mode == Mode.ABSOLUTE) return super.length();
+        checkForBufferMods();
+        return (buffer.remaining() == MAX_LONGS) ? Integer.MAX_VALUE : buffer.remaining() * Long.SIZE;
+    }
+    
+    @Override
+    int baseLength() {
+        return length();
+    }
+    
+    @Override
+    public void setLength(int newLength) {
+        if (mode == Mode.ABSOLUTE) {
+            super.setLength(newLength);
+        } else {
+            if (newLength == this.length()) return;
+            if (newLength < 0) throw new IllegalArgumentException("specified length is negative: " + newLength);
+            ensureCapacity(newLength);
+            final int oldLength = this.length();
+            setLimit(newLength);
+            if (newLength > oldLength) iClear(oldLength, this.length() - oldLength);
+            if (newLength < oldLength) incrementModCount(); // do not invalidate Ranges if appending  
+        }
+    }
+    
+    @Override
+    int bitIndex(int offset) {
+        if (mode == Mode.ABSOLUTE) return super.bitIndex(offset);
+        checkForBufferMods();
+        return super.bitIndex(absPosition() + offset);
+    }
+    
+    /**
+     * Returns the array backing a writable heap buffer, when its elements line up
+     * with the words of this bit string, so that the array fast paths of
+     * {@code BitString} can be used.
+     */
+    @Override
+    long[] wordArray() {
+        return (words.hasArray() && words.arrayOffset() == 0) ? words.array() : null;
+    }
+    
+    @Override
+    long getWord(int wordIndex) {
+        assert wordIndex >= 0 && wordIndex < words.capacity();
+        return words.get(wordIndex);
+    }
+    
+    @Override
+    void setWord(int wordIndex, long word) {
+        assert wordIndex >= 0 && wordIndex < words.capacity();
+        words.put(wordIndex, word);
+    }
+    
+    @Override
+    Object parallelWordStorage() {
+        return buffer;
+    }
+
+}
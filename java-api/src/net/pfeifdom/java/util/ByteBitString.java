@@ -38,6 +38,10 @@
 
 package net.pfeifdom.java.util;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.nio.ByteBuffer;
 import java.nio.LongBuffer;
 import java.util.Arrays;
@@ -53,9 +57,26 @@ public class ByteBitString extends BitString {
     private static final int ADDRESS_BITS_PER_WORD = 3;
     
     /**
-     * The internal field corresponding to the serialField "bits".
+     * The serializable fields of {@code ByteBitString}.
+     *
+     * @serialField backingArray byte[] always {@code null} since version 1 of
+     *              the compact serial format, after which the bits are written
+     *              in blocks; holds the whole backing array in streams written
+     *              before it
+     */
+    private static final ObjectStreamField[] serialPersistentFields = {
+        new ObjectStreamField("backingArray", byte[].class)
+    };
+    
+    /**
+     * The internal field corresponding to the serialField "backingArray".
+     */
+    private transient byte[] backingArray;
+    
+    /**
+     * A big-endian view of the backing array; see {@link #wordView()}.
      */
-    private byte[] backingArray;
+    private transient ByteBuffer wordView;
 
     /**
      * Creates a new {@code BitString} of length 0. The capacity of the new
@@ -155,6 +176,46 @@ public class ByteBitString extends BitString {
 //        }
 //    }
     
+    /**
+     * Saves the state of this {@code ByteBitString} to a stream (that is, serializes
+     * it).
+     *
+     * @param stream stream to save the state of this instance
+     * @throws IOException I/O error occurred while writing to stream
+     * @serialData The {@code backingArray} field is written as {@code null},
+     *             followed by the bits of this bit string, up to its length, in
+     *             the compact block format of version 1: the format version
+     *             (byte), then a tag (byte) for each block of 4096 bits followed
+     *             by the block as a list of offsets, a list of runs or its bytes,
+     *             whichever is smallest, or by nothing if the block is all
+     *             {@code ZEROS} or all {@code ONES}.
+     */
+    private void writeObject(ObjectOutputStream stream) throws IOException {
+        stream.putFields().put("backingArray", null);
+        stream.writeFields();
+        writeBlocks(stream);
+    }
+    
+    /**
+     * Reconstitutes this {@code ByteBitString} from a stream (that is, deserializes
+     * it). The backing array is sized to the length of the bit string, and a
+     * stream written before the compact block format is still read.
+     *
+     * @param stream stream to be deserialized
+     * @throws ClassNotFoundException Class of a serialized object cannot be found.
+     * @throws IOException            I/O error occurred while reading from stream
+     */
+    private void readObject(ObjectInputStream stream)
+            throws IOException, ClassNotFoundException {
+        final byte[] backingArray = (byte[]) stream.readFields().get("backingArray", null);
+        if (backingArray != null) {
+            this.backingArray = backingArray;
+            return;
+        }
+        initBackingArray(length());
+        readBlocks(stream);
+    }
+    
     /**
      * Returns a new BitString containing all the bits in the given boolean array.
      * <p>
@@ -419,10 +480,26 @@ public class ByteBitString extends BitString {
         return bitIndex >> ADDRESS_BITS_PER_WORD;
     }
     
+    /**
+     * Returns a big-endian {@code ByteBuffer} view of the backing array, used to
+     * read and write whole words with a single {@code getLong}/{@code putLong}.
+     * The view is recreated whenever the backing array is replaced.
+     */
+    private ByteBuffer wordView() {
+        ByteBuffer wordView = this.wordView;
+        if (wordView == null || wordView.array() != backingArray) {
+            wordView = this.wordView = ByteBuffer.wrap(backingArray);
+        }
+        return wordView;
+    }
+    
     @Override
     long getWord(int wordIndex) {
         int byteIndex = wordIndex * Long.BYTES;
         assert byteIndex >= 0 && byteIndex < this.backingArray.length;
+        if (byteIndex + Long.BYTES <= backingArray.length) return wordView().getLong(byteIndex);
+        
+        // the last word extends past the end of the backing array
         long word = 0L;
         for (int i = byteIndex, p = Long.BYTES - 1; p >= 0 && i < backingArray.length; i++, p--) {
             word |= Byte.toUnsignedLong(backingArray[i]) << (p * Byte.SIZE);
@@ -434,11 +511,46 @@ public class ByteBitString extends BitString {
     void setWord(int wordIndex, long word) {
         int byteIndex = wordIndex * Long.BYTES;
         assert byteIndex >= 0 && byteIndex < this.backingArray.length;
+        if (byteIndex + Long.BYTES <= backingArray.length) {
+            wordView().putLong(byteIndex, word);
+            return;
+        }
+        
+        // the last word extends past the end of the backing array
         for (int i = byteIndex, p = Long.BYTES - 1; p >= 0 && i < backingArray.length; i++, p--) {
             backingArray[i] = (byte)(word >>> (p * Byte.SIZE));
         }
     }
     
+    @Override
+    void getWords(int wordIndex, long[] dst, int dstFrom, int count) {
+        final ByteBuffer wordView = wordView();
+        final int fullWords = Math.min(count, backingArray.length / Long.BYTES - wordIndex);
+        for (int i = 0; i < fullWords; i++) {
+            dst[dstFrom + i] = wordView.getLong((wordIndex + i) * Long.BYTES);
+        }
+        for (int i = Math.max(fullWords, 0); i < count; i++) {
+            dst[dstFrom + i] = getWord(wordIndex + i);
+        }
+    }
+    
+    @Override
+    void setWords(int wordIndex, long[] src, int srcFrom, int count) {
+        final ByteBuffer wordView = wordView();
+        final int fullWords = Math.min(count, backingArray.length / Long.BYTES - wordIndex);
+        for (int i = 0; i < fullWords; i++) {
+            wordView.putLong((wordIndex + i) * Long.BYTES, src[srcFrom + i]);
+        }
+        for (int i = Math.max(fullWords, 0); i < count; i++) {
+            setWord(wordIndex + i, src[srcFrom + i]);
+        }
+    }
+    
+    @Override
+    Object parallelWordStorage() {
+        return backingArray;
+    }
+    
     private static byte[] unpackChars(char[] chars) {
         return unpack(chars.length, Character.BYTES,
                 (index) -> { return (long)(chars[index]); });
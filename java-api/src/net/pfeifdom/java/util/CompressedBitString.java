@@ -0,0 +1,904 @@
+/* Copyright (C) 2026 James R. Pfeifer. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * General Public License for more details (a copy is included in the
+ * LICENSE file that accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this work.  If not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ * 
+ * Linking this library statically or dynamically with other modules is
+ * making a combined work based on this library.  Thus, the terms and
+ * conditions of the GNU General Public License cover the whole
+ * combination.
+ *
+ * As a special exception, the copyright holders of this library give you
+ * permission to link this library with independent modules to produce an
+ * executable, regardless of the license terms of these independent
+ * modules, and to copy and distribute the resulting executable under
+ * terms of your choice, provided that you also meet, for each linked
+ * independent module, the terms and conditions of the license of that
+ * module.  An independent module is a module which is not derived from
+ * or based on this library.  If you modify this library, you may extend
+ * this exception to your version of the library, but you are not
+ * obligated to do so.  If you do not wish to do so, delete this
+ * exception statement from your version.
+ *
+ * Please contact James Pfeifer at james@pfeifdom.net if you need additional
+ * information or have any questions.
+ */
+
+package net.pfeifdom.java.util;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.function.LongBinaryOperator;
+
+/**
+ * A {@code BitString} whose bits are stored in compressed form, for bit strings
+ * that are mostly {@code ZEROS} or whose {@code ONES} occur in long runs.
+ * 
+ * <p>
+ * The bits are divided into chunks of 65536 bits. A chunk that holds no
+ * {@code ONES} takes no memory at all; any other chunk is held in whichever
+ * of three containers is smallest for its contents: a sorted array of the
+ * offsets of its {@code ONES}, a plain bitmap of 1024 words, or a list of the
+ * runs of {@code ONES} it contains. Containers are converted from one kind to
+ * another as bits are written. {@link #trimToLength()} also recompresses every
+ * chunk into its smallest form.
+ * <p>
+ * The bitwise operations, {@code intersects}, {@code numberOfOnes()} and
+ * {@code offsetOfNextOne} work chunk by chunk when both operands are
+ * {@code CompressedBitString}s, skipping chunks that hold no {@code ONES}.
+ * All other operations are supported, but read and write the bits a word at a
+ * time, which is slower than for a {@code LongBitString}.
+ */
+public class CompressedBitString extends BitString {
+    
+    /**
+     * 
+     */
+    private static final long serialVersionUID = -4310938522163524386L;
+    
+    private static final int ADDRESS_BITS_PER_CHUNK = 16;
+    
+    private static final int ADDRESS_WORDS_PER_CHUNK = ADDRESS_BITS_PER_CHUNK - 6;
+    
+    private static final int BITS_PER_CHUNK = 1 << ADDRESS_BITS_PER_CHUNK;
+    
+    private static final int WORDS_PER_CHUNK = 1 << ADDRESS_WORDS_PER_CHUNK;
+    
+    private static final int CHUNK_MASK = BITS_PER_CHUNK - 1;
+    
+    private static final int MAX_CHUNKS = (Integer.MAX_VALUE >>> ADDRESS_BITS_PER_CHUNK) + 1;
+    
+    private static final long BIT_MASK = 0x8000000000000000L;
+    
+    private static final long WORD_MASK = 0xFFFFFFFFFFFFFFFFL;
+    
+    /**
+     * The largest number of {@code ONES} held in an array container; beyond
+     * this a bitmap container is smaller.
+     */
+    private static final int ARRAY_MAX = BITS_PER_CHUNK / Character.SIZE;
+    
+    /**
+     * The containers holding the chunks of this bit string, with {@code null}
+     * for a chunk holding no {@code ONES}.
+     */
+    private Container[] chunks;
+    
+    /**
+     * Creates a new {@code CompressedBitString} of length 0.
+     */
+    public CompressedBitString() {
+        super(0);
+        this.chunks = new Container[1];
+    }
+    
+    /**
+     * Creates a new {@code CompressedBitString} with the specified length. All
+     * bits are initially set to {@code ZERO}.
+     * 
+     * @param length the initial length of the new {@code BitString}
+     * @throws IllegalArgumentException if the specified length is negative
+     */
+    public CompressedBitString(int length) {
+        super(length);
+        this.chunks = new Container[chunkCount(length)];
+    }
+    
+    /**
+     * Creates a new {@code CompressedBitString} with the specified length and
+     * capacity. The specified capacity must be equal to or greater than the
+     * specified length. The actual capacity is rounded up to the nearest multiple
+     * of 65536 bits. All bits are initially set to {@code ZERO}.
+     * 
+     * @param length   the initial length of the new {@code BitString}
+     * @param capacity the initial capacity of the new {@code BitString}
+     * @throws IllegalArgumentException if the specified length is negative, or if
+     *                                  the specified capacity is less than the
+     *                                  length
+     */
+    public CompressedBitString(int length, int capacity) {
+        super(length);
+        if (capacity < length) {
+            throw new IllegalArgumentException("capacity (" + capacity + ") < length (" + length + ")");
+        }
+        this.chunks = new Container[chunkCount(capacity)];
+    }
+    
+    /**
+     * Returns a new {@code CompressedBitString} equal to the specified bit
+     * string.
+     * 
+     * @param bits the bit string to compress
+     * @return a new {@code CompressedBitString} equal to {@code bits}
+     */
+    public static CompressedBitString valueOf(BitString bits) {
+        final int length = bits.length();
+        final CompressedBitString result = new CompressedBitString(length);
+        final long[] words = new long[WORDS_PER_CHUNK];
+        for (int c = 0; c < result.chunks.length; c++) {
+            final int chunkOffset = c << ADDRESS_BITS_PER_CHUNK;
+            final int chunkLength = Math.min(BITS_PER_CHUNK, length - chunkOffset);
+            Arrays.fill(words, 0L);
+            for (int i = 0; i << 6 < chunkLength; i++) {
+                words[i] = bits.getFullWord(chunkOffset + (i << 6));
+            }
+            result.chunks[c] = Container.fromWords(words);
+        }
+        return result;
+    }
+    
+    /**
+     * Returns a new {@code LongBitString} equal to this bit string.
+     * 
+     * @return a new {@code LongBitString} equal to this bit string
+     */
+    public LongBitString toLongBitString() {
+        final LongBitString result = new LongBitString(length());
+        final long[] words = result.wordArray();
+        for (int c = 0; c < chunks.length; c++) {
+            final Container chunk = chunks[c];
+            if (chunk != null) chunk.copyWords(words, c << ADDRESS_WORDS_PER_CHUNK);
+        }
+        return result;
+    }
+    
+    private static int chunkCount(int capacity) {
+        return ((capacity - 1) >> ADDRESS_BITS_PER_CHUNK) + 1;
+    }
+    
+    @Override
+    CompressedBitString newBitString(int length) {
+        return new CompressedBitString(length);
+    }
+    
+    @Override
+    void resizeBackingArray(int capacity) {
+        final int newChunkCount = chunkCount(capacity);
+        if (newChunkCount == chunks.length) return;
+        chunks = Arrays.copyOf(chunks, newChunkCount);
+    }
+    
+    @Override
+    public int capacity() {
+        return chunks.length >= MAX_CHUNKS
+                ? Integer.MAX_VALUE
+                : chunks.length << ADDRESS_BITS_PER_CHUNK;
+    }
+    
+    /**
+     * Sets the capacity of this bit string to its length, and recompresses each
+     * chunk into the smallest container for its contents.
+     * 
+     * @return the new capacity of this bit string
+     */
+    @Override
+    public int trimToLength() {
+        final int capacity = super.trimToLength();
+        for (int c = 0; c < chunks.length; c++) {
+            final Container chunk = chunks[c];
+            if (chunk != null) chunks[c] = chunk.optimize();
+        }
+        return capacity;
+    }
+    
+    @Override
+    public void setLength(int newLength) {
+        // bits beyond the length are expected to be ZERO, but shrinking only
+        // drops whole chunks, so clear the rest of the new last chunk here
+        if (newLength >= 0 && newLength < length()) clearFrom(newLength);
+        super.setLength(newLength);
+    }
+    
+    private void clearFrom(int offset) {
+        int c = offset >>> ADDRESS_BITS_PER_CHUNK;
+        if ((offset & CHUNK_MASK) != 0) {
+            final int end = (c + 1) << ADDRESS_WORDS_PER_CHUNK;
+            int w = offset >>> 6;
+            if ((offset & 63) != 0) {
+                setWord(w, getWord(w) & ~(WORD_MASK >>> (offset & 63)));
+                w++;
+            }
+            for (; w < end && chunks[c] != null; w++) {
+                if (getWord(w) != 0L) setWord(w, 0L);
+            }
+            c++;
+        }
+        Arrays.fill(chunks, c, chunks.length, null);
+    }
+    
+    @Override
+    long getWord(int wordIndex) {
+        final Container chunk = chunks[wordIndex >>> ADDRESS_WORDS_PER_CHUNK];
+        return (chunk == null) ? 0L : chunk.getWord(wordIndex & (WORDS_PER_CHUNK - 1));
+    }
+    
+    @Override
+    void setWord(int wordIndex, long word) {
+        final int c = wordIndex >>> ADDRESS_WORDS_PER_CHUNK;
+        Container chunk = chunks[c];
+        if (chunk == null) {
+            if (word == 0L) return;
+            chunk = new ArrayContainer();
+        }
+        chunks[c] = chunk.setWord(wordIndex & (WORDS_PER_CHUNK - 1), word);
+    }
+    
+    /**
+     * Cloning this {@code BitString} produces a new {@code BitString}
+     * that is equal to it.
+     * 
+     * @return a clone of this bit string
+     */
+    @Override
+    public CompressedBitString clone() {
+        final CompressedBitString clone = (CompressedBitString) super.clone();
+        clone.chunks = chunks.clone();
+        for (int c = 0; c < clone.chunks.length; c++) {
+            final Container chunk = clone.chunks[c];
+            if (chunk != null) clone.chunks[c] = chunk.copy();
+        }
+        return clone;
+    }
+    
+    @Override
+    public BitString and(BitString arg) {
+        if (!(arg instanceof CompressedBitString)) return super.and(arg);
+        iChunkOp(ChunkOp.AND, (CompressedBitString) arg);
+        return this;
+    }
+    
+    @Override
+    public BitString andNot(BitString arg) {
+        if (!(arg instanceof CompressedBitString)) return super.andNot(arg);
+        iChunkOp(ChunkOp.ANDNOT, (CompressedBitString) arg);
+        return this;
+    }
+    
+    @Override
+    public BitString or(BitString arg) {
+        if (!(arg instanceof CompressedBitString)) return super.or(arg);
+        iChunkOp(ChunkOp.OR, (CompressedBitString) arg);
+        return this;
+    }
+    
+    @Override
+    public BitString xor(BitString arg) {
+        if (!(arg instanceof CompressedBitString)) return super.xor(arg);
+        iChunkOp(ChunkOp.XOR, (CompressedBitString) arg);
+        return this;
+    }
+    
+    /**
+     * Applies the specified operation to the leading bits of this bit string and
+     * that bit string, over the length of the shorter one; whole chunks are
+     * combined container by container, and any partial chunk at the end word
+     * by word.
+     */
+    private void iChunkOp(ChunkOp op, CompressedBitString that) {
+        incrementBitsModCount();
+        final int length = Math.min(this.length(), that.length());
+        final int fullChunks = length >>> ADDRESS_BITS_PER_CHUNK;
+        for (int c = 0; c < fullChunks; c++) {
+            this.chunks[c] = op.apply(this.chunks[c], that.chunks[c]);
+        }
+        final int offset = fullChunks << ADDRESS_BITS_PER_CHUNK;
+        if (offset < length) op.applyToRange(this, offset, length - offset, that);
+    }
+    
+    @Override
+    public boolean intersects(BitString that) {
+        if (!(that instanceof CompressedBitString)) return super.intersects(that);
+        final Container[] thatChunks = ((CompressedBitString) that).chunks;
+        final int length = Math.min(this.length(), that.length());
+        final int fullChunks = length >>> ADDRESS_BITS_PER_CHUNK;
+        for (int c = 0; c < fullChunks; c++) {
+            if (Container.intersects(this.chunks[c], thatChunks[c])) return true;
+        }
+        final int offset = fullChunks << ADDRESS_BITS_PER_CHUNK;
+        return offset < length && intersects(offset, length - offset, that, offset, length - offset);
+    }
+    
+    @Override
+    public int numberOfOnes(int offset, int length) {
+        if (offset != 0 || length != length()) return super.numberOfOnes(offset, length);
+        int count = 0;
+        for (Container chunk : chunks) {
+            if (chunk != null) count += chunk.cardinality();
+        }
+        return count;
+    }
+    
+    @Override
+    public int offsetOfNextOne(int startOffset) {
+        final int length = length();
+        if (startOffset == length) return -1;
+        checkThisOffset(startOffset);
+        int bit = startOffset & CHUNK_MASK;
+        for (int c = startOffset >>> ADDRESS_BITS_PER_CHUNK; c < chunks.length; c++) {
+            final Container chunk = chunks[c];
+            if (chunk != null) {
+                final int next = chunk.nextOne(bit);
+                if (next >= 0) {
+                    final int offset = (c << ADDRESS_BITS_PER_CHUNK) + next;
+                    return (offset < length) ? offset : -1;
+                }
+            }
+            bit = 0;
+        }
+        return -1;
+    }
+    
+    /**
+     * The bitwise operations that can be applied chunk by chunk.
+     */
+    private enum ChunkOp implements LongBinaryOperator {
+        AND {
+            @Override
+            public long applyAsLong(long left, long right) {
+                return left & right;
+            }
+    
+            @Override
+            Container apply(Container left, Container right) {
+                if (left == null || right == null) return null;
+                if (left instanceof ArrayContainer) return ((ArrayContainer) left).filter(right, true);
+                if (right instanceof ArrayContainer) return ((ArrayContainer) right.copy()).filter(left, true);
+                return super.apply(left, right);
+            }
+    
+            @Override
+            void applyToRange(BitString dest, int offset, int length, BitString src) {
+                dest.and(offset, length, src, offset, length);
+            }
+        },
+        ANDNOT {
+            @Override
+            public long applyAsLong(long left, long right) {
+                return left & ~right;
+            }
+    
+            @Override
+            Container apply(Container left, Container right) {
+                if (left == null || right == null) return left;
+                if (left instanceof ArrayContainer) return ((ArrayContainer) left).filter(right, false);
+                return super.apply(left, right);
+            }
+    
+            @Override
+            void applyToRange(BitString dest, int offset, int length, BitString src) {
+                dest.andNot(offset, length, src, offset, length);
+            }
+        },
+        OR {
+            @Override
+            public long applyAsLong(long left, long right) {
+                return left | right;
+            }
+    
+            @Override
+            Container apply(Container left, Container right) {
+                if (right == null) return left;
+                if (left == null) return right.copy();
+                if (left instanceof ArrayContainer && right instanceof ArrayContainer) {
+                    return ((ArrayContainer) left).union((ArrayContainer) right);
+                }
+                return super.apply(left, right);
+            }
+    
+            @Override
+            void applyToRange(BitString dest, int offset, int length, BitString src) {
+                dest.or(offset, length, src, offset, length);
+            }
+        },
+        XOR {
+            @Override
+            public long applyAsLong(long left, long right) {
+                return left ^ right;
+            }
+    
+            @Override
+            Container apply(Container left, Container right) {
+                if (right == null) return left;
+                if (left == null) return right.copy();
+                return super.apply(left, right);
+            }
+    
+            @Override
+            void applyToRange(BitString dest, int offset, int length, BitString src) {
+                dest.xor(offset, length, src, offset, length);
+            }
+        };
+    
+        /**
+         * Returns the container holding the result of this operation on the
+         * specified containers, either of which may be {@code null}. The
+         * result may be the left container, updated in place, but is never
+         * the right one.
+         */
+        Container apply(Container left, Container right) {
+            final long[] words = new long[WORDS_PER_CHUNK];
+            final long[] rightWords = new long[WORDS_PER_CHUNK];
+            if (left != null) left.copyWords(words, 0);
+            if (right != null) right.copyWords(rightWords, 0);
+            for (int i = 0; i < WORDS_PER_CHUNK; i++) {
+                words[i] = applyAsLong(words[i], rightWords[i]);
+            }
+            return Container.fromWords(words);
+        }
+    
+        abstract void applyToRange(BitString dest, int offset, int length, BitString src);
+    }
+    
+    /**
+     * The bits of one chunk of a {@code CompressedBitString}. A container
+     * always holds at least one {@code ONE}.
+     */
+    private static abstract class Container implements Serializable {
+    
+        /**
+         * 
+         */
+        private static final long serialVersionUID = 2781290370829170537L;
+    
+        /**
+         * Returns the specified word of this chunk.
+         */
+        abstract long getWord(int wordIndex);
+    
+        /**
+         * Sets the specified word of this chunk, and returns the container now
+         * holding the chunk: this container, a new container of another kind,
+         * or {@code null} if the chunk no longer holds any {@code ONES}.
+         */
+        abstract Container setWord(int wordIndex, long word);
+    
+        /**
+         * Returns the number of {@code ONES} in this chunk.
+         */
+        abstract int cardinality();
+    
+        /**
+         * Returns the offset within this chunk of the first {@code ONE} on or
+         * after the specified offset, or -1 if there is none.
+         */
+        abstract int nextOne(int bit);
+    
+        /**
+         * Sets the bits of the specified array, starting at the specified word,
+         * that correspond to the {@code ONES} of this chunk. Words past the end
+         * of the array are skipped.
+         */
+        abstract void copyWords(long[] dest, int destIndex);
+    
+        abstract Container copy();
+    
+        boolean contains(int bit) {
+            return (getWord(bit >>> 6) << bit) < 0L;
+        }
+    
+        /**
+         * Returns the smallest container holding the bits of this chunk.
+         */
+        Container optimize() {
+            final long[] words = new long[WORDS_PER_CHUNK];
+            copyWords(words, 0);
+            return fromWords(words);
+        }
+    
+        /**
+         * Returns the smallest container holding the specified words, or
+         * {@code null} if they are all {@code ZERO}. The array is not retained.
+         */
+        static Container fromWords(long[] words) {
+            int cardinality = 0;
+            int runs = 0;
+            long previous = 0L;
+            for (long word : words) {
+                cardinality += Long.bitCount(word);
+                // a run starts at each ONE whose left neighbour is a ZERO
+                runs += Long.bitCount(word & ~((word >>> 1) | (previous << 63)));
+                previous = word;
+            }
+            if (cardinality == 0) return null;
+            final int runBytes = runs * 2 * Character.BYTES;
+            if (runBytes < Math.min(cardinality * Character.BYTES, WORDS_PER_CHUNK * Long.BYTES)) {
+                return new RunContainer(words, runs, cardinality);
+            }
+            if (cardinality <= ARRAY_MAX) return new ArrayContainer(words, cardinality);
+            return new BitmapContainer(words.clone(), cardinality);
+        }
+    
+        static boolean intersects(Container left, Container right) {
+            if (left == null || right == null) return false;
+            if (right instanceof ArrayContainer) {
+                final Container swap = left;
+                left = right;
+                right = swap;
+            }
+            if (left instanceof ArrayContainer) {
+                final ArrayContainer array = (ArrayContainer) left;
+                for (int i = 0; i < array.size; i++) {
+                    if (right.contains(array.values[i])) return true;
+                }
+                return false;
+            }
+            for (int i = 0; i < WORDS_PER_CHUNK; i++) {
+                if ((left.getWord(i) & right.getWord(i)) != 0L) return true;
+            }
+            return false;
+        }
+    
+        /**
+         * Sets the bits of the specified array from offset {@code from} to offset
+         * {@code to}, inclusive, relative to the start of the specified word.
+         */
+        static void setBits(long[] words, int wordIndex, int from, int to) {
+            final int first = wordIndex + (from >>> 6);
+            final int last = wordIndex + (to >>> 6);
+            final long firstMask = WORD_MASK >>> (from & 63);
+            final long lastMask = WORD_MASK << (63 - (to & 63));
+            if (first == last) {
+                words[first] |= firstMask & lastMask;
+                return;
+            }
+            words[first] |= firstMask;
+            for (int i = first + 1; i < last; i++) words[i] = WORD_MASK;
+            words[last] |= lastMask;
+        }
+    }
+    
+    /**
+     * A container holding the sorted offsets of the {@code ONES} of a chunk.
+     */
+    private static final class ArrayContainer extends Container {
+    
+        /**
+         * 
+         */
+        private static final long serialVersionUID = -6286425834105417315L;
+    
+        private char[] values;
+    
+        private int size;
+    
+        ArrayContainer() {
+            this.values = new char[4];
+        }
+    
+        private ArrayContainer(char[] values, int size) {
+            this.values = values;
+            this.size = size;
+        }
+    
+        ArrayContainer(long[] words, int cardinality) {
+            this.values = new char[cardinality];
+            for (int i = 0; i < words.length; i++) {
+                for (long word = words[i]; word != 0L; ) {
+                    final int bit = Long.numberOfLeadingZeros(word);
+                    values[size++] = (char) ((i << 6) + bit);
+                    word &= ~(BIT_MASK >>> bit);
+                }
+            }
+        }
+    
+        /**
+         * Returns the index of the first value greater than or equal to the
+         * specified bit.
+         */
+        private int indexOf(int bit) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                final int mid = (low + high) >>> 1;
+                if (values[mid] < bit) low = mid + 1;
+                else high = mid;
+            }
+            return low;
+        }
+    
+        @Override
+        long getWord(int wordIndex) {
+            final int start = wordIndex << 6;
+            long word = 0L;
+            for (int i = indexOf(start); i < size && values[i] < start + 64; i++) {
+                word |= BIT_MASK >>> (values[i] & 63);
+            }
+            return word;
+        }
+    
+        @Override
+        Container setWord(int wordIndex, long word) {
+            final int start = wordIndex << 6;
+            final int low = indexOf(start);
+            final int high = indexOf(start + 64);
+            final int count = Long.bitCount(word);
+            final int newSize = size - (high - low) + count;
+            if (newSize == 0) return null;
+            if (newSize > ARRAY_MAX) {
+                final long[] words = new long[WORDS_PER_CHUNK];
+                copyWords(words, 0);
+                words[wordIndex] = word;
+                return new BitmapContainer(words, newSize);
+            }
+            if (newSize > values.length) {
+                values = Arrays.copyOf(values, Math.max(newSize, Math.min(values.length * 2, ARRAY_MAX)));
+            }
+            System.arraycopy(values, high, values, low + count, size - high);
+            int i = low;
+            for (long bits = word; bits != 0L; i++) {
+                final int bit = Long.numberOfLeadingZeros(bits);
+                values[i] = (char) (start + bit);
+                bits &= ~(BIT_MASK >>> bit);
+            }
+            size = newSize;
+            return this;
+        }
+    
+        @Override
+        int cardinality() {
+            return size;
+        }
+    
+        @Override
+        int nextOne(int bit) {
+            final int i = indexOf(bit);
+            return (i < size) ? values[i] : -1;
+        }
+    
+        @Override
+        boolean contains(int bit) {
+            final int i = indexOf(bit);
+            return i < size && values[i] == bit;
+        }
+    
+        @Override
+        void copyWords(long[] dest, int destIndex) {
+            for (int i = 0; i < size; i++) {
+                dest[destIndex + (values[i] >>> 6)] |= BIT_MASK >>> (values[i] & 63);
+            }
+        }
+    
+        @Override
+        Container copy() {
+            return new ArrayContainer(Arrays.copyOf(values, size), size);
+        }
+    
+        /**
+         * Keeps only the values that are, or are not, contained in the other
+         * chunk.
+         */
+        Container filter(Container other, boolean keep) {
+            int newSize = 0;
+            for (int i = 0; i < size; i++) {
+                if (other.contains(values[i]) == keep) values[newSize++] = values[i];
+            }
+            size = newSize;
+            return (newSize == 0) ? null : this;
+        }
+    
+        Container union(ArrayContainer other) {
+            final char[] merged = new char[size + other.size];
+            int i = 0, j = 0, n = 0;
+            while (i < size && j < other.size) {
+                final char a = values[i];
+                final char b = other.values[j];
+                merged[n++] = (a <= b) ? a : b;
+                if (a <= b) i++;
+                if (b <= a) j++;
+            }
+            while (i < size) merged[n++] = values[i++];
+            while (j < other.size) merged[n++] = other.values[j++];
+            if (n <= ARRAY_MAX) return new ArrayContainer(merged, n);
+            final long[] words = new long[WORDS_PER_CHUNK];
+            new ArrayContainer(merged, n).copyWords(words, 0);
+            return new BitmapContainer(words, n);
+        }
+    }
+    
+    /**
+     * A container holding all the words of a chunk.
+     */
+    private static final class BitmapContainer extends Container {
+    
+        /**
+         * 
+         */
+        private static final long serialVersionUID = -1937120950467207626L;
+    
+        private final long[] words;
+    
+        private int cardinality;
+    
+        BitmapContainer(long[] words, int cardinality) {
+            this.words = words;
+            this.cardinality = cardinality;
+        }
+    
+        @Override
+        long getWord(int wordIndex) {
+            return words[wordIndex];
+        }
+    
+        @Override
+        Container setWord(int wordIndex, long word) {
+            cardinality += Long.bitCount(word) - Long.bitCount(words[wordIndex]);
+            words[wordIndex] = word;
+            if (cardinality == 0) return null;
+            if (cardinality <= ARRAY_MAX) return new ArrayContainer(words, cardinality);
+            return this;
+        }
+    
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+    
+        @Override
+        int nextOne(int bit) {
+            int i = bit >>> 6;
+            long word = words[i] & (WORD_MASK >>> (bit & 63));
+            while (word == 0L) {
+                if (++i == WORDS_PER_CHUNK) return -1;
+                word = words[i];
+            }
+            return (i << 6) + Long.numberOfLeadingZeros(word);
+        }
+    
+        @Override
+        void copyWords(long[] dest, int destIndex) {
+            System.arraycopy(words, 0, dest, destIndex, Math.min(WORDS_PER_CHUNK, dest.length - destIndex));
+        }
+    
+        @Override
+        Container copy() {
+            return new BitmapContainer(words.clone(), cardinality);
+        }
+    }
+    
+    /**
+     * A container holding the runs of {@code ONES} of a chunk, as pairs of the
+     * offset of the first {@code ONE} and the offset of the last.
+     */
+    private static final class RunContainer extends Container {
+    
+        /**
+         * 
+         */
+        private static final long serialVersionUID = 4438920915627304160L;
+    
+        private final char[] runs;
+    
+        private final int cardinality;
+    
+        RunContainer(long[] words, int runCount, int cardinality) {
+            this.runs = new char[runCount * 2];
+            this.cardinality = cardinality;
+            int n = 0;
+            int start = nextBit(words, 0, true);
+            while (start >= 0) {
+                final int end = nextBit(words, start, false);
+                runs[n++] = (char) start;
+                runs[n++] = (char) ((end < 0 ? BITS_PER_CHUNK : end) - 1);
+                start = (end < 0) ? -1 : nextBit(words, end, true);
+            }
+        }
+    
+        private RunContainer(char[] runs, int cardinality) {
+            this.runs = runs;
+            this.cardinality = cardinality;
+        }
+    
+        /**
+         * Returns the offset of the first bit on or after the specified offset
+         * that is set to {@code ONE}, or to {@code ZERO}, or -1 if there is
+         * none.
+         */
+        private static int nextBit(long[] words, int bit, boolean one) {
+            int i = bit >>> 6;
+            final long flip = one ? 0L : WORD_MASK;
+            long word = (words[i] ^ flip) & (WORD_MASK >>> (bit & 63));
+            while (word == 0L) {
+                if (++i == WORDS_PER_CHUNK) return -1;
+                word = words[i] ^ flip;
+            }
+            return (i << 6) + Long.numberOfLeadingZeros(word);
+        }
+    
+        /**
+         * Returns the index of the first run that ends on or after the
+         * specified bit.
+         */
+        private int indexOf(int bit) {
+            int low = 0;
+            int high = runs.length >>> 1;
+            while (low < high) {
+                final int mid = (low + high) >>> 1;
+                if (runs[2 * mid + 1] < bit) low = mid + 1;
+                else high = mid;
+            }
+            return low;
+        }
+    
+        @Override
+        long getWord(int wordIndex) {
+            final int start = wordIndex << 6;
+            final int end = start + 63;
+            long word = 0L;
+            for (int i = 2 * indexOf(start); i < runs.length && runs[i] <= end; i += 2) {
+                final int from = Math.max(runs[i], start) - start;
+                final int to = Math.min(runs[i + 1], end) - start;
+                word |= (WORD_MASK >>> from) & (WORD_MASK << (63 - to));
+            }
+            return word;
+        }
+    
+        @Override
+        Container setWord(int wordIndex, long word) {
+            if (getWord(wordIndex) == word) return this;
+            final long[] words = new long[WORDS_PER_CHUNK];
+            copyWords(words, 0);
+            return new BitmapContainer(words, cardinality).setWord(wordIndex, word);
+        }
+    
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+    
+        @Override
+        int nextOne(int bit) {
+            final int i = 2 * indexOf(bit);
+            return (i < runs.length) ? Math.max(runs[i], bit) : -1;
+        }
+    
+        @Override
+        boolean contains(int bit) {
+            final int i = 2 * indexOf(bit);
+            return i < runs.length && runs[i] <= bit;
+        }
+    
+        @Override
+        void copyWords(long[] dest, int destIndex) {
+            for (int i = 0; i < runs.length; i += 2) {
+                setBits(dest, destIndex, runs[i], runs[i + 1]);
+            }
+        }
+    
+        @Override
+        Container copy() {
+            return new RunContainer(runs.clone(), cardinality);
+        }
+    }
+}
@@ -0,0 +1,334 @@
+/* Copyright (C) 2026 James R. Pfeifer. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * General Public License for more details (a copy is included in the
+ * LICENSE file that accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this work.  If not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ * 
+ * Linking this library statically or dynamically with other modules is
+ * making a combined work based on this library.  Thus, the terms and
+ * conditions of the GNU General Public License cover the whole
+ * combination.
+ *
+ * As a special exception, the copyright holders of this library give you
+ * permission to link this library with independent modules to produce an
+ * executable, regardless of the license terms of these independent
+ * modules, and to copy and distribute the resulting executable under
+ * terms of your choice, provided that you also meet, for each linked
+ * independent module, the terms and conditions of the license of that
+ * module.  An independent module is a module which is not derived from
+ * or based on this library.  If you modify this library, you may extend
+ * this exception to your version of the library, but you are not
+ * obligated to do so.  If you do not wish to do so, delete this
+ * exception statement from your version.
+ *
+ * Please contact James Pfeifer at james@pfeifdom.net if you need additional
+ * information or have any questions.
+ */
+
+package net.pfeifdom.java.util;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+
+/**
+ * A {@code BitString} whose words are stored off-heap, in a direct
+ * {@code ByteBuffer}.
+ * 
+ * <p>
+ * The words of a {@code DirectBitString} are not scanned or moved by the
+ * garbage collector, so large bit strings do not lengthen collection pauses.
+ * The memory is released when the bit string is closed, rather than when it
+ * is garbage collected; once closed, any operation that reads or writes the
+ * bits of the bit string throws an {@code IllegalStateException}.
+ * <p>
+ * Substrings of a {@code DirectBitString} are returned as on-heap
+ * {@code LongBitString}s, so they need not be closed.
+ */
+public class DirectBitString extends BitString implements AutoCloseable {
+    
+    /**
+     * 
+     */
+    private static final long serialVersionUID = 6013924384829101273L;
+    
+    private static final int ADDRESS_BYTES_PER_WORD = 3;
+    
+    /**
+     * The direct buffer holding the words of this bit string, or {@code null}
+     * once this bit string has been closed.
+     */
+    private transient ByteBuffer buffer;
+    
+    /**
+     * Creates a new {@code DirectBitString} of length 0. The capacity of the new
+     * {@code DirectBitString} will equal Long.SIZE (64 bits).
+     */
+    public DirectBitString() {
+        super(0);
+        this.buffer = allocate(Long.SIZE);
+    }
+    
+    /**
+     * Creates a new {@code DirectBitString} with the specified length. The capacity
+     * of the new {@code DirectBitString} will equal the nearest multiple of
+     * Long.SIZE (64 bits) greater than or equal to the length. All bits are
+     * initially set to {@code ZERO}.
+     *
+     * @param length the initial length of the new {@code BitString}
+     * @throws IllegalArgumentException if the specified length is negative
+     */
+    public DirectBitString(int length) {
+        super(length);
+        this.buffer = allocate(length);
+    }
+    
+    /**
+     * Creates a new {@code DirectBitString} with the specified length and capacity.
+     * The specified capacity must be equal to or greater than the specified
+     * length. The actual capacity is rounded up to the nearest multiple of
+     * Long.SIZE (64 bits). All bits are initially set to {@code ZERO}.
+     * 
+     * @param length   the initial length of the new {@code BitString}
+     * @param capacity the initial capacity of the new {@code BitString}
+     * @throws IllegalArgumentException if the specified length is negative, or if
+     *                                  the specified capacity is less than the
+     *                                  length
+     */
+    public DirectBitString(int length, int capacity) {
+        super(length);
+        if (capacity < length) {
+            throw new IllegalArgumentException("capacity (" + capacity + ") < length (" + length + ")");
+        }
+        this.buffer = allocate(capacity);
+    }
+    
+    /**
+     * Creates a bit string whose words are stored in the specified buffer, which
+     * is used as is.
+     */
+    DirectBitString(ByteBuffer buffer, int length) {
+        super(length);
+        this.buffer = buffer;
+    }
+    
+    /**
+     * Returns a new direct buffer, in native byte order, large enough to hold
+     * the specified number of bits.
+     */
+    private static ByteBuffer allocate(int capacity) {
+        return ByteBuffer.allocateDirect(byteCount(capacity)).order(ByteOrder.nativeOrder());
+    }
+    
+    /**
+     * Returns the number of bytes in the words needed to hold the specified
+     * number of bits.
+     */
+    static int byteCount(int capacity) {
+        return ((LongBitString.longIndex(capacity-1) + 1) << ADDRESS_BYTES_PER_WORD);
+    }
+    
+    @Override
+    LongBitString newBitString(int length) {
+        return new LongBitString(length);
+    }
+    
+    /**
+     * Returns the buffer holding the words of this bit string.
+     * 
+     * @return the buffer holding the words of this bit string
+     * @throws IllegalStateException if this bit string has been closed
+     */
+    ByteBuffer buffer() {
+        final ByteBuffer buffer = this.buffer;
+        if (buffer == null) throw new IllegalStateException("DirectBitString has been closed");
+        return buffer;
+    }
+    
+    /**
+     * Replace the buffer holding the words of this bit string.
+     */
+    void setBuffer(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+    
+    @Override
+    void resizeBackingArray(int capacity) {
+        final ByteBuffer oldBuffer = buffer();
+        final int newByteCount = byteCount(capacity);
+        if (newByteCount == oldBuffer.capacity()) return;
+        final ByteBuffer newBuffer = allocate(capacity);
+        final ByteBuffer words = oldBuffer.duplicate();
+        words.clear().limit(Math.min(oldBuffer.capacity(), newByteCount));
+        newBuffer.put(words).clear();
+        this.buffer = newBuffer;
+        free(oldBuffer);
+    }
+    
+    @Override
+    public int capacity() {
+        final long capacity = (long)buffer().capacity() * Byte.SIZE;
+        return (capacity > Integer.MAX_VALUE) ? Integer.MAX_VALUE : (int)capacity;
+    }
+    
+    /**
+     * Returns {@code true} if this bit string has not been closed.
+     * 
+     * @return {@code true} if this bit string has not been closed
+     */
+    public boolean isOpen() {
+        return buffer != null;
+    }
+    
+    /**
+     * Releases the off-heap memory holding the words of this bit string. Once
+     * closed, any operation that reads or writes the bits of this bit string
+     * throws an {@code IllegalStateException}. Closing a bit string that is
+     * already closed has no effect.
+     * <p>
+     * Ranges of this bit string must not be used after it has been closed.
+     */
+    @Override
+    public void close() {
+        final ByteBuffer buffer = this.buffer;
+        if (buffer == null) return;
+        this.buffer = null;
+        incrementModCount();
+        free(buffer);
+    }
+    
+    /**
+     * Release the memory of the specified direct buffer now, rather than when it
+     * is garbage collected. The buffer must not be used afterwards.
+     * <p>
+     * Overridden by subclasses whose buffers are not allocated by this class.
+     * 
+     * @param buffer the buffer to release
+     */
+    void free(ByteBuffer buffer) {
+        BufferCleaner.clean(buffer);
+    }
+    
+    /**
+     * Cloning this {@code DirectBitString} produces a new {@code DirectBitString},
+     * with its own off-heap memory, that is equal to it.
+     *
+     * @return a clone of this bit string
+     */
+    @Override
+    public DirectBitString clone() {
+        final DirectBitString clone = (DirectBitString) super.clone();
+        final ByteBuffer words = buffer().duplicate();
+        words.clear();
+        clone.buffer = ByteBuffer.allocateDirect(words.capacity()).order(ByteOrder.nativeOrder());
+        clone.buffer.put(words).clear();
+        return clone;
+    }
+    
+    private void writeObject(ObjectOutputStream stream)
+        throws IOException {
+        throw new java.io.InvalidObjectException("not serializable");
+    }
+
+    private void readObject(ObjectInputStream stream)
+        throws IOException, ClassNotFoundException {
+        throw new java.io.InvalidObjectException("not serializable");
+    }
+    
+    @Override
+    long getWord(int wordIndex) {
+        final ByteBuffer buffer = buffer();
+        assert wordIndex >= 0 && (wordIndex << ADDRESS_BYTES_PER_WORD) < buffer.capacity();
+        return buffer.getLong(wordIndex << ADDRESS_BYTES_PER_WORD);
+    }
+    
+    @Override
+    void setWord(int wordIndex, long word) {
+        final ByteBuffer buffer = buffer();
+        assert wordIndex >= 0 && (wordIndex << ADDRESS_BYTES_PER_WORD) < buffer.capacity();
+        buffer.putLong(wordIndex << ADDRESS_BYTES_PER_WORD, word);
+    }
+    
+    @Override
+    void getWords(int wordIndex, long[] dst, int dstFrom, int count) {
+        final LongBuffer words = buffer().asLongBuffer();
+        words.position(wordIndex);
+        words.get(dst, dstFrom, count);
+    }
+    
+    @Override
+    void setWords(int wordIndex, long[] src, int srcFrom, int count) {
+        final LongBuffer words = buffer().asLongBuffer();
+        words.position(wordIndex);
+        words.put(src, srcFrom, count);
+    }
+    
+    @Override
+    Object parallelWordStorage() {
+        return buffer;
+    }
+    
+    /**
+     * Releases the memory of direct buffers explicitly. The JDK offers no public
+     * way to do this, so the cleaner is reached reflectively: through
+     * {@code sun.misc.Unsafe.invokeCleaner} on JDK 9 and later, and through the
+     * buffer's {@code cleaner()} on JDK 8. If neither is available, the memory is
+     * left for the garbage collector to release.
+     */
+    static final class BufferCleaner {
+        
+        private static final Object UNSAFE;
+        private static final Method INVOKE_CLEANER;
+        
+        static {
+            Object unsafe = null;
+            Method invokeCleaner = null;
+            try {
+                final Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+                final java.lang.reflect.Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+                theUnsafe.setAccessible(true);
+                unsafe = theUnsafe.get(null);
+                invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                unsafe = null;
+                invokeCleaner = null;
+            }
+            UNSAFE = unsafe;
+            INVOKE_CLEANER = invokeCleaner;
+        }
+        
+        private BufferCleaner() {
+        }
+        
+        static void clean(ByteBuffer buffer) {
+            if (!buffer.isDirect()) return;
+            try {
+                if (INVOKE_CLEANER != null) {
+                    INVOKE_CLEANER.invoke(UNSAFE, buffer);
+                } else {
+                    final Method cleanerMethod = buffer.getClass().getMethod("cleaner");
+                    cleanerMethod.setAccessible(true);
+                    final Object cleaner = cleanerMethod.invoke(buffer);
+                    if (cleaner != null) cleaner.getClass().getMethod("clean").invoke(cleaner);
+                }
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                // leave the memory to be released by the garbage collector
+            }
+        }
+    }
+}
@@ -0,0 +1,751 @@
+/* Copyright (C) 2026 James R. Pfeifer. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * General Public License for more details (a copy is included in the
+ * LICENSE file that accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this work.  If not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ * 
+ * Linking this library statically or dynamically with other modules is
+ * making a combined work based on this library.  Thus, the terms and
+ * conditions of the GNU General Public License cover the whole
+ * combination.
+ *
+ * As a special exception, the copyright holders of this library give you
+ * permission to link this library with independent modules to produce an
+ * executable, regardless of the license terms of these independent
+ * modules, and to copy and distribute the resulting executable under
+ * terms of your choice, provided that you also meet, for each linked
+ * independent module, the terms and conditions of the license of that
+ * module.  An independent module is a module which is not derived from
+ * or based on this library.  If you modify this library, you may extend
+ * this exception to your version of the library, but you are not
+ * obligated to do so.  If you do not wish to do so, delete this
+ * exception statement from your version.
+ *
+ * Please contact James Pfeifer at james@pfeifdom.net if you need additional
+ * information or have any questions.
+ */
+
+package net.pfeifdom.java.util;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.LongBinaryOperator;
+
+/**
+ * A {@code BitString} whose words are run-length encoded, in the word-aligned
+ * EWAH form, for bit strings dominated by long runs of {@code ZEROS} or
+ * {@code ONES}.
+ * 
+ * <p>
+ * The encoded words are a sequence of marker words, each followed by the
+ * literal words it counts. A marker word holds a run bit (its leftmost bit),
+ * the number of words in a run of words whose bits all equal the run bit (the
+ * next 32 bits), and the number of literal words that follow the run (the
+ * rightmost 31 bits). Words past the last encoded word are {@code ZERO}.
+ * <p>
+ * The bitwise operations {@code and}, {@code andNot}, {@code or} and
+ * {@code xor} are computed directly on the encoded words when both operands
+ * are {@code EwahBitString}s, a run at a time, so their cost grows with the
+ * encoded size of the operands rather than with their length. The
+ * {@code ONES} of the bit string can be iterated the same way, with
+ * {@link #onesIterator()}. All other operations are supported, and reading
+ * or writing words in ascending order is cheap, but writing a single word in
+ * the middle of a run splits the run, which moves the encoded words that
+ * follow it.
+ */
+public class EwahBitString extends BitString {
+    
+    /**
+     * 
+     */
+    private static final long serialVersionUID = 3176524058921776650L;
+    
+    private static final int ADDRESS_BITS_PER_WORD = 6;
+    
+    private static final long WORD_MASK = 0xFFFFFFFFFFFFFFFFL;
+    
+    private static final long RUN_BIT_MASK = 0x8000000000000000L;
+    
+    private static final int RUN_LENGTH_SHIFT = 31;
+    
+    private static final long RUN_LENGTH_MASK = 0xFFFFFFFFL;
+    
+    private static final int MAX_LITERAL_COUNT = 0x7FFFFFFF;
+    
+    /**
+     * The encoded words of this bit string.
+     */
+    private Words words;
+    
+    /**
+     * The number of words this bit string may hold.
+     */
+    private int capacityWords;
+    
+    /**
+     * Creates a new {@code EwahBitString} of length 0. The capacity of the new
+     * {@code EwahBitString} will equal Long.SIZE (64 bits).
+     */
+    public EwahBitString() {
+        super(0);
+        this.words = new Words();
+        this.capacityWords = 1;
+    }
+    
+    /**
+     * Creates a new {@code EwahBitString} with the specified length. All bits are
+     * initially set to {@code ZERO}.
+     * 
+     * @param length the initial length of the new {@code BitString}
+     * @throws IllegalArgumentException if the specified length is negative
+     */
+    public EwahBitString(int length) {
+        super(length);
+        this.words = new Words();
+        this.capacityWords = wordCount(length);
+    }
+    
+    /**
+     * Creates a new {@code EwahBitString} with the specified length and capacity.
+     * The specified capacity must be equal to or greater than the specified
+     * length. The actual capacity is rounded up to the nearest multiple of
+     * Long.SIZE (64 bits). All bits are initially set to {@code ZERO}.
+     * 
+     * @param length   the initial length of the new {@code BitString}
+     * @param capacity the initial capacity of the new {@code BitString}
+     * @throws IllegalArgumentException if the specified length is negative, or if
+     *                                  the specified capacity is less than the
+     *                                  length
+     */
+    public EwahBitString(int length, int capacity) {
+        super(length);
+        if (capacity < length) {
+            throw new IllegalArgumentException("capacity (" + capacity + ") < length (" + length + ")");
+        }
+        this.words = new Words();
+        this.capacityWords = wordCount(capacity);
+    }
+    
+    /**
+     * Returns a new {@code EwahBitString} equal to the specified bit string.
+     * 
+     * @param bits the bit string to encode
+     * @return a new {@code EwahBitString} equal to {@code bits}
+     */
+    public static EwahBitString valueOf(BitString bits) {
+        final int length = bits.length();
+        final EwahBitString result = new EwahBitString(length);
+        for (int offset = 0; offset < length; offset += Long.SIZE) {
+            result.words.addLiteral(bits.getFullWord(offset));
+        }
+        return result;
+    }
+    
+    /**
+     * Returns a new {@code LongBitString} equal to this bit string.
+     * 
+     * @return a new {@code LongBitString} equal to this bit string
+     */
+    public LongBitString toLongBitString() {
+        final LongBitString result = new LongBitString(length());
+        final long[] array = result.wordArray();
+        final Reader reader = new Reader(words);
+        for (int i = 0; i < words.wordCount; ) {
+            reader.next();
+            if (reader.runRemaining > 0) {
+                final int n = Math.min(reader.runRemaining, words.wordCount - i);
+                if (reader.runBit) Arrays.fill(array, i, i + n, WORD_MASK);
+                reader.runRemaining -= n;
+                i += n;
+            } else {
+                array[i++] = reader.nextLiteral();
+            }
+        }
+        return result;
+    }
+    
+    private static int wordCount(int nBits) {
+        return ((nBits - 1) >> ADDRESS_BITS_PER_WORD) + 1;
+    }
+    
+    @Override
+    EwahBitString newBitString(int length) {
+        return new EwahBitString(length);
+    }
+    
+    @Override
+    void resizeBackingArray(int capacity) {
+        capacityWords = wordCount(capacity);
+        words.truncate(capacityWords);
+    }
+    
+    @Override
+    public int capacity() {
+        return capacityWords >= MAX_LONGS
+                ? Integer.MAX_VALUE
+                : capacityWords * Long.SIZE;
+    }
+    
+    /**
+     * Sets the capacity of this bit string to its length, and releases any
+     * unused space held by its encoded words.
+     * 
+     * @return the new capacity of this bit string
+     */
+    @Override
+    public int trimToLength() {
+        final int capacity = super.trimToLength();
+        words.trim();
+        return capacity;
+    }
+    
+    @Override
+    public void setLength(int newLength) {
+        // the encoded words end with the last word written, so drop any words,
+        // and the bits of the new last word, that are past the new length
+        if (newLength >= 0 && newLength < length()) {
+            words.truncate(wordCount(newLength));
+            final int tail = newLength & (Long.SIZE - 1);
+            if (tail != 0) {
+                final int wordIndex = newLength >>> ADDRESS_BITS_PER_WORD;
+                final long word = words.getWord(wordIndex);
+                if (word << tail != 0L) words.setWord(wordIndex, word & ~(WORD_MASK >>> tail));
+            }
+        }
+        super.setLength(newLength);
+    }
+    
+    @Override
+    long getWord(int wordIndex) {
+        return words.getWord(wordIndex);
+    }
+    
+    @Override
+    void setWord(int wordIndex, long word) {
+        words.setWord(wordIndex, word);
+    }
+    
+    /**
+     * Returns the number of encoded words, markers included, that hold the bits
+     * of this bit string.
+     * 
+     * @return the number of encoded words of this bit string
+     */
+    public int encodedSize() {
+        return words.size;
+    }
+    
+    /**
+     * Cloning this {@code BitString} produces a new {@code BitString}
+     * that is equal to it.
+     * 
+     * @return a clone of this bit string
+     */
+    @Override
+    public EwahBitString clone() {
+        final EwahBitString clone = (EwahBitString) super.clone();
+        clone.words = words.copy();
+        return clone;
+    }
+    
+    @Override
+    public BitString and(BitString arg) {
+        if (!(arg instanceof EwahBitString)) return super.and(arg);
+        iEncodedOp(EncodedOp.AND, (EwahBitString) arg);
+        return this;
+    }
+    
+    @Override
+    public BitString andNot(BitString arg) {
+        if (!(arg instanceof EwahBitString)) return super.andNot(arg);
+        iEncodedOp(EncodedOp.ANDNOT, (EwahBitString) arg);
+        return this;
+    }
+    
+    @Override
+    public BitString or(BitString arg) {
+        if (!(arg instanceof EwahBitString)) return super.or(arg);
+        iEncodedOp(EncodedOp.OR, (EwahBitString) arg);
+        return this;
+    }
+    
+    @Override
+    public BitString xor(BitString arg) {
+        if (!(arg instanceof EwahBitString)) return super.xor(arg);
+        iEncodedOp(EncodedOp.XOR, (EwahBitString) arg);
+        return this;
+    }
+    
+    /**
+     * Applies the specified operation to the leading bits of this bit string and
+     * that bit string, over the length of the shorter one. The whole words are
+     * merged into new encoded words, followed by the rest of the words of this
+     * bit string; any partial word at the end is then combined in place.
+     */
+    private void iEncodedOp(EncodedOp op, EwahBitString that) {
+        incrementBitsModCount();
+        final int length = Math.min(this.length(), that.length());
+        final int fullWords = length >>> ADDRESS_BITS_PER_WORD;
+        final Reader left = new Reader(this.words);
+        final Reader right = new Reader(that.words);
+        final Words result = new Words();
+        result.merge(left, right, fullWords, op);
+        result.append(left, this.words.wordCount - fullWords);
+        this.words = result;
+        final int offset = fullWords << ADDRESS_BITS_PER_WORD;
+        if (offset < length) op.applyToRange(this, offset, length - offset, that);
+    }
+    
+    @Override
+    public int numberOfOnes(int offset, int length) {
+        if (offset != 0 || length != length()) return super.numberOfOnes(offset, length);
+        final long[] buffer = words.buffer;
+        int count = 0;
+        for (int i = 0; i < words.size; ) {
+            final long marker = buffer[i++];
+            if (runBit(marker)) count += runLength(marker) << ADDRESS_BITS_PER_WORD;
+            for (final int end = i + literalCount(marker); i < end; i++) {
+                count += Long.bitCount(buffer[i]);
+            }
+        }
+        return count;
+    }
+    
+    /**
+     * Returns an iterator over the offsets of the {@code ONES} of this bit string,
+     * in ascending order. The iterator reads the encoded words directly, skipping
+     * runs of {@code ZEROS} a run at a time. This bit string must not be modified
+     * while the iterator is in use.
+     * 
+     * @return an iterator over the offsets of the {@code ONES} of this bit string
+     */
+    public PrimitiveIterator.OfInt onesIterator() {
+        return new OnesIterator(words);
+    }
+    
+    private static boolean runBit(long marker) {
+        return marker < 0L;
+    }
+    
+    private static int runLength(long marker) {
+        // no run can exceed the MAX_LONGS words of the longest bit string
+        return (int)((marker >>> RUN_LENGTH_SHIFT) & RUN_LENGTH_MASK);
+    }
+    
+    private static int literalCount(long marker) {
+        return (int)marker & MAX_LITERAL_COUNT;
+    }
+    
+    private static long marker(boolean runBit, int runLength, int literalCount) {
+        return (runBit ? RUN_BIT_MASK : 0L) | ((long)runLength << RUN_LENGTH_SHIFT) | literalCount;
+    }
+    
+    /**
+     * The encoded words of an {@code EwahBitString}, with a cursor caching the
+     * position of the last marker word read, so that words read in ascending
+     * order are found without rescanning the markers before them.
+     */
+    private static final class Words implements Serializable {
+    
+        /**
+         * 
+         */
+        private static final long serialVersionUID = -2238714617402291582L;
+    
+        private long[] buffer;
+    
+        /**
+         * The number of encoded words in the buffer.
+         */
+        private int size;
+    
+        /**
+         * The index of the last marker word.
+         */
+        private int lastMarker;
+    
+        /**
+         * The number of words encoded.
+         */
+        private int wordCount;
+    
+        /**
+         * The index of the cached marker word, and the index of the first word
+         * it encodes.
+         */
+        private transient int cursorMarker, cursorStart;
+    
+        Words() {
+            this.buffer = new long[4];
+            this.size = 1;
+        }
+    
+        private Words(long[] buffer, int size, int lastMarker, int wordCount) {
+            this.buffer = buffer;
+            this.size = size;
+            this.lastMarker = lastMarker;
+            this.wordCount = wordCount;
+        }
+    
+        Words copy() {
+            return new Words(buffer.clone(), size, lastMarker, wordCount);
+        }
+    
+        void trim() {
+            if (buffer.length > size) buffer = Arrays.copyOf(buffer, size);
+        }
+    
+        private void ensureSpace(int nWords) {
+            if (size + nWords > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(size + nWords, buffer.length * 2));
+            }
+        }
+    
+        /**
+         * Moves the cursor to the marker word encoding the specified word, which
+         * must be less than the number of words encoded.
+         */
+        private void seek(int wordIndex) {
+            if (wordIndex < cursorStart) {
+                cursorMarker = 0;
+                cursorStart = 0;
+            }
+            while (true) {
+                final long marker = buffer[cursorMarker];
+                final int nWords = runLength(marker) + literalCount(marker);
+                if (wordIndex < cursorStart + nWords) return;
+                cursorStart += nWords;
+                cursorMarker += 1 + literalCount(marker);
+            }
+        }
+    
+        long getWord(int wordIndex) {
+            if (wordIndex >= wordCount) return 0L;
+            seek(wordIndex);
+            final long marker = buffer[cursorMarker];
+            final int index = wordIndex - cursorStart - runLength(marker);
+            if (index < 0) return runBit(marker) ? WORD_MASK : 0L;
+            return buffer[cursorMarker + 1 + index];
+        }
+    
+        void setWord(int wordIndex, long word) {
+            if (wordIndex >= wordCount) {
+                if (word == 0L) return;
+                addRun(false, wordIndex - wordCount);
+                addLiteral(word);
+                return;
+            }
+            seek(wordIndex);
+            final long marker = buffer[cursorMarker];
+            final int runIndex = wordIndex - cursorStart;
+            final int runLength = runLength(marker);
+            if (runIndex >= runLength) {
+                buffer[cursorMarker + 1 + runIndex - runLength] = word;
+                return;
+            }
+            final boolean runBit = runBit(marker);
+            if (word == (runBit ? WORD_MASK : 0L)) return;
+            // split the run around the word, which becomes the one literal of
+            // the first half; the second half keeps the literals of the marker
+            ensureSpace(2);
+            final int m = cursorMarker;
+            System.arraycopy(buffer, m + 1, buffer, m + 3, size - m - 1);
+            buffer[m] = marker(runBit, runIndex, 1);
+            buffer[m + 1] = word;
+            buffer[m + 2] = marker(runBit, runLength - runIndex - 1, literalCount(marker));
+            size += 2;
+            if (lastMarker >= m) lastMarker += 2;
+        }
+    
+        void addRun(boolean runBit, int nWords) {
+            if (nWords == 0) return;
+            final long marker = buffer[lastMarker];
+            if (literalCount(marker) == 0 && (runLength(marker) == 0 || runBit(marker) == runBit)) {
+                buffer[lastMarker] = marker(runBit, runLength(marker) + nWords, 0);
+            } else {
+                ensureSpace(1);
+                lastMarker = size;
+                buffer[size++] = marker(runBit, nWords, 0);
+            }
+            wordCount += nWords;
+        }
+    
+        void addLiteral(long word) {
+            if (word == 0L || word == WORD_MASK) {
+                addRun(word != 0L, 1);
+                return;
+            }
+            ensureSpace(2);
+            if (literalCount(buffer[lastMarker]) == MAX_LITERAL_COUNT) {
+                lastMarker = size;
+                buffer[size++] = 0L;
+            }
+            buffer[lastMarker]++;
+            buffer[size++] = word;
+            wordCount++;
+        }
+    
+        /**
+         * Appends the next specified number of words read by the specified reader.
+         */
+        void append(Reader reader, int nWords) {
+            while (nWords > 0) {
+                reader.next();
+                if (reader.runRemaining > 0) {
+                    final int n = Math.min(nWords, reader.runRemaining);
+                    addRun(reader.runBit, n);
+                    reader.runRemaining -= n;
+                    nWords -= n;
+                } else {
+                    addLiteral(reader.nextLiteral());
+                    nWords--;
+                }
+            }
+        }
+    
+        /**
+         * Drops all but the specified number of leading words.
+         */
+        void truncate(int nWords) {
+            if (nWords >= wordCount) return;
+            final Words result = new Words();
+            result.append(new Reader(this), nWords);
+            buffer = result.buffer;
+            size = result.size;
+            lastMarker = result.lastMarker;
+            wordCount = result.wordCount;
+            cursorMarker = 0;
+            cursorStart = 0;
+        }
+    
+        /**
+         * Appends the result of the specified operation on the next specified
+         * number of words read by each of the specified readers.
+         */
+        void merge(Reader left, Reader right, int nWords, EncodedOp op) {
+            while (nWords > 0) {
+                left.next();
+                right.next();
+                int n;
+                if (left.runRemaining > 0 && right.runRemaining > 0) {
+                    n = Math.min(nWords, Math.min(left.runRemaining, right.runRemaining));
+                    addRun(op.applyAsLong(left.runWord(), right.runWord()) != 0L, n);
+                } else if (left.runRemaining > 0) {
+                    n = Math.min(nWords, Math.min(left.runRemaining, right.literalRemaining));
+                    final long runWord = left.runWord();
+                    final long result = op.applyAsLong(runWord, 0L);
+                    if (result == op.applyAsLong(runWord, WORD_MASK)) {
+                        addRun(result != 0L, n);
+                        right.skipLiterals(n);
+                    } else {
+                        for (int i = 0; i < n; i++) addLiteral(op.applyAsLong(runWord, right.nextLiteral()));
+                    }
+                } else if (right.runRemaining > 0) {
+                    n = Math.min(nWords, Math.min(left.literalRemaining, right.runRemaining));
+                    final long runWord = right.runWord();
+                    final long result = op.applyAsLong(0L, runWord);
+                    if (result == op.applyAsLong(WORD_MASK, runWord)) {
+                        addRun(result != 0L, n);
+                        left.skipLiterals(n);
+                    } else {
+                        for (int i = 0; i < n; i++) addLiteral(op.applyAsLong(left.nextLiteral(), runWord));
+                    }
+                } else {
+                    n = Math.min(nWords, Math.min(left.literalRemaining, right.literalRemaining));
+                    for (int i = 0; i < n; i++) addLiteral(op.applyAsLong(left.nextLiteral(), right.nextLiteral()));
+                }
+                if (left.runRemaining > 0) left.runRemaining -= n;
+                if (right.runRemaining > 0) right.runRemaining -= n;
+                nWords -= n;
+            }
+        }
+    }
+    
+    /**
+     * Reads the encoded words of an {@code EwahBitString} in order, a run or a
+     * literal at a time. Past the last encoded word, the reader reads an endless
+     * run of {@code ZEROS}.
+     */
+    private static final class Reader {
+    
+        private final long[] buffer;
+    
+        private final int size;
+    
+        private int nextMarker;
+    
+        boolean runBit;
+    
+        int runRemaining;
+    
+        int literalRemaining;
+    
+        private int literalIndex;
+    
+        Reader(Words words) {
+            this.buffer = words.buffer;
+            this.size = words.size;
+        }
+    
+        /**
+         * Moves to the next marker word, unless the current one still has words
+         * left to read. On return, either {@code runRemaining} or
+         * {@code literalRemaining} is positive.
+         */
+        void next() {
+            while (runRemaining == 0 && literalRemaining == 0) {
+                if (nextMarker >= size) {
+                    runBit = false;
+                    runRemaining = Integer.MAX_VALUE;
+                    return;
+                }
+                final long marker = buffer[nextMarker];
+                runBit = runBit(marker);
+                runRemaining = runLength(marker);
+                literalRemaining = literalCount(marker);
+                literalIndex = nextMarker + 1;
+                nextMarker = literalIndex + literalRemaining;
+            }
+        }
+    
+        long runWord() {
+            return runBit ? WORD_MASK : 0L;
+        }
+    
+        long nextLiteral() {
+            literalRemaining--;
+            return buffer[literalIndex++];
+        }
+    
+        void skipLiterals(int n) {
+            literalRemaining -= n;
+            literalIndex += n;
+        }
+    }
+    
+    /**
+     * Iterates over the offsets of the {@code ONES} of an {@code EwahBitString}.
+     */
+    private static final class OnesIterator implements PrimitiveIterator.OfInt {
+    
+        private final Reader reader;
+    
+        private final int wordCount;
+    
+        private int wordIndex;
+    
+        /**
+         * The remaining ONES of the current literal word, and the offset of its
+         * first bit.
+         */
+        private long bits;
+    
+        private int bitsOffset;
+    
+        /**
+         * The next offset, and the end offset, of the current run of ONES.
+         */
+        private int runOffset, runEnd;
+    
+        OnesIterator(Words words) {
+            this.reader = new Reader(words);
+            this.wordCount = words.wordCount;
+        }
+    
+        @Override
+        public boolean hasNext() {
+            while (bits == 0L && runOffset == runEnd) {
+                if (wordIndex >= wordCount) return false;
+                reader.next();
+                if (reader.runRemaining > 0) {
+                    final int n = Math.min(reader.runRemaining, wordCount - wordIndex);
+                    if (reader.runBit) {
+                        runOffset = wordIndex << ADDRESS_BITS_PER_WORD;
+                        runEnd = (wordIndex + n) << ADDRESS_BITS_PER_WORD;
+                    }
+                    reader.runRemaining -= n;
+                    wordIndex += n;
+                } else {
+                    bits = reader.nextLiteral();
+                    bitsOffset = wordIndex << ADDRESS_BITS_PER_WORD;
+                    wordIndex++;
+                }
+            }
+            return true;
+        }
+    
+        @Override
+        public int nextInt() {
+            if (!hasNext()) throw new NoSuchElementException();
+            if (runOffset < runEnd) return runOffset++;
+            final int bit = Long.numberOfLeadingZeros(bits);
+            bits &= ~(RUN_BIT_MASK >>> bit);
+            return bitsOffset + bit;
+        }
+    }
+    
+    /**
+     * The bitwise operations that can be computed on the encoded words.
+     */
+    private enum EncodedOp implements LongBinaryOperator {
+        AND {
+            @Override
+            public long applyAsLong(long left, long right) {
+                return left & right;
+            }
+    
+            @Override
+            void applyToRange(BitString dest, int offset, int length, BitString src) {
+                dest.and(offset, length, src, offset, length);
+            }
+        },
+        ANDNOT {
+            @Override
+            public long applyAsLong(long left, long right) {
+                return left & ~right;
+            }
+    
+            @Override
+            void applyToRange(BitString dest, int offset, int length, BitString src) {
+                dest.andNot(offset, length, src, offset, length);
+            }
+        },
+        OR {
+            @Override
+            public long applyAsLong(long left, long right) {
+                return left | right;
+            }
+    
+            @Override
+            void applyToRange(BitString dest, int offset, int length, BitString src) {
+                dest.or(offset, length, src, offset, length);
+            }
+        },
+        XOR {
+            @Override
+            public long applyAsLong(long left, long right) {
+                return left ^ right;
+            }
+    
+            @Override
+            void applyToRange(BitString dest, int offset, int length, BitString src) {
+                dest.xor(offset, length, src, offset, length);
+            }
+        };
+    
+        abstract void applyToRange(BitString dest, int offset, int length, BitString src);
+    }
+}
@@ -0,0 +1,368 @@
+/* Copyright (C) 2026 James R. Pfeifer. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * General Public License for more details (a copy is included in the
+ * LICENSE file that accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this work.  If not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ * 
+ * Linking this library statically or dynamically with other modules is
+ * making a combined work based on this library.  Thus, the terms and
+ * conditions of the GNU General Public License cover the whole
+ * combination.
+ *
+ * As a special exception, the copyright holders of this library give you
+ * permission to link this library with independent modules to produce an
+ * executable, regardless of the license terms of these independent
+ * modules, and to copy and distribute the resulting executable under
+ * terms of your choice, provided that you also meet, for each linked
+ * independent module, the terms and conditions of the license of that
+ * module.  An independent module is a module which is not derived from
+ * or based on this library.  If you modify this library, you may extend
+ * this exception to your version of the library, but you are not
+ * obligated to do so.  If you do not wish to do so, delete this
+ * exception statement from your version.
+ *
+ * Please contact James Pfeifer at james@pfeifdom.net if you need additional
+ * information or have any questions.
+ */
+
+package net.pfeifdom.java.util;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+/**
+ * A {@code BitString} whose bits are held in a {@code LongBitString} with a
+ * gap in it, so that bits can be inserted and deleted at the gap without
+ * moving the bits that follow.
+ * 
+ * <p>
+ * The bits before the gap are held at their own offsets, and the bits after it
+ * are held past the end of the gap. An {@code insert}, {@code delete} or
+ * {@code replace} first moves the gap to where the bits are inserted or
+ * deleted, which moves only the bits between the old and the new place of the
+ * gap, and then fills the gap with the inserted bits or widens it over the
+ * deleted ones. Edits that follow a moving cursor, such as backpatching a
+ * stream as it is encoded, so cost time proportional to the size of the edit
+ * and the distance the cursor moved, not to the length of the bit string.
+ * {@link #moveGap(int)} moves the gap ahead of the edits to come.
+ * <p>
+ * When the gap is too narrow for an insert it is widened by at least half the
+ * size of the backing bit string. The capacity of a {@code GapBitString} does
+ * not count the gap; {@link #trimToLength()} removes the gap as well as the
+ * unused capacity. All other operations read and write the bits a word at a
+ * time, and the words before the gap are read and written directly.
+ */
+public class GapBitString extends BitString {
+    
+    /**
+     * 
+     */
+    private static final long serialVersionUID = -5372015937412659204L;
+    
+    private static final int ADDRESS_BITS_PER_WORD = 6;
+    
+    private static final long WORD_MASK = 0xFFFFFFFFFFFFFFFFL;
+    
+    /**
+     * The bits of this bit string, with the gap; its length is the capacity of
+     * this bit string plus the length of the gap.
+     */
+    private transient LongBitString physical;
+    
+    /**
+     * The offset in the physical bit string of the first bit of the gap, which
+     * is also the offset of the first bit after the gap in this bit string.
+     */
+    private transient int gapStart;
+    
+    /**
+     * The number of bits in the gap.
+     */
+    private transient int gapLength;
+    
+    /**
+     * Creates a new {@code GapBitString} of length 0. The capacity of the new
+     * {@code GapBitString} will equal Long.SIZE (64 bits).
+     */
+    public GapBitString() {
+        super(0);
+        initPhysical(Long.SIZE);
+    }
+    
+    /**
+     * Creates a new {@code GapBitString} with the specified length. The capacity
+     * of the new {@code GapBitString} will equal the nearest multiple of
+     * Long.SIZE (64 bits) greater than or equal to the length. All bits are
+     * initially set to {@code ZERO}.
+     * 
+     * @param length the initial length of the new {@code BitString}
+     * @throws IllegalArgumentException if the specified length is negative
+     */
+    public GapBitString(int length) {
+        super(length);
+        initPhysical(length);
+    }
+    
+    /**
+     * Creates a new {@code GapBitString} with the specified length and capacity.
+     * The specified capacity must be equal to or greater than the specified
+     * length. The actual capacity is rounded up to the nearest multiple of
+     * Long.SIZE (64 bits). All bits are initially set to {@code ZERO}.
+     * 
+     * @param length   the initial length of the new {@code BitString}
+     * @param capacity the initial capacity of the new {@code BitString}
+     * @throws IllegalArgumentException if the specified length is negative, or if
+     *                                  the specified capacity is less than the
+     *                                  length
+     */
+    public GapBitString(int length, int capacity) {
+        super(length);
+        if (capacity < length) {
+            throw new IllegalArgumentException("capacity (" + capacity + ") < length (" + length + ")");
+        }
+        initPhysical(capacity);
+    }
+    
+    private void initPhysical(int capacity) {
+        final LongBitString physical = new LongBitString(0, Math.max(capacity, 1));
+        physical.setLength(physical.capacity());
+        this.physical = physical;
+        this.gapStart = physical.length();
+        this.gapLength = 0;
+    }
+    
+    @Override
+    GapBitString newBitString(int length) {
+        return new GapBitString(length);
+    }
+    
+    @Override
+    void resizeBackingArray(int capacity) {
+        final int oldCapacity = capacity();
+        if (capacity > oldCapacity) {
+            physical.setLength(physical.length() + (capacity - oldCapacity));
+        } else if (capacity < oldCapacity) {
+            moveGap(Math.min(capacity, length()));
+            physical.setLength(gapStart);
+            physical.trimToLength();
+            gapLength = 0;
+            // the physical bit string may be longer once its capacity is rounded
+            physical.setLength(physical.capacity());
+            gapStart = physical.length();
+        }
+    }
+    
+    @Override
+    public int capacity() {
+        return physical.length() - gapLength;
+    }
+    
+    /**
+     * Cloning this {@code BitString} produces a new {@code BitString}
+     * that is equal to it.
+     * 
+     * @return a clone of this bit string
+     */
+    @Override
+    public GapBitString clone() {
+        final GapBitString clone = (GapBitString) super.clone();
+        clone.physical = physical.clone();
+        return clone;
+    }
+    
+    /**
+     * Saves the state of this {@code GapBitString} to a stream (that is,
+     * serializes it).
+     * 
+     * @param stream stream to save the state of this instance
+     * @throws IOException I/O error occurred while writing to stream
+     * @serialData The bits of this bit string, up to its length, in the compact
+     *             block format written for {@code LongBitString}. The gap is
+     *             not written.
+     */
+    private void writeObject(ObjectOutputStream stream) throws IOException {
+        stream.defaultWriteObject();
+        writeBlocks(stream);
+    }
+    
+    /**
+     * Reconstitutes this {@code GapBitString} from a stream (that is,
+     * deserializes it).
+     * 
+     * @param stream stream to be deserialized
+     * @throws ClassNotFoundException Class of a serialized object cannot be found.
+     * @throws IOException            I/O error occurred while reading from stream
+     */
+    private void readObject(ObjectInputStream stream)
+            throws IOException, ClassNotFoundException {
+        stream.defaultReadObject();
+        initPhysical(length());
+        readBlocks(stream);
+    }
+    
+    /**
+     * Returns the offset of the gap, which is the offset of the first bit of
+     * this {@code BitString} that follows the gap.
+     * 
+     * @return the offset of the gap
+     */
+    public int gapOffset() {
+        return gapStart;
+    }
+    
+    /**
+     * Moves the gap to the specified position. Only the bits between the
+     * current and the new position of the gap are moved; the bits of this
+     * {@code BitString} are unchanged.
+     * <p>
+     * Inserts and deletes move the gap themselves, so this is only a hint,
+     * which lets the bits be moved before the edits at the position are made.
+     * 
+     * @param position the new position of the gap
+     * @throws StringIndexOutOfBoundsException if
+     *                                         {@code position < 0 || position > length()}
+     */
+    public void moveGap(int position) {
+        if (position < 0 || position > length()) {
+            throw new StringIndexOutOfBoundsException(
+                    "specified position is invalid for this BitString; position=" + position + ", length=" + length());
+        }
+        iMoveGap(position);
+    }
+    
+    private void iMoveGap(int position) {
+        if (gapLength > 0) {
+            if (position < gapStart) {
+                final int n = gapStart - position;
+                physical.copyFromBackOf(position + gapLength, n, physical, position, n);
+            } else if (position > gapStart) {
+                final int n = position - gapStart;
+                physical.copyFrom(gapStart, n, physical, gapStart + gapLength, n);
+            }
+        }
+        gapStart = position;
+    }
+    
+    /**
+     * Widens the gap, if it is narrower than the specified number of bits, by
+     * moving the bits after it to the end of a longer physical bit string.
+     */
+    private void ensureGap(int nBits) {
+        if (gapLength >= nBits) return;
+        final int oldLength = physical.length();
+        final long wanted = Math.max((long)nBits - gapLength, Math.max(oldLength >>> 1, Long.SIZE));
+        final long newLength = Math.min((long)oldLength + wanted, Integer.MAX_VALUE);
+        if (newLength - oldLength < nBits - gapLength) {
+            throw new UnsupportedOperationException(
+                    "the gap can not be widened to " + nBits + " bits without exceeding the maximum length of "
+                            + Integer.MAX_VALUE + ": physical length=" + oldLength + ", gap length=" + gapLength);
+        }
+        final int widening = (int)(newLength - oldLength);
+        physical.setLength((int)newLength);
+        final int tail = oldLength - gapStart - gapLength;
+        if (tail > 0) {
+            physical.copyFromBackOf(gapStart + gapLength + widening, tail, physical, gapStart + gapLength, tail);
+        }
+        gapLength += widening;
+    }
+    
+    @Override
+    long getWord(int wordIndex) {
+        final int offset = wordIndex << ADDRESS_BITS_PER_WORD;
+        if (offset <= gapStart - Long.SIZE) return physical.getWord(wordIndex);
+        if (offset >= gapStart) return getPhysical(offset + gapLength);
+    
+        // the word is split by the gap
+        final int before = gapStart - offset;
+        final long mask = WORD_MASK << (Long.SIZE - before);
+        return (physical.getWord(wordIndex) & mask) | (getPhysical(gapStart + gapLength) >>> before);
+    }
+    
+    @Override
+    void setWord(int wordIndex, long word) {
+        final int offset = wordIndex << ADDRESS_BITS_PER_WORD;
+        if (offset <= gapStart - Long.SIZE) {
+            physical.setWord(wordIndex, word);
+        } else if (offset >= gapStart) {
+            putPhysical(offset + gapLength, Long.SIZE, word);
+        } else {
+            // the word is split by the gap
+            final int before = gapStart - offset;
+            final long mask = WORD_MASK << (Long.SIZE - before);
+            physical.setWord(wordIndex, (physical.getWord(wordIndex) & ~mask) | (word & mask));
+            putPhysical(gapStart + gapLength, Long.SIZE - before, word << before);
+        }
+    }
+    
+    /**
+     * Returns the 64 bits of the physical bit string starting at the specified
+     * offset, with ZEROS past its end.
+     */
+    private long getPhysical(int offset) {
+        return (offset < physical.length()) ? physical.getFullWord(offset) : 0L;
+    }
+    
+    /**
+     * Replaces the specified number of bits of the physical bit string, starting
+     * at the specified offset, with the leftmost bits of the specified word,
+     * leaving out any past its end.
+     */
+    private void putPhysical(int offset, int nBits, long bits) {
+        final int n = Math.min(nBits, physical.length() - offset);
+        if (n > 0) physical.putBits(offset, n, bits >>> (Long.SIZE - n));
+    }
+    
+    @Override
+    void iDelete(int bitIndex, int length) {
+        if (length > 0) {
+            iMoveGap(bitIndex);
+            gapLength += length;
+            stringLength -= length;
+            incrementModCount();
+            incrementBitsModCount();
+        }
+    }
+    
+    @Override
+    void iInsert(int position, BitString that, int thatOffset, int thatLength) {
+        if (thatLength == 0) return;
+        if (position == this.length()) {
+            iAppend(that, thatOffset, thatLength);
+            return;
+        }
+        iReplace(position, 0, that, thatOffset, thatLength);
+    }
+    
+    @Override
+    void iReplace(int thisBitIndex, int thisLength, BitString that, int thatOffset, int thatLength) {
+        if (thisLength == 0 && thatLength == 0) return;
+    
+        // that may be this bit string, or a Range of it, whose bits are about
+        // to move
+        final LongBitString bits = new LongBitString(thatLength);
+        if (thatLength > 0) bits.copyFrom(0, thatLength, that, thatOffset, thatLength);
+    
+        iMoveGap(thisBitIndex);
+        gapLength += thisLength;
+        ensureGap(thatLength);
+        gapStart += thatLength;
+        gapLength -= thatLength;
+        stringLength += thatLength - thisLength;
+        if (thatLength > 0) copyFrom(thisBitIndex, thatLength, bits, 0, thatLength);
+        if (thatLength < thisLength) incrementModCount();
+        incrementBitsModCount();
+    }
+}
+    
\ No newline at end of file
@@ -38,6 +38,10 @@
 
 package net.pfeifdom.java.util;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.nio.ByteBuffer;
 import java.nio.LongBuffer;
 import java.util.Arrays;
@@ -52,9 +56,21 @@ public class LongBitString extends BitString {
     private static final int ADDRESS_BITS_PER_WORD = 6;
     
     /**
-     * The internal field corresponding to the serialField "bits".
+     * The serializable fields of {@code LongBitString}.
+     *
+     * @serialField backingArray long[] always {@code null} since version 1 of
+     *              the compact serial format, after which the bits are written
+     *              in blocks; holds the whole backing array in streams written
+     *              before it
      */
-    private long[] backingArray;
+    private static final ObjectStreamField[] serialPersistentFields = {
+        new ObjectStreamField("backingArray", long[].class)
+    };
+    
+    /**
+     * The internal field corresponding to the serialField "backingArray".
+     */
+    private transient long[] backingArray;
 
     /**
      * Creates a new {@code LongBitString} of length 0. The capacity of the new
@@ -154,6 +170,46 @@ public class LongBitString extends BitString {
 //        }
 //    }
     
+    /**
+     * Saves the state of this {@code LongBitString} to a stream (that is, serializes
+     * it).
+     *
+     * @param stream stream to save the state of this instance
+     * @throws IOException I/O error occurred while writing to stream
+     * @serialData The {@code backingArray} field is written as {@code null},
+     *             followed by the bits of this bit string, up to its length, in
+     *             the compact block format of version 1: the format version
+     *             (byte), then a tag (byte) for each block of 4096 bits followed
+     *             by the block as a list of offsets, a list of runs or its bytes,
+     *             whichever is smallest, or by nothing if the block is all
+     *             {@code ZEROS} or all {@code ONES}.
+     */
+    private void writeObject(ObjectOutputStream stream) throws IOException {
+        stream.putFields().put("backingArray", null);
+        stream.writeFields();
+        writeBlocks(stream);
+    }
+    
+    /**
+     * Reconstitutes this {@code LongBitString} from a stream (that is, deserializes
+     * it). The backing array is sized to the length of the bit string, and a
+     * stream written before the compact block format is still read.
+     *
+     * @param stream stream to be deserialized
+     * @throws ClassNotFoundException Class of a serialized object cannot be found.
+     * @throws IOException            I/O error occurred while reading from stream
+     */
+    private void readObject(ObjectInputStream stream)
+            throws IOException, ClassNotFoundException {
+        final long[] backingArray = (long[]) stream.readFields().get("backingArray", null);
+        if (backingArray != null) {
+            this.backingArray = backingArray;
+            return;
+        }
+        initBackingArray(length());
+        readBlocks(stream);
+    }
+    
     /**
      * Returns a new BitString containing all the bits in the given boolean array.
      * <p>
@@ -376,10 +432,10 @@ public class LongBitString extends BitString {
         bb = bb.slice();
         //checkNewBitStringLength(bb.remaining() * (long)Byte.SIZE);
         if (bb.remaining() > MAX_BYTES) throw new IllegalArgumentException("ByteBuffer array is too large");
-        byte[] bytes = new byte[bb.remaining()];
-        bb.get(bytes);
-        final int length = (bytes.length == MAX_BYTES) ? Integer.MAX_VALUE : bytes.length * Byte.SIZE;
-        return new LongBitString(packBytes(bytes), length);
+        final int length = (bb.remaining() == MAX_BYTES) ? Integer.MAX_VALUE : bb.remaining() * Byte.SIZE;
+        final LongBitString bits = new LongBitString(length);
+        bits.readFrom(bb);
+        return bits;
     }
     
     static int longIndex(int bitIndex) {
@@ -398,6 +454,11 @@ public class LongBitString extends BitString {
         backingArray[wordIndex] = word;
     }
     
+    @Override
+    long[] wordArray() {
+        return this.backingArray;
+    }
+    
 //    /**
 //     * Returns a substring of this {@code BitString}.
 //     *
@@ -0,0 +1,249 @@
+/* Copyright (C) 2026 James R. Pfeifer. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * General Public License for more details (a copy is included in the
+ * LICENSE file that accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this work.  If not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ * 
+ * Linking this library statically or dynamically with other modules is
+ * making a combined work based on this library.  Thus, the terms and
+ * conditions of the GNU General Public License cover the whole
+ * combination.
+ *
+ * As a special exception, the copyright holders of this library give you
+ * permission to link this library with independent modules to produce an
+ * executable, regardless of the license terms of these independent
+ * modules, and to copy and distribute the resulting executable under
+ * terms of your choice, provided that you also meet, for each linked
+ * independent module, the terms and conditions of the license of that
+ * module.  An independent module is a module which is not derived from
+ * or based on this library.  If you modify this library, you may extend
+ * this exception to your version of the library, but you are not
+ * obligated to do so.  If you do not wish to do so, delete this
+ * exception statement from your version.
+ *
+ * Please contact James Pfeifer at james@pfeifdom.net if you need additional
+ * information or have any questions.
+ */
+
+package net.pfeifdom.java.util;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A {@code BitString} whose words are stored in a file, mapped into memory with
+ * {@code FileChannel.map}.
+ * 
+ * <p>
+ * Bit operations read and write the mapped pages of the file directly, so a
+ * bit string can be reopened without being rebuilt, and the operating system's
+ * page cache, rather than the Java heap, holds its words. Growing the bit string
+ * beyond its capacity extends the file and remaps it.
+ * <p>
+ * The file starts with an 8-byte big-endian header holding the length of the
+ * bit string, followed by its words as big-endian longs. Changes to the words
+ * are written to the file by the operating system at its discretion;
+ * {@link #force()} writes the header and all changes to the storage device. The
+ * length recorded in the file is only updated by {@code force()} and
+ * {@link #close()}.
+ * <p>
+ * A {@code MappedBitString} must be closed, which forces it, unmaps the file
+ * and closes the file's channel.
+ */
+public class MappedBitString extends DirectBitString {
+    
+    /**
+     * 
+     */
+    private static final long serialVersionUID = -3098766542019841776L;
+    
+    /**
+     * The size, in bytes, of the file header holding the length.
+     */
+    private static final int HEADER_SIZE = Long.BYTES;
+    
+    private final transient FileChannel channel;
+    
+    /**
+     * The mapping of the whole file, header included.
+     */
+    private transient MappedByteBuffer mapping;
+    
+    private MappedBitString(FileChannel channel, MappedByteBuffer mapping, int length) {
+        super(words(mapping), length);
+        this.channel = channel;
+        this.mapping = mapping;
+    }
+    
+    /**
+     * Opens the bit string stored in the specified file, creating an empty bit
+     * string if the file does not exist or is empty.
+     * 
+     * @param path the file holding the bit string
+     * @return the bit string stored in the file
+     * @throws IOException if the file cannot be opened or mapped, or does not
+     *                     hold a valid bit string
+     */
+    public static MappedBitString open(Path path) throws IOException {
+        return open(path, Long.SIZE);
+    }
+    
+    /**
+     * Opens the bit string stored in the specified file, creating an empty bit
+     * string if the file does not exist or is empty. The capacity of the bit
+     * string will be at least the specified capacity, rounded up to the nearest
+     * multiple of Long.SIZE (64 bits).
+     * 
+     * @param path     the file holding the bit string
+     * @param capacity the minimum capacity of the bit string
+     * @return the bit string stored in the file
+     * @throws IOException              if the file cannot be opened or mapped, or
+     *                                  does not hold a valid bit string
+     * @throws IllegalArgumentException if the specified capacity is negative
+     */
+    public static MappedBitString open(Path path, int capacity) throws IOException {
+        checknBits(capacity);
+        final FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.CREATE);
+        try {
+            final long fileSize = channel.size();
+            int length = 0;
+            if (fileSize > 0) {
+                if (fileSize < HEADER_SIZE) throw new IOException("not a bit string file: " + path);
+                final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+                while (header.hasRemaining()) {
+                    if (channel.read(header, header.position()) < 0) throw new IOException("not a bit string file: " + path);
+                }
+                final long storedLength = header.getLong(0);
+                if (storedLength < 0 || storedLength > Integer.MAX_VALUE
+                        || storedLength > (fileSize - HEADER_SIZE) * Byte.SIZE) {
+                    throw new IOException("invalid bit string length " + storedLength + " in file: " + path);
+                }
+                length = (int)storedLength;
+            }
+            final long byteCount = Math.max(fileSize - HEADER_SIZE, byteCount(Math.max(Math.max(capacity, length), 1)));
+            final MappedByteBuffer mapping = channel.map(FileChannel.MapMode.READ_WRITE, 0L, HEADER_SIZE + byteCount);
+            final MappedBitString bitString = new MappedBitString(channel, mapping, length);
+            bitString.writeHeader();
+            return bitString;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+    
+    /**
+     * Returns a big-endian view of the words of the specified mapping, which
+     * follow the header.
+     */
+    private static ByteBuffer words(MappedByteBuffer mapping) {
+        final ByteBuffer words = mapping.duplicate();
+        words.position(HEADER_SIZE);
+        return words.slice().order(ByteOrder.BIG_ENDIAN);
+    }
+    
+    private void writeHeader() {
+        mapping.putLong(0, length());
+    }
+    
+    /**
+     * Writes the length of this bit string, and all changes to its words, to the
+     * storage device holding the file.
+     * 
+     * @throws IllegalStateException if this bit string has been closed
+     */
+    public void force() {
+        buffer();
+        writeHeader();
+        mapping.force();
+    }
+    
+    /**
+     * Grow or shrink the file to hold the specified capacity, and remap it.
+     */
+    @Override
+    void resizeBackingArray(int capacity) {
+        final int newByteCount = byteCount(capacity);
+        if (newByteCount == buffer().capacity()) return;
+        final MappedByteBuffer oldMapping = this.mapping;
+        writeHeader();
+        try {
+            if (newByteCount > buffer().capacity()) {
+                this.mapping = channel.map(FileChannel.MapMode.READ_WRITE, 0L, HEADER_SIZE + (long)newByteCount);
+                setBuffer(words(mapping));
+                unmap(oldMapping);
+            } else {
+                // the file can only be truncated once it is no longer mapped
+                oldMapping.force();
+                unmap(oldMapping);
+                channel.truncate(HEADER_SIZE + (long)newByteCount);
+                this.mapping = channel.map(FileChannel.MapMode.READ_WRITE, 0L, HEADER_SIZE + (long)newByteCount);
+                setBuffer(words(mapping));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    private static void unmap(MappedByteBuffer mapping) {
+        BufferCleaner.clean(mapping);
+    }
+    
+    /**
+     * Forces this bit string to the storage device, unmaps the file and closes
+     * its channel. Closing a bit string that is already closed has no effect.
+     * 
+     * @throws UncheckedIOException if the channel cannot be closed
+     */
+    @Override
+    public void close() {
+        if (!isOpen()) return;
+        force();
+        super.close();
+    }
+    
+    /**
+     * Unmap the file and close its channel; the words buffer itself is a view of
+     * the mapping.
+     */
+    @Override
+    void free(ByteBuffer buffer) {
+        unmap(mapping);
+        mapping = null;
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    /**
+     * Returns a new, in-memory {@code DirectBitString} that is equal to this bit
+     * string. The clone is not backed by the file.
+     *
+     * @return a copy of this bit string
+     */
+    @Override
+    public DirectBitString clone() {
+        final DirectBitString clone = new DirectBitString(length(), capacity());
+        clone.copyFrom(this);
+        return clone;
+    }
+}
@@ -0,0 +1,538 @@
+/* Copyright (C) 2026 James R. Pfeifer. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * General Public License for more details (a copy is included in the
+ * LICENSE file that accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this work.  If not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ * 
+ * Linking this library statically or dynamically with other modules is
+ * making a combined work based on this library.  Thus, the terms and
+ * conditions of the GNU General Public License cover the whole
+ * combination.
+ *
+ * As a special exception, the copyright holders of this library give you
+ * permission to link this library with independent modules to produce an
+ * executable, regardless of the license terms of these independent
+ * modules, and to copy and distribute the resulting executable under
+ * terms of your choice, provided that you also meet, for each linked
+ * independent module, the terms and conditions of the license of that
+ * module.  An independent module is a module which is not derived from
+ * or based on this library.  If you modify this library, you may extend
+ * this exception to your version of the library, but you are not
+ * obligated to do so.  If you do not wish to do so, delete this
+ * exception statement from your version.
+ *
+ * Please contact James Pfeifer at james@pfeifdom.net if you need additional
+ * information or have any questions.
+ */
+
+package net.pfeifdom.java.util;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A {@code BitString} whose bits are held in chunks of up to 4096 bits, kept in
+ * order in a balanced tree, so that bits can be inserted and deleted anywhere
+ * without moving the bits that follow.
+ * 
+ * <p>
+ * The tree is a treap keyed implicitly by offset: each node holds one chunk and
+ * the number of bits in its subtree, and the nodes are heap ordered by random
+ * priorities, which keeps the expected depth of the tree logarithmic. An
+ * {@code insert}, {@code delete}, {@code replace} or {@code append} splits the
+ * tree around the chunks it touches, rebuilds those chunks with the new bits,
+ * packed evenly, and joins the tree back together, so it takes time
+ * proportional to the log of the length plus the number of bits inserted,
+ * however far from the end of the bit string it is.
+ * <p>
+ * All other operations read and write the bits a word at a time. The node last
+ * found is remembered, so reading or writing consecutive words finds most of
+ * them without searching the tree. The capacity of a {@code RopeBitString} is
+ * the number of bits in its tree.
+ */
+public class RopeBitString extends BitString {
+    
+    /**
+     * 
+     */
+    private static final long serialVersionUID = 2217836484917235146L;
+    
+    private static final int ADDRESS_BITS_PER_WORD = 6;
+    
+    private static final int BITS_PER_CHUNK = 4096;
+    
+    private static final long WORD_MASK = 0xFFFFFFFFFFFFFFFFL;
+    
+    /**
+     * The root of the tree of chunks, or {@code null} if the capacity is 0.
+     */
+    private transient Node root;
+    
+    /**
+     * The node last found by {@link #find(int)}, and the offset of its first
+     * bit, or {@code null} once the tree has changed shape.
+     */
+    private transient Node finger;
+    
+    private transient int fingerStart;
+    
+    /**
+     * Creates a new {@code RopeBitString} of length 0. The capacity of the new
+     * {@code RopeBitString} will equal Long.SIZE (64 bits).
+     */
+    public RopeBitString() {
+        super(0);
+        this.root = zeros(Long.SIZE);
+    }
+    
+    /**
+     * Creates a new {@code RopeBitString} with the specified length. The capacity
+     * of the new {@code RopeBitString} will equal the nearest multiple of
+     * Long.SIZE (64 bits) greater than or equal to the length. All bits are
+     * initially set to {@code ZERO}.
+     * 
+     * @param length the initial length of the new {@code BitString}
+     * @throws IllegalArgumentException if the specified length is negative
+     */
+    public RopeBitString(int length) {
+        super(length);
+        this.root = zeros(roundCapacity(length));
+    }
+    
+    /**
+     * Creates a new {@code RopeBitString} with the specified length and
+     * capacity. The specified capacity must be equal to or greater than the
+     * specified length. The actual capacity is rounded up to the nearest multiple
+     * of Long.SIZE (64 bits). All bits are initially set to {@code ZERO}.
+     * 
+     * @param length   the initial length of the new {@code BitString}
+     * @param capacity the initial capacity of the new {@code BitString}
+     * @throws IllegalArgumentException if the specified length is negative, or if
+     *                                  the specified capacity is less than the
+     *                                  length
+     */
+    public RopeBitString(int length, int capacity) {
+        super(length);
+        if (capacity < length) {
+            throw new IllegalArgumentException("capacity (" + capacity + ") < length (" + length + ")");
+        }
+        this.root = zeros(roundCapacity(capacity));
+    }
+    
+    @Override
+    RopeBitString newBitString(int length) {
+        return new RopeBitString(length);
+    }
+    
+    private static int roundCapacity(int capacity) {
+        return (capacity > Integer.MAX_VALUE - (Long.SIZE - 1))
+                ? Integer.MAX_VALUE
+                : (capacity + (Long.SIZE - 1)) & -Long.SIZE;
+    }
+    
+    private static int wordCount(int nBits) {
+        return ((nBits - 1) >> ADDRESS_BITS_PER_WORD) + 1;
+    }
+    
+    @Override
+    void resizeBackingArray(int capacity) {
+        final int newSize = roundCapacity(capacity);
+        final int size = size(root);
+        if (newSize > size) {
+            edit(size, 0, new long[wordCount(newSize - size)], newSize - size);
+        } else if (newSize < size) {
+            edit(newSize, size - newSize, null, 0);
+        }
+    }
+    
+    @Override
+    public int capacity() {
+        return size(root);
+    }
+    
+    /**
+     * Cloning this {@code BitString} produces a new {@code BitString}
+     * that is equal to it.
+     * 
+     * @return a clone of this bit string
+     */
+    @Override
+    public RopeBitString clone() {
+        final RopeBitString clone = (RopeBitString) super.clone();
+        clone.root = copy(root);
+        clone.finger = null;
+        return clone;
+    }
+    
+    private static Node copy(Node node) {
+        if (node == null) return null;
+        final Node copy = new Node(node.words.clone(), node.nBits, node.priority);
+        copy.left = copy(node.left);
+        copy.right = copy(node.right);
+        copy.size = node.size;
+        return copy;
+    }
+    
+    /**
+     * Saves the state of this {@code RopeBitString} to a stream (that is,
+     * serializes it).
+     * 
+     * @param stream stream to save the state of this instance
+     * @throws IOException I/O error occurred while writing to stream
+     * @serialData The bits of this bit string, up to its length, in the compact
+     *             block format written for {@code LongBitString}.
+     */
+    private void writeObject(ObjectOutputStream stream) throws IOException {
+        stream.defaultWriteObject();
+        writeBlocks(stream);
+    }
+    
+    /**
+     * Reconstitutes this {@code RopeBitString} from a stream (that is,
+     * deserializes it).
+     * 
+     * @param stream stream to be deserialized
+     * @throws ClassNotFoundException Class of a serialized object cannot be found.
+     * @throws IOException            I/O error occurred while reading from stream
+     */
+    private void readObject(ObjectInputStream stream)
+            throws IOException, ClassNotFoundException {
+        stream.defaultReadObject();
+        root = zeros(roundCapacity(length()));
+        readBlocks(stream);
+    }
+    
+    @Override
+    long getWord(int wordIndex) {
+        final int size = size(root);
+        int offset = wordIndex << ADDRESS_BITS_PER_WORD;
+        if (offset >= size) return 0L;
+        long word = 0L;
+        for (int done = 0; done < Long.SIZE && offset < size; ) {
+            final Node node = find(offset);
+            final int bit = offset - fingerStart;
+            final int n = Math.min(Long.SIZE - done, node.nBits - bit);
+            word |= (getBits(node.words, bit) & (WORD_MASK << (Long.SIZE - n))) >>> done;
+            done += n;
+            offset += n;
+        }
+        return word;
+    }
+    
+    @Override
+    void setWord(int wordIndex, long word) {
+        final int size = size(root);
+        int offset = wordIndex << ADDRESS_BITS_PER_WORD;
+        for (int done = 0; done < Long.SIZE && offset < size; ) {
+            final Node node = find(offset);
+            final int bit = offset - fingerStart;
+            final int n = Math.min(Long.SIZE - done, node.nBits - bit);
+            putBits(node.words, bit, n, word << done);
+            done += n;
+            offset += n;
+        }
+    }
+    
+    @Override
+    void iAppend(BitString that, int thatOffset, int thatLength) {
+        iInsert(length(), that, thatOffset, thatLength);
+    }
+    
+    @Override
+    void iDelete(int bitIndex, int length) {
+        if (length > 0) {
+            edit(bitIndex, length, null, 0);
+            stringLength -= length;
+            incrementModCount();
+            incrementBitsModCount();
+        }
+    }
+    
+    @Override
+    void iInsert(int position, BitString that, int thatOffset, int thatLength) {
+        if (thatLength == 0) return;
+        edit(position, 0, wordsOf(that, thatOffset, thatLength), thatLength);
+        stringLength += thatLength;
+        incrementBitsModCount();
+    }
+    
+    @Override
+    void iReplace(int thisBitIndex, int thisLength, BitString that, int thatOffset, int thatLength) {
+        if (thisLength == 0 && thatLength == 0) return;
+        edit(thisBitIndex, thisLength, wordsOf(that, thatOffset, thatLength), thatLength);
+        stringLength += thatLength - thisLength;
+        if (thatLength < thisLength) incrementModCount();
+        incrementBitsModCount();
+    }
+    
+    /**
+     * Returns the specified substring of the specified bit string, as an array of
+     * words. The bits are copied before this bit string is changed, since the
+     * specified bit string may be this bit string, or a Range of it.
+     */
+    private static long[] wordsOf(BitString that, int thatOffset, int thatLength) {
+        if (thatLength == 0) return new long[0];
+        final long[] words = new long[wordCount(thatLength)];
+        for (int i = 0; i < words.length; i++) {
+            words[i] = that.getFullWord(thatOffset + (i << ADDRESS_BITS_PER_WORD));
+        }
+        final int lastBits = thatLength - ((words.length - 1) << ADDRESS_BITS_PER_WORD);
+        words[words.length - 1] &= WORD_MASK << (Long.SIZE - lastBits);
+        return words;
+    }
+    
+    /**
+     * Replaces the specified number of bits of the tree, starting at the
+     * specified offset, with the specified number of bits of the specified
+     * words.
+     * <p>
+     * The tree is split around the chunks holding the first and last replaced
+     * bits, or the chunk at the offset if no bits are replaced. The bits of
+     * those chunks that are kept, with the new bits between them, are packed
+     * evenly into new chunks, which are joined to the rest of the tree. If
+     * fewer than half a chunk of bits would be packed, the chunk that follows
+     * is packed with them, so chunks do not dwindle with repeated edits.
+     */
+    private void edit(int offset, int deleteLength, long[] words, int nBits) {
+        finger = null;
+        final int size = size(root);
+    
+        // the offsets of the first bit of the first chunk, and past the last
+        // bit of the last chunk, that hold the replaced bits
+        int start = offset;
+        int end = offset;
+        if (size > 0) {
+            final Node first = find(Math.min(offset, size - 1));
+            start = fingerStart;
+            end = fingerStart + first.nBits;
+            if (offset + deleteLength > end) {
+                find(offset + deleteLength - 1);
+                end = fingerStart + finger.nBits;
+            }
+            finger = null;
+        }
+    
+        final Node[] leftRest = split(root, start);
+        Node[] middleRight = split(leftRest[1], end - start);
+        final Node middle = middleRight[0];
+        Node right = middleRight[1];
+    
+        final int headLength = offset - start;
+        final int tailLength = end - offset - deleteLength;
+        int total = headLength + nBits + tailLength;
+        Node next = null;
+        if (total < BITS_PER_CHUNK / 2 && right != null) {
+            next = first(right);
+            middleRight = split(right, next.nBits);
+            right = middleRight[1];
+            total += next.nBits;
+        }
+    
+        final long[] bits = new long[(total == 0) ? 0 : wordCount(total)];
+        int at = 0;
+        if (headLength > 0) {
+            copyBits(first(middle).words, 0, bits, at, headLength);
+            at += headLength;
+        }
+        if (nBits > 0) {
+            copyBits(words, 0, bits, at, nBits);
+            at += nBits;
+        }
+        if (tailLength > 0) {
+            final Node last = last(middle);
+            copyBits(last.words, last.nBits - tailLength, bits, at, tailLength);
+            at += tailLength;
+        }
+        if (next != null) {
+            copyBits(next.words, 0, bits, at, next.nBits);
+        }
+        root = merge(merge(leftRest[0], chunks(bits, total)), right);
+    }
+    
+    /**
+     * Returns a tree of chunks holding the specified number of ZEROS.
+     */
+    private static Node zeros(int nBits) {
+        return chunks(new long[(nBits == 0) ? 0 : wordCount(nBits)], nBits);
+    }
+    
+    /**
+     * Returns a tree of chunks holding the specified number of bits of the
+     * specified words, packed evenly into as few chunks as will hold them.
+     */
+    private static Node chunks(long[] words, int nBits) {
+        if (nBits == 0) return null;
+        final int nChunks = (nBits - 1) / BITS_PER_CHUNK + 1;
+        Node tree = null;
+        for (int i = 0, from = 0; i < nChunks; i++) {
+            final int to = (int)((long)nBits * (i + 1) / nChunks);
+            final int chunkBits = to - from;
+            final long[] chunk = new long[wordCount(chunkBits)];
+            copyBits(words, from, chunk, 0, chunkBits);
+            tree = merge(tree, new Node(chunk, chunkBits, ThreadLocalRandom.current().nextInt()));
+            from = to;
+        }
+        return tree;
+    }
+    
+    /**
+     * Returns the node of the chunk holding the bit at the specified offset,
+     * which must be less than the capacity, and sets the finger to it.
+     */
+    private Node find(int offset) {
+        Node node = finger;
+        if (node != null && offset >= fingerStart && offset - fingerStart < node.nBits) return node;
+        node = root;
+        int start = 0;
+        for (;;) {
+            final int leftSize = size(node.left);
+            if (offset - start < leftSize) {
+                node = node.left;
+            } else if (offset - start < leftSize + node.nBits) {
+                start += leftSize;
+                break;
+            } else {
+                start += leftSize + node.nBits;
+                node = node.right;
+            }
+        }
+        finger = node;
+        fingerStart = start;
+        return node;
+    }
+    
+    private static Node first(Node node) {
+        while (node.left != null) node = node.left;
+        return node;
+    }
+    
+    private static Node last(Node node) {
+        while (node.right != null) node = node.right;
+        return node;
+    }
+    
+    private static int size(Node node) {
+        return (node == null) ? 0 : node.size;
+    }
+    
+    /**
+     * Splits the specified tree into a tree of its first 'offset' bits and a
+     * tree of the rest. The offset must fall on a chunk boundary.
+     */
+    private static Node[] split(Node node, int offset) {
+        if (node == null) return new Node[2];
+        final int leftSize = size(node.left);
+        if (offset <= leftSize) {
+            final Node[] parts = split(node.left, offset);
+            node.left = parts[1];
+            node.update();
+            parts[1] = node;
+            return parts;
+        }
+        assert offset >= leftSize + node.nBits;
+        final Node[] parts = split(node.right, offset - leftSize - node.nBits);
+        node.right = parts[0];
+        node.update();
+        parts[0] = node;
+        return parts;
+    }
+    
+    /**
+     * Joins two trees, all of whose bits of the first precede those of the
+     * second.
+     */
+    private static Node merge(Node left, Node right) {
+        if (left == null) return right;
+        if (right == null) return left;
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            left.update();
+            return left;
+        }
+        right.left = merge(left, right.left);
+        right.update();
+        return right;
+    }
+    
+    /**
+     * Returns the 64 bits of the specified words starting at the specified bit,
+     * as a word whose first bit is that bit, with ZEROS past the end of the
+     * words.
+     */
+    private static long getBits(long[] words, int from) {
+        final int w = from >>> ADDRESS_BITS_PER_WORD;
+        final int bit = from & (Long.SIZE - 1);
+        if (w >= words.length) return 0L;
+        long bits = words[w] << bit;
+        if (bit != 0 && w + 1 < words.length) bits |= words[w + 1] >>> (Long.SIZE - bit);
+        return bits;
+    }
+    
+    /**
+     * Replaces the specified number of bits, from 1 to 64, of the specified words,
+     * starting at the specified bit, with the leftmost bits of the specified
+     * word.
+     */
+    private static void putBits(long[] words, int at, int n, long bits) {
+        final long mask = WORD_MASK << (Long.SIZE - n);
+        bits &= mask;
+        final int w = at >>> ADDRESS_BITS_PER_WORD;
+        final int bit = at & (Long.SIZE - 1);
+        words[w] = (words[w] & ~(mask >>> bit)) | (bits >>> bit);
+        if (bit + n > Long.SIZE) {
+            words[w + 1] = (words[w + 1] & ~(mask << (Long.SIZE - bit))) | (bits << (Long.SIZE - bit));
+        }
+    }
+    
+    private static void copyBits(long[] src, int from, long[] dst, int at, int n) {
+        for (int done = 0; done < n; done += Long.SIZE) {
+            putBits(dst, at + done, Math.min(Long.SIZE, n - done), getBits(src, from + done));
+        }
+    }
+    
+    /**
+     * A node of the tree, holding a chunk of bits, left justified in its words.
+     */
+    private static final class Node {
+    
+        final long[] words;
+    
+        final int nBits;
+    
+        final int priority;
+    
+        Node left;
+    
+        Node right;
+    
+        /**
+         * The number of bits in the subtree rooted at this node.
+         */
+        int size;
+    
+        Node(long[] words, int nBits, int priority) {
+            this.words = words;
+            this.nBits = nBits;
+            this.priority = priority;
+            this.size = nBits;
+        }
+    
+        void update() {
+            size = size(left) + nBits + size(right);
+        }
+    }
+}
+    
\ No newline at end of file
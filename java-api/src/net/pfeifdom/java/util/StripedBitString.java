@@ -0,0 +1,962 @@
+/* Copyright (C) 2026 James R. Pfeifer. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * General Public License for more details (a copy is included in the
+ * LICENSE file that accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this work.  If not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ * 
+ * Linking this library statically or dynamically with other modules is
+ * making a combined work based on this library.  Thus, the terms and
+ * conditions of the GNU General Public License cover the whole
+ * combination.
+ *
+ * As a special exception, the copyright holders of this library give you
+ * permission to link this library with independent modules to produce an
+ * executable, regardless of the license terms of these independent
+ * modules, and to copy and distribute the resulting executable under
+ * terms of your choice, provided that you also meet, for each linked
+ * independent module, the terms and conditions of the license of that
+ * module.  An independent module is a module which is not derived from
+ * or based on this library.  If you modify this library, you may extend
+ * this exception to your version of the library, but you are not
+ * obligated to do so.  If you do not wish to do so, delete this
+ * exception statement from your version.
+ *
+ * Please contact James Pfeifer at james@pfeifdom.net if you need additional
+ * information or have any questions.
+ */
+
+package net.pfeifdom.java.util;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.concurrent.locks.StampedLock;
+
+import net.pfeifdom.java.util.BitString.Field;
+
+/**
+ * A bit string of fixed length whose bits can be read and written by many
+ * threads at once, with each block of words guarded by its own lock.
+ * 
+ * <p>
+ * The bits are held in a {@code LongBitString}, divided into stripes of
+ * {@code stripeWords} words (64 words, or 4096 bits, unless specified
+ * otherwise), and each stripe has its own {@code StampedLock}. An operation
+ * that writes bits holds the write locks of the stripes its substring spans,
+ * taken in ascending order so that operations on overlapping substrings cannot
+ * deadlock, and so is atomic over the whole substring; writers to substrings in
+ * different stripes never contend. An operation that reads bits first reads
+ * them optimistically, without locking, and only takes the read locks of its
+ * stripes if a writer held one of them meanwhile.
+ * <p>
+ * The bitwise operations, {@code copyFrom}, {@code set}, {@code clear} and
+ * {@code flip} have the same meaning as the operations of the same name of
+ * {@code BitString}, with offsets and lengths or with {@code Field}s. The bit
+ * string argument of an operation is read as it is, without locking;
+ * {@link #substring(int, int)} returns a consistent copy of a substring that
+ * can be used as one.
+ */
+public class StripedBitString implements Serializable {
+    
+    /**
+     * 
+     */
+    private static final long serialVersionUID = 8973113696675958819L;
+    
+    private static final int ADDRESS_BITS_PER_WORD = 6;
+    
+    /**
+     * The number of words in a stripe unless specified otherwise.
+     */
+    private static final int DEFAULT_STRIPE_WORDS = 64;
+    
+    /**
+     * The bits of this bit string.
+     */
+    private final LongBitString bits;
+    
+    /**
+     * The number of bits to shift an offset right by to give the index of its
+     * stripe.
+     */
+    private final int stripeShift;
+    
+    /**
+     * The lock of each stripe, indexed by stripe index.
+     */
+    private transient StampedLock[] stripes;
+    
+    /**
+     * Creates a new {@code StripedBitString} with the specified length and
+     * stripes of 64 words. All bits are initially set to {@code ZERO}.
+     * 
+     * @param length the length of the new {@code StripedBitString}
+     * @throws IllegalArgumentException if the specified length is negative
+     */
+    public StripedBitString(int length) {
+        this(length, DEFAULT_STRIPE_WORDS);
+    }
+    
+    /**
+     * Creates a new {@code StripedBitString} with the specified length and number
+     * of words in a stripe. All bits are initially set to {@code ZERO}.
+     * 
+     * @param length      the length of the new {@code StripedBitString}
+     * @param stripeWords the number of words guarded by each lock, a power of two
+     * @throws IllegalArgumentException if the specified length is negative, or if
+     *                                  the number of words in a stripe is not a
+     *                                  positive power of two
+     */
+    public StripedBitString(int length, int stripeWords) {
+        if (stripeWords <= 0 || Integer.bitCount(stripeWords) != 1) {
+            throw new IllegalArgumentException("stripeWords is not a positive power of two: " + stripeWords);
+        }
+        this.bits = new LongBitString(length);
+        this.stripeShift = ADDRESS_BITS_PER_WORD + Integer.numberOfTrailingZeros(stripeWords);
+        initStripes();
+    }
+    
+    /**
+     * Creates a new {@code StripedBitString} containing all the bits of the
+     * specified {@code BitString}, with stripes of 64 words.
+     * 
+     * @param bitString the bits of the new {@code StripedBitString}
+     */
+    public StripedBitString(BitString bitString) {
+        this(bitString.length());
+        bits.copyFrom(bitString);
+    }
+    
+    private void initStripes() {
+        final int nStripes = (int) ((bits.length() + (1L << stripeShift) - 1) >>> stripeShift);
+        this.stripes = new StampedLock[Math.max(nStripes, 1)];
+        for (int i = 0; i < stripes.length; i++) stripes[i] = new StampedLock();
+    }
+    
+    /**
+     * Returns the length of this {@code StripedBitString}.
+     * 
+     * @return the length of this {@code StripedBitString}
+     */
+    public int length() {
+        return bits.length();
+    }
+    
+    private int stripeIndex(int offset) {
+        return offset >>> stripeShift;
+    }
+    
+    /**
+     * Returns the number of stripes that hold the specified substring.
+     */
+    private int stripeCount(int offset, int length) {
+        return (length == 0) ? 0 : stripeIndex(offset + length - 1) - stripeIndex(offset) + 1;
+    }
+    
+    private void checkSubstring(int offset, int length) {
+        bits.checkThisOffset(offset);
+        bits.checkThisLength(offset, length);
+    }
+    
+    /**
+     * Takes the write locks of the stripes that hold the specified substring, in
+     * ascending order, and returns their stamps.
+     */
+    private long[] lockWrite(int offset, int length) {
+        final int first = stripeIndex(offset);
+        final long[] stamps = new long[stripeCount(offset, length)];
+        for (int i = 0; i < stamps.length; i++) stamps[i] = stripes[first + i].writeLock();
+        return stamps;
+    }
+    
+    private void unlockWrite(int offset, long[] stamps) {
+        final int first = stripeIndex(offset);
+        for (int i = stamps.length - 1; i >= 0; i--) stripes[first + i].unlockWrite(stamps[i]);
+    }
+    
+    /**
+     * Takes the read locks of the stripes that hold the specified substring, in
+     * ascending order, and returns their stamps.
+     */
+    private long[] lockRead(int offset, int length) {
+        final int first = stripeIndex(offset);
+        final long[] stamps = new long[stripeCount(offset, length)];
+        for (int i = 0; i < stamps.length; i++) stamps[i] = stripes[first + i].readLock();
+        return stamps;
+    }
+    
+    private void unlockRead(int offset, long[] stamps) {
+        final int first = stripeIndex(offset);
+        for (int i = stamps.length - 1; i >= 0; i--) stripes[first + i].unlockRead(stamps[i]);
+    }
+    
+    /**
+     * Returns the optimistic read stamps of the stripes that hold the specified
+     * substring, or {@code null} if one of them is write locked.
+     */
+    private long[] tryOptimisticRead(int offset, int length) {
+        final int first = stripeIndex(offset);
+        final long[] stamps = new long[stripeCount(offset, length)];
+        for (int i = 0; i < stamps.length; i++) {
+            if ((stamps[i] = stripes[first + i].tryOptimisticRead()) == 0L) return null;
+        }
+        return stamps;
+    }
+    
+    /**
+     * Returns {@code true} if no stripe that holds the specified substring has
+     * been write locked since its optimistic read stamp was returned.
+     */
+    private boolean validate(int offset, long[] stamps) {
+        final int first = stripeIndex(offset);
+        for (int i = 0; i < stamps.length; i++) {
+            if (!stripes[first + i].validate(stamps[i])) return false;
+        }
+        return true;
+    }
+    
+    /**
+     * Returns the value of the bit at the specified offset, read optimistically
+     * if its stripe is not being written.
+     * 
+     * @param bitOffset the offset of the bit
+     * @return the value of the bit at the specified offset
+     * @throws StringIndexOutOfBoundsException if
+     *                                         {@code bitOffset < 0 || bitOffset > 0 && bitOffset >= length()}
+     */
+    public boolean getBit(int bitOffset) {
+        bits.checkThisOffset(bitOffset);
+        final StampedLock stripe = stripes[stripeIndex(bitOffset)];
+        long stamp = stripe.tryOptimisticRead();
+        if (stamp != 0L) {
+            final boolean bit = bits.getBit(bitOffset);
+            if (stripe.validate(stamp)) return bit;
+        }
+        stamp = stripe.readLock();
+        try {
+            return bits.getBit(bitOffset);
+        } finally {
+            stripe.unlockRead(stamp);
+        }
+    }
+    
+    /**
+     * Sets the bit at the specified offset to {@code ONE}, holding the write lock of its stripe.
+     * 
+     * @param bitOffset the offset of the bit
+     * @return this {@code StripedBitString}
+     * @throws StringIndexOutOfBoundsException if
+     *                                         {@code bitOffset < 0 || bitOffset > 0 && bitOffset >= length()}
+     */
+    public StripedBitString setBit(int bitOffset) {
+        bits.checkThisOffset(bitOffset);
+        final StampedLock stripe = stripes[stripeIndex(bitOffset)];
+        final long stamp = stripe.writeLock();
+        try {
+            bits.setBit(bitOffset);
+        } finally {
+            stripe.unlockWrite(stamp);
+        }
+        return this;
+    }
+    
+    /**
+     * Sets the bit at the specified offset to {@code ZERO}, holding the write lock of its stripe.
+     * 
+     * @param bitOffset the offset of the bit
+     * @return this {@code StripedBitString}
+     * @throws StringIndexOutOfBoundsException if
+     *                                         {@code bitOffset < 0 || bitOffset > 0 && bitOffset >= length()}
+     */
+    public StripedBitString clearBit(int bitOffset) {
+        bits.checkThisOffset(bitOffset);
+        final StampedLock stripe = stripes[stripeIndex(bitOffset)];
+        final long stamp = stripe.writeLock();
+        try {
+            bits.clearBit(bitOffset);
+        } finally {
+            stripe.unlockWrite(stamp);
+        }
+        return this;
+    }
+    
+    /**
+     * Sets the bit at the specified offset to the complement of its current
+     * value, holding the write lock of its stripe.
+     * 
+     * @param bitOffset the offset of the bit
+     * @return this {@code StripedBitString}
+     * @throws StringIndexOutOfBoundsException if
+     *                                         {@code bitOffset < 0 || bitOffset > 0 && bitOffset >= length()}
+     */
+    public StripedBitString flipBit(int bitOffset) {
+        bits.checkThisOffset(bitOffset);
+        final StampedLock stripe = stripes[stripeIndex(bitOffset)];
+        final long stamp = stripe.writeLock();
+        try {
+            bits.flipBit(bitOffset);
+        } finally {
+            stripe.unlockWrite(stamp);
+        }
+        return this;
+    }
+    
+    /**
+     * Sets all of the bits in a substring of this {@code StripedBitString} to
+     * {@code ONE}, holding the write locks of the stripes that hold the substring.
+     * 
+     * @param offset the start of the substring
+     * @param length the length of the substring
+     * @return this {@code StripedBitString}
+     * @throws StringIndexOutOfBoundsException if
+     *                                         {@code offset < 0 || offset > 0 && offset >= length()}
+     * @throws IllegalArgumentException        if
+     *                                         {@code length < 0 || length > length() - offset}
+     */
+    public StripedBitString set(int offset, int length) {
+        checkSubstring(offset, length);
+        final long[] stamps = lockWrite(offset, length);
+        try {
+            bits.set(offset, length);
+        } finally {
+            unlockWrite(offset, stamps);
+        }
+        return this;
+    }
+    
+    /**
+     * Sets all of the bits in a Field of this {@code StripedBitString} to
+     * {@code ONE}, holding the write locks of the stripes that hold the Field.
+     * 
+     * @param field a Field of this {@code StripedBitString}
+     * @return this {@code StripedBitString}
+     * @throws StringIndexOutOfBoundsException if
+     *                                         {@code field.offset() > 0 && field.offset() >= length()}
+     * @throws IllegalArgumentException        if
+     *                                         {@code field.length() > length() - field.offset()}
+     */
+    public StripedBitString set(Field field) {
+        return set(field.offset(), field.length(bits));
+    }
+    
+    /**
+     * Sets all of the bits in a substring of this {@code StripedBitString} to
+     * {@code ZERO}, holding the write locks of the stripes that hold the substring.
+     * 
+     * @param offset the start of the substring
+     * @param length the length of the substring
+     * @return this {@code StripedBitString}
+     * @throws StringIndexOutOfBoundsException if
+     *                                         {@code offset < 0 || offset > 0 && offset >= length()}
+     * @throws IllegalArgumentException        if
+     *                                         {@code length < 0 || length > length() - offset}
+     */
+    public StripedBitString clear(int offset, int length) {
+        checkSubstring(offset, length);
+        final long[] stamps = lockWrite(offset, length);
+        try {
+            bits.clear(offset, length);
+        } finally {
+            unlockWrite(offset, stamps);
+        }
+        return this;
+    }
+    
+    /**
+     * Sets all of the bits in a Field of this {@code StripedBitString} to
+     * {@code ZERO}, holding the write locks of the stripes that hold the Field.
+     * 
+     * @param field a Field of this {@code StripedBitString}
+     * @return this {@code StripedBitString}
+     * @throws StringIndexOutOfBoundsException if
+     *                                         {@code field.offset() > 0 && field.offset() >= length()}
+     * @throws IllegalArgumentException        if
+     *                                         {@code field.length() > length() - field.offset()}
+     */
+    public StripedBitString clear(Field field) {
+        return clear(field.offset(), field.length(bits));
+    }
+    
+    /**
+     * Sets all of the bits in a substring of this {@code StripedBitString} to
+     * the complement of their current value, holding the write locks of the stripes that hold the substring.
+     * 
+     * @param offset the start of the substring
+     * @param length the length of the substring
+     * @return this {@code StripedBitString}
+     * @throws StringIndexOutOfBoundsException if
+     *                                         {@code offset < 0 || offset > 0 && offset >= length()}
+     * @throws IllegalArgumentException        if
+     *                                         {@code length < 0 || length > length() - offset}
+     */
+    public StripedBitString flip(int offset, int length) {
+        checkSubstring(offset, length);
+        final long[] stamps = lockWrite(offset, length);
+        try {
+            bits.flip(offset, length);
+        } finally {
+            unlockWrite(offset, stamps);
+        }
+        return this;
+    }
+    
+    /**
+     * Sets all of the bits in a Field of this {@code StripedBitString} to
+     * the complement of their current value, holding the write locks of the stripes that hold the Field.
+     * 
+     * @param field a Field of this {@code StripedBitString}
+     * @return this {@code StripedBitString}
+     * @throws StringIndexOutOfBoundsException if
+     *                                         {@code field.offset() > 0 && field.offset() >= length()}
+     * @throws IllegalArgumentException        if
+     *                                         {@code field.length() > length() - field.offset()}
+     */
+    public StripedBitString flip(Field field) {
+        return flip(field.offset(), field.length(bits));
+    }
+    
+    /**
+     * Performs a logical <b>AND</b> of this {@code StripedBitString} with the
+     * specified bit string (arg), holding the write locks of all its stripes.
+     * 
+     * The length of the operation is equal to the smaller of the length of this
+     * {@code StripedBitString} or the length of the bit string argument.
+     * 
+     * @param arg bit string argument
+     * @return this {@code StripedBitString}
+     * @see BitString#and(BitString)
+     */
+    public StripedBitString and(BitString arg) {
+        final int length = Math.min(length(), arg.length());
+        final long[] stamps = lockWrite(0, length);
+        try {
+            bits.and(0, length, arg, 0, length);
+        } finally {
+            unlockWrite(0, stamps);
+        }
+        return this;
+    }
+    
+    /**
+     * Performs a logical <b>AND</b> of a substring of this
+     * {@code StripedBitString} with a substring of the specified bit string
+     * (arg), holding the write locks of the stripes that hold this substring.
+     * 
+     * The length of the operation is equal to the smaller of the length of this
+     * substring or the length of the substring argument.
+     * 
+     * @param thisOffset the start of this substring
+     * @param thisLength the length of this substring
+     * @param arg        bit string argument
+     * @param argOffset  the start of the argument substring
+     * @param argLength  the length of the argument substring
+     * @return this {@code StripedBitString}
+     * @throws StringIndexOutOfBoundsException if
+     *                                         {@code thisOffset < 0 || thisOffset > 0 && thisOffset >= this.length()}
+     *                                         or
+     *                                         {@code argOffset < 0 || argOffset > 0 && argOffset >= arg.length()}
+     * @throws IllegalArgumentException        if
+     *                                         {@code thisLength < 0 || thisLength > this.length() - thisOffset}
+     *                                         or
+     *                                         {@code argLength < 0 || argLength > arg.length() - argOffset}
+     * @see BitString#and(int, int, BitString, int, int)
+     */
+    public StripedBitString and(int thisOffset, int thisLength, BitString arg, int argOffset, int argLength) {
+        checkSubstring(thisOffset, thisLength);
+        final long[] stamps = lockWrite(thisOffset, thisLength);
+        try {
+            bits.and(thisOffset, thisLength, arg, argOffset, argLength);
+        } finally {
+            unlockWrite(thisOffset, stamps);
+        }
+        return this;
+    }
+    
+    /**
+     * Performs a logical <b>AND</b> of a Field of this
+     * {@code StripedBitString} with a Field of the specified bit string (arg),
+     * holding the write locks of the stripes that hold this Field.
+     * 
+     * The length of the operation is equal to the smaller of the length of this
+     * Field or the length of the specified Field.
+     * 
+     * @param thisField Field of this {@code StripedBitString}
+     * @param arg       bit string argument
+     * @param argField  Field of the bit string argument
+     * @return this {@code StripedBitString}
+     * @throws StringIndexOutOfBoundsException if
+     *                                         {@code thisField.offset() > 0 && thisField.offset() >= this.length()}
+     *                                         or
+     *                                         {@code argField.offset() > 0 && argField.offset() >= arg.length()}
+     * @throws IllegalArgumentException        if
+     *                                         {@code thisField.length() > this.length() - thisField.offset()}
+     *                                         or
+     *                                         {@code argField.length() > arg.length() - argField.offset()}
+     * @see BitString#and(Field, BitString, Field)
+     */
+    public StripedBitString and(Field thisField, BitString arg, Field argField) {
+        return and(thisField.offset(), thisField.length(bits), arg, argField.offset(), argField.length(arg));
+    }
+    
+    /**
+     * Performs a logical <b>AND NOT</b> of this {@code StripedBitString} with the
+     * specified bit string (arg), holding the write locks of all its stripes.
+     * 
+     * The length of the operation is equal to the smaller of the length of this
+     * {@code StripedBitString} or the length of the bit string argument.
+     * 
+     * @param arg bit string argument
+     * @return this {@code StripedBitString}
+     * @see BitString#andNot(BitString)
+     */
+    public StripedBitString andNot(BitString arg) {
+        final int length = Math.min(length(), arg.length());
+        final long[] stamps = lockWrite(0, length);
+        try {
+            bits.andNot(0, length, arg, 0, length);
+        } finally {
+            unlockWrite(0, stamps);
+        }
+        return this;
+    }
+    
+    /**
+     * Performs a logical <b>AND NOT</b> of a substring of this
+     * {@code StripedBitString} with a substring of the specified bit string
+     * (arg), holding the write locks of the stripes that hold this substring.
+     * 
+     * The length of the operation is equal to the smaller of the length of this
+     * substring or the length of the substring argument.
+     * 
+     * @param thisOffset the start of this substring
+     * @param thisLength the length of this substring
+     * @param arg        bit string argument
+     * @param argOffset  the start of the argument substring
+     * @param argLength  the length of the argument substring
+     * @return this {@code StripedBitString}
+     * @throws StringIndexOutOfBoundsException if
+     *                                         {@code thisOffset < 0 || thisOffset > 0 && thisOffset >= this.length()}
+     *                                         or
+     *                                         {@code argOffset < 0 || argOffset > 0 && argOffset >= arg.length()}
+     * @throws IllegalArgumentException        if
+     *                                         {@code thisLength < 0 || thisLength > this.length() - thisOffset}
+     *                                         or
+     *                                         {@code argLength < 0 || argLength > arg.length() - argOffset}
+     * @see BitString#andNot(int, int, BitString, int, int)
+     */
+    public StripedBitString andNot(int thisOffset, int thisLength, BitString arg, int argOffset, int argLength) {
+        checkSubstring(thisOffset, thisLength);
+        final long[] stamps = lockWrite(thisOffset, thisLength);
+        try {
+            bits.andNot(thisOffset, thisLength, arg, argOffset, argLength);
+        } finally {
+            unlockWrite(thisOffset, stamps);
+        }
+        return this;
+    }
+    
+    /**
+     * Performs a logical <b>AND NOT</b> of a Field of this
+     * {@code StripedBitString} with a Field of the specified bit string (arg),
+     * holding the write locks of the stripes that hold this Field.
+     * 
+     * The length of the operation is equal to the smaller of the length of this
+     * Field or the length of the specified Field.
+     * 
+     * @param thisField Field of this {@code StripedBitString}
+     * @param arg       bit string argument
+     * @param argField  Field of the bit string argument
+     * @return this {@code StripedBitString}
+     * @throws StringIndexOutOfBoundsException if
+     *                                         {@code thisField.offset() > 0 && thisField.offset() >= this.length()}
+     *                                         or
+     *                                         {@code argField.offset() > 0 && argField.offset() >= arg.length()}
+     * @throws IllegalArgumentException        if
+     *                                         {@code thisField.length() > this.length() - thisField.offset()}
+     *                                         or
+     *                                         {@code argField.length() > arg.length() - argField.offset()}
+     * @see BitString#andNot(Field, BitString, Field)
+     */
+    public StripedBitString andNot(Field thisField, BitString arg, Field argField) {
+        return andNot(thisField.offset(), thisField.length(bits), arg, argField.offset(), argField.length(arg));
+    }
+    
+    /**
+     * Performs a logical <b>OR</b> of this {@code StripedBitString} with the
+     * specified bit string (arg), holding the write locks of all its stripes.
+     * 
+     * The length of the operation is equal to the smaller of the length of this
+     * {@code StripedBitString} or the length of the bit string argument.
+     * 
+     * @param arg bit string argument
+     * @return this {@code StripedBitString}
+     * @see BitString#or(BitString)
+     */
+    public StripedBitString or(BitString arg) {
+        final int length = Math.min(length(), arg.length());
+        final long[] stamps = lockWrite(0, length);
+        try {
+            bits.or(0, length, arg, 0, length);
+        } finally {
+            unlockWrite(0, stamps);
+        }
+        return this;
+    }
+    
+    /**
+     * Performs a logical <b>OR</b> of a substring of this
+     * {@code StripedBitString} with a substring of the specified bit string
+     * (arg), holding the write locks of the stripes that hold this substring.
+     * 
+     * The length of the operation is equal to the smaller of the length of this
+     * substring or the length of the substring argument.
+     * 
+     * @param thisOffset the start of this substring
+     * @param thisLength the length of this substring
+     * @param arg        bit string argument
+     * @param argOffset  the start of the argument substring
+     * @param argLength  the length of the argument substring
+     * @return this {@code StripedBitString}
+     * @throws StringIndexOutOfBoundsException if
+     *                                         {@code thisOffset < 0 || thisOffset > 0 && thisOffset >= this.length()}
+     *                                         or
+     *                                         {@code argOffset < 0 || argOffset > 0 && argOffset >= arg.length()}
+     * @throws IllegalArgumentException        if
+     *                                         {@code thisLength < 0 || thisLength > this.length() - thisOffset}
+     *                                         or
+     *                                         {@code argLength < 0 || argLength > arg.length() - argOffset}
+     * @see BitString#or(int, int, BitString, int, int)
+     */
+    public StripedBitString or(int thisOffset, int thisLength, BitString arg, int argOffset, int argLength) {
+        checkSubstring(thisOffset, thisLength);
+        final long[] stamps = lockWrite(thisOffset, thisLength);
+        try {
+            bits.or(thisOffset, thisLength, arg, argOffset, argLength);
+        } finally {
+            unlockWrite(thisOffset, stamps);
+        }
+        return this;
+    }
+    
+    /**
+     * Performs a logical <b>OR</b> of a Field of this
+     * {@code StripedBitString} with a Field of the specified bit string (arg),
+     * holding the write locks of the stripes that hold this Field.
+     * 
+     * The length of the operation is equal to the smaller of the length of this
+     * Field or the length of the specified Field.
+     * 
+     * @param thisField Field of this {@code StripedBitString}
+     * @param arg       bit string argument
+     * @param argField  Field of the bit string argument
+     * @return this {@code StripedBitString}
+     * @throws StringIndexOutOfBoundsException if
+     *                                         {@code thisField.offset() > 0 && thisField.offset() >= this.length()}
+     *                                         or
+     *                                         {@code argField.offset() > 0 && argField.offset() >= arg.length()}
+     * @throws IllegalArgumentException        if
+     *                                         {@code thisField.length() > this.length() - thisField.offset()}
+     *                                         or
+     *                                         {@code argField.length() > arg.length() - argField.offset()}
+     * @see BitString#or(Field, BitString, Field)
+     */
+    public StripedBitString or(Field thisField, BitString arg, Field argField) {
+        return or(thisField.offset(), thisField.length(bits), arg, argField.offset(), argField.length(arg));
+    }
+    
+    /**
+     * Performs a logical <b>XOR</b> of this {@code StripedBitString} with the
+     * specified bit string (arg), holding the write locks of all its stripes.
+     * 
+     * The length of the operation is equal to the smaller of the length of this
+     * {@code StripedBitString} or the length of the bit string argument.
+     * 
+     * @param arg bit string argument
+     * @return this {@code StripedBitString}
+     * @see BitString#xor(BitString)
+     */
+    public StripedBitString xor(BitString arg) {
+        final int length = Math.min(length(), arg.length());
+        final long[] stamps = lockWrite(0, length);
+        try {
+            bits.xor(0, length, arg, 0, length);
+        } finally {
+            unlockWrite(0, stamps);
+        }
+        return this;
+    }
+    
+    /**
+     * Performs a logical <b>XOR</b> of a substring of this
+     * {@code StripedBitString} with a substring of the specified bit string
+     * (arg), holding the write locks of the stripes that hold this substring.
+     * 
+     * The length of the operation is equal to the smaller of the length of this
+     * substring or the length of the substring argument.
+     * 
+     * @param thisOffset the start of this substring
+     * @param thisLength the length of this substring
+     * @param arg        bit string argument
+     * @param argOffset  the start of the argument substring
+     * @param argLength  the length of the argument substring
+     * @return this {@code StripedBitString}
+     * @throws StringIndexOutOfBoundsException if
+     *                                         {@code thisOffset < 0 || thisOffset > 0 && thisOffset >= this.length()}
+     *                                         or
+     *                                         {@code argOffset < 0 || argOffset > 0 && argOffset >= arg.length()}
+     * @throws IllegalArgumentException        if
+     *                                         {@code thisLength < 0 || thisLength > this.length() - thisOffset}
+     *                                         or
+     *                                         {@code argLength < 0 || argLength > arg.length() - argOffset}
+     * @see BitString#xor(int, int, BitString, int, int)
+     */
+    public StripedBitString xor(int thisOffset, int thisLength, BitString arg, int argOffset, int argLength) {
+        checkSubstring(thisOffset, thisLength);
+        final long[] stamps = lockWrite(thisOffset, thisLength);
+        try {
+            bits.xor(thisOffset, thisLength, arg, argOffset, argLength);
+        } finally {
+            unlockWrite(thisOffset, stamps);
+        }
+        return this;
+    }
+    
+    /**
+     * Performs a logical <b>XOR</b> of a Field of this
+     * {@code StripedBitString} with a Field of the specified bit string (arg),
+     * holding the write locks of the stripes that hold this Field.
+     * 
+     * The length of the operation is equal to the smaller of the length of this
+     * Field or the length of the specified Field.
+     * 
+     * @param thisField Field of this {@code StripedBitString}
+     * @param arg       bit string argument
+     * @param argField  Field of the bit string argument
+     * @return this {@code StripedBitString}
+     * @throws StringIndexOutOfBoundsException if
+     *                                         {@code thisField.offset() > 0 && thisField.offset() >= this.length()}
+     *                                         or
+     *                                         {@code argField.offset() > 0 && argField.offset() >= arg.length()}
+     * @throws IllegalArgumentException        if
+     *                                         {@code thisField.length() > this.length() - thisField.offset()}
+     *                                         or
+     *                                         {@code argField.length() > arg.length() - argField.offset()}
+     * @see BitString#xor(Field, BitString, Field)
+     */
+    public StripedBitString xor(Field thisField, BitString arg, Field argField) {
+        return xor(thisField.offset(), thisField.length(bits), arg, argField.offset(), argField.length(arg));
+    }
+    
+    /**
+     * Copy bits from the specified bit string (that) into this
+     * {@code StripedBitString}, holding the write locks of all its stripes.
+     * 
+     * @param that the bit string to copy
+     * @return this {@code StripedBitString}
+     * @see BitString#copyFrom(BitString)
+     */
+    public StripedBitString copyFrom(BitString that) {
+        final long[] stamps = lockWrite(0, length());
+        try {
+            bits.copyFrom(that);
+        } finally {
+            unlockWrite(0, stamps);
+        }
+        return this;
+    }
+    
+    /**
+     * Copy bits from a substring of the specified bit string (that) into a
+     * substring of this {@code StripedBitString}, holding the write locks of the
+     * stripes that hold this substring. If that substring is shorter than this
+     * substring, this substring is padded with {@code ZEROS}.
+     * 
+     * @param thisOffset the start of this substring
+     * @param thisLength the length of this substring
+     * @param that       the bit string to copy
+     * @param thatOffset the start of the that substring
+     * @param thatLength the length of the that substring
+     * @return this {@code StripedBitString}
+     * @throws StringIndexOutOfBoundsException if
+     *                                         {@code thisOffset < 0 || thisOffset > 0 && thisOffset >= this.length()}
+     *                                         or
+     *                                         {@code thatOffset < 0 || thatOffset > 0 && thatOffset >= that.length()}
+     * @throws IllegalArgumentException        if
+     *                                         {@code thisLength < 0 || thisLength > this.length() - thisOffset}
+     *                                         or
+     *                                         {@code thatLength < 0 || thatLength > that.length() - thatOffset}
+     * @see BitString#copyFrom(int, int, BitString, int, int)
+     */
+    public StripedBitString copyFrom(int thisOffset, int thisLength, BitString that, int thatOffset, int thatLength) {
+        checkSubstring(thisOffset, thisLength);
+        final long[] stamps = lockWrite(thisOffset, thisLength);
+        try {
+            bits.copyFrom(thisOffset, thisLength, that, thatOffset, thatLength);
+        } finally {
+            unlockWrite(thisOffset, stamps);
+        }
+        return this;
+    }
+    
+    /**
+     * Copy bits from a Field of the specified bit string (that) into a Field of
+     * this {@code StripedBitString}, holding the write locks of the stripes that
+     * hold this Field. If that Field is shorter than this Field, this Field is
+     * padded with {@code ZEROS}.
+     * 
+     * @param thisField a Field of this {@code StripedBitString}
+     * @param that      the bit string to copy
+     * @param thatField a Field of that bit string
+     * @return this {@code StripedBitString}
+     * @throws StringIndexOutOfBoundsException if
+     *                                         {@code thisField.offset() > 0 && thisField.offset() >= this.length()}
+     *                                         or
+     *                                         {@code thatField.offset() > 0 && thatField.offset() >= that.length()}
+     * @throws IllegalArgumentException        if
+     *                                         {@code thisField.length() > this.length() - thisField.offset()}
+     *                                         or
+     *                                         {@code thatField.length() > that.length() - thatField.offset()}
+     * @see BitString#copyFrom(Field, BitString, Field)
+     */
+    public StripedBitString copyFrom(Field thisField, BitString that, Field thatField) {
+        return copyFrom(thisField.offset(), thisField.length(bits), that, thatField.offset(), thatField.length(that));
+    }
+    
+    /**
+     * Returns the number of {@code ONES} in this {@code StripedBitString}. The
+     * count is consistent: no write to the bit string happens during it.
+     * 
+     * @return the number of {@code ONES} in this {@code StripedBitString}
+     */
+    public int numberOfOnes() {
+        return numberOfOnes(0, length());
+    }
+    
+    /**
+     * Returns the number of {@code ONES} in the specified substring of this
+     * {@code StripedBitString}. The substring is counted optimistically, and
+     * counted again under the read locks of its stripes if one of them was
+     * written meanwhile.
+     * 
+     * @param offset the start of the substring
+     * @param length the length of the substring
+     * @return the number of {@code ONES} in the specified substring
+     * @throws StringIndexOutOfBoundsException if
+     *                                         {@code offset < 0 || offset > 0 && offset >= length()}
+     * @throws IllegalArgumentException        if
+     *                                         {@code length < 0 || length > length() - offset}
+     */
+    public int numberOfOnes(int offset, int length) {
+        checkSubstring(offset, length);
+        long[] stamps = tryOptimisticRead(offset, length);
+        if (stamps != null) {
+            final int count = bits.numberOfOnes(offset, length);
+            if (validate(offset, stamps)) return count;
+        }
+        stamps = lockRead(offset, length);
+        try {
+            return bits.numberOfOnes(offset, length);
+        } finally {
+            unlockRead(offset, stamps);
+        }
+    }
+    
+    /**
+     * Returns the number of {@code ONES} in the specified Field of this
+     * {@code StripedBitString}.
+     * 
+     * @param field a Field of this {@code StripedBitString}
+     * @return the number of {@code ONES} in the specified field
+     * @throws StringIndexOutOfBoundsException if
+     *                                         {@code field.offset() > 0 && field.offset() >= length()}
+     * @throws IllegalArgumentException        if
+     *                                         {@code field.length() > length() - field.offset()}
+     */
+    public int numberOfOnes(Field field) {
+        return numberOfOnes(field.offset(), field.length(bits));
+    }
+    
+    /**
+     * Returns a new {@code LongBitString} holding a consistent copy of the
+     * specified substring of this {@code StripedBitString}, read optimistically
+     * and read again under the read locks of its stripes if one of them was
+     * written meanwhile.
+     * 
+     * @param offset the start of the substring
+     * @param length the length of the substring
+     * @return a copy of the specified substring
+     * @throws StringIndexOutOfBoundsException if
+     *                                         {@code offset < 0 || offset > 0 && offset >= length()}
+     * @throws IllegalArgumentException        if
+     *                                         {@code length < 0 || length > length() - offset}
+     */
+    public LongBitString substring(int offset, int length) {
+        checkSubstring(offset, length);
+        final LongBitString substring = new LongBitString(length);
+        long[] stamps = tryOptimisticRead(offset, length);
+        if (stamps != null) {
+            substring.copyFrom(0, length, bits, offset, length);
+            if (validate(offset, stamps)) return substring;
+        }
+        stamps = lockRead(offset, length);
+        try {
+            substring.copyFrom(0, length, bits, offset, length);
+        } finally {
+            unlockRead(offset, stamps);
+        }
+        return substring;
+    }
+    
+    /**
+     * Returns a string representation of this {@code StripedBitString}.
+     * 
+     * @return a string representation of this {@code StripedBitString}
+     */
+    @Override
+    public String toString() {
+        return substring(0, length()).toString();
+    }
+    
+    /**
+     * Saves the state of this {@code StripedBitString} to a stream (that is,
+     * serializes it), holding the read locks of all its stripes.
+     * 
+     * @param stream stream to save the state of this instance
+     * @throws IOException I/O error occurred while writing to stream
+     * @serialData The default serializable fields; the locks are not written.
+     */
+    private void writeObject(ObjectOutputStream stream) throws IOException {
+        final long[] stamps = lockRead(0, length());
+        try {
+            stream.defaultWriteObject();
+        } finally {
+            unlockRead(0, stamps);
+        }
+    }
+    
+    /**
+     * Reconstitutes this {@code StripedBitString} from a stream (that is,
+     * deserializes it), with new locks.
+     * 
+     * @param stream stream to be deserialized
+     * @throws ClassNotFoundException Class of a serialized object cannot be found.
+     * @throws IOException            I/O error occurred while reading from stream
+     */
+    private void readObject(ObjectInputStream stream)
+            throws IOException, ClassNotFoundException {
+        stream.defaultReadObject();
+        initStripes();
+    }
+}
@@ -0,0 +1,122 @@
+/* Copyright (C) 2026 James R. Pfeifer. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * General Public License for more details (a copy is included in the
+ * LICENSE file that accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this work.  If not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ * 
+ * Linking this library statically or dynamically with other modules is
+ * making a combined work based on this library.  Thus, the terms and
+ * conditions of the GNU General Public License cover the whole
+ * combination.
+ *
+ * As a special exception, the copyright holders of this library give you
+ * permission to link this library with independent modules to produce an
+ * executable, regardless of the license terms of these independent
+ * modules, and to copy and distribute the resulting executable under
+ * terms of your choice, provided that you also meet, for each linked
+ * independent module, the terms and conditions of the license of that
+ * module.  An independent module is a module which is not derived from
+ * or based on this library.  If you modify this library, you may extend
+ * this exception to your version of the library, but you are not
+ * obligated to do so.  If you do not wish to do so, delete this
+ * exception statement from your version.
+ *
+ * Please contact James Pfeifer at james@pfeifdom.net if you need additional
+ * information or have any questions.
+ */
+
+package net.pfeifdom.java.util;
+
+/**
+ * Loops over arrays of words that {@code BitString} hands to an optional,
+ * separately compiled implementation, such as {@code VectorWordKernels}, which
+ * uses the SIMD instructions of the processor through the
+ * {@code jdk.incubator.vector} module.
+ * 
+ * <p>
+ * The implementation is looked up by name when {@code BitString} is
+ * initialized. If it is not on the class path, or cannot be linked because the
+ * module is not present, the scalar loops of {@code BitString} are used
+ * instead.
+ */
+interface WordKernels {
+    
+    /** Opcodes of the bitwise operations of {@link #applyToArrays}. */
+    int AND = 0;
+    int ANDNOT = 1;
+    int NAND = 2;
+    int NANDNOT = 3;
+    int NOR = 4;
+    int NORNOT = 5;
+    int OR = 6;
+    int ORNOT = 7;
+    int XNOR = 8;
+    int XOR = 9;
+    int NOT = 10;
+    int COPY = 11;
+    int COPYNOT = 12;
+    
+    /**
+     * Returns the number of {@code ONES} in the specified range of words.
+     * 
+     * @param words     the words to count
+     * @param fromIndex index of the first word to count, inclusive
+     * @param toIndex   index of the last word to count, exclusive
+     * @return the number of {@code ONES} in the words
+     */
+    int bitCount(long[] words, int fromIndex, int toIndex);
+    
+    /**
+     * Returns {@code true} if the specified number of words of the left array are
+     * equal to the corresponding words of the right array.
+     * 
+     * @param thisWords the left words
+     * @param thisFrom  index of the first left word
+     * @param thatWords the right words
+     * @param thatFrom  index of the first right word
+     * @param count     the number of words
+     * @return {@code true} if the words are equal
+     */
+    boolean equalWords(long[] thisWords, int thisFrom, long[] thatWords, int thatFrom, int count);
+    
+    /**
+     * Returns {@code true} if any of the specified number of words of the left
+     * array have a {@code ONE} in common with the corresponding word of the right
+     * array.
+     * 
+     * @param thisWords the left words
+     * @param thisFrom  index of the first left word
+     * @param thatWords the right words
+     * @param thatFrom  index of the first right word
+     * @param count     the number of words
+     * @return {@code true} if the words intersect
+     */
+    boolean intersectingWords(long[] thisWords, int thisFrom, long[] thatWords, int thatFrom, int count);
+    
+    /**
+     * Perform the specified bitwise operation on a leading part of the specified
+     * number of words, storing each result in the left array, and return the
+     * number of words operated on. The caller operates on the remaining words.
+     * The arrays must not be the same array.
+     * 
+     * @param op        the opcode of the bitwise operation
+     * @param thisWords the left words, and the destination of the results
+     * @param thisFrom  index of the first left word
+     * @param thatWords the right words
+     * @param thatFrom  index of the first right word
+     * @param count     the number of words
+     * @return the number of leading words operated on
+     */
+    int applyToArrays(int op, long[] thisWords, int thisFrom, long[] thatWords, int thatFrom, int count);
+}